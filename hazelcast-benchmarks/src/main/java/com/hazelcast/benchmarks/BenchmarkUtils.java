@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.HazelcastInstanceProxy;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+
+import static com.hazelcast.spi.properties.GroupProperty.PHONE_HOME_ENABLED;
+
+/**
+ * Helpers shared by the benchmarks which need running members.
+ */
+public final class BenchmarkUtils {
+
+    private BenchmarkUtils() {
+    }
+
+    /**
+     * Creates a member config which only joins members running on the loopback interface, so benchmark
+     * clusters neither see nor disturb other clusters in the network.
+     */
+    public static Config newMemberConfig() {
+        Config config = new Config();
+        config.setProperty(PHONE_HOME_ENABLED.getName(), "false");
+        config.getGroupConfig().setName("benchmarks");
+
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        config.getNetworkConfig().getInterfaces().setEnabled(true).addInterface("127.0.0.1");
+        return config;
+    }
+
+    public static NodeEngineImpl getNodeEngine(HazelcastInstance instance) {
+        return ((HazelcastInstanceProxy) instance).getOriginal().node.getNodeEngine();
+    }
+}
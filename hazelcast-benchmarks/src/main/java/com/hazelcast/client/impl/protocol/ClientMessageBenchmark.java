@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol;
+
+import com.hazelcast.client.impl.protocol.codec.MapGetCodec;
+import com.hazelcast.client.impl.protocol.codec.MapPutCodec;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding and decoding of the most common client requests, including the copy of the
+ * frame to and from a socket buffer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ClientMessageBenchmark {
+
+    private static final String MAP_NAME = "map";
+
+    @Param({"16", "1024"})
+    public int valueSize;
+
+    private Data key;
+    private Data value;
+    private ClientMessage putRequest;
+    private ByteBuffer socketBuffer;
+
+    @Setup
+    public void setup() {
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        key = serializationService.toData("key");
+        value = serializationService.toData(new byte[valueSize]);
+        putRequest = MapPutCodec.encodeRequest(MAP_NAME, key, value, 1, -1);
+        putRequest.addFlag(ClientMessage.BEGIN_AND_END_FLAGS);
+        socketBuffer = ByteBuffer.allocate(2 * valueSize + 1024);
+    }
+
+    @Benchmark
+    public ClientMessage encode_mapPut() {
+        return MapPutCodec.encodeRequest(MAP_NAME, key, value, 1, -1);
+    }
+
+    @Benchmark
+    public ClientMessage encode_mapGet() {
+        return MapGetCodec.encodeRequest(MAP_NAME, key, 1);
+    }
+
+    @Benchmark
+    public MapPutCodec.RequestParameters decode_mapPut() {
+        ClientMessage message = ClientMessage.createForDecode(putRequest.buffer(), 0);
+        return MapPutCodec.decodeRequest(message);
+    }
+
+    @Benchmark
+    public MapPutCodec.RequestParameters writeAndRead_mapPut() {
+        ClientMessage request = MapPutCodec.encodeRequest(MAP_NAME, key, value, 1, -1);
+        request.addFlag(ClientMessage.BEGIN_AND_END_FLAGS);
+
+        socketBuffer.clear();
+        request.writeTo(socketBuffer);
+        socketBuffer.flip();
+
+        ClientMessage received = ClientMessage.create();
+        received.readFrom(socketBuffer);
+        return MapPutCodec.decodeRequest(received);
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.config.SerializerConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableFactory;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SerializationServiceV1} round trips, raw {@link ByteArrayObjectDataOutput} writes and
+ * field reads through the {@link PortableReader}. The same person is serialized as {@link DataSerializable},
+ * {@link Portable}, {@link Serializable} and through a {@link FieldAccessSerializer}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int FACTORY_ID = 1;
+    private static final int FIELD_ACCESS_TYPE_ID = 1;
+
+    private InternalSerializationService serializationService;
+    private BufferObjectDataOutput out;
+
+    private String string;
+    private Person dataSerializable;
+    private PortablePerson portable;
+    private SerializablePerson serializable;
+    private PlainPerson fieldAccess;
+    private Data stringData;
+    private Data dataSerializableData;
+    private Data portableData;
+    private Data serializableData;
+    private Data fieldAccessData;
+
+    @Setup
+    public void setup() {
+        SerializationConfig config = new SerializationConfig()
+                .addSerializerConfig(new SerializerConfig()
+                        .setTypeClass(PlainPerson.class)
+                        .setImplementation(new FieldAccessSerializer<PlainPerson>(PlainPerson.class, FIELD_ACCESS_TYPE_ID)));
+        serializationService = new DefaultSerializationServiceBuilder()
+                .setConfig(config)
+                .addPortableFactory(FACTORY_ID, new PersonPortableFactory())
+                .build();
+        out = serializationService.createObjectDataOutput(1024);
+
+        string = "The quick brown fox jumps over the lazy dog";
+        dataSerializable = new Person("John", 42, 1024L);
+        portable = new PortablePerson("John", 42, 1024L);
+        serializable = new SerializablePerson("John", 42, 1024L);
+        fieldAccess = new PlainPerson("John", 42, 1024L);
+        stringData = serializationService.toData(string);
+        dataSerializableData = serializationService.toData(dataSerializable);
+        portableData = serializationService.toData(portable);
+        serializableData = serializationService.toData(serializable);
+        fieldAccessData = serializationService.toData(fieldAccess);
+    }
+
+    @Benchmark
+    public Data toData_string() {
+        return serializationService.toData(string);
+    }
+
+    @Benchmark
+    public Object toObject_string() {
+        return serializationService.toObject(stringData);
+    }
+
+    @Benchmark
+    public Data toData_dataSerializable() {
+        return serializationService.toData(dataSerializable);
+    }
+
+    @Benchmark
+    public Object toObject_dataSerializable() {
+        return serializationService.toObject(dataSerializableData);
+    }
+
+    @Benchmark
+    public Data toData_portable() {
+        return serializationService.toData(portable);
+    }
+
+    @Benchmark
+    public Object toObject_portable() {
+        return serializationService.toObject(portableData);
+    }
+
+    @Benchmark
+    public Data toData_serializable() {
+        return serializationService.toData(serializable);
+    }
+
+    @Benchmark
+    public Object toObject_serializable() {
+        return serializationService.toObject(serializableData);
+    }
+
+    @Benchmark
+    public Data toData_fieldAccess() {
+        return serializationService.toData(fieldAccess);
+    }
+
+    @Benchmark
+    public Object toObject_fieldAccess() {
+        return serializationService.toObject(fieldAccessData);
+    }
+
+    @Benchmark
+    public byte[] output_writePrimitives() throws IOException {
+        out.clear();
+        out.writeInt(42);
+        out.writeLong(1024L);
+        out.writeDouble(3.14);
+        out.writeBoolean(true);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] output_writeUTF() throws IOException {
+        out.clear();
+        out.writeUTF(string);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public int portableReader_readInt() throws IOException {
+        PortableReader reader = serializationService.createPortableReader(portableData);
+        return reader.readInt("age");
+    }
+
+    @Benchmark
+    public String portableReader_readUTF() throws IOException {
+        PortableReader reader = serializationService.createPortableReader(portableData);
+        return reader.readUTF("name");
+    }
+
+    public static class Person implements DataSerializable {
+
+        private String name;
+        private int age;
+        private long salary;
+
+        public Person() {
+        }
+
+        Person(String name, int age, long salary) {
+            this.name = name;
+            this.age = age;
+            this.salary = salary;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeUTF(name);
+            out.writeInt(age);
+            out.writeLong(salary);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            name = in.readUTF();
+            age = in.readInt();
+            salary = in.readLong();
+        }
+    }
+
+    public static class PortablePerson implements Portable {
+
+        static final int CLASS_ID = 1;
+
+        private String name;
+        private int age;
+        private long salary;
+
+        public PortablePerson() {
+        }
+
+        PortablePerson(String name, int age, long salary) {
+            this.name = name;
+            this.age = age;
+            this.salary = salary;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeUTF("name", name);
+            writer.writeInt("age", age);
+            writer.writeLong("salary", salary);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            name = reader.readUTF("name");
+            age = reader.readInt("age");
+            salary = reader.readLong("salary");
+        }
+    }
+
+    public static class SerializablePerson implements Serializable {
+
+        private String name;
+        private int age;
+        private long salary;
+
+        SerializablePerson(String name, int age, long salary) {
+            this.name = name;
+            this.age = age;
+            this.salary = salary;
+        }
+    }
+
+    public static class PlainPerson {
+
+        private String name;
+        private int age;
+        private long salary;
+
+        PlainPerson() {
+        }
+
+        PlainPerson(String name, int age, long salary) {
+            this.name = name;
+            this.age = age;
+            this.salary = salary;
+        }
+    }
+
+    private static class PersonPortableFactory implements PortableFactory {
+
+        @Override
+        public Portable create(int classId) {
+            return classId == PortablePerson.CLASS_ID ? new PortablePerson() : null;
+        }
+    }
+}
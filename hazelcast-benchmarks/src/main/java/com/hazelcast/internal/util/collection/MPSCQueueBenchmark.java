@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.collection;
+
+import com.hazelcast.util.concurrent.BusySpinIdleStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link MPSCQueue} as used by the operation threads: a single consumer draining items offered by
+ * several producers.
+ * <p>
+ * The queue is unbounded, so producers back off once {@value #MAX_PENDING} items are pending; otherwise the
+ * consumer would fall behind and the benchmark would measure the garbage collector.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MPSCQueueBenchmark {
+
+    private static final int MAX_PENDING = 64 * 1024;
+    private static final Object ITEM = new Object();
+
+    private MPSCQueue<Object> queue;
+
+    @Setup
+    public void setup() {
+        queue = new MPSCQueue<Object>(new BusySpinIdleStrategy());
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(3)
+    public boolean offer() {
+        return queue.size() < MAX_PENDING && queue.offer(ITEM);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public Object poll() {
+        return queue.poll();
+    }
+
+    @Benchmark
+    @Group("uncontended")
+    public Object offerAndPoll() {
+        queue.offer(ITEM);
+        return queue.poll();
+    }
+}
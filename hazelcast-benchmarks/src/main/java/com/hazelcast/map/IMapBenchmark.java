@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.benchmarks.BenchmarkUtils.newMemberConfig;
+import static com.hazelcast.spi.properties.GroupProperty.SOCKET_GATHERING_WRITE_THRESHOLD;
+
+/**
+ * Measures {@link IMap} put and get on a cluster of two members running in this JVM. About half of the keys
+ * are owned by the other member, so the numbers include the network round trip over the loopback interface
+ * as well as the backup of each put. With values of 10000 bytes, the gatheringWriteThreshold compares copying the
+ * packets into the socket send buffer with writing their payloads through a gathering write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@Threads(4)
+public class IMapBenchmark {
+
+    private static final int KEY_COUNT = 10000;
+
+    @Param({"100", "10000"})
+    public int valueSize;
+
+    // -1 copies every packet into the socket send buffer, 8192 writes larger packets with a gathering write
+    @Param({"-1", "8192"})
+    public int gatheringWriteThreshold;
+
+    private HazelcastInstance member1;
+    private HazelcastInstance member2;
+    private IMap<Integer, byte[]> map;
+    private byte[] value;
+
+    @Setup
+    public void setup() {
+        Config config = newMemberConfig()
+                .setProperty(SOCKET_GATHERING_WRITE_THRESHOLD.getName(), String.valueOf(gatheringWriteThreshold));
+        member1 = Hazelcast.newHazelcastInstance(config);
+        member2 = Hazelcast.newHazelcastInstance(config);
+
+        map = member1.getMap("benchmark");
+        value = new byte[valueSize];
+        new Random().nextBytes(value);
+        for (int key = 0; key < KEY_COUNT; key++) {
+            map.put(key, value);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        member2.shutdown();
+        member1.shutdown();
+    }
+
+    @State(Scope.Thread)
+    public static class Keys {
+
+        private final Random random = new Random();
+
+        int next() {
+            return random.nextInt(KEY_COUNT);
+        }
+    }
+
+    @Benchmark
+    public byte[] put(Keys keys) {
+        return map.put(keys.next(), value);
+    }
+
+    @Benchmark
+    public void set(Keys keys) {
+        map.set(keys.next(), value);
+    }
+
+    @Benchmark
+    public byte[] get(Keys keys) {
+        return map.get(keys.next());
+    }
+}
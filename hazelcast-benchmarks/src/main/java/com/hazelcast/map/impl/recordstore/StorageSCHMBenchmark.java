@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.nio.serialization.Data;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link StorageSCHM} backing an on-heap record store. Like the record store, the storage is only
+ * accessed by a single (partition) thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StorageSCHMBenchmark {
+
+    @Param({"1000", "100000"})
+    public int entryCount;
+
+    private StorageSCHM<Record> storage;
+    private Data[] keys;
+    private Record[] records;
+    private int index;
+
+    @Setup
+    public void setup() {
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        DataRecordFactory recordFactory = new DataRecordFactory(new MapConfig(), serializationService, null);
+
+        storage = new StorageSCHM<Record>(serializationService);
+        keys = new Data[entryCount];
+        records = new Record[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            keys[i] = serializationService.toData(i);
+            records[i] = recordFactory.newRecord(i);
+            storage.put(keys[i], records[i]);
+        }
+    }
+
+    @Benchmark
+    public Record get() {
+        return storage.get(keys[nextIndex()]);
+    }
+
+    @Benchmark
+    public Record put() {
+        int i = nextIndex();
+        return storage.put(keys[i], records[i]);
+    }
+
+    private int nextIndex() {
+        int i = index;
+        index = i + 1 == entryCount ? 0 : i + 1;
+        return i;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.PartitionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.benchmarks.BenchmarkUtils.newMemberConfig;
+
+/**
+ * Measures the latency of a request/response round trip between two members with each of the IO threading models:
+ * the selector based model in the 'select' and 'busypoll' selector modes and the spinning model.
+ * <p/>
+ * A single thread gets a small value owned by the other member, so each call is one request and one response over
+ * the loopback interface and the latency is dominated by how fast the IO threads pick up the packets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@Threads(1)
+public class IOThreadingModelBenchmark {
+
+    @Param({"select", "busypoll", "spinning"})
+    public String ioModel;
+
+    private HazelcastInstance member1;
+    private HazelcastInstance member2;
+    private IMap<String, byte[]> map;
+    private String remoteKey;
+
+    @Setup
+    public void setup() {
+        // the IO threading model is chosen through system properties when the members start
+        if ("spinning".equals(ioModel)) {
+            System.setProperty("hazelcast.io.spinning", "true");
+        } else {
+            System.setProperty("hazelcast.io.selectorMode", ioModel);
+        }
+        try {
+            member1 = Hazelcast.newHazelcastInstance(newMemberConfig());
+            member2 = Hazelcast.newHazelcastInstance(newMemberConfig());
+        } finally {
+            System.clearProperty("hazelcast.io.spinning");
+            System.clearProperty("hazelcast.io.selectorMode");
+        }
+
+        map = member1.getMap("benchmark");
+        PartitionService partitionService = member1.getPartitionService();
+        for (int i = 0; ; i++) {
+            String key = "key" + i;
+            if (partitionService.getPartition(key).getOwner().equals(member2.getCluster().getLocalMember())) {
+                remoteKey = key;
+                break;
+            }
+        }
+        map.put(remoteKey, new byte[100]);
+    }
+
+    @TearDown
+    public void tearDown() {
+        member2.shutdown();
+        member1.shutdown();
+    }
+
+    @Benchmark
+    public byte[] remoteGet() {
+        return map.get(remoteKey);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.impl.getters.Extractors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures equality and range lookups on a {@link SortedIndexStore}.
+ * <p>
+ * Every distinct attribute value is shared by {@value #ENTRIES_PER_VALUE} entries, so an equality lookup
+ * returns that many entries and a range lookup returns {@code rangeWidth} times as many.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SortedIndexStoreBenchmark {
+
+    private static final int ENTRIES_PER_VALUE = 10;
+
+    @Param({"1000", "100000"})
+    public int entryCount;
+
+    @Param({"10"})
+    public int rangeWidth;
+
+    private SortedIndexStore indexStore;
+    private int valueCount;
+
+    @Setup
+    public void setup() {
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        Extractors extractors = Extractors.empty();
+
+        indexStore = new SortedIndexStore();
+        valueCount = entryCount / ENTRIES_PER_VALUE;
+        for (int i = 0; i < entryCount; i++) {
+            Integer value = i % valueCount;
+            QueryableEntry entry = new QueryEntry(serializationService, serializationService.toData(i), value, extractors);
+            indexStore.newIndex(value, entry);
+        }
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> getRecords_equal() {
+        return indexStore.getRecords(valueCount / 2);
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> getSubRecordsBetween() {
+        int from = valueCount / 2;
+        return indexStore.getSubRecordsBetween(from, from + rangeWidth - 1);
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> getSubRecords_greaterThan() {
+        return indexStore.getSubRecords(ComparisonType.GREATER, valueCount - rangeWidth - 1);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the {@link CallIdMap} of the {@link InvocationRegistry} with the {@link ConcurrentHashMap} it replaced.
+ * Each operation registers a new call id, looks it up like a response would and deregisters it, while a number of
+ * other invocations are pending.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@Threads(4)
+public class CallIdMapBenchmark {
+
+    private static final int PENDING_INVOCATIONS = 1000;
+    private static final int CONCURRENCY_LEVEL = 16;
+
+    private final Object invocation = new Object();
+    private final AtomicLong callIdSequence = new AtomicLong();
+
+    private ConcurrentMap<Long, Object> concurrentHashMap;
+    private CallIdMap<Object> callIdMap;
+
+    @Setup
+    public void setup() {
+        concurrentHashMap = new ConcurrentHashMap<Long, Object>(PENDING_INVOCATIONS, 0.75f, CONCURRENCY_LEVEL);
+        callIdMap = new CallIdMap<Object>(PENDING_INVOCATIONS, CONCURRENCY_LEVEL);
+        for (int i = 0; i < PENDING_INVOCATIONS; i++) {
+            long callId = callIdSequence.incrementAndGet();
+            concurrentHashMap.put(callId, invocation);
+            callIdMap.put(callId, invocation);
+        }
+    }
+
+    @Benchmark
+    public Object concurrentHashMap() {
+        long callId = callIdSequence.incrementAndGet();
+        concurrentHashMap.put(callId, invocation);
+        Object found = concurrentHashMap.get(callId);
+        concurrentHashMap.remove(callId);
+        return found;
+    }
+
+    @Benchmark
+    public Object callIdMap() {
+        long callId = callIdSequence.incrementAndGet();
+        callIdMap.put(callId, invocation);
+        Object found = callIdMap.get(callId);
+        callIdMap.remove(callId);
+        return found;
+    }
+}
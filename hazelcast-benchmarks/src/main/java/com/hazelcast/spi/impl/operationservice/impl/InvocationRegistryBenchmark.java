@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.spi.Operation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.benchmarks.BenchmarkUtils.getNodeEngine;
+import static com.hazelcast.benchmarks.BenchmarkUtils.newMemberConfig;
+
+/**
+ * Measures registering and deregistering a remote invocation, which every invocation waiting for a response
+ * goes through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@Threads(4)
+public class InvocationRegistryBenchmark {
+
+    private HazelcastInstance instance;
+    private OperationServiceImpl operationService;
+    private InvocationRegistry invocationRegistry;
+
+    @Setup
+    public void setup() {
+        instance = Hazelcast.newHazelcastInstance(newMemberConfig());
+        operationService = (OperationServiceImpl) getNodeEngine(instance).getOperationService();
+        invocationRegistry = operationService.invocationRegistry;
+    }
+
+    @TearDown
+    public void tearDown() {
+        instance.shutdown();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadInvocation {
+
+        Invocation invocation;
+
+        @Setup(Level.Iteration)
+        public void setup(InvocationRegistryBenchmark benchmark) {
+            invocation = new PartitionInvocation(benchmark.operationService.invocationContext, new DummyOperation(),
+                    0, 0, 0, false);
+            // a remote invocation can't skip the registration
+            invocation.remote = true;
+        }
+    }
+
+    @Benchmark
+    public long registerAndDeregister(ThreadInvocation threadInvocation) {
+        Invocation invocation = threadInvocation.invocation;
+
+        invocationRegistry.register(invocation);
+        long callId = invocation.op.getCallId();
+        invocationRegistry.deregister(invocation);
+        return callId;
+    }
+
+    private static class DummyOperation extends Operation {
+
+        @Override
+        public void run() {
+        }
+    }
+}
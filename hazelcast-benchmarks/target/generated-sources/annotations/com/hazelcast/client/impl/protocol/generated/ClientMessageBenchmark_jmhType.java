@@ -0,0 +1,4 @@
+package com.hazelcast.client.impl.protocol.generated;
+public class ClientMessageBenchmark_jmhType extends ClientMessageBenchmark_jmhType_B3 {
+}
+
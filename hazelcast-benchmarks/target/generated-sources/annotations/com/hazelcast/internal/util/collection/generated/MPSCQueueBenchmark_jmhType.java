@@ -0,0 +1,4 @@
+package com.hazelcast.internal.util.collection.generated;
+public class MPSCQueueBenchmark_jmhType extends MPSCQueueBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.hazelcast.map.generated;
+public class IMapBenchmark_Keys_jmhType extends IMapBenchmark_Keys_jmhType_B3 {
+}
+
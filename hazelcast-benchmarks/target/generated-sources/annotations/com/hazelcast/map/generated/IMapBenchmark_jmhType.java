@@ -0,0 +1,4 @@
+package com.hazelcast.map.generated;
+public class IMapBenchmark_jmhType extends IMapBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.hazelcast.map.impl.recordstore.generated;
+public class StorageSCHMBenchmark_jmhType extends StorageSCHMBenchmark_jmhType_B3 {
+}
+
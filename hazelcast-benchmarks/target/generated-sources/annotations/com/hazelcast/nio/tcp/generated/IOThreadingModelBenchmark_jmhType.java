@@ -0,0 +1,4 @@
+package com.hazelcast.nio.tcp.generated;
+public class IOThreadingModelBenchmark_jmhType extends IOThreadingModelBenchmark_jmhType_B3 {
+}
+
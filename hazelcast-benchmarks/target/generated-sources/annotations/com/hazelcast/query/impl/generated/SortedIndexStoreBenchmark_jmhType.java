@@ -0,0 +1,4 @@
+package com.hazelcast.query.impl.generated;
+public class SortedIndexStoreBenchmark_jmhType extends SortedIndexStoreBenchmark_jmhType_B3 {
+}
+
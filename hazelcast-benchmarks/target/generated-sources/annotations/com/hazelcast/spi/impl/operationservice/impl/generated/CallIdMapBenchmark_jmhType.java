@@ -0,0 +1,4 @@
+package com.hazelcast.spi.impl.operationservice.impl.generated;
+public class CallIdMapBenchmark_jmhType extends CallIdMapBenchmark_jmhType_B3 {
+}
+
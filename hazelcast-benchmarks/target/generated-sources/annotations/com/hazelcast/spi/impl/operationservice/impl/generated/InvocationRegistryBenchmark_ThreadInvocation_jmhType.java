@@ -0,0 +1,4 @@
+package com.hazelcast.spi.impl.operationservice.impl.generated;
+public class InvocationRegistryBenchmark_ThreadInvocation_jmhType extends InvocationRegistryBenchmark_ThreadInvocation_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.hazelcast.spi.impl.operationservice.impl.generated;
+public class InvocationRegistryBenchmark_jmhType extends InvocationRegistryBenchmark_jmhType_B3 {
+}
+
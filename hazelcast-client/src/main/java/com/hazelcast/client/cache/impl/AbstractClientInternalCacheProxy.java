@@ -24,6 +24,7 @@ import com.hazelcast.cache.impl.nearcache.NearCache;
 import com.hazelcast.cache.impl.nearcache.NearCacheContext;
 import com.hazelcast.cache.impl.nearcache.NearCacheExecutor;
 import com.hazelcast.cache.impl.nearcache.NearCacheManager;
+import com.hazelcast.cache.impl.nearcache.impl.preloader.NearCachePreloader;
 import com.hazelcast.cache.impl.operation.MutableOperation;
 import com.hazelcast.client.impl.ClientMessageDecoder;
 import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
@@ -31,6 +32,7 @@ import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.CacheAddEntryListenerCodec;
 import com.hazelcast.client.impl.protocol.codec.CacheAddInvalidationListenerCodec;
 import com.hazelcast.client.impl.protocol.codec.CacheClearCodec;
+import com.hazelcast.client.impl.protocol.codec.CacheGetAllCodec;
 import com.hazelcast.client.impl.protocol.codec.CacheGetAndRemoveCodec;
 import com.hazelcast.client.impl.protocol.codec.CacheGetAndReplaceCodec;
 import com.hazelcast.client.impl.protocol.codec.CachePutCodec;
@@ -45,17 +47,21 @@ import com.hazelcast.client.spi.ClientListenerService;
 import com.hazelcast.client.spi.EventHandler;
 import com.hazelcast.client.spi.impl.ClientInvocation;
 import com.hazelcast.client.spi.impl.ClientInvocationFuture;
+import com.hazelcast.client.spi.impl.ClientNearCacheExecutor;
 import com.hazelcast.client.spi.impl.ListenerMessageCodec;
 import com.hazelcast.client.util.ClientDelegatingFuture;
 import com.hazelcast.config.CacheConfig;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.config.NearCachePreloaderConfig;
 import com.hazelcast.core.Client;
 import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
 import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.util.executor.CompletedFuture;
+import com.hazelcast.util.function.Consumer;
 
 import javax.cache.CacheException;
 import javax.cache.configuration.CacheEntryListenerConfiguration;
@@ -63,6 +69,8 @@ import javax.cache.expiry.ExpiryPolicy;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -147,6 +155,12 @@ abstract class AbstractClientInternalCacheProxy<K, V>
     protected boolean statisticsEnabled;
 
     protected boolean cacheOnUpdate;
+    private NearCachePreloader preloader;
+    private ScheduledFuture<?> storeKeysFuture;
+    private volatile boolean preloadDone;
+    private final Object storeKeysMutex = new Object();
+    // guarded by storeKeysMutex, set while the cache is closed since closing clears the near cache
+    private boolean storeKeysPaused;
     private final ConcurrentMap<CacheEntryListenerConfiguration, String> asyncListenerRegistrations;
     private final ConcurrentMap<CacheEntryListenerConfiguration, String> syncListenerRegistrations;
     private final ConcurrentMap<Integer, CountDownLatch> syncLocks;
@@ -195,32 +209,55 @@ abstract class AbstractClientInternalCacheProxy<K, V>
                             nearCacheManager,
                             clientContext.getSerializationService(),
                             createNearCacheExecutor(clientContext.getExecutionService()),
-                            null);
+                            null,
+                            clientContext.getNativeMemoryManager());
             nearCache = nearCacheManager.getOrCreateNearCache(nameWithPrefix, nearCacheConfig, nearCacheContext);
             registerInvalidationListener();
-        }
-    }
-
-    private static final class ClientNearCacheExecutor implements NearCacheExecutor {
 
-        private ClientExecutionService clientExecutionService;
-
-        private ClientNearCacheExecutor(ClientExecutionService clientExecutionService) {
-            this.clientExecutionService = clientExecutionService;
+            NearCachePreloaderConfig preloaderConfig = nearCacheConfig.getPreloaderConfig();
+            if (preloaderConfig.isEnabled()) {
+                startPreloader(preloaderConfig);
+            }
         }
+    }
 
-        @Override
-        public ScheduledFuture<?> scheduleWithRepetition(Runnable command, long initialDelay, long delay, TimeUnit unit) {
-            return clientExecutionService.scheduleWithRepetition(command, initialDelay, delay, unit);
-        }
+    /**
+     * Fetches the keys stored by a previous client in the background and schedules the periodic storing of the keys.
+     * The keys are only stored after the preloading is done, so an interrupted warm-up doesn't shrink the key file.
+     * <p/>
+     * The cache manager closes its caches when the client shuts down, so the keys are stored on {@link #close()}.
+     */
+    private void startPreloader(NearCachePreloaderConfig preloaderConfig) {
+        ILogger preloaderLogger = clientContext.getLoggingService().getLogger(NearCachePreloader.class);
+        preloader = new NearCachePreloader(clientContext.getHazelcastInstance().getName(), nameWithPrefix,
+                preloaderConfig, preloaderLogger);
+
+        ClientExecutionService executionService = clientContext.getExecutionService();
+        executionService.execute(new PreloadTask());
+        storeKeysFuture = executionService.scheduleWithRepetition(new StoreKeysTask(),
+                preloaderConfig.getStoreInitialDelaySeconds(), preloaderConfig.getStoreIntervalSeconds(), TimeUnit.SECONDS);
     }
 
     private NearCacheExecutor createNearCacheExecutor(ClientExecutionService clientExecutionService) {
         return new ClientNearCacheExecutor(clientExecutionService);
     }
 
+    private void storeNearCacheKeys() {
+        synchronized (storeKeysMutex) {
+            if (preloadDone && !storeKeysPaused) {
+                preloader.storeKeys(nearCache);
+            }
+        }
+    }
+
     @Override
     public void close() {
+        if (preloader != null) {
+            synchronized (storeKeysMutex) {
+                storeNearCacheKeys();
+                storeKeysPaused = true;
+            }
+        }
         if (nearCache != null) {
             removeInvalidationListener();
             nearCacheManager.clearNearCache(nearCache.getName());
@@ -233,6 +270,10 @@ abstract class AbstractClientInternalCacheProxy<K, V>
 
     @Override
     protected void onDestroy() {
+        if (preloader != null) {
+            storeKeysFuture.cancel(false);
+            preloader.deleteKeys();
+        }
         if (nearCache != null) {
             removeInvalidationListener();
             nearCacheManager.destroyNearCache(nearCache.getName());
@@ -242,6 +283,24 @@ abstract class AbstractClientInternalCacheProxy<K, V>
         }
     }
 
+    @Override
+    public void open() {
+        super.open();
+        if (preloader != null) {
+            synchronized (storeKeysMutex) {
+                storeKeysPaused = false;
+            }
+        }
+    }
+
+    @Override
+    protected void onShutdown() {
+        if (preloader != null) {
+            storeKeysFuture.cancel(false);
+            storeNearCacheKeys();
+        }
+    }
+
     protected ClientInvocationFuture invoke(ClientMessage req, int partitionId, int completionId) {
         final boolean completionOperation = completionId != -1;
         if (completionOperation) {
@@ -985,4 +1044,36 @@ abstract class AbstractClientInternalCacheProxy<K, V>
         }
     }
 
+    private class PreloadTask implements Runnable, Consumer<List<Data>> {
+
+        @Override
+        public void run() {
+            try {
+                preloader.loadKeys(this);
+            } finally {
+                preloadDone = true;
+            }
+        }
+
+        /**
+         * Fetches the values of the given keys and puts them straight into the near cache, without going through
+         * {@code getAll()}: that would count cache hits and deserialize every entry.
+         */
+        @Override
+        public void accept(List<Data> keys) {
+            ClientMessage request = CacheGetAllCodec.encodeRequest(nameWithPrefix, keys, null);
+            ClientMessage response = invoke(request);
+            for (Map.Entry<Data, Data> entry : CacheGetAllCodec.decodeResponse(response).response) {
+                storeInNearCache(entry.getKey(), entry.getValue(), null);
+            }
+        }
+    }
+
+    private class StoreKeysTask implements Runnable {
+
+        @Override
+        public void run() {
+            storeNearCacheKeys();
+        }
+    }
 }
@@ -24,10 +24,15 @@ import com.hazelcast.client.proxy.ClientMapProxy;
 import com.hazelcast.client.proxy.NearCachedClientMapProxy;
 import com.hazelcast.client.spi.ClientProxy;
 import com.hazelcast.client.spi.ClientProxyFactory;
+import com.hazelcast.config.NativeMemoryConfig;
+import com.hazelcast.config.NativeMemoryConfig.MemoryAllocatorType;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.config.SerializationConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.memory.impl.PoolingMemoryManager;
+import com.hazelcast.internal.memory.impl.StandardMemoryManager;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.SerializationServiceBuilder;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
@@ -44,15 +49,31 @@ import com.hazelcast.util.ExceptionUtil;
 
 import static com.hazelcast.map.impl.MapConfigValidator.checkInMemoryFormat;
 
-public class DefaultClientExtension implements ClientExtension {
+public class DefaultClientExtension implements ClientExtension, NativeMemoryClientExtension {
 
     protected static final ILogger LOGGER = Logger.getLogger(ClientExtension.class);
 
     protected volatile HazelcastClientInstanceImpl client;
 
+    private volatile MemoryManager nativeMemoryManager;
+
     @Override
     public void beforeStart(HazelcastClientInstanceImpl client) {
         this.client = client;
+        NativeMemoryConfig nativeMemoryConfig = client.getClientConfig().getNativeMemoryConfig();
+        if (nativeMemoryConfig != null && nativeMemoryConfig.isEnabled()) {
+            nativeMemoryManager = createNativeMemoryManager(nativeMemoryConfig);
+        }
+    }
+
+    protected MemoryManager createNativeMemoryManager(NativeMemoryConfig nativeMemoryConfig) {
+        LOGGER.info("Using " + nativeMemoryConfig.getAllocatorType() + " native memory allocator with "
+                + nativeMemoryConfig.getSize().toPrettyString() + " capacity");
+        if (nativeMemoryConfig.getAllocatorType() == MemoryAllocatorType.POOLED) {
+            return new PoolingMemoryManager(nativeMemoryConfig.getSize(), nativeMemoryConfig.getMinBlockSize(),
+                    nativeMemoryConfig.getPageSize());
+        }
+        return new StandardMemoryManager(nativeMemoryConfig.getSize());
     }
 
     @Override
@@ -121,7 +142,8 @@ public class DefaultClientExtension implements ClientExtension {
             public ClientProxy create(String id) {
                 NearCacheConfig nearCacheConfig = client.getClientConfig().getNearCacheConfig(id);
                 if (nearCacheConfig != null) {
-                    checkInMemoryFormat(nearCacheConfig.getInMemoryFormat());
+                    checkInMemoryFormat(nearCacheConfig.getInMemoryFormat(),
+                            client.getClientConfig().getNativeMemoryConfig());
                     return new NearCachedClientMapProxy(MapService.SERVICE_NAME, id);
                 } else {
                     return new ClientMapProxy(MapService.SERVICE_NAME, id);
@@ -137,4 +159,18 @@ public class DefaultClientExtension implements ClientExtension {
         // Currently "DefaultNearCacheManager" is enough.
         return new DefaultNearCacheManager();
     }
+
+    @Override
+    public MemoryManager getNativeMemoryManager() {
+        return nativeMemoryManager;
+    }
+
+    @Override
+    public void shutdown() {
+        MemoryManager memoryManager = nativeMemoryManager;
+        if (memoryManager != null) {
+            nativeMemoryManager = null;
+            memoryManager.dispose();
+        }
+    }
 }
@@ -97,6 +97,7 @@ import com.hazelcast.internal.diagnostics.Diagnostics;
 import com.hazelcast.internal.diagnostics.MetricsPlugin;
 import com.hazelcast.internal.diagnostics.SystemLogPlugin;
 import com.hazelcast.internal.diagnostics.SystemPropertiesPlugin;
+import com.hazelcast.internal.memory.MemoryManager;
 import com.hazelcast.internal.metrics.ProbeLevel;
 import com.hazelcast.internal.metrics.impl.MetricsRegistryImpl;
 import com.hazelcast.internal.metrics.metricsets.ClassLoadingMetricSet;
@@ -659,6 +660,15 @@ public class HazelcastClientInstanceImpl implements HazelcastInstance, Serializa
         return clientExtension;
     }
 
+    /**
+     * Returns the native memory manager of the client extension, or {@code null} if native memory is not enabled or
+     * the client extension doesn't provide native memory.
+     */
+    public MemoryManager getNativeMemoryManager() {
+        return clientExtension instanceof NativeMemoryClientExtension
+                ? ((NativeMemoryClientExtension) clientExtension).getNativeMemoryManager() : null;
+    }
+
     public Credentials getCredentials() {
         return credentials;
     }
@@ -683,6 +693,9 @@ public class HazelcastClientInstanceImpl implements HazelcastInstance, Serializa
         listenerService.shutdown();
         ((InternalSerializationService) serializationService).dispose();
         nearCacheManager.destroyAllNearCaches();
+        if (clientExtension instanceof NativeMemoryClientExtension) {
+            ((NativeMemoryClientExtension) clientExtension).shutdown();
+        }
         if (discoveryService != null) {
             discoveryService.destroy();
         }
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl;
+
+import com.hazelcast.internal.memory.MemoryManager;
+
+/**
+ * Implemented by the {@link com.hazelcast.client.ClientExtension}s which provide native memory to the near caches
+ * configured with {@link com.hazelcast.config.InMemoryFormat#NATIVE}, like the {@link DefaultClientExtension}.
+ * <p/>
+ * It is separate from {@link com.hazelcast.client.ClientExtension}, so the implementations of that interface which
+ * don't manage native memory keep compiling.
+ */
+public interface NativeMemoryClientExtension {
+
+    /**
+     * Returns the {@link MemoryManager} used by the near caches configured with
+     * {@link com.hazelcast.config.InMemoryFormat#NATIVE}.
+     *
+     * @return native memory manager or {@code null} if native memory is not enabled
+     */
+    MemoryManager getNativeMemoryManager();
+
+    /**
+     * Called on client shutdown, after the proxies and near caches are destroyed
+     */
+    void shutdown();
+}
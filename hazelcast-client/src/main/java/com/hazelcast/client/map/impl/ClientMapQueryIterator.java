@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map.impl;
+
+import com.hazelcast.client.proxy.ClientMapProxy;
+import com.hazelcast.client.spi.ClientContext;
+import com.hazelcast.map.impl.iterator.AbstractMapQueryIterator;
+import com.hazelcast.query.Predicate;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Iterates over the entries of all partitions matching a predicate on a client.
+ */
+public class ClientMapQueryIterator<K, V> extends AbstractMapQueryIterator<K, V> {
+
+    private final ClientMapProxy<K, V> mapProxy;
+    private final ClientContext context;
+    private final int fetchSize;
+    private final Predicate<K, V> predicate;
+
+    public ClientMapQueryIterator(ClientMapProxy<K, V> mapProxy, ClientContext context, int fetchSize,
+                                  Predicate<K, V> predicate) {
+        super(context.getPartitionService().getPartitionCount());
+        this.mapProxy = mapProxy;
+        this.context = context;
+        this.fetchSize = fetchSize;
+        this.predicate = predicate;
+    }
+
+    @Override
+    protected Iterator<Map.Entry<K, V>> newPartitionIterator(int partitionId) {
+        return new ClientMapQueryPartitionIterator<K, V>(mapProxy, context, fetchSize, partitionId, predicate);
+    }
+}
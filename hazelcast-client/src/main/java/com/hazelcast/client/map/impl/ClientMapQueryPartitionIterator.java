@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map.impl;
+
+import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.query.MapFetchWithQueryCodec;
+import com.hazelcast.client.proxy.ClientMapProxy;
+import com.hazelcast.client.spi.ClientContext;
+import com.hazelcast.client.spi.impl.ClientInvocation;
+import com.hazelcast.client.spi.impl.ClientInvocationFuture;
+import com.hazelcast.map.impl.iterator.AbstractMapQueryPartitionIterator;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.util.ExceptionUtil;
+
+import java.util.List;
+
+/**
+ * Iterates over the entries of a partition matching a predicate on a client.
+ */
+public class ClientMapQueryPartitionIterator<K, V> extends AbstractMapQueryPartitionIterator<K, V> {
+
+    private final ClientMapProxy<K, V> mapProxy;
+    private final ClientContext context;
+    private final Data predicateData;
+
+    public ClientMapQueryPartitionIterator(ClientMapProxy<K, V> mapProxy, ClientContext context, int fetchSize,
+                                           int partitionId, Predicate<K, V> predicate) {
+        super(mapProxy, fetchSize, partitionId, predicate);
+        this.mapProxy = mapProxy;
+        this.context = context;
+        this.predicateData = context.getSerializationService().toData(predicate);
+    }
+
+    @Override
+    protected List fetch() {
+        HazelcastClientInstanceImpl client = (HazelcastClientInstanceImpl) context.getHazelcastInstance();
+        ClientMessage request = MapFetchWithQueryCodec.encodeRequest(mapProxy.getName(), lastTableIndex, fetchSize,
+                predicateData);
+        ClientInvocation clientInvocation = new ClientInvocation(client, request, partitionId);
+        try {
+            ClientInvocationFuture f = clientInvocation.invoke();
+            MapFetchWithQueryCodec.ResponseParameters responseParameters = MapFetchWithQueryCodec.decodeResponse(f.get());
+            lastTableIndex = responseParameters.tableIndex;
+            return responseParameters.entries;
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+    }
+
+    @Override
+    protected SerializationService getSerializationService() {
+        return context.getSerializationService();
+    }
+}
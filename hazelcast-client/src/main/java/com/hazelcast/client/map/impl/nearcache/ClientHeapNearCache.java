@@ -24,11 +24,15 @@ import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.map.impl.nearcache.NearCacheRecord;
 import com.hazelcast.monitor.impl.NearCacheStatsImpl;
+import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.ExceptionUtil;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
@@ -241,6 +245,16 @@ public class ClientHeapNearCache<K> implements NearCache<K, Object> {
         return cache.size();
     }
 
+    @Override
+    public Collection<Data> getKeysAsData() {
+        SerializationService serializationService = context.getSerializationService();
+        List<Data> keys = new ArrayList<Data>(cache.size());
+        for (K key : cache.keySet()) {
+            keys.add(serializationService.toData(key));
+        }
+        return keys;
+    }
+
     @Override
     public void clear() {
         cache.clear();
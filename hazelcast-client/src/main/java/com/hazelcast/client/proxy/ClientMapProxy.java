@@ -16,6 +16,7 @@
 
 package com.hazelcast.client.proxy;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.client.impl.ClientMessageDecoder;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.MapAddEntryListenerCodec;
@@ -73,7 +74,13 @@ import com.hazelcast.client.impl.protocol.codec.MapUnlockCodec;
 import com.hazelcast.client.impl.protocol.codec.MapValuesCodec;
 import com.hazelcast.client.impl.protocol.codec.MapValuesWithPagingPredicateCodec;
 import com.hazelcast.client.impl.protocol.codec.MapValuesWithPredicateCodec;
+import com.hazelcast.client.impl.protocol.query.MapAggregateCodec;
+import com.hazelcast.client.impl.protocol.query.MapAggregateWithPredicateCodec;
+import com.hazelcast.client.impl.protocol.query.MapProjectCodec;
+import com.hazelcast.client.impl.protocol.query.MapProjectWithPredicateCodec;
 import com.hazelcast.client.map.impl.ClientMapPartitionIterator;
+import com.hazelcast.client.map.impl.ClientMapQueryIterator;
+import com.hazelcast.client.map.impl.ClientMapQueryPartitionIterator;
 import com.hazelcast.client.spi.ClientClusterService;
 import com.hazelcast.client.spi.ClientPartitionService;
 import com.hazelcast.client.spi.ClientProxy;
@@ -118,6 +125,7 @@ import com.hazelcast.mapreduce.aggregation.Supplier;
 import com.hazelcast.monitor.LocalMapStats;
 import com.hazelcast.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.projection.Projection;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.spi.impl.UnmodifiableLazyList;
@@ -145,6 +153,8 @@ import static com.hazelcast.map.impl.ListenerAdapters.createListenerAdapter;
 import static com.hazelcast.map.impl.MapListenerFlagOperator.setAndGetListenerFlags;
 import static com.hazelcast.util.CollectionUtil.objectToDataCollection;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.Preconditions.checkTrue;
 import static com.hazelcast.util.SortingUtil.getSortedQueryResultSet;
 import static java.util.Collections.emptyMap;
 
@@ -160,6 +170,8 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
     protected static final String NULL_VALUE_IS_NOT_ALLOWED = "Null value is not allowed!";
     protected static final String NULL_LISTENER_IS_NOT_ALLOWED = "Null listener is not allowed!";
     protected static final String NULL_PREDICATE_IS_NOT_ALLOWED = "Predicate should not be null!";
+    protected static final String NULL_AGGREGATOR_IS_NOT_ALLOWED = "Aggregator should not be null!";
+    protected static final String NULL_PROJECTION_IS_NOT_ALLOWED = "Projection should not be null!";
 
 
     private static final ClientMessageDecoder GET_ASYNC_RESPONSE_DECODER = new ClientMessageDecoder() {
@@ -1337,6 +1349,52 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         }
     }
 
+    @Override
+    public <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator) {
+        checkNotNull(aggregator, NULL_AGGREGATOR_IS_NOT_ALLOWED);
+
+        ClientMessage request = MapAggregateCodec.encodeRequest(name, toData(aggregator));
+        ClientMessage response = invoke(request);
+        MapAggregateCodec.ResponseParameters resultParameters = MapAggregateCodec.decodeResponse(response);
+        return toObject(resultParameters.response);
+    }
+
+    @Override
+    public <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator, Predicate<K, V> predicate) {
+        checkNotNull(aggregator, NULL_AGGREGATOR_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        checkTrue(!(predicate instanceof PagingPredicate), "PagingPredicate is not supported in aggregations");
+
+        ClientMessage request = MapAggregateWithPredicateCodec.encodeRequest(name, toData(aggregator), toData(predicate));
+        ClientMessage response = invoke(request);
+        MapAggregateWithPredicateCodec.ResponseParameters resultParameters =
+                MapAggregateWithPredicateCodec.decodeResponse(response);
+        return toObject(resultParameters.response);
+    }
+
+    @Override
+    public <R> Collection<R> project(Projection<Map.Entry<K, V>, R> projection) {
+        checkNotNull(projection, NULL_PROJECTION_IS_NOT_ALLOWED);
+
+        ClientMessage request = MapProjectCodec.encodeRequest(name, toData(projection));
+        ClientMessage response = invoke(request);
+        MapProjectCodec.ResponseParameters resultParameters = MapProjectCodec.decodeResponse(response);
+        return new UnmodifiableLazyList<R>(resultParameters.response, getSerializationService());
+    }
+
+    @Override
+    public <R> Collection<R> project(Projection<Map.Entry<K, V>, R> projection, Predicate<K, V> predicate) {
+        checkNotNull(projection, NULL_PROJECTION_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        checkTrue(!(predicate instanceof PagingPredicate), "PagingPredicate is not supported in projections");
+
+        ClientMessage request = MapProjectWithPredicateCodec.encodeRequest(name, toData(projection), toData(predicate));
+        ClientMessage response = invoke(request);
+        MapProjectWithPredicateCodec.ResponseParameters resultParameters =
+                MapProjectWithPredicateCodec.decodeResponse(response);
+        return new UnmodifiableLazyList<R>(resultParameters.response, getSerializationService());
+    }
+
     @Override
     public Map<K, Object> executeOnKeys(Set<K> keys, EntryProcessor entryProcessor) {
         checkNotNull(keys, NULL_KEY_IS_NOT_ALLOWED);
@@ -1429,6 +1487,41 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         return new ClientMapPartitionIterator<K, V>(this, getContext(), fetchSize, partitionId, prefetchValues);
     }
 
+    /**
+     * Returns an iterator over the entries of the given partition matching the predicate. The predicate is applied
+     * on the partition owner, which returns the matching entries in batches of about {@code fetchSize} entries, so
+     * unlike {@link #entrySet(Predicate)} the result is never materialized as a whole.
+     *
+     * @param fetchSize   the number of matching entries fetched at once
+     * @param partitionId the partition to iterate
+     * @param predicate   the predicate the entries have to match, a {@link PagingPredicate} is not supported
+     * @return an iterator over the matching entries of the partition
+     */
+    public Iterator<Entry<K, V>> iterator(int fetchSize, int partitionId, Predicate<K, V> predicate) {
+        checkQueryIteratorArguments(fetchSize, predicate);
+        return new ClientMapQueryPartitionIterator<K, V>(this, getContext(), fetchSize, partitionId, predicate);
+    }
+
+    /**
+     * Returns an iterator over the entries of all partitions matching the predicate, fetched partition by partition
+     * in batches of about {@code fetchSize} entries.
+     *
+     * @param fetchSize the number of matching entries fetched at once
+     * @param predicate the predicate the entries have to match, a {@link PagingPredicate} is not supported
+     * @return an iterator over the matching entries of the map
+     * @see #iterator(int, int, Predicate)
+     */
+    public Iterator<Entry<K, V>> iterator(int fetchSize, Predicate<K, V> predicate) {
+        checkQueryIteratorArguments(fetchSize, predicate);
+        return new ClientMapQueryIterator<K, V>(this, getContext(), fetchSize, predicate);
+    }
+
+    private static void checkQueryIteratorArguments(int fetchSize, Predicate predicate) {
+        checkPositive(fetchSize, "fetchSize should be positive");
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        checkTrue(!(predicate instanceof PagingPredicate), "Paging predicates are not supported by query iterators");
+    }
+
     private void clearNearCachesOnLiteMembers() {
         final ClientClusterService clusterService = getClient().getClientClusterService();
         for (Member member : clusterService.getMembers(LITE_MEMBER_SELECTOR)) {
@@ -17,6 +17,9 @@
 package com.hazelcast.client.proxy;
 
 import com.hazelcast.cache.impl.nearcache.NearCache;
+import com.hazelcast.cache.impl.nearcache.NearCacheContext;
+import com.hazelcast.cache.impl.nearcache.impl.DefaultNearCache;
+import com.hazelcast.cache.impl.nearcache.impl.preloader.NearCachePreloader;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.MapAddNearCacheEntryListenerCodec;
 import com.hazelcast.client.impl.protocol.codec.MapGetAllCodec;
@@ -24,10 +27,16 @@ import com.hazelcast.client.impl.protocol.codec.MapRemoveCodec;
 import com.hazelcast.client.impl.protocol.codec.MapRemoveEntryListenerCodec;
 import com.hazelcast.client.map.impl.nearcache.ClientHeapNearCache;
 import com.hazelcast.client.spi.ClientContext;
+import com.hazelcast.client.spi.ClientExecutionService;
+import com.hazelcast.client.spi.ClientPartitionService;
 import com.hazelcast.client.spi.EventHandler;
+import com.hazelcast.client.spi.impl.ClientInvocation;
+import com.hazelcast.client.spi.impl.ClientNearCacheExecutor;
 import com.hazelcast.client.spi.impl.ListenerMessageCodec;
 import com.hazelcast.client.util.ClientDelegatingFuture;
+import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.config.NearCachePreloaderConfig;
 import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.logging.ILogger;
@@ -39,14 +48,19 @@ import com.hazelcast.monitor.NearCacheStats;
 import com.hazelcast.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.util.CollectionUtil;
+import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.util.MapUtil;
 import com.hazelcast.util.executor.CompletedFuture;
+import com.hazelcast.util.function.Consumer;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.cache.impl.nearcache.NearCache.NULL_OBJECT;
@@ -54,6 +68,7 @@ import static com.hazelcast.core.EntryEventType.INVALIDATION;
 import static com.hazelcast.map.impl.nearcache.StaleReadPreventerNearCacheWrapper.wrapAsStaleReadPreventerNearCache;
 import static java.util.Collections.EMPTY_MAP;
 import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * A Client-side {@code IMap} implementation which is fronted by a near-cache.
@@ -69,6 +84,10 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
     protected volatile String invalidationListenerId;
     private boolean invalidateOnChange;
 
+    private NearCachePreloader preloader;
+    private ScheduledFuture<?> storeKeysFuture;
+    private volatile boolean preloadDone;
+
 
     public NearCachedClientMapProxy(String serviceName, String name) {
         super(serviceName, name);
@@ -86,14 +105,45 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
         NearCacheConfig nearCacheConfig = context.getClientConfig().getNearCacheConfig(name);
 
         int partitionCount = context.getPartitionService().getPartitionCount();
-        ClientHeapNearCache<Data> clientHeapNearCache = new ClientHeapNearCache<Data>(name, getContext(), nearCacheConfig);
-        nearCache = wrapAsStaleReadPreventerNearCache(clientHeapNearCache, partitionCount);
+        nearCache = wrapAsStaleReadPreventerNearCache(createNearCache(context, nearCacheConfig), partitionCount);
         keyStateMarker = getKeyStateMarker();
 
         invalidateOnChange = this.nearCache.isInvalidateOnChange();
         if (invalidateOnChange) {
             addNearCacheInvalidateListener();
         }
+
+        NearCachePreloaderConfig preloaderConfig = nearCacheConfig.getPreloaderConfig();
+        if (preloaderConfig.isEnabled()) {
+            startPreloader(context, preloaderConfig);
+        }
+    }
+
+    /**
+     * Fetches the keys stored by a previous client in the background and schedules the periodic storing of the keys.
+     * The keys are only stored after the preloading is done, so an interrupted warm-up doesn't shrink the key file.
+     */
+    private void startPreloader(ClientContext context, NearCachePreloaderConfig preloaderConfig) {
+        ILogger logger = context.getLoggingService().getLogger(NearCachePreloader.class);
+        preloader = new NearCachePreloader(context.getHazelcastInstance().getName(), name, preloaderConfig, logger);
+
+        ClientExecutionService executionService = context.getExecutionService();
+        executionService.execute(new PreloadTask());
+        storeKeysFuture = executionService.scheduleWithRepetition(new StoreKeysTask(),
+                preloaderConfig.getStoreInitialDelaySeconds(), preloaderConfig.getStoreIntervalSeconds(), SECONDS);
+    }
+
+    /**
+     * Creates the near cache which keeps its entries on the heap, or in native memory if configured with
+     * {@link InMemoryFormat#NATIVE}. The native near cache is bounded by the eviction config of the near cache config.
+     */
+    private NearCache<Data, Object> createNearCache(ClientContext context, NearCacheConfig nearCacheConfig) {
+        if (nearCacheConfig.getInMemoryFormat() != InMemoryFormat.NATIVE) {
+            return new ClientHeapNearCache<Data>(name, context, nearCacheConfig);
+        }
+        NearCacheContext nearCacheContext = new NearCacheContext(null, context.getSerializationService(),
+                new ClientNearCacheExecutor(context.getExecutionService()), null, context.getNativeMemoryManager());
+        return new DefaultNearCache<Data, Object>(name, nearCacheConfig, nearCacheContext);
     }
 
     @Override
@@ -387,6 +437,10 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
     @Override
     protected void onDestroy() {
         removeNearCacheInvalidationListener();
+        if (preloader != null) {
+            storeKeysFuture.cancel(false);
+            preloader.deleteKeys();
+        }
         nearCache.destroy();
 
         super.onDestroy();
@@ -395,6 +449,12 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
     @Override
     protected void onShutdown() {
         removeNearCacheInvalidationListener();
+        if (preloader != null) {
+            storeKeysFuture.cancel(false);
+            if (preloadDone) {
+                preloader.storeKeys(nearCache);
+            }
+        }
         nearCache.destroy();
 
         super.onShutdown();
@@ -516,4 +576,82 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
         return ((StaleReadPreventerNearCacheWrapper) nearCache).getKeyStateMarker();
     }
 
+    private class PreloadTask implements Runnable, Consumer<List<Data>> {
+
+        @Override
+        public void run() {
+            try {
+                preloader.loadKeys(this);
+            } finally {
+                preloadDone = true;
+            }
+        }
+
+        /**
+         * Fetches the values of the given keys and puts them straight into the near cache, without going through
+         * {@link #getAllInternal(Map, Map)}: that would count near cache misses and deserialize every entry.
+         */
+        @Override
+        public void accept(List<Data> keys) {
+            ClientPartitionService partitionService = getContext().getPartitionService();
+            Map<Integer, List<Data>> partitionToKeyData = new HashMap<Integer, List<Data>>();
+            Map<Data, Boolean> markers = EMPTY_MAP;
+            for (Data key : keys) {
+                int partitionId = partitionService.getPartitionId(key);
+                List<Data> keyList = partitionToKeyData.get(partitionId);
+                if (keyList == null) {
+                    keyList = new ArrayList<Data>();
+                    partitionToKeyData.put(partitionId, keyList);
+                }
+                keyList.add(key);
+                if (invalidateOnChange) {
+                    if (markers == EMPTY_MAP) {
+                        markers = new HashMap<Data, Boolean>();
+                    }
+                    markers.put(key, keyStateMarker.tryMark(key));
+                }
+            }
+
+            List<Future<ClientMessage>> futures = new ArrayList<Future<ClientMessage>>(partitionToKeyData.size());
+            for (Entry<Integer, List<Data>> entry : partitionToKeyData.entrySet()) {
+                ClientMessage request = MapGetAllCodec.encodeRequest(name, entry.getValue());
+                futures.add(new ClientInvocation(getClient(), request, entry.getKey()).invoke());
+            }
+
+            try {
+                for (Future<ClientMessage> future : futures) {
+                    MapGetAllCodec.ResponseParameters resultParameters = MapGetAllCodec.decodeResponse(future.get());
+                    for (Entry<Data, Data> entry : resultParameters.response) {
+                        Data key = entry.getKey();
+                        Boolean marked = markers.remove(key);
+                        if (marked != null && marked) {
+                            tryToPutNearCache(key, entry.getValue());
+                        } else if (!invalidateOnChange) {
+                            nearCache.put(key, entry.getValue());
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                throw ExceptionUtil.rethrow(e);
+            } finally {
+                // keys without a value or of a failed partition must not stay marked
+                for (Entry<Data, Boolean> marker : markers.entrySet()) {
+                    if (marker.getValue()) {
+                        keyStateMarker.forceUnmark(marker.getKey());
+                    }
+                }
+            }
+        }
+    }
+
+    private class StoreKeysTask implements Runnable {
+
+        @Override
+        public void run() {
+            if (preloadDone) {
+                preloader.storeKeys(nearCache);
+            }
+        }
+    }
+
 }
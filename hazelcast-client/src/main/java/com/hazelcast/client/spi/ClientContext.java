@@ -20,6 +20,7 @@ import com.hazelcast.cache.impl.nearcache.NearCacheManager;
 import com.hazelcast.client.config.ClientConfig;
 import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.memory.MemoryManager;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.spi.serialization.SerializationService;
 
@@ -39,6 +40,7 @@ public final class ClientContext {
     private final ProxyManager proxyManager;
     private final ClientConfig clientConfig;
     private final LoggingService loggingService;
+    private final MemoryManager nativeMemoryManager;
 
     ClientContext(HazelcastClientInstanceImpl client, ProxyManager proxyManager) {
         this.serializationService = client.getSerializationService();
@@ -52,6 +54,7 @@ public final class ClientContext {
         this.clientConfig = client.getClientConfig();
         this.transactionManager = client.getTransactionManager();
         this.loggingService = client.getLoggingService();
+        this.nativeMemoryManager = client.getNativeMemoryManager();
     }
 
     public HazelcastInstance getHazelcastInstance() {
@@ -94,6 +97,14 @@ public final class ClientContext {
         return loggingService;
     }
 
+    /**
+     * @return the memory manager of the {@link com.hazelcast.config.InMemoryFormat#NATIVE} near caches
+     * or {@code null} if native memory is not enabled
+     */
+    public MemoryManager getNativeMemoryManager() {
+        return nativeMemoryManager;
+    }
+
     public void removeProxy(ClientProxy proxy) {
         proxyManager.removeProxy(proxy.getServiceName(), proxy.getDistributedObjectName());
     }
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.spi.impl;
+
+import com.hazelcast.cache.impl.nearcache.NearCacheExecutor;
+import com.hazelcast.client.spi.ClientExecutionService;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NearCacheExecutor} scheduling the near cache tasks on the {@link ClientExecutionService}.
+ */
+public final class ClientNearCacheExecutor implements NearCacheExecutor {
+
+    private final ClientExecutionService clientExecutionService;
+
+    public ClientNearCacheExecutor(ClientExecutionService clientExecutionService) {
+        this.clientExecutionService = clientExecutionService;
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithRepetition(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        return clientExecutionService.scheduleWithRepetition(command, initialDelay, delay, unit);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.aggregation;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.aggregation.MapAggregationTest.Employee;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientMapAggregationTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private TestHazelcastFactory factory;
+    private HazelcastInstance client;
+
+    @Before
+    public void setup() {
+        factory = new TestHazelcastFactory();
+        factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+        client = factory.newHazelcastClient();
+    }
+
+    @After
+    public void tearDown() {
+        factory.terminateAll();
+    }
+
+    @Test
+    public void testAggregate() {
+        IMap<Integer, Employee> map = populatedMap();
+
+        assertEquals(Long.valueOf(ENTRY_COUNT), map.aggregate(Aggregators.<Integer, Employee>count()));
+        assertEquals(Integer.valueOf(99), map.aggregate(Aggregators.<Integer, Employee, Integer>comparableMax("age")));
+    }
+
+    @Test
+    public void testAggregate_withPredicate() {
+        IMap<Integer, Employee> map = populatedMap();
+
+        Long count = map.aggregate(Aggregators.<Integer, Employee>count(), new SqlPredicate("age < 10"));
+        assertEquals(Long.valueOf(ENTRY_COUNT / 10), count);
+    }
+
+    @Test
+    public void testAggregate_whenResultNull() {
+        IMap<Integer, Employee> map = client.getMap(randomMapName());
+
+        assertNull(map.aggregate(Aggregators.<Integer, Employee>integerAvg("age")));
+    }
+
+    @Test
+    public void testAggregate_doesNotModifyAggregator() {
+        IMap<Integer, Employee> map = populatedMap();
+        Aggregator<Map.Entry<Integer, Employee>, Long> aggregator = Aggregators.count();
+
+        map.aggregate(aggregator);
+
+        assertEquals(Long.valueOf(0), aggregator.aggregate());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testAggregate_whenAggregatorNull() {
+        IMap<Integer, Employee> map = client.getMap(randomMapName());
+
+        map.aggregate(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAggregate_whenPagingPredicate() {
+        IMap<Integer, Employee> map = client.getMap(randomMapName());
+
+        map.aggregate(Aggregators.<Integer, Employee>count(), new PagingPredicate<Integer, Employee>(10));
+    }
+
+    private IMap<Integer, Employee> populatedMap() {
+        IMap<Integer, Employee> map = client.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Employee(i % 100, "department" + (i % 3)));
+        }
+        return map;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.cache.nearcache;
+
+import com.hazelcast.cache.impl.nearcache.NearCache;
+import com.hazelcast.client.cache.impl.HazelcastClientCacheManager;
+import com.hazelcast.client.cache.impl.HazelcastClientCachingProvider;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.impl.HazelcastClientProxy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.config.NearCachePreloaderConfig;
+import com.hazelcast.nio.IOUtil;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import javax.cache.spi.CachingProvider;
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class ClientCacheNearCachePreloaderTest extends ClientNearCacheTestSupport {
+
+    private final File directory = new File(randomName());
+    private final String clientName = randomName();
+
+    @After
+    @Override
+    public void tearDown() {
+        // the clients store their keys on shutdown
+        super.tearDown();
+        IOUtil.delete(directory);
+    }
+
+    @Override
+    protected ClientConfig createClientConfig() {
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.setInstanceName(clientName);
+        return clientConfig;
+    }
+
+    @Override
+    protected NearCacheConfig createNearCacheConfig(InMemoryFormat inMemoryFormat) {
+        NearCachePreloaderConfig preloaderConfig = new NearCachePreloaderConfig()
+                .setEnabled(true)
+                .setDirectory(directory.getPath());
+        return super.createNearCacheConfig(inMemoryFormat)
+                .setPreloaderConfig(preloaderConfig);
+    }
+
+    @Test
+    public void testPreloadNearCache_withKeysStoredOnShutdown() {
+        NearCacheConfig nearCacheConfig = createNearCacheConfig(InMemoryFormat.BINARY);
+        NearCacheTestContext context = createNearCacheTest(DEFAULT_CACHE_NAME, nearCacheConfig);
+        for (int i = 0; i < DEFAULT_RECORD_COUNT; i++) {
+            context.cache.put(i, generateValueFromKey(i));
+            context.cache.get(i);
+        }
+        assertEquals(DEFAULT_RECORD_COUNT, context.nearCache.size());
+        context.client.shutdown();
+
+        final NearCache<Data, String> nearCache = getNearCacheOfNewClient(nearCacheConfig);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(DEFAULT_RECORD_COUNT, nearCache.size());
+            }
+        });
+    }
+
+    private NearCache<Data, String> getNearCacheOfNewClient(NearCacheConfig nearCacheConfig) {
+        ClientConfig clientConfig = createClientConfig();
+        clientConfig.addNearCacheConfig(nearCacheConfig);
+        HazelcastClientProxy client = (HazelcastClientProxy) hazelcastFactory.newHazelcastClient(clientConfig);
+        CachingProvider provider = HazelcastClientCachingProvider.createCachingProvider(client);
+        HazelcastClientCacheManager cacheManager = (HazelcastClientCacheManager) provider.getCacheManager();
+
+        // creates the cache proxy, which starts the preloading
+        cacheManager.getCache(DEFAULT_CACHE_NAME);
+
+        return client.client.getNearCacheManager().getNearCache(cacheManager.getCacheNameWithPrefix(DEFAULT_CACHE_NAME));
+    }
+}
@@ -55,7 +55,7 @@ public abstract class ClientNearCacheTestSupport extends HazelcastTestSupport {
     protected static final int DEFAULT_RECORD_COUNT = 100;
 
     protected HazelcastInstance serverInstance;
-    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+    protected final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
 
     @Before
     public void setup() {
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.proxy.ClientMapProxy;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.TruePredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientMapQueryIteratorTest extends HazelcastTestSupport {
+
+    private TestHazelcastFactory factory;
+    private HazelcastInstance server;
+    private ClientMapProxy<Integer, Integer> proxy;
+
+    @Before
+    public void setup() {
+        factory = new TestHazelcastFactory();
+        server = factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+        HazelcastInstance client = factory.newHazelcastClient();
+        proxy = (ClientMapProxy<Integer, Integer>) client.<Integer, Integer>getMap(randomMapName());
+    }
+
+    @After
+    public void tearDown() {
+        factory.terminateAll();
+    }
+
+    @Test
+    public void test_HasNext_Returns_False_When_NoEntryMatches() {
+        for (int i = 0; i < 100; i++) {
+            proxy.put(i, i);
+        }
+
+        Iterator<Map.Entry<Integer, Integer>> iterator = proxy.iterator(10, Predicates.equal("this", -1));
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void test_Returns_Only_Matching_Entries() {
+        for (int i = 0; i < 1000; i++) {
+            proxy.put(i, i);
+        }
+        Predicate<Integer, Integer> predicate = Predicates.lessThan("this", 500);
+
+        Map<Integer, Integer> result = drain(proxy.iterator(7, predicate));
+
+        assertEquals(500, result.size());
+        for (Map.Entry<Integer, Integer> entry : ((IMap<Integer, Integer>) proxy).entrySet(predicate)) {
+            assertEquals(entry.getValue(), result.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void test_PartitionIterator_Returns_Only_Entries_Of_Partition() {
+        int partitionId = 1;
+        int expected = 0;
+        for (int i = 0; i < 1000; i++) {
+            proxy.put(i, i);
+            if (getPartitionService(server).getPartitionId(i) == partitionId) {
+                expected++;
+            }
+        }
+
+        Map<Integer, Integer> result = drain(proxy.iterator(3, partitionId, TruePredicate.INSTANCE));
+
+        assertEquals(expected, result.size());
+        for (Integer key : result.keySet()) {
+            assertEquals(partitionId, getPartitionService(server).getPartitionId(key));
+        }
+    }
+
+    @Test
+    public void test_PartitionIterator_Continues_After_Empty_Batches() {
+        int partitionId = 1;
+        int count = 0;
+        int last = -1;
+        for (int i = 0; count < 100; i++) {
+            if (getPartitionService(server).getPartitionId(i) == partitionId) {
+                proxy.put(i, i);
+                last = i;
+                count++;
+            }
+        }
+
+        Map<Integer, Integer> result = drain(proxy.iterator(1, partitionId, Predicates.equal("this", last)));
+
+        assertEquals(1, result.size());
+        assertEquals(last, (int) result.get(last));
+    }
+
+    @Test
+    public void test_Remove_Removes_Entry_From_Map() {
+        for (int i = 0; i < 100; i++) {
+            proxy.put(i, i);
+        }
+
+        Iterator<Map.Entry<Integer, Integer>> iterator = proxy.iterator(10, Predicates.greaterEqual("this", 50));
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        assertEquals(50, proxy.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_Rejects_PagingPredicate() {
+        proxy.iterator(10, new PagingPredicate(10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_Rejects_NonPositive_FetchSize() {
+        proxy.iterator(0, TruePredicate.INSTANCE);
+    }
+
+    private static Map<Integer, Integer> drain(Iterator<Map.Entry<Integer, Integer>> iterator) {
+        Map<Integer, Integer> result = new HashMap<Integer, Integer>();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Integer> entry = iterator.next();
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.projection;
+
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.projection.MapProjectionTest.Person;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientMapProjectionTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private TestHazelcastFactory factory;
+    private HazelcastInstance client;
+
+    @Before
+    public void setup() {
+        factory = new TestHazelcastFactory();
+        factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+        client = factory.newHazelcastClient();
+    }
+
+    @After
+    public void tearDown() {
+        factory.terminateAll();
+    }
+
+    @Test
+    public void testProject() {
+        IMap<Integer, Person> map = populatedMap();
+
+        Collection<Integer> ages = map.project(Projections.<Integer, Person, Integer>singleAttribute("age"));
+
+        assertEquals(ENTRY_COUNT, ages.size());
+        long sum = 0;
+        for (Integer age : ages) {
+            sum += age;
+        }
+        assertEquals((ENTRY_COUNT / 100) * (99 * 100 / 2), sum);
+    }
+
+    @Test
+    public void testProject_withPredicate() {
+        IMap<Integer, Person> map = populatedMap();
+
+        Collection<Object[]> rows = map.project(Projections.<Integer, Person>multiAttribute("name", "age"),
+                new SqlPredicate("age = 7"));
+
+        assertEquals(ENTRY_COUNT / 100, rows.size());
+        for (Object[] row : rows) {
+            assertArrayEquals(new Object[]{"name7", 7}, row);
+        }
+    }
+
+    @Test
+    public void testProject_whenProjectedValueNull() {
+        IMap<Integer, Person> map = client.getMap(randomMapName());
+        map.put(1, new Person(null, 1));
+
+        Collection<String> names = map.project(Projections.<Integer, Person, String>singleAttribute("name"));
+
+        assertEquals(singletonList((String) null), names);
+    }
+
+    @Test
+    public void testProject_whenEmpty() {
+        IMap<Integer, Person> map = client.getMap(randomMapName());
+
+        assertTrue(map.project(Projections.<Integer, Person, Integer>singleAttribute("age")).isEmpty());
+    }
+
+    @Test
+    public void testProject_withPredicate_whenNoneMatches() {
+        IMap<Integer, Person> map = populatedMap();
+
+        Collection<String> names = map.project(Projections.<Integer, Person, String>singleAttribute("name"),
+                new SqlPredicate("age > 100"));
+
+        assertTrue(names.isEmpty());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testProject_whenProjectionNull() {
+        IMap<Integer, Person> map = client.getMap(randomMapName());
+
+        map.project(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testProject_whenPagingPredicate() {
+        IMap<Integer, Person> map = client.getMap(randomMapName());
+
+        map.project(Projections.<Integer, Person, Integer>singleAttribute("age"),
+                new PagingPredicate<Integer, Person>(10));
+    }
+
+    private IMap<Integer, Person> populatedMap() {
+        IMap<Integer, Person> map = client.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Person("name" + (i % 100), i % 100));
+        }
+        return map;
+    }
+}
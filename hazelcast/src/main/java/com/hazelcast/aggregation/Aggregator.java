@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation;
+
+import com.hazelcast.spi.annotation.Beta;
+
+import java.io.Serializable;
+
+/**
+ * Computes a single value out of the entries of a map without transferring the entries.
+ * <p/>
+ * The aggregation is executed in two phases:
+ * <ol>
+ * <li>accumulation: on each member a copy of the aggregator is sent to each owned partition and
+ * {@link #accumulate(Object)} is called for every entry matching the predicate. Afterwards
+ * {@link #onAccumulationFinished()} is called.</li>
+ * <li>combination: the partial aggregators of the partitions and members are merged by calling
+ * {@link #combine(Aggregator)}. Once all partial results are combined, {@link #onCombinationFinished()} is called
+ * and the final result is retrieved by {@link #aggregate()}.</li>
+ * </ol>
+ * A single instance is never accessed concurrently, so implementations don't need any synchronization.
+ * Since instances are copied and sent to the members, they have to be serializable.
+ * <p/>
+ * A set of predefined aggregators can be found in {@link Aggregators}.
+ *
+ * @param <I> the input type, the entries of the map
+ * @param <R> the type of the aggregation result
+ */
+@Beta
+public abstract class Aggregator<I, R> implements Serializable {
+
+    /**
+     * Accumulates the given entry.
+     *
+     * @param input entry to accumulate
+     */
+    public abstract void accumulate(I input);
+
+    /**
+     * Called after the last call to {@link #accumulate(Object)} on this instance.
+     */
+    public void onAccumulationFinished() {
+    }
+
+    /**
+     * Merges the state of another aggregator of the same type into this one.
+     *
+     * @param aggregator the aggregator to merge
+     */
+    public abstract void combine(Aggregator aggregator);
+
+    /**
+     * Called after the last call to {@link #combine(Aggregator)} on this instance.
+     */
+    public void onCombinationFinished() {
+    }
+
+    /**
+     * Returns the result of the aggregation.
+     *
+     * @return the result of the aggregation
+     */
+    public abstract R aggregate();
+
+    /**
+     * Creates a new aggregator of the same type and configuration as this one, without any accumulated state.
+     * <p/>
+     * The aggregator passed to the map is never mutated, each partition accumulates into its own instance. By
+     * default these instances are created by serializing and deserializing this aggregator, implementations may
+     * override this method to create them directly.
+     *
+     * @return a new empty aggregator, or {@code null} to copy this aggregator using serialization
+     */
+    public Aggregator<I, R> newInstance() {
+        return null;
+    }
+}
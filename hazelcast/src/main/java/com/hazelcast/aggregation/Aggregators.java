@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation;
+
+import com.hazelcast.aggregation.impl.ComparableMaxAggregator;
+import com.hazelcast.aggregation.impl.ComparableMinAggregator;
+import com.hazelcast.aggregation.impl.CountAggregator;
+import com.hazelcast.aggregation.impl.DistinctValuesAggregator;
+import com.hazelcast.aggregation.impl.DoubleAverageAggregator;
+import com.hazelcast.aggregation.impl.DoubleSumAggregator;
+import com.hazelcast.aggregation.impl.IntegerAverageAggregator;
+import com.hazelcast.aggregation.impl.IntegerSumAggregator;
+import com.hazelcast.aggregation.impl.LongAverageAggregator;
+import com.hazelcast.aggregation.impl.LongSumAggregator;
+import com.hazelcast.spi.annotation.Beta;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A utility class to create the predefined {@link Aggregator}s.
+ * <p/>
+ * The aggregators taking an {@code attributePath} aggregate the given attribute of the values, the same attribute
+ * paths as in queries may be used (e.g. {@code address.city} or {@code orders[any].amount}). The others aggregate
+ * the values themselves. {@code null} attribute values are ignored.
+ * <pre>
+ * IMap&lt;String, Employee> employees = hazelcastInstance.getMap("employees");
+ * Double avgSalary = employees.aggregate(Aggregators.&lt;String, Employee>integerAvg("salary"),
+ *         new SqlPredicate("department = 'sales'"));
+ * </pre>
+ */
+@Beta
+public final class Aggregators {
+
+    private Aggregators() {
+    }
+
+    public static <K, V> Aggregator<Map.Entry<K, V>, Long> count() {
+        return new CountAggregator<Map.Entry<K, V>>();
+    }
+
+    public static <K, V> Aggregator<Map.Entry<K, V>, Long> count(String attributePath) {
+        return new CountAggregator<Map.Entry<K, V>>(attributePath);
+    }
+
+    public static <K, V, R> Aggregator<Map.Entry<K, V>, Set<R>> distinct() {
+        return new DistinctValuesAggregator<Map.Entry<K, V>, R>();
+    }
+
+    public static <K, V, R> Aggregator<Map.Entry<K, V>, Set<R>> distinct(String attributePath) {
+        return new DistinctValuesAggregator<Map.Entry<K, V>, R>(attributePath);
+    }
+
+    public static <K, V> Aggregator<Map.Entry<K, V>, Long> integerSum() {
+        return new IntegerSumAggregator<Map.Entry<K, V>>();
+    }
+
+    public static <K, V> Aggregator<Map.Entry<K, V>, Long> integerSum(String attributePath) {
+        return new IntegerSumAggregator<Map.Entry<K, V>>(attributePath);
+    }
+
+    public static <K, V> Aggregator<Map.Entry<K, V>, Long> longSum() {
+        return new LongSumAggregator<Map.Entry<K, V>>();
+    }
+
+    public static <K, V> Aggregator<Map.Entry<K, V>, Long> longSum(String attributePath) {
+        return new LongSumAggregator<Map.Entry<K, V>>(attributePath);
+    }
+
+    public static <K, V> Aggregator<Map.Entry<K, V>, Double> doubleSum() {
+        return new DoubleSumAggregator<Map.Entry<K, V>>();
+    }
+
+    public static <K, V> Aggregator<Map.Entry<K, V>, Double> doubleSum(String attributePath) {
+        return new DoubleSumAggregator<Map.Entry<K, V>>(attributePath);
+    }
+
+    public static <K, V> Aggregator<Map.Entry<K, V>, Double> integerAvg() {
+        return new IntegerAverageAggregator<Map.Entry<K, V>>();
+    }
+
+    public static <K, V> Aggregator<Map.Entry<K, V>, Double> integerAvg(String attributePath) {
+        return new IntegerAverageAggregator<Map.Entry<K, V>>(attributePath);
+    }
+
+    public static <K, V> Aggregator<Map.Entry<K, V>, Double> longAvg() {
+        return new LongAverageAggregator<Map.Entry<K, V>>();
+    }
+
+    public static <K, V> Aggregator<Map.Entry<K, V>, Double> longAvg(String attributePath) {
+        return new LongAverageAggregator<Map.Entry<K, V>>(attributePath);
+    }
+
+    public static <K, V> Aggregator<Map.Entry<K, V>, Double> doubleAvg() {
+        return new DoubleAverageAggregator<Map.Entry<K, V>>();
+    }
+
+    public static <K, V> Aggregator<Map.Entry<K, V>, Double> doubleAvg(String attributePath) {
+        return new DoubleAverageAggregator<Map.Entry<K, V>>(attributePath);
+    }
+
+    public static <K, V, R extends Comparable> Aggregator<Map.Entry<K, V>, R> comparableMin() {
+        return new ComparableMinAggregator<Map.Entry<K, V>, R>();
+    }
+
+    public static <K, V, R extends Comparable> Aggregator<Map.Entry<K, V>, R> comparableMin(String attributePath) {
+        return new ComparableMinAggregator<Map.Entry<K, V>, R>(attributePath);
+    }
+
+    public static <K, V, R extends Comparable> Aggregator<Map.Entry<K, V>, R> comparableMax() {
+        return new ComparableMaxAggregator<Map.Entry<K, V>, R>();
+    }
+
+    public static <K, V, R extends Comparable> Aggregator<Map.Entry<K, V>, R> comparableMax(String attributePath) {
+        return new ComparableMaxAggregator<Map.Entry<K, V>, R>(attributePath);
+    }
+}
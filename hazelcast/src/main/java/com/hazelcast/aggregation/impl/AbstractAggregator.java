@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.query.impl.Extractable;
+import com.hazelcast.query.impl.getters.MultiResult;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base class of the predefined aggregators which operate on a single attribute of the entries.
+ * <p/>
+ * The attribute is extracted using the regular query extraction, so the same attribute paths as in predicates
+ * may be used, including the {@code [any]} operator. Without an attribute path the value of the entry itself
+ * is aggregated. {@code null} attribute values are ignored.
+ *
+ * @param <I> the input type
+ * @param <E> the type of the extracted attribute
+ * @param <R> the type of the result
+ */
+public abstract class AbstractAggregator<I, E, R> extends Aggregator<I, R> {
+
+    protected String attributePath;
+
+    public AbstractAggregator() {
+    }
+
+    public AbstractAggregator(String attributePath) {
+        this.attributePath = attributePath;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void accumulate(I entry) {
+        Object extracted = extract(entry);
+        if (extracted instanceof MultiResult) {
+            List<E> results = ((MultiResult<E>) extracted).getResults();
+            for (int i = 0; i < results.size(); i++) {
+                accumulateValue(results.get(i));
+            }
+        } else if (extracted != null) {
+            accumulateValue((E) extracted);
+        }
+    }
+
+    /**
+     * Accumulates a single non-null attribute value.
+     *
+     * @param value the extracted attribute value
+     */
+    protected abstract void accumulateValue(E value);
+
+    private Object extract(I input) {
+        if (attributePath == null) {
+            if (input instanceof Map.Entry) {
+                return ((Map.Entry) input).getValue();
+            }
+            return input;
+        }
+        if (input instanceof Extractable) {
+            return ((Extractable) input).getAttributeValue(attributePath);
+        }
+        throw new IllegalArgumentException("Can't extract " + attributePath + " from the given input");
+    }
+}
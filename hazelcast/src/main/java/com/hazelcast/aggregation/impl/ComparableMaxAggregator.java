@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+
+/**
+ * Finds the largest of {@link Comparable} values. Returns {@code null} if no value was accumulated.
+ *
+ * @param <I> the input type
+ * @param <R> the type of the values
+ */
+public final class ComparableMaxAggregator<I, R extends Comparable> extends AbstractAggregator<I, R, R> {
+
+    private R max;
+
+    public ComparableMaxAggregator() {
+    }
+
+    public ComparableMaxAggregator(String attributePath) {
+        super(attributePath);
+    }
+
+    @Override
+    protected void accumulateValue(R value) {
+        if (max == null || value.compareTo(max) > 0) {
+            max = value;
+        }
+    }
+
+    @Override
+    public void combine(Aggregator aggregator) {
+        R other = ((ComparableMaxAggregator<I, R>) aggregator).max;
+        if (other != null) {
+            accumulateValue(other);
+        }
+    }
+
+    @Override
+    public R aggregate() {
+        return max;
+    }
+
+    @Override
+    public Aggregator<I, R> newInstance() {
+        return new ComparableMaxAggregator<I, R>(attributePath);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+
+/**
+ * Sums up {@link Integer} values into a {@code long}.
+ *
+ * @param <I> the input type
+ */
+public final class IntegerSumAggregator<I> extends AbstractAggregator<I, Integer, Long> {
+
+    private long sum;
+
+    public IntegerSumAggregator() {
+    }
+
+    public IntegerSumAggregator(String attributePath) {
+        super(attributePath);
+    }
+
+    @Override
+    protected void accumulateValue(Integer value) {
+        sum += value;
+    }
+
+    @Override
+    public void combine(Aggregator aggregator) {
+        sum += ((IntegerSumAggregator) aggregator).sum;
+    }
+
+    @Override
+    public Long aggregate() {
+        return sum;
+    }
+
+    @Override
+    public Aggregator<I, Long> newInstance() {
+        return new IntegerSumAggregator<I>(attributePath);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+
+/**
+ * Calculates the average of {@link Long} values. Returns {@code null} if no value was accumulated.
+ *
+ * @param <I> the input type
+ */
+public final class LongAverageAggregator<I> extends AbstractAggregator<I, Long, Double> {
+
+    private long sum;
+    private long count;
+
+    public LongAverageAggregator() {
+    }
+
+    public LongAverageAggregator(String attributePath) {
+        super(attributePath);
+    }
+
+    @Override
+    protected void accumulateValue(Long value) {
+        sum += value;
+        count++;
+    }
+
+    @Override
+    public void combine(Aggregator aggregator) {
+        LongAverageAggregator other = (LongAverageAggregator) aggregator;
+        sum += other.sum;
+        count += other.count;
+    }
+
+    @Override
+    public Double aggregate() {
+        if (count == 0) {
+            return null;
+        }
+        return ((double) sum) / count;
+    }
+
+    @Override
+    public Aggregator<I, Double> newInstance() {
+        return new LongAverageAggregator<I>(attributePath);
+    }
+}
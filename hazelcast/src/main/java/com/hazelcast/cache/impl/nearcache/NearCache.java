@@ -18,6 +18,9 @@ package com.hazelcast.cache.impl.nearcache;
 
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.monitor.NearCacheStats;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.Collection;
 
 /**
  * {@link NearCache} is the contract point to store keys and values in underlying
@@ -117,4 +120,11 @@ public interface NearCache<K, V> {
      */
     int size();
 
+    /**
+     * Gets the keys of the stored records in their serialized form.
+     *
+     * @return the keys of the stored records as {@link Data}
+     */
+    Collection<Data> getKeysAsData();
+
 }
@@ -16,6 +16,7 @@
 
 package com.hazelcast.cache.impl.nearcache;
 
+import com.hazelcast.internal.memory.MemoryManager;
 import com.hazelcast.spi.serialization.SerializationService;
 
 /**
@@ -28,6 +29,7 @@ public class NearCacheContext {
     private final SerializationService serializationService;
     private final NearCacheExecutor nearCacheExecutor;
     private final ClassLoader classLoader;
+    private final MemoryManager memoryManager;
 
     public NearCacheContext(SerializationService serializationService,
                             NearCacheExecutor nearCacheExecutor,
@@ -39,10 +41,19 @@ public class NearCacheContext {
                             SerializationService serializationService,
                             NearCacheExecutor nearCacheExecutor,
                             ClassLoader classLoader) {
+        this(nearCacheManager, serializationService, nearCacheExecutor, classLoader, null);
+    }
+
+    public NearCacheContext(NearCacheManager nearCacheManager,
+                            SerializationService serializationService,
+                            NearCacheExecutor nearCacheExecutor,
+                            ClassLoader classLoader,
+                            MemoryManager memoryManager) {
         this.nearCacheManager = nearCacheManager;
         this.serializationService = serializationService;
         this.nearCacheExecutor = nearCacheExecutor;
         this.classLoader = classLoader;
+        this.memoryManager = memoryManager;
     }
 
     public NearCacheManager getNearCacheManager() {
@@ -65,4 +76,12 @@ public class NearCacheContext {
         return classLoader;
     }
 
+    /**
+     * @return the {@link MemoryManager} to be used by the {@link com.hazelcast.config.InMemoryFormat#NATIVE}
+     * near caches or {@code null} if native memory is not available
+     */
+    public MemoryManager getMemoryManager() {
+        return memoryManager;
+    }
+
 }
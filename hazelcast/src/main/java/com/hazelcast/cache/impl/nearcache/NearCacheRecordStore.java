@@ -17,6 +17,9 @@
 package com.hazelcast.cache.impl.nearcache;
 
 import com.hazelcast.monitor.NearCacheStats;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.Collection;
 
 /**
  * {@link NearCacheRecordStore} is the contract point to store keys and values as
@@ -83,6 +86,13 @@ public interface NearCacheRecordStore<K, V> {
      */
     int size();
 
+    /**
+     * Gets the keys of the stored records in their serialized form.
+     *
+     * @return the keys of the stored records as {@link Data}
+     */
+    Collection<Data> getKeysAsData();
+
     /**
      * Performs expiration and evicts expired records.
      */
@@ -20,13 +20,16 @@ import com.hazelcast.cache.impl.nearcache.NearCache;
 import com.hazelcast.cache.impl.nearcache.NearCacheContext;
 import com.hazelcast.cache.impl.nearcache.NearCacheExecutor;
 import com.hazelcast.cache.impl.nearcache.NearCacheRecordStore;
+import com.hazelcast.cache.impl.nearcache.impl.store.NativeNearCacheRecordStore;
 import com.hazelcast.cache.impl.nearcache.impl.store.NearCacheDataRecordStore;
 import com.hazelcast.cache.impl.nearcache.impl.store.NearCacheObjectRecordStore;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.monitor.NearCacheStats;
+import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.serialization.SerializationService;
 
+import java.util.Collection;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -104,6 +107,8 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
                 return new NearCacheDataRecordStore<K, V>(nearCacheConfig, nearCacheContext);
             case OBJECT:
                 return new NearCacheObjectRecordStore<K, V>(nearCacheConfig, nearCacheContext);
+            case NATIVE:
+                return new NativeNearCacheRecordStore<K, V>(nearCacheConfig, nearCacheContext);
             default:
                 throw new IllegalArgumentException("Invalid in memory format: " + inMemoryFormat);
         }
@@ -175,6 +180,11 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
         return nearCacheRecordStore.size();
     }
 
+    @Override
+    public Collection<Data> getKeysAsData() {
+        return nearCacheRecordStore.getKeysAsData();
+    }
+
     protected class ExpirationTask implements Runnable {
 
         protected AtomicBoolean expirationInProgress = new AtomicBoolean(false);
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cache.impl.nearcache.impl.preloader;
+
+import com.hazelcast.cache.impl.nearcache.NearCache;
+import com.hazelcast.config.NearCachePreloaderConfig;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.function.Consumer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.nio.IOUtil.rename;
+import static com.hazelcast.nio.IOUtil.toFileName;
+
+/**
+ * Stores the keys of a {@link NearCache} into a file and loads them back after a restart, so the near cache can be
+ * warmed up by fetching the stored keys from the cluster.
+ * <p/>
+ * The keys are written into a temporary file first, which then replaces the previous key file. So a crash during
+ * storing never leaves a partially written key file behind.
+ * <p/>
+ * The key file is named after the client instance and the near cache. Since clients with the default instance name
+ * in different processes still share a file, the temporary file is only written while holding a lock on a lock file.
+ * <p/>
+ * File format: magic number, file format version, followed by the length prefixed bytes of each key.
+ */
+public class NearCachePreloader {
+
+    /**
+     * Number of keys handed over to the loader at once.
+     */
+    public static final int LOAD_BATCH_SIZE = 100;
+
+    static final int MAGIC_BYTES = 0xE1D1C4E5;
+    static final int FILE_FORMAT = 1;
+
+    private static final String FILE_PREFIX = "nearcache-";
+    private static final String FILE_SUFFIX = ".store";
+    private static final String TMP_FILE_SUFFIX = "~";
+    private static final String LOCK_FILE_SUFFIX = ".lock";
+
+    private final String nearCacheName;
+    private final File storeFile;
+    private final File tmpStoreFile;
+    private final File lockFile;
+    private final ILogger logger;
+
+    public NearCachePreloader(String instanceName, String nearCacheName, NearCachePreloaderConfig preloaderConfig,
+                              ILogger logger) {
+        this.nearCacheName = nearCacheName;
+        this.logger = logger;
+        String fileName = FILE_PREFIX + toFileName(instanceName + "-" + nearCacheName) + FILE_SUFFIX;
+        File directory = new File(preloaderConfig.getDirectory());
+        this.storeFile = new File(directory, fileName);
+        this.tmpStoreFile = new File(directory, fileName + TMP_FILE_SUFFIX);
+        this.lockFile = new File(directory, fileName + LOCK_FILE_SUFFIX);
+    }
+
+    /**
+     * Stores the current keys of the given near cache, replacing previously stored keys.
+     * Failures are logged and otherwise ignored, the near cache keeps working without a key file.
+     * <p/>
+     * Synchronized since a periodic store may still be running while the owner stores the keys on shutdown,
+     * and both write the same temporary file. If another client currently stores into the same key file, this
+     * round is skipped.
+     *
+     * @param nearCache the near cache whose keys are stored
+     */
+    public synchronized void storeKeys(NearCache nearCache) {
+        RandomAccessFile lock = null;
+        DataOutputStream out = null;
+        try {
+            File directory = tmpStoreFile.getAbsoluteFile().getParentFile();
+            if (!directory.exists() && !directory.mkdirs()) {
+                logger.warning("Could not create directory " + directory + " for the keys of near cache " + nearCacheName);
+                return;
+            }
+            lock = new RandomAccessFile(lockFile, "rw");
+            if (!tryLock(lock)) {
+                logger.finest("Skipped storing the keys of near cache " + nearCacheName + ", " + storeFile
+                        + " is locked by another client");
+                return;
+            }
+            Collection<Data> keys = nearCache.getKeysAsData();
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpStoreFile)));
+            out.writeInt(MAGIC_BYTES);
+            out.writeInt(FILE_FORMAT);
+            for (Data key : keys) {
+                byte[] bytes = key.toByteArray();
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            out.close();
+            out = null;
+            rename(tmpStoreFile, storeFile);
+            if (logger.isFinestEnabled()) {
+                logger.finest("Stored " + keys.size() + " keys of near cache " + nearCacheName + " into " + storeFile);
+            }
+        } catch (Exception e) {
+            logger.warning("Could not store the keys of near cache " + nearCacheName + " into " + storeFile, e);
+        } finally {
+            closeResource(out);
+            // closing the file releases the lock
+            closeResource(lock);
+        }
+    }
+
+    private static boolean tryLock(RandomAccessFile file) throws IOException {
+        try {
+            FileLock lock = file.getChannel().tryLock();
+            return lock != null;
+        } catch (OverlappingFileLockException e) {
+            // the lock is held by another client in this JVM
+            return false;
+        }
+    }
+
+    /**
+     * Loads the stored keys and hands them over to the given loader in batches of {@link #LOAD_BATCH_SIZE} keys.
+     * Does nothing if no keys were stored yet. A corrupt or unreadable key file is logged and otherwise ignored.
+     *
+     * @param loader the consumer fetching the values of each batch of keys
+     * @return the number of loaded keys
+     */
+    public int loadKeys(Consumer<List<Data>> loader) {
+        if (!storeFile.exists()) {
+            return 0;
+        }
+        int loadedKeys = 0;
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(storeFile)));
+            if (in.readInt() != MAGIC_BYTES || in.readInt() != FILE_FORMAT) {
+                logger.warning("Ignoring the key file " + storeFile + " of near cache " + nearCacheName
+                        + " because of an unknown file format");
+                return 0;
+            }
+            List<Data> batch = new ArrayList<Data>(LOAD_BATCH_SIZE);
+            long maxKeyLength = storeFile.length();
+            byte[] bytes;
+            while ((bytes = readKey(in, maxKeyLength)) != null) {
+                batch.add(new HeapData(bytes));
+                if (batch.size() == LOAD_BATCH_SIZE) {
+                    loader.accept(batch);
+                    loadedKeys += batch.size();
+                    batch = new ArrayList<Data>(LOAD_BATCH_SIZE);
+                }
+            }
+            if (!batch.isEmpty()) {
+                loader.accept(batch);
+                loadedKeys += batch.size();
+            }
+            logger.info("Loaded " + loadedKeys + " keys into near cache " + nearCacheName + " from " + storeFile);
+        } catch (Exception e) {
+            logger.warning("Could not load the keys of near cache " + nearCacheName + " from " + storeFile, e);
+        } finally {
+            closeResource(in);
+        }
+        return loadedKeys;
+    }
+
+    private static byte[] readKey(DataInputStream in, long maxKeyLength) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        // a corrupt length must not make us allocate an arbitrarily large array
+        if (length < 0 || length > maxKeyLength) {
+            throw new IOException("Invalid key length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Deletes the stored keys.
+     */
+    public synchronized void deleteKeys() {
+        if (storeFile.exists() && !storeFile.delete()) {
+            logger.warning("Could not delete the key file " + storeFile + " of near cache " + nearCacheName);
+        }
+    }
+
+    File getStoreFile() {
+        return storeFile;
+    }
+}
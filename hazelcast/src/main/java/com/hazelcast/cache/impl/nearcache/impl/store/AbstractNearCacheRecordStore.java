@@ -23,6 +23,7 @@ import com.hazelcast.cache.impl.nearcache.NearCacheRecordStore;
 import com.hazelcast.cache.impl.nearcache.impl.NearCacheRecordMap;
 import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.eviction.EvictionCandidate;
 import com.hazelcast.internal.eviction.EvictionChecker;
 import com.hazelcast.internal.eviction.EvictionListener;
 import com.hazelcast.internal.eviction.EvictionPolicyEvaluator;
@@ -30,6 +31,8 @@ import com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider;
 import com.hazelcast.internal.eviction.EvictionPolicyType;
 import com.hazelcast.internal.eviction.EvictionStrategy;
 import com.hazelcast.internal.eviction.EvictionStrategyProvider;
+import com.hazelcast.internal.eviction.impl.admission.FrequencySketch;
+import com.hazelcast.internal.eviction.impl.strategy.sampling.SampleableEvictableStore;
 import com.hazelcast.monitor.NearCacheStats;
 import com.hazelcast.monitor.impl.NearCacheStatsImpl;
 import com.hazelcast.nio.serialization.Data;
@@ -37,6 +40,12 @@ import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.ExceptionUtil;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.hazelcast.config.NearCacheConfig.AdmissionPolicy.TINY_LFU;
+import static com.hazelcast.internal.eviction.impl.strategy.sampling.SamplingBasedEvictionStrategy.SAMPLE_COUNT;
 import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
 import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
 
@@ -70,6 +79,7 @@ public abstract class AbstractNearCacheRecordStore<
     protected final EvictionPolicyEvaluator<KS, R> evictionPolicyEvaluator;
     protected final EvictionChecker evictionChecker;
     protected final EvictionStrategy<KS, R, NCRM> evictionStrategy;
+    protected final FrequencySketch frequencySketch;
 
     public AbstractNearCacheRecordStore(NearCacheConfig nearCacheConfig, NearCacheContext nearCacheContext) {
         this(nearCacheConfig, nearCacheContext, new NearCacheStatsImpl());
@@ -97,6 +107,7 @@ public abstract class AbstractNearCacheRecordStore<
             this.evictionChecker = null;
             this.evictionStrategy = null;
         }
+        this.frequencySketch = createFrequencySketch(nearCacheConfig);
     }
 
     protected abstract MaxSizeChecker createNearCacheMaxSizeChecker(EvictionConfig evictionConfig,
@@ -140,6 +151,14 @@ public abstract class AbstractNearCacheRecordStore<
         return EvictionStrategyProvider.getEvictionStrategy(evictionConfig);
     }
 
+    protected FrequencySketch createFrequencySketch(NearCacheConfig nearCacheConfig) {
+        if (nearCacheConfig.getAdmissionPolicy() != TINY_LFU || !isEvictionEnabled()
+                || !(records instanceof SampleableEvictableStore)) {
+            return null;
+        }
+        return new FrequencySketch(nearCacheConfig.getEvictionConfig().getSize());
+    }
+
     protected boolean isAvailable() {
         return records != null;
     }
@@ -244,6 +263,9 @@ public abstract class AbstractNearCacheRecordStore<
         R record = null;
         V value = null;
         try {
+            if (frequencySketch != null) {
+                frequencySketch.increment(key);
+            }
             record = getRecord(key);
             if (record != null) {
                 if (isRecordExpired(record)) {
@@ -269,6 +291,11 @@ public abstract class AbstractNearCacheRecordStore<
     public void put(K key, V value) {
         checkAvailable();
 
+        if (frequencySketch != null && !admit(key)) {
+            nearCacheStats.incrementAdmissionRejections();
+            return;
+        }
+
         R record = null;
         R oldRecord = null;
         try {
@@ -288,6 +315,29 @@ public abstract class AbstractNearCacheRecordStore<
         }
     }
 
+    /**
+     * Decides if the key is admitted when the put requires an eviction. If so, the victim the key was compared to
+     * is evicted.
+     */
+    protected boolean admit(K key) {
+        if (!evictionChecker.isEvictionRequired() || getRecord(key) != null) {
+            return true;
+        }
+        SampleableEvictableStore<KS, R> store = (SampleableEvictableStore<KS, R>) records;
+        Iterable<EvictionCandidate<KS, R>> samples = store.sample(SAMPLE_COUNT);
+        Iterable<EvictionCandidate<KS, R>> victims = evictionPolicyEvaluator.evaluate(samples);
+        if (victims == null) {
+            return true;
+        }
+        for (EvictionCandidate<KS, R> victim : victims) {
+            if (!frequencySketch.admit(key, victim.getAccessor())) {
+                return false;
+            }
+        }
+        records.evict(victims, this);
+        return true;
+    }
+
     @Override
     public boolean remove(K key) {
         checkAvailable();
@@ -343,6 +393,17 @@ public abstract class AbstractNearCacheRecordStore<
         return records.size();
     }
 
+    @Override
+    public Collection<Data> getKeysAsData() {
+        checkAvailable();
+
+        List<Data> keys = new ArrayList<Data>(records.size());
+        for (KS key : records.keySet()) {
+            keys.add(toData(key));
+        }
+        return keys;
+    }
+
     @Override
     public NearCacheStats getNearCacheStats() {
         checkAvailable();
@@ -367,7 +428,8 @@ public abstract class AbstractNearCacheRecordStore<
     public void doEvictionIfRequired() {
         checkAvailable();
 
-        if (isEvictionEnabled()) {
+        // with an admission policy the eviction is done on put, since the victim is compared to the key to put
+        if (isEvictionEnabled() && frequencySketch == null) {
             evictionStrategy.evict(records, evictionPolicyEvaluator, evictionChecker, this);
         }
     }
@@ -0,0 +1,636 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cache.impl.nearcache.impl.store;
+
+import com.hazelcast.cache.impl.nearcache.NearCacheContext;
+import com.hazelcast.cache.impl.nearcache.NearCacheRecordStore;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionConfig.MaxSizePolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.eviction.Evictable;
+import com.hazelcast.internal.eviction.EvictionCandidate;
+import com.hazelcast.internal.eviction.EvictionPolicyEvaluator;
+import com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider;
+import com.hazelcast.internal.eviction.Expirable;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.impl.NativeMemoryData;
+import com.hazelcast.internal.util.hashslot.HashSlotCursor8byteKey;
+import com.hazelcast.internal.util.hashslot.impl.HashSlotArray8byteKeyImpl;
+import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.monitor.NearCacheStats;
+import com.hazelcast.monitor.impl.NearCacheStatsImpl;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.util.Clock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import static com.hazelcast.cache.impl.nearcache.NearCache.NULL_OBJECT;
+import static com.hazelcast.cache.impl.nearcache.NearCacheRecord.TIME_NOT_SET;
+import static com.hazelcast.internal.eviction.impl.strategy.sampling.SamplingBasedEvictionStrategy.SAMPLE_COUNT;
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.util.hashslot.impl.CapacityUtil.DEFAULT_LOAD_FACTOR;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+
+/**
+ * {@link NearCacheRecordStore} for near caches configured with {@link InMemoryFormat#NATIVE}. Keys and values are
+ * serialized and copied into native memory blocks, so the near cache only costs a few heap objects regardless of
+ * its size.
+ * <p>
+ * The records are kept in the value blocks of a {@link HashSlotArray8byteKeyImpl} keyed by the 64-bit hash of the
+ * key. A record holds the addresses of the key and value blocks together with the creation, access and expiration
+ * times and the access hit count. When two keys share a hash, the record of the later put replaces the earlier one,
+ * which is acceptable for a cache. Entries are evicted by sampling, the same way as on the heap based stores, and an
+ * entry is not cached at all if no native memory can be made available for it.
+ * <p>
+ * The native structures are not thread safe, so all accesses are serialized by a single lock instead of striped
+ * locks: the hash slot array is resized as a whole and the max size and the sampled eviction apply to the whole
+ * store, so stripes would need a slot array and a share of the max size each. The lock is only held to look up and
+ * copy native memory; the keys are serialized before it is taken, the values are copied to the heap under the lock
+ * and deserialized after it is released, so it is held for a short time per access. A near cache which is contended
+ * by many threads should use the heap based in-memory formats.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public class NativeNearCacheRecordStore<K, V> implements NearCacheRecordStore<K, V> {
+
+    static final int KEY_ADDRESS_OFFSET = 0;
+    static final int VALUE_ADDRESS_OFFSET = KEY_ADDRESS_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int CREATION_TIME_OFFSET = VALUE_ADDRESS_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int ACCESS_TIME_OFFSET = CREATION_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int EXPIRATION_TIME_OFFSET = ACCESS_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int ACCESS_HIT_OFFSET = EXPIRATION_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+    // the access hit is an int, the record is padded to a multiple of 8 bytes
+    static final int RECORD_SIZE = ACCESS_HIT_OFFSET + LONG_SIZE_IN_BYTES;
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 256;
+    private static final int MAX_PUT_ATTEMPTS = 3;
+    private static final int MAX_SAMPLE_PROBES = 4 * SAMPLE_COUNT;
+    private static final int MILLI_SECONDS_IN_A_SECOND = 1000;
+
+    private final NearCacheConfig nearCacheConfig;
+    private final SerializationService serializationService;
+    private final NearCacheStatsImpl nearCacheStats = new NearCacheStatsImpl();
+    private final long timeToLiveMillis;
+    private final long maxIdleMillis;
+    private final MaxSizePolicy maxSizePolicy;
+    private final long maxSize;
+    private final EvictionPolicyEvaluator<Long, SampledEvictable> evictionPolicyEvaluator;
+    private final MemoryAllocator malloc;
+    private final MemoryAccessor mem;
+    private final RecordSlotArray slots;
+    private final Random random = new Random();
+    // the single lock of the store, see the class documentation
+    private final Object mutex = new Object();
+
+    // guarded by mutex
+    private long usedMemory;
+    private boolean destroyed;
+
+    public NativeNearCacheRecordStore(NearCacheConfig nearCacheConfig, NearCacheContext nearCacheContext) {
+        MemoryManager memoryManager = nearCacheContext.getMemoryManager();
+        if (memoryManager == null) {
+            throw new IllegalArgumentException("NATIVE in memory format of near cache " + nearCacheConfig.getName()
+                    + " requires native memory to be enabled!");
+        }
+        this.nearCacheConfig = nearCacheConfig;
+        this.serializationService = nearCacheContext.getSerializationService();
+        this.timeToLiveMillis = nearCacheConfig.getTimeToLiveSeconds() * MILLI_SECONDS_IN_A_SECOND;
+        this.maxIdleMillis = nearCacheConfig.getMaxIdleSeconds() * MILLI_SECONDS_IN_A_SECOND;
+
+        EvictionConfig evictionConfig = nearCacheConfig.getEvictionConfig();
+        if (evictionConfig != null) {
+            this.maxSizePolicy = evictionConfig.getMaximumSizePolicy();
+            this.maxSize = toMaxSize(maxSizePolicy, evictionConfig.getSize());
+            this.evictionPolicyEvaluator = EvictionPolicyEvaluatorProvider.getEvictionPolicyEvaluator(evictionConfig,
+                    nearCacheContext.getClassLoader());
+        } else {
+            this.maxSizePolicy = null;
+            this.maxSize = Long.MAX_VALUE;
+            this.evictionPolicyEvaluator = null;
+        }
+
+        this.malloc = memoryManager.getAllocator();
+        this.mem = memoryManager.getAccessor();
+        this.slots = new RecordSlotArray(memoryManager);
+        this.slots.gotoNew();
+    }
+
+    private static long toMaxSize(MaxSizePolicy maxSizePolicy, int size) {
+        if (maxSizePolicy == MaxSizePolicy.ENTRY_COUNT) {
+            return size;
+        }
+        if (maxSizePolicy == MaxSizePolicy.USED_NATIVE_MEMORY_SIZE) {
+            return MemoryUnit.MEGABYTES.toBytes(size);
+        }
+        throw new IllegalArgumentException("Invalid max-size policy (" + maxSizePolicy + ") for "
+                + NativeNearCacheRecordStore.class.getName() + "! Only " + MaxSizePolicy.ENTRY_COUNT
+                + " and " + MaxSizePolicy.USED_NATIVE_MEMORY_SIZE + " are supported.");
+    }
+
+    @Override
+    public V get(K key) {
+        Data keyData = serializationService.toData(key);
+        Data valueData;
+        synchronized (mutex) {
+            checkAvailable();
+
+            long recordAddress = getRecord(keyData);
+            long now = Clock.currentTimeMillis();
+            if (recordAddress == NULL_ADDRESS || isExpired(recordAddress, now)) {
+                if (recordAddress != NULL_ADDRESS) {
+                    removeRecord(keyData.hash64(), recordAddress);
+                }
+                nearCacheStats.incrementMisses();
+                return null;
+            }
+            onAccess(recordAddress, now);
+            nearCacheStats.incrementHits();
+
+            long valueAddress = mem.getLong(recordAddress + VALUE_ADDRESS_OFFSET);
+            if (valueAddress == NULL_ADDRESS) {
+                return (V) NULL_OBJECT;
+            }
+            valueData = new NativeMemoryData(valueAddress).toHeapData();
+        }
+        return serializationService.toObject(valueData);
+    }
+
+    @Override
+    public void put(K key, V value) {
+        Data keyData = serializationService.toData(key);
+        Data valueData = value == NULL_OBJECT ? null : serializationService.toData(value);
+        synchronized (mutex) {
+            checkAvailable();
+
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    putRecord(keyData, valueData);
+                    return;
+                } catch (NativeOutOfMemoryError e) {
+                    // caching is best effort, the entry is dropped if no memory can be freed for it
+                    if (attempt == MAX_PUT_ATTEMPTS || !evictSample()) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean remove(K key) {
+        Data keyData = serializationService.toData(key);
+        synchronized (mutex) {
+            checkAvailable();
+
+            long recordAddress = getRecord(keyData);
+            if (recordAddress == NULL_ADDRESS) {
+                return false;
+            }
+            removeRecord(keyData.hash64(), recordAddress);
+            return true;
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (mutex) {
+            checkAvailable();
+
+            clearRecords();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        synchronized (mutex) {
+            checkAvailable();
+
+            clearRecords();
+            slots.dispose();
+            destroyed = true;
+        }
+    }
+
+    @Override
+    public NearCacheStats getNearCacheStats() {
+        return nearCacheStats;
+    }
+
+    @Override
+    public Object selectToSave(Object... candidates) {
+        if (candidates == null) {
+            return null;
+        }
+        // the candidates are serialized anyway, so the already serialized one is preferred
+        Object selectedCandidate = null;
+        for (Object candidate : candidates) {
+            if (candidate instanceof Data) {
+                return candidate;
+            }
+            if (selectedCandidate == null) {
+                selectedCandidate = candidate;
+            }
+        }
+        return selectedCandidate;
+    }
+
+    @Override
+    public int size() {
+        synchronized (mutex) {
+            checkAvailable();
+
+            return (int) slots.size();
+        }
+    }
+
+    @Override
+    public Collection<Data> getKeysAsData() {
+        synchronized (mutex) {
+            checkAvailable();
+
+            List<Data> keys = new ArrayList<Data>((int) slots.size());
+            HashSlotCursor8byteKey cursor = slots.cursor();
+            while (cursor.advance()) {
+                long keyAddress = mem.getLong(cursor.valueAddress() + KEY_ADDRESS_OFFSET);
+                keys.add(new NativeMemoryData(keyAddress).toHeapData());
+            }
+            return keys;
+        }
+    }
+
+    @Override
+    public void doExpiration() {
+        synchronized (mutex) {
+            checkAvailable();
+
+            // the slots are shifted on removal, so the expired keys are collected before removing them
+            long now = Clock.currentTimeMillis();
+            long[] expiredHashes = new long[DEFAULT_INITIAL_CAPACITY];
+            int expiredCount = 0;
+            HashSlotCursor8byteKey cursor = slots.cursor();
+            while (cursor.advance()) {
+                if (isExpired(cursor.valueAddress(), now)) {
+                    if (expiredCount == expiredHashes.length) {
+                        expiredHashes = Arrays.copyOf(expiredHashes, expiredCount * 2);
+                    }
+                    expiredHashes[expiredCount++] = cursor.key();
+                }
+            }
+            for (int i = 0; i < expiredCount; i++) {
+                removeRecord(expiredHashes[i], slots.get(expiredHashes[i]));
+            }
+        }
+    }
+
+    @Override
+    public void doEvictionIfRequired() {
+        synchronized (mutex) {
+            checkAvailable();
+
+            if (isMaxSizeReached()) {
+                evictSample();
+            }
+        }
+    }
+
+    @Override
+    public void doEviction() {
+        synchronized (mutex) {
+            checkAvailable();
+
+            evictSample();
+        }
+    }
+
+    private void checkAvailable() {
+        if (destroyed) {
+            throw new IllegalStateException(nearCacheConfig.getName()
+                    + " named near cache record store is not available");
+        }
+    }
+
+    private boolean isMaxSizeReached() {
+        if (maxSizePolicy == MaxSizePolicy.ENTRY_COUNT) {
+            return slots.size() >= maxSize;
+        }
+        return usedMemory >= maxSize;
+    }
+
+    /**
+     * @return the address of the record of the given key or {@link MemoryAllocator#NULL_ADDRESS} if there is none
+     */
+    private long getRecord(Data key) {
+        long recordAddress = slots.get(key.hash64());
+        if (recordAddress == NULL_ADDRESS) {
+            return NULL_ADDRESS;
+        }
+        NativeMemoryData storedKey = new NativeMemoryData(mem.getLong(recordAddress + KEY_ADDRESS_OFFSET));
+        return storedKey.equals(key) ? recordAddress : NULL_ADDRESS;
+    }
+
+    private void putRecord(Data key, Data value) {
+        long keyAddress = NativeMemoryData.copyToNative(malloc, key);
+        long valueAddress = NULL_ADDRESS;
+        long recordAddress;
+        try {
+            if (value != null) {
+                valueAddress = NativeMemoryData.copyToNative(malloc, value);
+            }
+            recordAddress = slots.ensure(key.hash64());
+        } catch (NativeOutOfMemoryError e) {
+            freeBlock(valueAddress);
+            freeBlock(keyAddress);
+            throw e;
+        }
+
+        if (recordAddress > 0) {
+            nearCacheStats.incrementOwnedEntryCount();
+        } else {
+            // either the same key or another one sharing its hash, the stored entry is replaced in both cases
+            recordAddress = -recordAddress;
+            disposeRecord(recordAddress);
+        }
+        long now = Clock.currentTimeMillis();
+        mem.putLong(recordAddress + KEY_ADDRESS_OFFSET, keyAddress);
+        mem.putLong(recordAddress + VALUE_ADDRESS_OFFSET, valueAddress);
+        mem.putLong(recordAddress + CREATION_TIME_OFFSET, now);
+        mem.putLong(recordAddress + ACCESS_TIME_OFFSET, TIME_NOT_SET);
+        mem.putLong(recordAddress + EXPIRATION_TIME_OFFSET, timeToLiveMillis > 0 ? now + timeToLiveMillis : TIME_NOT_SET);
+        mem.putInt(recordAddress + ACCESS_HIT_OFFSET, 0);
+
+        long cost = recordCost(recordAddress);
+        usedMemory += cost;
+        nearCacheStats.incrementOwnedEntryMemoryCost(cost);
+    }
+
+    private void removeRecord(long hash, long recordAddress) {
+        disposeRecord(recordAddress);
+        slots.remove(hash);
+        nearCacheStats.decrementOwnedEntryCount();
+    }
+
+    /**
+     * Frees the key and value blocks of the given record, the slot itself is left as it is.
+     */
+    private void disposeRecord(long recordAddress) {
+        long cost = recordCost(recordAddress);
+        usedMemory -= cost;
+        nearCacheStats.decrementOwnedEntryMemoryCost(cost);
+
+        freeBlock(mem.getLong(recordAddress + VALUE_ADDRESS_OFFSET));
+        freeBlock(mem.getLong(recordAddress + KEY_ADDRESS_OFFSET));
+    }
+
+    private void clearRecords() {
+        HashSlotCursor8byteKey cursor = slots.cursor();
+        while (cursor.advance()) {
+            disposeRecord(cursor.valueAddress());
+        }
+        slots.clear();
+        usedMemory = 0;
+        nearCacheStats.setOwnedEntryCount(0);
+        nearCacheStats.setOwnedEntryMemoryCost(0L);
+    }
+
+    private long recordCost(long recordAddress) {
+        long valueAddress = mem.getLong(recordAddress + VALUE_ADDRESS_OFFSET);
+        return RECORD_SIZE
+                + NativeMemoryData.blockSize(mem.getLong(recordAddress + KEY_ADDRESS_OFFSET))
+                + (valueAddress != NULL_ADDRESS ? NativeMemoryData.blockSize(valueAddress) : 0L);
+    }
+
+    private void freeBlock(long address) {
+        if (address != NULL_ADDRESS) {
+            NativeMemoryData.free(malloc, address);
+        }
+    }
+
+    private void onAccess(long recordAddress, long now) {
+        mem.putLong(recordAddress + ACCESS_TIME_OFFSET, now);
+        int accessHit = mem.getInt(recordAddress + ACCESS_HIT_OFFSET);
+        if (accessHit < Integer.MAX_VALUE) {
+            mem.putInt(recordAddress + ACCESS_HIT_OFFSET, accessHit + 1);
+        }
+    }
+
+    private boolean isExpired(long recordAddress, long now) {
+        long expirationTime = mem.getLong(recordAddress + EXPIRATION_TIME_OFFSET);
+        if (expirationTime > TIME_NOT_SET && expirationTime <= now) {
+            return true;
+        }
+        if (maxIdleMillis <= 0) {
+            return false;
+        }
+        long accessTime = mem.getLong(recordAddress + ACCESS_TIME_OFFSET);
+        long lastUsed = accessTime > TIME_NOT_SET ? accessTime : mem.getLong(recordAddress + CREATION_TIME_OFFSET);
+        return lastUsed + maxIdleMillis < now;
+    }
+
+    /**
+     * Evicts the entry selected by the eviction policy out of a few sampled ones.
+     *
+     * @return {@code true} if an entry was evicted
+     */
+    private boolean evictSample() {
+        if (evictionPolicyEvaluator == null || slots.size() == 0) {
+            return false;
+        }
+        Iterable<SampledRecord> victims = evictionPolicyEvaluator.evaluate(sample());
+        if (victims == null) {
+            return false;
+        }
+        boolean evicted = false;
+        for (SampledRecord victim : victims) {
+            long recordAddress = slots.get(victim.hash);
+            if (recordAddress != NULL_ADDRESS) {
+                removeRecord(victim.hash, recordAddress);
+                evicted = true;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Samples the records of independently chosen random slots, so the records following a run of empty slots are
+     * not more likely to be sampled than the others. When not enough records are found that way, e.g. because most
+     * slots are empty after removals, the remaining samples are taken by scanning from a random slot.
+     */
+    private List<SampledRecord> sample() {
+        List<SampledRecord> samples = new ArrayList<SampledRecord>(SAMPLE_COUNT);
+        long capacity = slots.capacity();
+        long sampleCount = Math.min(SAMPLE_COUNT, slots.size());
+        for (int probe = 0; probe < MAX_SAMPLE_PROBES && samples.size() < sampleCount; probe++) {
+            addSample(samples, (long) (random.nextDouble() * capacity));
+        }
+        long startSlot = (long) (random.nextDouble() * capacity);
+        for (long i = 0; i < capacity && samples.size() < sampleCount; i++) {
+            addSample(samples, (startSlot + i) % capacity);
+        }
+        return samples;
+    }
+
+    private void addSample(List<SampledRecord> samples, long slot) {
+        long recordAddress = slots.recordOfSlot(slot);
+        if (recordAddress == NULL_ADDRESS) {
+            return;
+        }
+        long hash = slots.keyOfSlot(slot);
+        for (SampledRecord sample : samples) {
+            if (sample.hash == hash) {
+                return;
+            }
+        }
+        samples.add(new SampledRecord(hash, recordAddress));
+    }
+
+    /**
+     * Hash slot array whose value blocks hold the records. Exposes the slots by their index for sampling.
+     */
+    private static final class RecordSlotArray extends HashSlotArray8byteKeyImpl {
+
+        RecordSlotArray(MemoryManager memoryManager) {
+            super(NULL_ADDRESS, memoryManager, RECORD_SIZE, DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+        }
+
+        long recordOfSlot(long slot) {
+            long baseAddress = address();
+            if (!isAssigned(baseAddress, slot)) {
+                return NULL_ADDRESS;
+            }
+            return slotBase(baseAddress, slot) + keySize();
+        }
+
+        long keyOfSlot(long slot) {
+            return key1OfSlot(address(), slot);
+        }
+    }
+
+    /**
+     * Heap copy of the metadata of a sampled record. The key and value are only deserialized on demand, which is
+     * safe since the eviction policy is evaluated under the lock.
+     */
+    private final class SampledRecord implements EvictionCandidate<Long, SampledEvictable> {
+
+        private final long hash;
+        private final long recordAddress;
+        private final SampledEvictable evictable;
+
+        SampledRecord(long hash, long recordAddress) {
+            this.hash = hash;
+            this.recordAddress = recordAddress;
+            this.evictable = new SampledEvictable(mem.getLong(recordAddress + CREATION_TIME_OFFSET),
+                    mem.getLong(recordAddress + ACCESS_TIME_OFFSET), mem.getInt(recordAddress + ACCESS_HIT_OFFSET),
+                    mem.getLong(recordAddress + EXPIRATION_TIME_OFFSET));
+        }
+
+        @Override
+        public Long getAccessor() {
+            return hash;
+        }
+
+        @Override
+        public SampledEvictable getEvictable() {
+            return evictable;
+        }
+
+        @Override
+        public long getCreationTime() {
+            return evictable.getCreationTime();
+        }
+
+        @Override
+        public long getLastAccessTime() {
+            return evictable.getLastAccessTime();
+        }
+
+        @Override
+        public long getAccessHit() {
+            return evictable.getAccessHit();
+        }
+
+        @Override
+        public Object getKey() {
+            return serializationService.toObject(new NativeMemoryData(mem.getLong(recordAddress + KEY_ADDRESS_OFFSET)));
+        }
+
+        @Override
+        public Object getValue() {
+            long valueAddress = mem.getLong(recordAddress + VALUE_ADDRESS_OFFSET);
+            return valueAddress != NULL_ADDRESS ? serializationService.toObject(new NativeMemoryData(valueAddress)) : null;
+        }
+    }
+
+    private static final class SampledEvictable implements Evictable<Object>, Expirable {
+
+        private final long creationTime;
+        private final long accessTime;
+        private final int accessHit;
+        private long expirationTime;
+
+        SampledEvictable(long creationTime, long accessTime, int accessHit, long expirationTime) {
+            this.creationTime = creationTime;
+            this.accessTime = accessTime;
+            this.accessHit = accessHit;
+            this.expirationTime = expirationTime;
+        }
+
+        @Override
+        public long getCreationTime() {
+            return creationTime;
+        }
+
+        @Override
+        public long getLastAccessTime() {
+            return accessTime;
+        }
+
+        @Override
+        public int getAccessHit() {
+            return accessHit;
+        }
+
+        @Override
+        public Object getValue() {
+            return null;
+        }
+
+        @Override
+        public long getExpirationTime() {
+            return expirationTime;
+        }
+
+        @Override
+        public void setExpirationTime(long expirationTime) {
+            this.expirationTime = expirationTime;
+        }
+
+        @Override
+        public boolean isExpiredAt(long now) {
+            return expirationTime > TIME_NOT_SET && expirationTime <= now;
+        }
+    }
+}
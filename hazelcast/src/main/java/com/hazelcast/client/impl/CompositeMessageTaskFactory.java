@@ -20,6 +20,7 @@ import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.DefaultMessageTaskFactoryProvider;
 import com.hazelcast.client.impl.protocol.MessageTaskFactory;
 import com.hazelcast.client.impl.protocol.MessageTaskFactoryProvider;
+import com.hazelcast.client.impl.protocol.query.MapQueryMessageTaskFactoryProvider;
 import com.hazelcast.client.impl.protocol.task.MessageTask;
 import com.hazelcast.client.impl.protocol.task.NoSuchMessageTask;
 import com.hazelcast.instance.Node;
@@ -43,6 +44,7 @@ public class CompositeMessageTaskFactory implements MessageTaskFactory {
         this.nodeEngine = nodeEngine;
         this.node = ((NodeEngineImpl) nodeEngine).getNode();
         loadProvider(new DefaultMessageTaskFactoryProvider(this.nodeEngine));
+        loadProvider(new MapQueryMessageTaskFactoryProvider(this.nodeEngine));
         loadServices();
     }
 
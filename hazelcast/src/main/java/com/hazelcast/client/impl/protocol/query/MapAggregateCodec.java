@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.query;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ResponseMessageConst;
+import com.hazelcast.client.impl.protocol.util.ParameterUtil;
+import com.hazelcast.nio.Bits;
+import com.hazelcast.nio.serialization.Data;
+
+/**
+ * Codec of the {@link MapQueryMessageType#MAP_AGGREGATE} message, aggregating all entries of a map.
+ */
+public final class MapAggregateCodec {
+
+    public static final MapQueryMessageType REQUEST_TYPE = MapQueryMessageType.MAP_AGGREGATE;
+    public static final int RESPONSE_TYPE = ResponseMessageConst.DATA;
+    public static final boolean RETRYABLE = true;
+
+    private MapAggregateCodec() {
+    }
+
+    public static class RequestParameters {
+        public static final MapQueryMessageType TYPE = REQUEST_TYPE;
+        public String name;
+        public Data aggregator;
+
+        public static int calculateDataSize(String name, Data aggregator) {
+            int dataSize = ClientMessage.HEADER_SIZE;
+            dataSize += ParameterUtil.calculateDataSize(name);
+            dataSize += ParameterUtil.calculateDataSize(aggregator);
+            return dataSize;
+        }
+    }
+
+    public static ClientMessage encodeRequest(String name, Data aggregator) {
+        int requiredDataSize = RequestParameters.calculateDataSize(name, aggregator);
+        ClientMessage clientMessage = ClientMessage.createForEncode(requiredDataSize);
+        clientMessage.setMessageType(REQUEST_TYPE.id());
+        clientMessage.setRetryable(RETRYABLE);
+        clientMessage.set(name);
+        clientMessage.set(aggregator);
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    public static RequestParameters decodeRequest(ClientMessage clientMessage) {
+        RequestParameters parameters = new RequestParameters();
+        parameters.name = clientMessage.getStringUtf8();
+        parameters.aggregator = clientMessage.getData();
+        return parameters;
+    }
+
+    public static class ResponseParameters {
+        public Data response;
+
+        public static int calculateDataSize(Data response) {
+            int dataSize = ClientMessage.HEADER_SIZE + Bits.BOOLEAN_SIZE_IN_BYTES;
+            if (response != null) {
+                dataSize += ParameterUtil.calculateDataSize(response);
+            }
+            return dataSize;
+        }
+    }
+
+    public static ClientMessage encodeResponse(Data response) {
+        int requiredDataSize = ResponseParameters.calculateDataSize(response);
+        ClientMessage clientMessage = ClientMessage.createForEncode(requiredDataSize);
+        clientMessage.setMessageType(RESPONSE_TYPE);
+        clientMessage.set(response == null);
+        if (response != null) {
+            clientMessage.set(response);
+        }
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    public static ResponseParameters decodeResponse(ClientMessage clientMessage) {
+        ResponseParameters parameters = new ResponseParameters();
+        boolean isNull = clientMessage.getBoolean();
+        if (!isNull) {
+            parameters.response = clientMessage.getData();
+        }
+        return parameters;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.query;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ResponseMessageConst;
+import com.hazelcast.client.impl.protocol.util.ParameterUtil;
+import com.hazelcast.nio.Bits;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codec of the {@link MapQueryMessageType#MAP_FETCH_WITH_QUERY} message, fetching the next batch of entries of a
+ * partition matching a predicate. The partition is the one the message is sent to.
+ * <p/>
+ * The response has the same layout as the one of {@code MapFetchEntriesCodec}: the table index to continue from,
+ * followed by the matching entries.
+ */
+public final class MapFetchWithQueryCodec {
+
+    public static final MapQueryMessageType REQUEST_TYPE = MapQueryMessageType.MAP_FETCH_WITH_QUERY;
+    public static final int RESPONSE_TYPE = ResponseMessageConst.ENTRIES_WITH_CURSOR;
+    public static final boolean RETRYABLE = true;
+
+    private MapFetchWithQueryCodec() {
+    }
+
+    public static class RequestParameters {
+        public static final MapQueryMessageType TYPE = REQUEST_TYPE;
+        public String name;
+        public int tableIndex;
+        public int batch;
+        public Data predicate;
+
+        public static int calculateDataSize(String name, int tableIndex, int batch, Data predicate) {
+            int dataSize = ClientMessage.HEADER_SIZE;
+            dataSize += ParameterUtil.calculateDataSize(name);
+            dataSize += Bits.INT_SIZE_IN_BYTES;
+            dataSize += Bits.INT_SIZE_IN_BYTES;
+            dataSize += ParameterUtil.calculateDataSize(predicate);
+            return dataSize;
+        }
+    }
+
+    public static ClientMessage encodeRequest(String name, int tableIndex, int batch, Data predicate) {
+        int requiredDataSize = RequestParameters.calculateDataSize(name, tableIndex, batch, predicate);
+        ClientMessage clientMessage = ClientMessage.createForEncode(requiredDataSize);
+        clientMessage.setMessageType(REQUEST_TYPE.id());
+        clientMessage.setRetryable(RETRYABLE);
+        clientMessage.set(name);
+        clientMessage.set(tableIndex);
+        clientMessage.set(batch);
+        clientMessage.set(predicate);
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    public static RequestParameters decodeRequest(ClientMessage clientMessage) {
+        RequestParameters parameters = new RequestParameters();
+        parameters.name = clientMessage.getStringUtf8();
+        parameters.tableIndex = clientMessage.getInt();
+        parameters.batch = clientMessage.getInt();
+        parameters.predicate = clientMessage.getData();
+        return parameters;
+    }
+
+    public static class ResponseParameters {
+        public int tableIndex;
+        public List<Map.Entry<Data, Data>> entries;
+
+        public static int calculateDataSize(int tableIndex, Collection<Map.Entry<Data, Data>> entries) {
+            int dataSize = ClientMessage.HEADER_SIZE + Bits.INT_SIZE_IN_BYTES + Bits.INT_SIZE_IN_BYTES;
+            for (Map.Entry<Data, Data> entry : entries) {
+                dataSize += ParameterUtil.calculateDataSize(entry.getKey());
+                dataSize += ParameterUtil.calculateDataSize(entry.getValue());
+            }
+            return dataSize;
+        }
+    }
+
+    public static ClientMessage encodeResponse(int tableIndex, Collection<Map.Entry<Data, Data>> entries) {
+        int requiredDataSize = ResponseParameters.calculateDataSize(tableIndex, entries);
+        ClientMessage clientMessage = ClientMessage.createForEncode(requiredDataSize);
+        clientMessage.setMessageType(RESPONSE_TYPE);
+        clientMessage.set(tableIndex);
+        clientMessage.set(entries.size());
+        for (Map.Entry<Data, Data> entry : entries) {
+            clientMessage.set(entry.getKey());
+            clientMessage.set(entry.getValue());
+        }
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    public static ResponseParameters decodeResponse(ClientMessage clientMessage) {
+        ResponseParameters parameters = new ResponseParameters();
+        parameters.tableIndex = clientMessage.getInt();
+        int size = clientMessage.getInt();
+        List<Map.Entry<Data, Data>> entries = new ArrayList<Map.Entry<Data, Data>>(size);
+        for (int i = 0; i < size; i++) {
+            Data key = clientMessage.getData();
+            Data value = clientMessage.getData();
+            entries.add(new AbstractMap.SimpleEntry<Data, Data>(key, value));
+        }
+        parameters.entries = entries;
+        return parameters;
+    }
+}
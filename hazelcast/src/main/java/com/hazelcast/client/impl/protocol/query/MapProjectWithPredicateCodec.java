@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.query;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ResponseMessageConst;
+import com.hazelcast.client.impl.protocol.util.ParameterUtil;
+import com.hazelcast.nio.Bits;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Codec of the {@link MapQueryMessageType#MAP_PROJECT_WITH_PREDICATE} message, projecting the entries
+ * of a map matching a predicate.
+ * <p/>
+ * The response is a list of the projected values, which may contain {@code null} elements.
+ */
+public final class MapProjectWithPredicateCodec {
+
+    public static final MapQueryMessageType REQUEST_TYPE = MapQueryMessageType.MAP_PROJECT_WITH_PREDICATE;
+    public static final int RESPONSE_TYPE = ResponseMessageConst.LIST_DATA;
+    public static final boolean RETRYABLE = true;
+
+    private MapProjectWithPredicateCodec() {
+    }
+
+    public static class RequestParameters {
+        public static final MapQueryMessageType TYPE = REQUEST_TYPE;
+        public String name;
+        public Data projection;
+        public Data predicate;
+
+        public static int calculateDataSize(String name, Data projection, Data predicate) {
+            int dataSize = ClientMessage.HEADER_SIZE;
+            dataSize += ParameterUtil.calculateDataSize(name);
+            dataSize += ParameterUtil.calculateDataSize(projection);
+            dataSize += ParameterUtil.calculateDataSize(predicate);
+            return dataSize;
+        }
+    }
+
+    public static ClientMessage encodeRequest(String name, Data projection, Data predicate) {
+        int requiredDataSize = RequestParameters.calculateDataSize(name, projection, predicate);
+        ClientMessage clientMessage = ClientMessage.createForEncode(requiredDataSize);
+        clientMessage.setMessageType(REQUEST_TYPE.id());
+        clientMessage.setRetryable(RETRYABLE);
+        clientMessage.set(name);
+        clientMessage.set(projection);
+        clientMessage.set(predicate);
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    public static RequestParameters decodeRequest(ClientMessage clientMessage) {
+        RequestParameters parameters = new RequestParameters();
+        parameters.name = clientMessage.getStringUtf8();
+        parameters.projection = clientMessage.getData();
+        parameters.predicate = clientMessage.getData();
+        return parameters;
+    }
+
+    public static class ResponseParameters {
+        public List<Data> response;
+
+        public static int calculateDataSize(Collection<Data> response) {
+            int dataSize = ClientMessage.HEADER_SIZE + Bits.INT_SIZE_IN_BYTES;
+            for (Data element : response) {
+                dataSize += Bits.BOOLEAN_SIZE_IN_BYTES;
+                if (element != null) {
+                    dataSize += ParameterUtil.calculateDataSize(element);
+                }
+            }
+            return dataSize;
+        }
+    }
+
+    public static ClientMessage encodeResponse(Collection<Data> response) {
+        int requiredDataSize = ResponseParameters.calculateDataSize(response);
+        ClientMessage clientMessage = ClientMessage.createForEncode(requiredDataSize);
+        clientMessage.setMessageType(RESPONSE_TYPE);
+        clientMessage.set(response.size());
+        for (Data element : response) {
+            clientMessage.set(element == null);
+            if (element != null) {
+                clientMessage.set(element);
+            }
+        }
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    public static ResponseParameters decodeResponse(ClientMessage clientMessage) {
+        ResponseParameters parameters = new ResponseParameters();
+        int size = clientMessage.getInt();
+        List<Data> response = new ArrayList<Data>(size);
+        for (int i = 0; i < size; i++) {
+            boolean isNull = clientMessage.getBoolean();
+            response.add(isNull ? null : clientMessage.getData());
+        }
+        parameters.response = response;
+        return parameters;
+    }
+}
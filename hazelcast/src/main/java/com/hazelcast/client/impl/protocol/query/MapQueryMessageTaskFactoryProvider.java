@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.query;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.MessageTaskFactory;
+import com.hazelcast.client.impl.protocol.MessageTaskFactoryProvider;
+import com.hazelcast.client.impl.protocol.task.MessageTask;
+import com.hazelcast.client.impl.protocol.task.map.MapAggregateMessageTask;
+import com.hazelcast.client.impl.protocol.task.map.MapAggregateWithPredicateMessageTask;
+import com.hazelcast.client.impl.protocol.task.map.MapFetchWithQueryMessageTask;
+import com.hazelcast.client.impl.protocol.task.map.MapProjectMessageTask;
+import com.hazelcast.client.impl.protocol.task.map.MapProjectWithPredicateMessageTask;
+import com.hazelcast.instance.Node;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+
+/**
+ * Registers the message tasks of the {@link MapQueryMessageType} messages, which the generated
+ * {@link com.hazelcast.client.impl.protocol.DefaultMessageTaskFactoryProvider} doesn't know about.
+ */
+public class MapQueryMessageTaskFactoryProvider implements MessageTaskFactoryProvider {
+
+    private final MessageTaskFactory[] factories = new MessageTaskFactory[Short.MAX_VALUE];
+
+    private final Node node;
+
+    public MapQueryMessageTaskFactoryProvider(NodeEngine nodeEngine) {
+        this.node = ((NodeEngineImpl) nodeEngine).getNode();
+        initFactories();
+    }
+
+    private void initFactories() {
+        factories[MapAggregateCodec.REQUEST_TYPE.id()] = new MessageTaskFactory() {
+            public MessageTask create(ClientMessage clientMessage, Connection connection) {
+                return new MapAggregateMessageTask(clientMessage, node, connection);
+            }
+        };
+        factories[MapAggregateWithPredicateCodec.REQUEST_TYPE.id()] = new MessageTaskFactory() {
+            public MessageTask create(ClientMessage clientMessage, Connection connection) {
+                return new MapAggregateWithPredicateMessageTask(clientMessage, node, connection);
+            }
+        };
+        factories[MapProjectCodec.REQUEST_TYPE.id()] = new MessageTaskFactory() {
+            public MessageTask create(ClientMessage clientMessage, Connection connection) {
+                return new MapProjectMessageTask(clientMessage, node, connection);
+            }
+        };
+        factories[MapProjectWithPredicateCodec.REQUEST_TYPE.id()] = new MessageTaskFactory() {
+            public MessageTask create(ClientMessage clientMessage, Connection connection) {
+                return new MapProjectWithPredicateMessageTask(clientMessage, node, connection);
+            }
+        };
+        factories[MapFetchWithQueryCodec.REQUEST_TYPE.id()] = new MessageTaskFactory() {
+            public MessageTask create(ClientMessage clientMessage, Connection connection) {
+                return new MapFetchWithQueryMessageTask(clientMessage, node, connection);
+            }
+        };
+    }
+
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings({"MS_EXPOSE_REP", "EI_EXPOSE_REP"})
+    @Override
+    public MessageTaskFactory[] getFactories() {
+        return factories;
+    }
+}
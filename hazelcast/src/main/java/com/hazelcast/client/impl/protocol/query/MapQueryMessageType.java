@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.query;
+
+/**
+ * Message types of the map aggregation, projection and query iteration messages.
+ * <p/>
+ * These messages are not part of the protocol definitions the generated codecs are built from, so their codecs live
+ * in this package instead of the generated {@code com.hazelcast.client.impl.protocol.codec} package. Their ids use the
+ * service id {@link #SERVICE_ID} in the high byte, which the protocol definitions don't assign to any service; the
+ * generated message types use the service ids 0x00 up to 0x1B.
+ */
+public enum MapQueryMessageType {
+
+    MAP_AGGREGATE(0x7f01),
+    MAP_AGGREGATE_WITH_PREDICATE(0x7f02),
+    MAP_PROJECT(0x7f03),
+    MAP_PROJECT_WITH_PREDICATE(0x7f04),
+    MAP_FETCH_WITH_QUERY(0x7f05);
+
+    /**
+     * Service id reserved for the messages of this enum, used as the high byte of their message types.
+     */
+    public static final int SERVICE_ID = 0x7f;
+
+    private final int id;
+
+    MapQueryMessageType(int messageType) {
+        this.id = messageType;
+    }
+
+    public int id() {
+        return id;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.task.map;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.task.AbstractCallableMessageTask;
+import com.hazelcast.instance.Node;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.query.MapQueryEngine;
+import com.hazelcast.map.impl.query.QueryResult;
+import com.hazelcast.map.impl.query.QueryResultRow;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.MapPermission;
+
+import java.security.Permission;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class of the map projection tasks, the projection is applied on the members owning the partitions and only
+ * the serialized projected values are sent back to the client.
+ *
+ * @param <P> the type of the request parameters
+ */
+public abstract class AbstractMapProjectMessageTask<P> extends AbstractCallableMessageTask<P> {
+
+    protected AbstractMapProjectMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    protected abstract Projection getProjection();
+
+    protected abstract Predicate getPredicate();
+
+    @Override
+    protected final Object call() throws Exception {
+        MapService mapService = getService(MapService.SERVICE_NAME);
+        MapQueryEngine queryEngine = mapService.getMapServiceContext().getMapQueryEngine(getDistributedObjectName());
+        QueryResult result = queryEngine.invokeProjectionAllPartitions(getDistributedObjectName(), getPredicate(),
+                getProjection());
+        List<Data> values = new ArrayList<Data>(result.size());
+        for (QueryResultRow row : result) {
+            values.add(row.getValue());
+        }
+        return values;
+    }
+
+    @Override
+    public final String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    public Permission getRequiredPermission() {
+        return new MapPermission(getDistributedObjectName(), ActionConstants.ACTION_READ);
+    }
+
+    @Override
+    public String getMethodName() {
+        return "project";
+    }
+}
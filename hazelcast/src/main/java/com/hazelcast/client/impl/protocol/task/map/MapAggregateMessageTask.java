@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.task.map;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.query.MapAggregateCodec;
+import com.hazelcast.instance.Node;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.TruePredicate;
+
+public class MapAggregateMessageTask extends AbstractMapAggregateMessageTask<MapAggregateCodec.RequestParameters> {
+
+    public MapAggregateMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    @Override
+    protected Aggregator getAggregator() {
+        return serializationService.toObject(parameters.aggregator);
+    }
+
+    @Override
+    protected Predicate getPredicate() {
+        return TruePredicate.INSTANCE;
+    }
+
+    @Override
+    protected MapAggregateCodec.RequestParameters decodeClientMessage(ClientMessage clientMessage) {
+        return MapAggregateCodec.decodeRequest(clientMessage);
+    }
+
+    @Override
+    protected ClientMessage encodeResponse(Object response) {
+        return MapAggregateCodec.encodeResponse((Data) response);
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return new Object[]{parameters.aggregator};
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return parameters.name;
+    }
+}
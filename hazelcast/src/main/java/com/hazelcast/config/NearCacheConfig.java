@@ -20,6 +20,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.Serializable;
 
@@ -79,6 +80,10 @@ public class NearCacheConfig
     //      * LRU as eviction policy
     private EvictionConfig evictionConfig = new EvictionConfig();
 
+    private AdmissionPolicy admissionPolicy = AdmissionPolicy.ALL;
+
+    private NearCachePreloaderConfig preloaderConfig = new NearCachePreloaderConfig();
+
     /**
      * Local Update Policy enum.
      */
@@ -93,6 +98,22 @@ public class NearCacheConfig
         CACHE
     }
 
+    /**
+     * Defines which entries are admitted into a full near cache.
+     */
+    public enum AdmissionPolicy {
+        /**
+         * Every entry is admitted, an entry is evicted by the eviction policy to make room for it.
+         */
+        ALL,
+        /**
+         * An entry is only admitted if its key was accessed more often recently than the key of the entry selected
+         * by the eviction policy, according to a TinyLFU frequency sketch. This keeps the hot entries in the near
+         * cache when many cold keys are read once, e.g. by a scan.
+         */
+        TINY_LFU
+    }
+
     public NearCacheConfig() {
     }
 
@@ -129,6 +150,8 @@ public class NearCacheConfig
         timeToLiveSeconds = config.getTimeToLiveSeconds();
         cacheLocalEntries = config.isCacheLocalEntries();
         localUpdatePolicy = config.localUpdatePolicy;
+        admissionPolicy = config.admissionPolicy;
+        preloaderConfig = new NearCachePreloaderConfig(config.preloaderConfig);
         // Eviction config cannot be null
         if (config.evictionConfig != null) {
             this.evictionConfig = config.evictionConfig;
@@ -353,7 +376,48 @@ public class NearCacheConfig
         return this;
     }
 
+    /**
+     * Gets the admission policy deciding which entries are admitted into a full near cache.
+     *
+     * @return the admission policy
+     */
+    public AdmissionPolicy getAdmissionPolicy() {
+        return admissionPolicy;
+    }
+
+    /**
+     * Sets the admission policy deciding which entries are admitted into a full near cache. The admission policy only
+     * applies when an eviction policy and a max size are configured.
+     *
+     * @param admissionPolicy the admission policy
+     * @return This near cache config instance.
+     */
+    public NearCacheConfig setAdmissionPolicy(AdmissionPolicy admissionPolicy) {
+        this.admissionPolicy = checkNotNull(admissionPolicy, "Admission policy cannot be null !");
+        return this;
+    }
+
     // this setter is for reflection based configuration building
+    /**
+     * Gets the configuration of the preloader which stores the keys of the near cache and warms it up after a restart.
+     *
+     * @return the preloader config
+     */
+    public NearCachePreloaderConfig getPreloaderConfig() {
+        return preloaderConfig;
+    }
+
+    /**
+     * Sets the configuration of the preloader which stores the keys of the near cache and warms it up after a restart.
+     *
+     * @param preloaderConfig the preloader config
+     * @return this near cache config instance
+     */
+    public NearCacheConfig setPreloaderConfig(NearCachePreloaderConfig preloaderConfig) {
+        this.preloaderConfig = checkNotNull(preloaderConfig, "Preloader config cannot be null !");
+        return this;
+    }
+
     public NearCacheConfig setInMemoryFormat(String inMemoryFormat) {
         checkNotNull(inMemoryFormat, "In-Memory format cannot be null !");
 
@@ -401,6 +465,10 @@ public class NearCacheConfig
         out.writeInt(inMemoryFormat.ordinal());
         out.writeInt(localUpdatePolicy.ordinal());
         out.writeObject(evictionConfig);
+        if (admissionPolicy != AdmissionPolicy.ALL || preloaderConfig.isEnabled()) {
+            out.writeInt(admissionPolicy.ordinal());
+            out.writeObject(preloaderConfig);
+        }
     }
 
     @Override
@@ -416,6 +484,23 @@ public class NearCacheConfig
         final int localUpdatePolicyInt = in.readInt();
         localUpdatePolicy = LocalUpdatePolicy.values()[localUpdatePolicyInt];
         evictionConfig = in.readObject();
+        readAdmissionAndPreloader(in);
+    }
+
+    /**
+     * The admission policy and the preloader config are only appended when either of them is used, so a config which
+     * uses neither can still be read by members and clients of versions which don't know them. A config without them
+     * keeps the defaults.
+     */
+    private void readAdmissionAndPreloader(ObjectDataInput in) throws IOException {
+        int admissionPolicyInt;
+        try {
+            admissionPolicyInt = in.readInt();
+        } catch (EOFException e) {
+            return;
+        }
+        admissionPolicy = AdmissionPolicy.values()[admissionPolicyInt];
+        preloaderConfig = in.readObject();
     }
 
     @Override
@@ -430,6 +515,8 @@ public class NearCacheConfig
                 + ", cacheLocalEntries=" + cacheLocalEntries
                 + ", localUpdatePolicy=" + localUpdatePolicy
                 + ", evictionConfig=" + evictionConfig
+                + ", admissionPolicy=" + admissionPolicy
+                + ", preloaderConfig=" + preloaderConfig
                 + '}';
     }
 }
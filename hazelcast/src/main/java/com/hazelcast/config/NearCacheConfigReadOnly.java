@@ -62,4 +62,14 @@ public class NearCacheConfigReadOnly extends NearCacheConfig {
     public NearCacheConfig setCacheLocalEntries(boolean cacheLocalEntries) {
         throw new UnsupportedOperationException("This config is read-only");
     }
+
+    @Override
+    public NearCacheConfig setAdmissionPolicy(AdmissionPolicy admissionPolicy) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
+
+    @Override
+    public NearCacheConfig setPreloaderConfig(NearCachePreloaderConfig preloaderConfig) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
 }
@@ -16,6 +16,7 @@
 
 package com.hazelcast.core;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
 import com.hazelcast.map.QueryResultSizeExceededException;
@@ -26,6 +27,7 @@ import com.hazelcast.mapreduce.JobTracker;
 import com.hazelcast.mapreduce.aggregation.Aggregation;
 import com.hazelcast.mapreduce.aggregation.Supplier;
 import com.hazelcast.monitor.LocalMapStats;
+import com.hazelcast.projection.Projection;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.spi.properties.GroupProperty;
 
@@ -1503,6 +1505,25 @@ public interface IMap<K, V> extends ConcurrentMap<K, V>, LegacyAsyncMap<K, V> {
      * You should also make sure to add the indexes before adding
      * entries to this map.
      * <p/>
+     * <h3>Composite indexes</h3>
+     * A comma separated list of attributes declares a composite index on all of them. A query having equality
+     * conditions on a prefix of the attributes and, if the index is ordered, a range condition on the next one
+     * is answered with a single lookup of the composite index instead of intersecting the results of several
+     * indexes:
+     * <pre>
+     *   imap.addIndex("city,age", true);   // used by "city = 'London' and age > 30"
+     * </pre>
+     * Attributes returning several values, like {@code orders[any].amount}, can't be part of a composite index.
+     * <p/>
+     * <h3>Bitmap indexes</h3>
+     * An attribute wrapped in {@code BITMAP(...)} declares a bitmap index, suited to attributes with few distinct
+     * values. Conjunctions, disjunctions and negations of equality and {@code in} conditions on bitmap indexed
+     * attributes are evaluated on compressed bitmaps before any entry is materialized. The ordered flag is ignored:
+     * <pre>
+     *   imap.addIndex("BITMAP(status)", false);
+     *   imap.addIndex("BITMAP(region)", false);  // used by "status = 'OPEN' and not(region in ('EU', 'US'))"
+     * </pre>
+     * <p/>
      * <h3>Time to Index</h3>
      * Indexing time is executed in parallel on each partition by operation threads. The Map
      * is not blocked during this operation.
@@ -1621,4 +1642,65 @@ public interface IMap<K, V> extends ConcurrentMap<K, V>, LegacyAsyncMap<K, V> {
     <SuppliedValue, Result> Result aggregate(Supplier<K, V, SuppliedValue> supplier,
                                              Aggregation<K, SuppliedValue, Result> aggregation,
                                              JobTracker jobTracker);
+
+    /**
+     * Applies the aggregation logic on all map entries and returns the result.
+     * <p/>
+     * The aggregation is executed on the members owning the entries, so only the partial results of the
+     * aggregation are transferred, not the entries. A set of predefined aggregators can be found in
+     * {@link com.hazelcast.aggregation.Aggregators}.
+     *
+     * @param aggregator aggregator to aggregate the entries with
+     * @param <R>        type of the result
+     * @return the result of the given type
+     * @throws NullPointerException if the aggregator is null
+     */
+    <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator);
+
+    /**
+     * Applies the aggregation logic on the map entries filtered with the predicate and returns the result.
+     * <p/>
+     * The aggregation is executed on the members owning the entries, so only the partial results of the
+     * aggregation are transferred, not the entries. Like a query, the aggregation uses the indexes of the map
+     * to select the entries. A set of predefined aggregators can be found in
+     * {@link com.hazelcast.aggregation.Aggregators}.
+     *
+     * @param aggregator aggregator to aggregate the entries with
+     * @param predicate  predicate to filter the entries with, paging predicates are not allowed
+     * @param <R>        type of the result
+     * @return the result of the given type
+     * @throws NullPointerException     if the aggregator or the predicate is null
+     * @throws IllegalArgumentException if the predicate is a {@link com.hazelcast.query.PagingPredicate}
+     */
+    <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator, Predicate<K, V> predicate);
+
+    /**
+     * Applies the projection logic on all map entries and returns the result.
+     * <p/>
+     * The projection is applied on the members owning the entries, so only the projected values are transferred,
+     * not the whole values. A set of predefined projections can be found in
+     * {@link com.hazelcast.projection.Projections}.
+     *
+     * @param projection projection to transform the entries with
+     * @param <R>        type of the projected values
+     * @return the projected values, one per entry
+     * @throws NullPointerException if the projection is null
+     */
+    <R> Collection<R> project(Projection<Map.Entry<K, V>, R> projection);
+
+    /**
+     * Applies the projection logic on the map entries filtered with the predicate and returns the result.
+     * <p/>
+     * The projection is applied on the members owning the entries, so only the projected values are transferred,
+     * not the whole values. A set of predefined projections can be found in
+     * {@link com.hazelcast.projection.Projections}.
+     *
+     * @param projection projection to transform the entries with
+     * @param predicate  predicate to filter the entries with, paging predicates are not allowed
+     * @param <R>        type of the projected values
+     * @return the projected values, one per matching entry
+     * @throws NullPointerException     if the projection or the predicate is null
+     * @throws IllegalArgumentException if the predicate is a {@link com.hazelcast.query.PagingPredicate}
+     */
+    <R> Collection<R> project(Projection<Map.Entry<K, V>, R> projection, Predicate<K, V> predicate);
 }
@@ -20,15 +20,22 @@ import com.hazelcast.cache.impl.CacheService;
 import com.hazelcast.cache.impl.ICacheService;
 import com.hazelcast.cluster.ClusterState;
 import com.hazelcast.config.Config;
+import com.hazelcast.config.NativeMemoryConfig;
+import com.hazelcast.config.NativeMemoryConfig.MemoryAllocatorType;
 import com.hazelcast.config.SerializationConfig;
 import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.memory.impl.PoolingMemoryManager;
+import com.hazelcast.internal.memory.impl.StandardMemoryManager;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.SerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.AbstractSerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.memory.DefaultMemoryStats;
 import com.hazelcast.memory.MemoryStats;
+import com.hazelcast.memory.MemoryUnit;
 import com.hazelcast.nio.ClassLoaderUtil;
 import com.hazelcast.nio.IOService;
 import com.hazelcast.nio.MemberSocketInterceptor;
@@ -44,6 +51,7 @@ import com.hazelcast.security.SecurityContext;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.annotation.PrivateApi;
 import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.operationexecutor.impl.PartitionOperationThread;
 import com.hazelcast.spi.properties.GroupProperty;
 import com.hazelcast.util.ConstructorFunction;
 import com.hazelcast.util.ExceptionUtil;
@@ -64,6 +72,8 @@ public class DefaultNodeExtension implements NodeExtension {
 
     private final MemoryStats memoryStats = new DefaultMemoryStats();
 
+    private volatile MemoryManager nativeMemoryManager;
+
     public DefaultNodeExtension(Node node) {
         this.node = node;
         logger = node.getLogger(NodeExtension.class);
@@ -72,6 +82,20 @@ public class DefaultNodeExtension implements NodeExtension {
 
     @Override
     public void beforeStart() {
+        NativeMemoryConfig nativeMemoryConfig = node.getConfig().getNativeMemoryConfig();
+        if (nativeMemoryConfig.isEnabled()) {
+            nativeMemoryManager = createNativeMemoryManager(nativeMemoryConfig);
+        }
+    }
+
+    protected MemoryManager createNativeMemoryManager(NativeMemoryConfig nativeMemoryConfig) {
+        logger.info("Using " + nativeMemoryConfig.getAllocatorType() + " native memory allocator with "
+                + nativeMemoryConfig.getSize().toPrettyString() + " capacity");
+        if (nativeMemoryConfig.getAllocatorType() == MemoryAllocatorType.POOLED) {
+            return new PoolingMemoryManager(nativeMemoryConfig.getSize(), nativeMemoryConfig.getMinBlockSize(),
+                    nativeMemoryConfig.getPageSize());
+        }
+        return new StandardMemoryManager(nativeMemoryConfig.getSize());
     }
 
     @Override
@@ -91,6 +115,11 @@ public class DefaultNodeExtension implements NodeExtension {
 
     @Override
     public void beforeJoin() {
+        InternalSerializationService serializationService = node.getSerializationService();
+        if (serializationService instanceof AbstractSerializationService) {
+            node.nodeEngine.getMetricsRegistry().scanAndRegister(
+                    ((AbstractSerializationService) serializationService).getBufferPoolThreadLocal(), "serialization.bufferPool");
+        }
     }
 
     @Override
@@ -122,6 +151,8 @@ public class DefaultNodeExtension implements NodeExtension {
                     ? config.getSerializationConfig() : new SerializationConfig();
 
             byte version = (byte) node.getProperties().getInteger(GroupProperty.SERIALIZATION_VERSION);
+            int maxRetainedOutputBufferSize = (int) MemoryUnit.KILOBYTES.toBytes(
+                    node.getProperties().getInteger(GroupProperty.SERIALIZATION_MAX_RETAINED_OUTPUT_BUFFER_SIZE));
 
             ss = (InternalSerializationService) builder.setClassLoader(configClassLoader)
                     .setConfig(serializationConfig)
@@ -129,6 +160,7 @@ public class DefaultNodeExtension implements NodeExtension {
                     .setPartitioningStrategy(partitioningStrategy)
                     .setHazelcastInstance(hazelcastInstance)
                     .setVersion(version)
+                    .setMaxRetainedOutputBufferSize(maxRetainedOutputBufferSize)
                     .build();
         } catch (Exception e) {
             throw ExceptionUtil.rethrow(e);
@@ -192,10 +224,16 @@ public class DefaultNodeExtension implements NodeExtension {
 
     @Override
     public void onThreadStart(Thread thread) {
+        if (thread instanceof PartitionOperationThread && nativeMemoryManager instanceof PoolingMemoryManager) {
+            ((PoolingMemoryManager) nativeMemoryManager).registerThread();
+        }
     }
 
     @Override
     public void onThreadStop(Thread thread) {
+        if (thread instanceof PartitionOperationThread && nativeMemoryManager instanceof PoolingMemoryManager) {
+            ((PoolingMemoryManager) nativeMemoryManager).deregisterThread();
+        }
     }
 
     @Override
@@ -203,6 +241,11 @@ public class DefaultNodeExtension implements NodeExtension {
         return memoryStats;
     }
 
+    @Override
+    public MemoryManager getNativeMemoryManager() {
+        return nativeMemoryManager;
+    }
+
     @Override
     public void beforeShutdown() {
     }
@@ -210,6 +253,11 @@ public class DefaultNodeExtension implements NodeExtension {
     @Override
     public void shutdown() {
         logger.info("Destroying node NodeExtension.");
+        MemoryManager memoryManager = nativeMemoryManager;
+        if (memoryManager != null) {
+            nativeMemoryManager = null;
+            memoryManager.dispose();
+        }
     }
 
     @Override
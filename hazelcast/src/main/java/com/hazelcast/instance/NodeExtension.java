@@ -17,6 +17,7 @@
 package com.hazelcast.instance;
 
 import com.hazelcast.cluster.ClusterState;
+import com.hazelcast.internal.memory.MemoryManager;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.memory.MemoryStats;
 import com.hazelcast.nio.IOService;
@@ -161,6 +162,14 @@ public interface NodeExtension {
      */
     MemoryStats getMemoryStats();
 
+    /**
+     * Returns the {@link MemoryManager} used by the data structures configured with
+     * {@link com.hazelcast.config.InMemoryFormat#NATIVE}.
+     *
+     * @return native memory manager or {@code null} if native memory is not enabled
+     */
+    MemoryManager getNativeMemoryManager();
+
      /**
      * Called before a new node is joining to cluster,
      * executed if node is the master node before join event.
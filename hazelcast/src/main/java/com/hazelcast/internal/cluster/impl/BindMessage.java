@@ -21,6 +21,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 
+import java.io.EOFException;
 import java.io.IOException;
 
 public class BindMessage implements IdentifiedDataSerializable {
@@ -28,14 +29,20 @@ public class BindMessage implements IdentifiedDataSerializable {
     private Address localAddress;
     private Address targetAddress;
     private boolean reply;
+    private boolean compression;
 
     public BindMessage() {
     }
 
     public BindMessage(Address localAddress, Address targetAddress, boolean reply) {
+        this(localAddress, targetAddress, reply, false);
+    }
+
+    public BindMessage(Address localAddress, Address targetAddress, boolean reply, boolean compression) {
         this.localAddress = localAddress;
         this.targetAddress = targetAddress;
         this.reply = reply;
+        this.compression = compression;
     }
 
     public Address getLocalAddress() {
@@ -50,6 +57,13 @@ public class BindMessage implements IdentifiedDataSerializable {
         return reply;
     }
 
+    /**
+     * @return true if the sending member accepts compressed packets and wants to compress the packets it sends
+     */
+    public boolean isCompressionEnabled() {
+        return compression;
+    }
+
     @Override
     public int getFactoryId() {
         return ClusterDataSerializerHook.F_ID;
@@ -70,6 +84,20 @@ public class BindMessage implements IdentifiedDataSerializable {
             targetAddress.readData(in);
         }
         reply = in.readBoolean();
+        compression = readCompression(in);
+    }
+
+    /**
+     * The compression flag is only appended by members that enable compression, so members that don't (or don't know
+     * about compression at all) send binds that members of older versions can read, and older members ignore it.
+     * A bind without the flag comes from a member that doesn't compress.
+     */
+    private static boolean readCompression(ObjectDataInput in) throws IOException {
+        try {
+            return in.readBoolean();
+        } catch (EOFException e) {
+            return false;
+        }
     }
 
     @Override
@@ -81,6 +109,9 @@ public class BindMessage implements IdentifiedDataSerializable {
             targetAddress.writeData(out);
         }
         out.writeBoolean(reply);
+        if (compression) {
+            out.writeBoolean(true);
+        }
     }
 
     @Override
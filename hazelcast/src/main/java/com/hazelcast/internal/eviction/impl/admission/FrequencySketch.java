@@ -0,0 +1,149 @@
+/*
+ * Original work Copyright 2015 Ben Manes. All Rights Reserved.
+ * Modified work Copyright (c) 2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction.impl.admission;
+
+import com.hazelcast.util.QuickMath;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * A TinyLFU admission filter: a count-min sketch estimating how often keys were accessed recently.
+ * Adapted from the {@code FrequencySketch} of the Caffeine caching library
+ * (https://github.com/ben-manes/caffeine).
+ * <p/>
+ * When a bounded cache is full, a new entry is only admitted if its key was accessed more often than the key of the
+ * entry it would evict. So a scan over many cold keys doesn't evict the hot working set.
+ * <p/>
+ * Each key is counted by 4 counters of 4 bits in different rows, its frequency is the minimum of them. To forget old
+ * accesses, all counters are halved after 10 times the maximum size of the cache increments.
+ * <p/>
+ * Thread-safe. The counters are updated with a CAS, but the halving may race with increments, which only makes the
+ * estimate less accurate.
+ */
+public final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L,
+    };
+    private static final int ROWS = 4;
+    private static final int COUNTER_BITS = 4;
+    private static final long COUNTER_MASK = 0xfL;
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int MIN_TABLE_LENGTH = 16;
+    private static final int MAX_TABLE_LENGTH = 1 << 24;
+    private static final int SAMPLE_FACTOR = 10;
+    private static final int SPREAD_MULTIPLIER = 0x45d9f3b;
+    private static final int SPREAD_SHIFT = 16;
+    private static final int HALF_SHIFT = 32;
+
+    private final AtomicLongArray table;
+    private final int tableMask;
+    private final int sampleSize;
+    private final AtomicInteger additions = new AtomicInteger();
+
+    /**
+     * @param maximumSize the maximum number of entries of the cache
+     */
+    public FrequencySketch(int maximumSize) {
+        checkPositive(maximumSize, "maximumSize should be positive");
+        int length = QuickMath.nextPowerOfTwo(Math.min(Math.max(maximumSize, MIN_TABLE_LENGTH), MAX_TABLE_LENGTH));
+        this.table = new AtomicLongArray(length);
+        this.tableMask = length - 1;
+        this.sampleSize = maximumSize > Integer.MAX_VALUE / SAMPLE_FACTOR ? Integer.MAX_VALUE : maximumSize * SAMPLE_FACTOR;
+    }
+
+    /**
+     * Records an access to the given key.
+     */
+    public void increment(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & (ROWS - 1)) * ROWS;
+        boolean added = false;
+        for (int row = 0; row < ROWS; row++) {
+            added |= incrementAt(indexOf(hash, row), start + row);
+        }
+        if (added && additions.incrementAndGet() == sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Returns the estimated number of recent accesses to the given key, at most 15.
+     */
+    public int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & (ROWS - 1)) * ROWS;
+        int frequency = (int) COUNTER_MASK;
+        for (int row = 0; row < ROWS; row++) {
+            long value = table.get(indexOf(hash, row));
+            int count = (int) ((value >>> ((start + row) * COUNTER_BITS)) & COUNTER_MASK);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Returns {@code true} if the candidate key was accessed more often than the key of the victim, so the entry of
+     * the candidate should replace the one of the victim.
+     */
+    public boolean admit(Object candidateKey, Object victimKey) {
+        return frequency(candidateKey) > frequency(victimKey);
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter * COUNTER_BITS;
+        long mask = COUNTER_MASK << offset;
+        for (;;) {
+            long value = table.get(index);
+            if ((value & mask) == mask) {
+                return false;
+            }
+            if (table.compareAndSet(index, value, value + (1L << offset))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Halves all counters, so the frequencies reflect the recent accesses.
+     */
+    private void reset() {
+        int oddCounters = 0;
+        for (int i = 0; i < table.length(); i++) {
+            long value = table.get(i);
+            oddCounters += Long.bitCount(value & ONE_MASK);
+            table.set(i, (value >>> 1) & RESET_MASK);
+        }
+        additions.set((sampleSize - (oddCounters / ROWS)) / 2);
+    }
+
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> HALF_SHIFT;
+        return (int) h & tableMask;
+    }
+
+    private static int spread(int hash) {
+        int x = ((hash >>> SPREAD_SHIFT) ^ hash) * SPREAD_MULTIPLIER;
+        return (x >>> SPREAD_SHIFT) ^ x;
+    }
+}
@@ -30,7 +30,10 @@ import com.hazelcast.internal.eviction.impl.strategy.AbstractEvictionStrategy;
 public class SamplingBasedEvictionStrategy<A, E extends Evictable, S extends SampleableEvictableStore<A, E>>
         extends AbstractEvictionStrategy<A, E, S> {
 
-    private static final int SAMPLE_COUNT = 15;
+    /**
+     * The number of sampled entries out of which the entry to evict is selected.
+     */
+    public static final int SAMPLE_COUNT = 15;
 
     /**
      * Processes sampling based eviction logic on {@link SampleableEvictableStore}.
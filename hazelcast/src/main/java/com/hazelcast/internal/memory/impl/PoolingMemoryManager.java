@@ -0,0 +1,525 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.metrics.MetricsProvider;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.Counter;
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.Preconditions.checkTrue;
+import static com.hazelcast.util.QuickMath.isPowerOfTwo;
+import static com.hazelcast.util.QuickMath.log2;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * {@link MemoryManager} which serves blocks from pages of native memory using a buddy allocator.
+ * <p>
+ * Requested sizes are rounded up to power-of-two size classes between the minimum block size and the page size.
+ * A block of a size class is obtained by splitting a block of the next larger size class in two buddies, and
+ * a freed block is merged back with its buddy as long as the buddy is free as well. A page which becomes
+ * completely free again is given back to a shared pool of free pages, from which any arena can take it. Blocks
+ * larger than a page are allocated directly from the operating system.
+ * <p>
+ * Pages and free lists are owned by arenas. Threads registered through {@link #registerThread()} (the partition
+ * threads) get an arena of their own so that they do not contend with each other; all other threads share a
+ * common arena. A block may be freed by any thread, it is returned to the arena owning its page.
+ * <p>
+ * Corresponds to {@link com.hazelcast.config.NativeMemoryConfig.MemoryAllocatorType#POOLED}.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public class PoolingMemoryManager implements MemoryManager, MetricsProvider {
+
+    /**
+     * Minimum supported block size: a free block holds the links of its free list
+     */
+    public static final int MIN_BLOCK_SIZE = 2 * LONG_SIZE_IN_BYTES;
+
+    private static final int NEXT_OFFSET = 0;
+    private static final int PREV_OFFSET = LONG_SIZE_IN_BYTES;
+    private static final int BITS_PER_LONG_SHIFT = 6;
+    private static final int PERCENT = 100;
+
+    private final int minBlockSize;
+    private final int minBlockShift;
+    private final int pageSize;
+    private final int maxOrder;
+    private final long maxMemory;
+
+    private final AtomicLong committedMemory = new AtomicLong();
+    @Probe
+    private final Counter usedMemory = newMwCounter();
+    @Probe
+    private final Counter requestedMemory = newMwCounter();
+    @Probe
+    private final Counter allocationCount = newMwCounter();
+    @Probe
+    private final Counter freeCount = newMwCounter();
+    @Probe
+    private final Counter hugeAllocationCount = newMwCounter();
+    @Probe
+    private final Counter buddyMergeCount = newMwCounter();
+    @Probe
+    private final Counter pageReleaseCount = newMwCounter();
+
+    private final Arena sharedArena;
+    private final ThreadLocal<Arena> threadArena = new ThreadLocal<Arena>();
+    private final List<Arena> arenas = new CopyOnWriteArrayList<Arena>();
+    private final Allocator malloc = new Allocator();
+
+    // pages sorted by base address, replaced on every change so that lookups do not need the lock
+    private volatile Page[] pages = new Page[0];
+    private final ArrayDeque<Page> freePages = new ArrayDeque<Page>();
+    private final Object pageLock = new Object();
+
+    /**
+     * @param maxSize      the maximum amount of native memory to allocate
+     * @param minBlockSize the smallest size class, a power of two not smaller than {@link #MIN_BLOCK_SIZE}
+     * @param pageSize     the size of the pages, a power of two not smaller than {@code minBlockSize}
+     */
+    public PoolingMemoryManager(MemorySize maxSize, int minBlockSize, int pageSize) {
+        if (!UNSAFE_AVAILABLE || !GlobalMemoryAccessorRegistry.MEM_AVAILABLE) {
+            throw new IllegalStateException("Native memory cannot be used since sun.misc.Unsafe is not available!");
+        }
+        checkTrue(isPowerOfTwo(minBlockSize) && minBlockSize >= MIN_BLOCK_SIZE,
+                "Minimum block size must be a power of two and at least " + MIN_BLOCK_SIZE + ", but was " + minBlockSize);
+        checkTrue(isPowerOfTwo(pageSize) && pageSize >= minBlockSize,
+                "Page size must be a power of two and at least the minimum block size, but was " + pageSize);
+        this.maxMemory = checkPositive(maxSize.bytes(), "Native memory size must be positive!");
+        this.minBlockSize = minBlockSize;
+        this.minBlockShift = log2(minBlockSize);
+        this.pageSize = pageSize;
+        this.maxOrder = log2(pageSize) - minBlockShift;
+        this.sharedArena = new Arena();
+        this.arenas.add(sharedArena);
+    }
+
+    @Override
+    public MemoryAllocator getAllocator() {
+        return malloc;
+    }
+
+    @Override
+    public MemoryAccessor getAccessor() {
+        return GlobalMemoryAccessorRegistry.MEM;
+    }
+
+    /**
+     * Assigns a dedicated arena to the calling thread. Intended to be called by long living threads which
+     * allocate heavily, like the partition threads, when they start.
+     */
+    public void registerThread() {
+        if (threadArena.get() == null) {
+            Arena arena = new Arena();
+            arenas.add(arena);
+            threadArena.set(arena);
+        }
+    }
+
+    /**
+     * Detaches the calling thread from its dedicated arena. The pages of the arena stay in use until all
+     * their blocks are freed.
+     */
+    public void deregisterThread() {
+        threadArena.remove();
+    }
+
+    @Override
+    public void provideMetrics(MetricsRegistry registry) {
+        registry.scanAndRegister(this, "nativeMemory");
+    }
+
+    @Probe(name = "maxMemory")
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+
+    /**
+     * @return the number of bytes obtained from the operating system: pages and blocks larger than a page
+     */
+    @Probe(name = "committedMemory")
+    public long getCommittedMemory() {
+        return committedMemory.get();
+    }
+
+    /**
+     * @return the number of bytes handed out in blocks, including the rounding up to the size classes
+     */
+    public long getUsedMemory() {
+        return usedMemory.get();
+    }
+
+    @Probe(name = "pageCount")
+    public int getPageCount() {
+        return pages.length;
+    }
+
+    @Probe(name = "freePageCount")
+    public int getFreePageCount() {
+        synchronized (pageLock) {
+            return freePages.size();
+        }
+    }
+
+    @Probe(name = "arenaCount")
+    public int getArenaCount() {
+        return arenas.size();
+    }
+
+    /**
+     * @return the percentage of the pages in use which is free but split into blocks smaller than a page
+     */
+    @Probe(name = "fragmentationPercentage")
+    public double getFragmentationPercentage() {
+        long pagesInUse = (long) (getPageCount() - getFreePageCount()) * pageSize;
+        if (pagesInUse <= 0) {
+            return 0;
+        }
+        long freeBytes = 0;
+        for (Arena arena : arenas) {
+            freeBytes += arena.freeBytes;
+        }
+        return (double) PERCENT * freeBytes / pagesInUse;
+    }
+
+    /**
+     * Frees all pages. Blocks larger than a page are owned and freed by the data structures that allocated them.
+     */
+    @Override
+    public void dispose() {
+        synchronized (pageLock) {
+            for (Page page : pages) {
+                UNSAFE.freeMemory(page.base);
+                committedMemory.addAndGet(-pageSize);
+            }
+            pages = new Page[0];
+            freePages.clear();
+        }
+    }
+
+    private int order(long size) {
+        long blockSize = Math.max(nextPowerOfTwo(size), minBlockSize);
+        return blockSize > pageSize ? -1 : log2(blockSize) - minBlockShift;
+    }
+
+    private long blockSize(int order) {
+        return (long) minBlockSize << order;
+    }
+
+    private Arena arena() {
+        Arena arena = threadArena.get();
+        return arena != null ? arena : sharedArena;
+    }
+
+    private boolean tryReserve(long size) {
+        for (; ; ) {
+            long committed = committedMemory.get();
+            long newCommitted = committed + size;
+            if (newCommitted > maxMemory) {
+                return false;
+            }
+            if (committedMemory.compareAndSet(committed, newCommitted)) {
+                return true;
+            }
+        }
+    }
+
+    private long allocateFromOs(long size) {
+        // pooled free pages count as committed memory, give them back when they are in the way
+        if (!tryReserve(size) && (trimFreePages() == 0 || !tryReserve(size))) {
+            throw new NativeOutOfMemoryError("Not enough native memory to allocate " + size + " bytes! Committed: "
+                    + committedMemory.get() + ", max: " + maxMemory);
+        }
+        try {
+            return UNSAFE.allocateMemory(size);
+        } catch (OutOfMemoryError e) {
+            committedMemory.addAndGet(-size);
+            throw new NativeOutOfMemoryError("Unable to allocate " + size + " bytes!", e);
+        }
+    }
+
+    /**
+     * Returns the pooled free pages to the operating system.
+     *
+     * @return the number of pages returned
+     */
+    private int trimFreePages() {
+        synchronized (pageLock) {
+            int count = freePages.size();
+            if (count == 0) {
+                return 0;
+            }
+            Page[] newPages = new Page[pages.length - count];
+            int index = 0;
+            for (Page page : pages) {
+                if (page.arena != null) {
+                    newPages[index++] = page;
+                }
+            }
+            pages = newPages;
+            for (Page page : freePages) {
+                UNSAFE.freeMemory(page.base);
+            }
+            freePages.clear();
+            committedMemory.addAndGet(-(long) count * pageSize);
+            return count;
+        }
+    }
+
+    private Page acquirePage(Arena arena) {
+        synchronized (pageLock) {
+            Page page = freePages.pollFirst();
+            if (page == null) {
+                page = new Page(allocateFromOs(pageSize));
+                Page[] newPages = Arrays.copyOf(pages, pages.length + 1);
+                int index = pages.length;
+                while (index > 0 && newPages[index - 1].base > page.base) {
+                    newPages[index] = newPages[index - 1];
+                    index--;
+                }
+                newPages[index] = page;
+                pages = newPages;
+            }
+            page.arena = arena;
+            return page;
+        }
+    }
+
+    private void releasePage(Page page) {
+        synchronized (pageLock) {
+            page.arena = null;
+            freePages.addFirst(page);
+        }
+        pageReleaseCount.inc();
+    }
+
+    private Page findPage(long address) {
+        Page[] pages = this.pages;
+        int low = 0;
+        int high = pages.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Page page = pages[mid];
+            if (address < page.base) {
+                high = mid - 1;
+            } else if (address >= page.base + pageSize) {
+                low = mid + 1;
+            } else {
+                return page;
+            }
+        }
+        throw new IllegalArgumentException("Address " + address + " does not belong to any page!");
+    }
+
+    private final class Allocator implements MemoryAllocator {
+
+        @Override
+        public long allocate(long size) {
+            assert size > 0 : "Invalid allocation size: " + size;
+            int order = order(size);
+            long address;
+            if (order < 0) {
+                address = allocateFromOs(size);
+                usedMemory.inc(size);
+                hugeAllocationCount.inc();
+            } else {
+                address = arena().allocate(order);
+                usedMemory.inc(blockSize(order));
+            }
+            requestedMemory.inc(size);
+            allocationCount.inc();
+            UNSAFE.setMemory(address, size, (byte) 0);
+            return address;
+        }
+
+        @Override
+        public long reallocate(long address, long currentSize, long newSize) {
+            assert newSize > 0 : "Invalid reallocation size: " + newSize;
+            int currentOrder = order(currentSize);
+            if (currentOrder >= 0 && currentOrder == order(newSize)) {
+                // the block is large enough already
+                if (newSize > currentSize) {
+                    UNSAFE.setMemory(address + currentSize, newSize - currentSize, (byte) 0);
+                }
+                requestedMemory.inc(newSize - currentSize);
+                return address;
+            }
+            long newAddress = allocate(newSize);
+            UNSAFE.copyMemory(address, newAddress, Math.min(currentSize, newSize));
+            free(address, currentSize);
+            return newAddress;
+        }
+
+        @Override
+        public void free(long address, long size) {
+            assert address != NULL_ADDRESS : "Attempt to free the NULL address";
+            int order = order(size);
+            if (order < 0) {
+                UNSAFE.freeMemory(address);
+                committedMemory.addAndGet(-size);
+                usedMemory.inc(-size);
+            } else {
+                Page page = findPage(address);
+                page.arena.free(page, address, order);
+                usedMemory.inc(-blockSize(order));
+            }
+            requestedMemory.inc(-size);
+            freeCount.inc();
+        }
+
+        @Override
+        public void dispose() {
+            // pages are freed by the memory manager
+        }
+    }
+
+    /**
+     * A page of native memory. Besides the free lists, which are kept in the free blocks themselves, the buddy
+     * allocator needs to know whether the buddy of a freed block is free: that is tracked in a bitmap with one bit
+     * per possible block of every size class, like a complete binary tree over the page.
+     */
+    private final class Page {
+
+        final long base;
+        final long[] freeBlocks = new long[Math.max(1, (2 << maxOrder) >> BITS_PER_LONG_SHIFT)];
+        volatile Arena arena;
+
+        Page(long base) {
+            this.base = base;
+        }
+
+        private int bitIndex(long offset, int order) {
+            return (int) ((1L << (maxOrder - order)) + (offset >> (minBlockShift + order)));
+        }
+
+        boolean isFree(long offset, int order) {
+            int index = bitIndex(offset, order);
+            return (freeBlocks[index >> BITS_PER_LONG_SHIFT] & (1L << index)) != 0;
+        }
+
+        void setFree(long offset, int order, boolean free) {
+            int index = bitIndex(offset, order);
+            if (free) {
+                freeBlocks[index >> BITS_PER_LONG_SHIFT] |= 1L << index;
+            } else {
+                freeBlocks[index >> BITS_PER_LONG_SHIFT] &= ~(1L << index);
+            }
+        }
+    }
+
+    /**
+     * Free lists of the blocks of the pages owned by an arena, one doubly linked list per size class.
+     */
+    private final class Arena {
+
+        private final long[] freeListHeads = new long[maxOrder + 1];
+
+        // only written under the lock of the arena, read without it for statistics
+        private long freeBytes;
+
+        synchronized long allocate(int order) {
+            int k = order;
+            while (k <= maxOrder && freeListHeads[k] == NULL_ADDRESS) {
+                k++;
+            }
+
+            Page page;
+            long address;
+            if (k > maxOrder) {
+                page = acquirePage(this);
+                address = page.base;
+                k = maxOrder;
+            } else {
+                address = freeListHeads[k];
+                page = findPage(address);
+                unlink(page, address, k);
+            }
+
+            while (k > order) {
+                k--;
+                push(page, address + blockSize(k), k);
+            }
+            return address;
+        }
+
+        synchronized void free(Page page, long address, int order) {
+            long offset = address - page.base;
+            int k = order;
+            while (k < maxOrder) {
+                long buddyOffset = offset ^ blockSize(k);
+                if (!page.isFree(buddyOffset, k)) {
+                    break;
+                }
+                unlink(page, page.base + buddyOffset, k);
+                offset &= ~blockSize(k);
+                k++;
+                buddyMergeCount.inc();
+            }
+
+            if (k == maxOrder) {
+                releasePage(page);
+            } else {
+                push(page, page.base + offset, k);
+            }
+        }
+
+        private void push(Page page, long address, int order) {
+            long head = freeListHeads[order];
+            UNSAFE.putLong(address + NEXT_OFFSET, head);
+            UNSAFE.putLong(address + PREV_OFFSET, NULL_ADDRESS);
+            if (head != NULL_ADDRESS) {
+                UNSAFE.putLong(head + PREV_OFFSET, address);
+            }
+            freeListHeads[order] = address;
+            page.setFree(address - page.base, order, true);
+            freeBytes += blockSize(order);
+        }
+
+        private void unlink(Page page, long address, int order) {
+            long next = UNSAFE.getLong(address + NEXT_OFFSET);
+            long prev = UNSAFE.getLong(address + PREV_OFFSET);
+            if (prev == NULL_ADDRESS) {
+                freeListHeads[order] = next;
+            } else {
+                UNSAFE.putLong(prev + NEXT_OFFSET, next);
+            }
+            if (next != NULL_ADDRESS) {
+                UNSAFE.putLong(next + PREV_OFFSET, prev);
+            }
+            page.setFree(address - page.base, order, false);
+            freeBytes -= blockSize(order);
+        }
+    }
+}
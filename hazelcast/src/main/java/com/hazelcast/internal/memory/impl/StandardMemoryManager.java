@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.metrics.MetricsProvider;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * {@link MemoryManager} which allocates every block directly from the operating system through
+ * {@link sun.misc.Unsafe#allocateMemory(long)} and frees it through {@link sun.misc.Unsafe#freeMemory(long)}.
+ * The total amount of allocated memory is accounted and bounded by the configured maximum size; an allocation
+ * which would exceed it fails with a {@link NativeOutOfMemoryError}.
+ * <p>
+ * Corresponds to {@link com.hazelcast.config.NativeMemoryConfig.MemoryAllocatorType#STANDARD}.
+ */
+public class StandardMemoryManager implements MemoryManager, MetricsProvider {
+
+    private final long maxMemory;
+    private final AtomicLong usedMemory = new AtomicLong();
+    private final Allocator malloc = new Allocator();
+
+    public StandardMemoryManager(MemorySize maxSize) {
+        if (!UNSAFE_AVAILABLE || !GlobalMemoryAccessorRegistry.MEM_AVAILABLE) {
+            throw new IllegalStateException("Native memory cannot be used since sun.misc.Unsafe is not available!");
+        }
+        this.maxMemory = checkPositive(maxSize.bytes(), "Native memory size must be positive!");
+    }
+
+    @Override
+    public MemoryAllocator getAllocator() {
+        return malloc;
+    }
+
+    @Override
+    public MemoryAccessor getAccessor() {
+        return GlobalMemoryAccessorRegistry.MEM;
+    }
+
+    @Override
+    public void provideMetrics(MetricsRegistry registry) {
+        registry.scanAndRegister(this, "nativeMemory");
+    }
+
+    /**
+     * @return the maximum number of bytes this memory manager is allowed to allocate
+     */
+    @Probe(name = "maxMemory")
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+
+    /**
+     * @return the number of bytes currently allocated and not yet freed
+     */
+    @Probe(name = "usedMemory")
+    public long getUsedMemory() {
+        return usedMemory.get();
+    }
+
+    @Override
+    public void dispose() {
+        malloc.dispose();
+    }
+
+    private void reserve(long size) {
+        for (; ; ) {
+            long used = usedMemory.get();
+            long newUsed = used + size;
+            if (newUsed > maxMemory) {
+                throw new NativeOutOfMemoryError("Not enough native memory to allocate " + size + " bytes! Used: "
+                        + used + ", max: " + maxMemory);
+            }
+            if (usedMemory.compareAndSet(used, newUsed)) {
+                return;
+            }
+        }
+    }
+
+    private void release(long size) {
+        usedMemory.addAndGet(-size);
+    }
+
+    private final class Allocator implements MemoryAllocator {
+
+        @Override
+        public long allocate(long size) {
+            assert size > 0 : "Invalid allocation size: " + size;
+            reserve(size);
+            long address;
+            try {
+                address = UNSAFE.allocateMemory(size);
+            } catch (OutOfMemoryError e) {
+                release(size);
+                throw new NativeOutOfMemoryError("Unable to allocate " + size + " bytes!", e);
+            }
+            UNSAFE.setMemory(address, size, (byte) 0);
+            return address;
+        }
+
+        @Override
+        public long reallocate(long address, long currentSize, long newSize) {
+            assert newSize > 0 : "Invalid reallocation size: " + newSize;
+            long diff = newSize - currentSize;
+            if (diff > 0) {
+                reserve(diff);
+            }
+            long newAddress;
+            try {
+                newAddress = UNSAFE.reallocateMemory(address, newSize);
+            } catch (OutOfMemoryError e) {
+                if (diff > 0) {
+                    release(diff);
+                }
+                throw new NativeOutOfMemoryError("Unable to reallocate " + currentSize + " bytes to "
+                        + newSize + " bytes!", e);
+            }
+            if (diff > 0) {
+                UNSAFE.setMemory(newAddress + currentSize, diff, (byte) 0);
+            } else if (diff < 0) {
+                release(-diff);
+            }
+            return newAddress;
+        }
+
+        @Override
+        public void free(long address, long size) {
+            assert address != NULL_ADDRESS : "Attempt to free the NULL address";
+            UNSAFE.freeMemory(address);
+            release(size);
+        }
+
+        @Override
+        public void dispose() {
+            // blocks are owned and freed by the data structures that allocated them
+        }
+    }
+}
@@ -63,5 +63,7 @@ public interface SerializationServiceBuilder {
 
     SerializationServiceBuilder setInitialOutputBufferSize(int initialOutputBufferSize);
 
+    SerializationServiceBuilder setMaxRetainedOutputBufferSize(int maxRetainedOutputBufferSize);
+
     <T extends SerializationService> T build();
 }
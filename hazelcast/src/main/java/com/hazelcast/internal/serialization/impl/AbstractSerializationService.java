@@ -111,6 +111,10 @@ public abstract class AbstractSerializationService implements InternalSerializat
         if (obj == null) {
             return null;
         }
+        if (obj instanceof NativeMemoryData) {
+            // native memory backed data cannot outlive the data structure owning it, hand out a heap copy
+            return (B) ((NativeMemoryData) obj).toHeapData();
+        }
         if (obj instanceof Data) {
             return (B) obj;
         }
@@ -255,6 +259,10 @@ public abstract class AbstractSerializationService implements InternalSerializat
         return managedContext;
     }
 
+    public final BufferPoolThreadLocal getBufferPoolThreadLocal() {
+        return bufferPoolThreadLocal;
+    }
+
     @Override
     public ByteOrder getByteOrder() {
         return inputOutputFactory.getByteOrder();
@@ -17,6 +17,7 @@
 package com.hazelcast.internal.serialization.impl;
 
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.bufferpool.SizeAwareOutput;
 import com.hazelcast.nio.Bits;
 import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
@@ -31,7 +32,7 @@ import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
 import static com.hazelcast.nio.Bits.NULL_ARRAY_LENGTH;
 import static com.hazelcast.nio.Bits.SHORT_SIZE_IN_BYTES;
 
-class ByteArrayObjectDataOutput extends OutputStream implements BufferObjectDataOutput {
+class ByteArrayObjectDataOutput extends OutputStream implements BufferObjectDataOutput, SizeAwareOutput {
 
     final int initialSize;
 
@@ -39,6 +40,8 @@ class ByteArrayObjectDataOutput extends OutputStream implements BufferObjectData
 
     int pos;
 
+    boolean grown;
+
     final InternalSerializationService service;
 
     private final boolean isBigEndian;
@@ -360,6 +363,7 @@ class ByteArrayObjectDataOutput extends OutputStream implements BufferObjectData
                 byte[] newBuffer = new byte[newCap];
                 System.arraycopy(buffer, 0, newBuffer, 0, pos);
                 buffer = newBuffer;
+                grown = true;
             } else {
                 buffer = new byte[len > initialSize / 2 ? len * 2 : initialSize];
             }
@@ -373,10 +377,27 @@ class ByteArrayObjectDataOutput extends OutputStream implements BufferObjectData
 
     @Override
     public void writeData(Data data) throws IOException {
+        if (data instanceof NativeMemoryData) {
+            writeNativeMemoryData((NativeMemoryData) data);
+            return;
+        }
         byte[] payload = data != null ? data.toByteArray() : null;
         writeByteArray(payload);
     }
 
+    // copies the payload straight from native memory into the buffer without an intermediate byte[]
+    private void writeNativeMemoryData(NativeMemoryData data) throws IOException {
+        int len = data.totalSize();
+        if (len == 0) {
+            writeInt(NULL_ARRAY_LENGTH);
+            return;
+        }
+        writeInt(len);
+        ensureAvailable(len);
+        data.copyTo(buffer, pos);
+        pos += len;
+    }
+
     /**
      * Returns this buffer's position.
      */
@@ -411,11 +432,31 @@ class ByteArrayObjectDataOutput extends OutputStream implements BufferObjectData
     @Override
     public void clear() {
         pos = 0;
+        grown = false;
         if (buffer != null && buffer.length > initialSize * 8) {
             buffer = new byte[initialSize * 8];
         }
     }
 
+    @Override
+    public int capacity() {
+        return buffer != null ? buffer.length : 0;
+    }
+
+    @Override
+    public boolean isGrown() {
+        return grown;
+    }
+
+    @Override
+    public void clear(int capacity) {
+        pos = 0;
+        grown = false;
+        if (buffer == null || buffer.length != capacity) {
+            buffer = new byte[capacity];
+        }
+    }
+
     @Override
     public void close() {
         pos = 0;
@@ -24,13 +24,20 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class ClassDefinitionImpl implements ClassDefinition {
 
+    // bounds the number of compiled paths, paths are usually taken from a limited set of queries and indexes
+    private static final int MAX_PATH_ACCESSORS = 100;
+
     private int factoryId;
     private int classId;
     private int version = -1;
     private final Map<String, FieldDefinition> fieldDefinitionsMap = new LinkedHashMap<String, FieldDefinition>();
+    private final ConcurrentMap<String, PortablePathAccessor> pathAccessors
+            = new ConcurrentHashMap<String, PortablePathAccessor>();
 
     public ClassDefinitionImpl(int factoryId, int classId, int version) {
         this.factoryId = factoryId;
@@ -108,6 +115,16 @@ public class ClassDefinitionImpl implements ClassDefinition {
         return version;
     }
 
+    PortablePathAccessor getPathAccessor(String path) {
+        return pathAccessors.get(path);
+    }
+
+    void putPathAccessor(String path, PortablePathAccessor accessor) {
+        if (pathAccessors.size() < MAX_PATH_ACCESSORS) {
+            pathAccessors.putIfAbsent(path, accessor);
+        }
+    }
+
     void setVersionIfNotSet(int version) {
         if (getVersion() < 0) {
             this.version = version;
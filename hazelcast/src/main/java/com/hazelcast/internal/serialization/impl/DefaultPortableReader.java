@@ -106,64 +106,53 @@ public class DefaultPortableReader extends ValueReader implements PortableReader
 
     @Override
     public byte readByte(String path) throws IOException {
-        PortablePosition pos = findPositionForReading(path);
-        validatePrimitive(pos, FieldType.BYTE);
-        return in.readByte(pos.getStreamPosition());
+        return in.readByte(findPrimitivePosition(path, FieldType.BYTE));
     }
 
     @Override
     public short readShort(String path) throws IOException {
-        PortablePosition pos = findPositionForReading(path);
-        validatePrimitive(pos, FieldType.SHORT);
-        return in.readShort(pos.getStreamPosition());
+        return in.readShort(findPrimitivePosition(path, FieldType.SHORT));
     }
 
     @Override
     public int readInt(String path) throws IOException {
-        PortablePosition pos = findPositionForReading(path);
-        validatePrimitive(pos, FieldType.INT);
-        return in.readInt(pos.getStreamPosition());
+        return in.readInt(findPrimitivePosition(path, FieldType.INT));
     }
 
     @Override
     public long readLong(String path) throws IOException {
-        PortablePosition pos = findPositionForReading(path);
-        validatePrimitive(pos, FieldType.LONG);
-        return in.readLong(pos.getStreamPosition());
+        return in.readLong(findPrimitivePosition(path, FieldType.LONG));
     }
 
     @Override
     public float readFloat(String path) throws IOException {
-        PortablePosition pos = findPositionForReading(path);
-        validatePrimitive(pos, FieldType.FLOAT);
-        return in.readFloat(pos.getStreamPosition());
+        return in.readFloat(findPrimitivePosition(path, FieldType.FLOAT));
     }
 
     @Override
     public double readDouble(String path) throws IOException {
-        PortablePosition pos = findPositionForReading(path);
-        validatePrimitive(pos, FieldType.DOUBLE);
-        return in.readDouble(pos.getStreamPosition());
+        return in.readDouble(findPrimitivePosition(path, FieldType.DOUBLE));
     }
 
     @Override
     public boolean readBoolean(String path) throws IOException {
-        PortablePosition pos = findPositionForReading(path);
-        validatePrimitive(pos, FieldType.BOOLEAN);
-        return in.readBoolean(pos.getStreamPosition());
+        return in.readBoolean(findPrimitivePosition(path, FieldType.BOOLEAN));
     }
 
     @Override
     public char readChar(String path) throws IOException {
-        PortablePosition pos = findPositionForReading(path);
-        validatePrimitive(pos, FieldType.CHAR);
-        return in.readChar(pos.getStreamPosition());
+        return in.readChar(findPrimitivePosition(path, FieldType.CHAR));
     }
 
     @Override
     public String readUTF(String path) throws IOException {
         final int currentPos = in.position();
         try {
+            int compiledPosition = findCompiledPosition(path, FieldType.UTF);
+            if (compiledPosition >= 0) {
+                in.position(compiledPosition);
+                return in.readUTF();
+            }
             PortablePosition position = findPositionForReading(path);
             if (position.isNullOrEmpty()) {
                 return null;
@@ -593,6 +582,11 @@ public class DefaultPortableReader extends ValueReader implements PortableReader
     public Object read(String path) throws IOException {
         final int currentPos = in.position();
         try {
+            PortablePathAccessor accessor = getCompiledAccessor(path);
+            int compiledPosition = accessor == null ? -1 : accessor.findPosition(in, offset);
+            if (compiledPosition >= 0) {
+                return readCompiledValue(accessor.getType(), compiledPosition);
+            }
             PortablePosition position = findPositionForReading(path);
             if (position.isMultiPosition()) {
                 return readMultiPosition(position.asMultiPosition());
@@ -632,6 +626,76 @@ public class DefaultPortableReader extends ValueReader implements PortableReader
         return readSinglePositionFromNonArray(position);
     }
 
+    private int findPrimitivePosition(String path, FieldType type) throws IOException {
+        int compiledPosition = findCompiledPosition(path, type);
+        if (compiledPosition >= 0) {
+            return compiledPosition;
+        }
+        PortablePosition position = findPositionForReading(path);
+        validatePrimitive(position, type);
+        return position.getStreamPosition();
+    }
+
+    /**
+     * Finds the position of the value of the given type using the compiled accessor of the path.
+     *
+     * @return the position of the value or -1 if the path has to be navigated
+     */
+    private int findCompiledPosition(String path, FieldType type) throws IOException {
+        PortablePathAccessor accessor = getCompiledAccessor(path);
+        if (accessor == null || accessor.getType() != type) {
+            return -1;
+        }
+        return accessor.findPosition(in, offset);
+    }
+
+    /**
+     * Gets the compiled accessor of the path from the class definition, or compiles it from this portable.
+     *
+     * @return the accessor or {@code null} if the path has to be navigated
+     */
+    private PortablePathAccessor getCompiledAccessor(String path) throws IOException {
+        if (raw || path == null || !(cd instanceof ClassDefinitionImpl)) {
+            return null;
+        }
+        ClassDefinitionImpl definition = (ClassDefinitionImpl) cd;
+        PortablePathAccessor accessor = definition.getPathAccessor(path);
+        if (accessor == null) {
+            accessor = PortablePathAccessor.compile(serializer, in, cd, offset, path);
+            if (accessor != null) {
+                definition.putPathAccessor(path, accessor);
+            }
+        }
+        return accessor;
+    }
+
+    @SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:returncount"})
+    private Object readCompiledValue(FieldType type, int position) throws IOException {
+        switch (type) {
+            case BYTE:
+                return Byte.valueOf(in.readByte(position));
+            case SHORT:
+                return Short.valueOf(in.readShort(position));
+            case INT:
+                return Integer.valueOf(in.readInt(position));
+            case LONG:
+                return Long.valueOf(in.readLong(position));
+            case FLOAT:
+                return Float.valueOf(in.readFloat(position));
+            case DOUBLE:
+                return Double.valueOf(in.readDouble(position));
+            case BOOLEAN:
+                return Boolean.valueOf(in.readBoolean(position));
+            case CHAR:
+                return Character.valueOf(in.readChar(position));
+            case UTF:
+                in.position(position);
+                return in.readUTF();
+            default:
+                throw new IllegalArgumentException("Unsupported type " + type);
+        }
+    }
+
     private PortablePosition findPositionForReading(String path) throws IOException {
         if (raw) {
             throw new HazelcastSerializationException("Cannot read Portable fields after getRawDataInput() is called!");
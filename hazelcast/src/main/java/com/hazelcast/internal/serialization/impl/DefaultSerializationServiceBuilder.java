@@ -28,6 +28,7 @@ import com.hazelcast.internal.serialization.InputOutputFactory;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.SerializationServiceBuilder;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPoolFactoryImpl;
+import com.hazelcast.memory.MemoryUnit;
 import com.hazelcast.nio.ClassLoaderUtil;
 import com.hazelcast.nio.serialization.ClassDefinition;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
@@ -79,6 +80,8 @@ public class DefaultSerializationServiceBuilder
 
     protected int initialOutputBufferSize = DEFAULT_OUT_BUFFER_SIZE;
 
+    protected int maxRetainedOutputBufferSize = -1;
+
     protected PartitioningStrategy partitioningStrategy;
 
     protected HazelcastInstance hazelcastInstance;
@@ -205,9 +208,19 @@ public class DefaultSerializationServiceBuilder
         return this;
     }
 
+    @Override
+    public SerializationServiceBuilder setMaxRetainedOutputBufferSize(int maxRetainedOutputBufferSize) {
+        if (maxRetainedOutputBufferSize <= 0) {
+            throw new IllegalArgumentException("Max retained buffer size must be positive!");
+        }
+        this.maxRetainedOutputBufferSize = maxRetainedOutputBufferSize;
+        return this;
+    }
+
     @Override
     public InternalSerializationService build() {
         initVersions();
+        initMaxRetainedOutputBufferSize();
         if (config != null) {
             addConfigDataSerializableFactories(dataSerializableFactories, config, classLoader);
             addConfigPortableFactories(portableFactories, config, classLoader);
@@ -258,12 +271,21 @@ public class DefaultSerializationServiceBuilder
         }
     }
 
+    private void initMaxRetainedOutputBufferSize() {
+        if (maxRetainedOutputBufferSize < 0) {
+            String defaultVal = GroupProperty.SERIALIZATION_MAX_RETAINED_OUTPUT_BUFFER_SIZE.getDefaultValue();
+            int kilobytes = Integer.parseInt(
+                    System.getProperty(GroupProperty.SERIALIZATION_MAX_RETAINED_OUTPUT_BUFFER_SIZE.getName(), defaultVal));
+            maxRetainedOutputBufferSize = (int) MemoryUnit.KILOBYTES.toBytes(kilobytes);
+        }
+    }
+
     protected InternalSerializationService createSerializationService(InputOutputFactory inputOutputFactory) {
         switch (version) {
             case 1:
                 SerializationServiceV1 serializationServiceV1 = new SerializationServiceV1(inputOutputFactory, version,
                         portableVersion, classLoader, dataSerializableFactories, portableFactories, managedContext,
-                        partitioningStrategy, initialOutputBufferSize, new BufferPoolFactoryImpl(), enableCompression,
+                        partitioningStrategy, initialOutputBufferSize, new BufferPoolFactoryImpl(maxRetainedOutputBufferSize), enableCompression,
                         enableSharedObject);
                 serializationServiceV1.registerClassDefinitions(classDefinitions, checkClassDefErrors);
                 return serializationServiceV1;
@@ -0,0 +1,402 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+
+/**
+ * A {@link StreamSerializer} which serializes the fields of a class directly, without the class implementing
+ * {@link DataSerializable} or {@link Portable}.
+ * <p/>
+ * The field layout is resolved once when the serializer is created: all non-static, non-transient fields of the
+ * class and its superclasses are ordered by their type and name and the accessors for them are prepared. When
+ * {@code sun.misc.Unsafe} is available the fields are read and written through their offsets, otherwise through
+ * reflection. The serialized form is fixed-layout and compact: the field values are written one after the other,
+ * without field names, types or a class definition. As a consequence all members and clients have to use the same
+ * version of the class.
+ * <p/>
+ * Primitives are written with the matching {@link ObjectDataOutput} method, {@code String}s with
+ * {@link ObjectDataOutput#writeUTF(String)} and all other fields with {@link ObjectDataOutput#writeObject(Object)}.
+ * The class needs a no-arg constructor, which doesn't have to be public.
+ * <p/>
+ * This is an internal class, not a supported serializer for user configurations: its serialized form and its
+ * constructor may change between releases.
+ *
+ * @param <T> type of the serialized object
+ */
+public class FieldAccessSerializer<T> implements StreamSerializer<T> {
+
+    private static final int KIND_BOOLEAN = 0;
+    private static final int KIND_BYTE = 1;
+    private static final int KIND_CHAR = 2;
+    private static final int KIND_SHORT = 3;
+    private static final int KIND_INT = 4;
+    private static final int KIND_FLOAT = 5;
+    private static final int KIND_LONG = 6;
+    private static final int KIND_DOUBLE = 7;
+    private static final int KIND_UTF = 8;
+    private static final int KIND_OBJECT = 9;
+
+    private final Class<T> type;
+    private final int typeId;
+    private final Constructor<T> constructor;
+    private final FieldHandle[] fields;
+
+    /**
+     * Creates a serializer for the given class.
+     *
+     * @param type   the serialized class
+     * @param typeId the type id of the serializer, see {@link StreamSerializer#getTypeId()}
+     * @throws IllegalArgumentException if the class is abstract or has no no-arg constructor
+     */
+    public FieldAccessSerializer(Class<T> type, int typeId) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            throw new IllegalArgumentException("Cannot create a field access serializer for abstract " + type.getName());
+        }
+        this.type = type;
+        this.typeId = typeId;
+        this.constructor = noArgConstructor(type);
+        this.fields = createFieldHandles(type);
+    }
+
+    @Override
+    public int getTypeId() {
+        return typeId;
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, T object) throws IOException {
+        for (FieldHandle field : fields) {
+            field.write(out, object);
+        }
+    }
+
+    @Override
+    public T read(ObjectDataInput in) throws IOException {
+        T object = newInstance();
+        for (FieldHandle field : fields) {
+            field.read(in, object);
+        }
+        return object;
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    private T newInstance() {
+        try {
+            return constructor.newInstance();
+        } catch (Exception e) {
+            throw new HazelcastSerializationException("Cannot create an instance of " + type.getName(), e);
+        }
+    }
+
+    private static <T> Constructor<T> noArgConstructor(Class<T> type) {
+        try {
+            Constructor<T> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(type.getName() + " has no no-arg constructor", e);
+        }
+    }
+
+    private static FieldHandle[] createFieldHandles(Class type) {
+        List<Field> fields = new ArrayList<Field>();
+        for (Class current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                    fields.add(field);
+                }
+            }
+        }
+        Collections.sort(fields, new FieldOrder());
+
+        FieldHandle[] handles = new FieldHandle[fields.size()];
+        for (int i = 0; i < handles.length; i++) {
+            Field field = fields.get(i);
+            int kind = kindOf(field.getType());
+            if (MEM_AVAILABLE) {
+                handles[i] = new OffsetFieldHandle(kind, MEM.objectFieldOffset(field));
+            } else {
+                field.setAccessible(true);
+                handles[i] = new ReflectionFieldHandle(kind, field);
+            }
+        }
+        return handles;
+    }
+
+    @SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:returncount"})
+    private static int kindOf(Class fieldType) {
+        if (fieldType == boolean.class) {
+            return KIND_BOOLEAN;
+        } else if (fieldType == byte.class) {
+            return KIND_BYTE;
+        } else if (fieldType == char.class) {
+            return KIND_CHAR;
+        } else if (fieldType == short.class) {
+            return KIND_SHORT;
+        } else if (fieldType == int.class) {
+            return KIND_INT;
+        } else if (fieldType == float.class) {
+            return KIND_FLOAT;
+        } else if (fieldType == long.class) {
+            return KIND_LONG;
+        } else if (fieldType == double.class) {
+            return KIND_DOUBLE;
+        } else if (fieldType == String.class) {
+            return KIND_UTF;
+        }
+        return KIND_OBJECT;
+    }
+
+    /**
+     * Orders the fields by their kind, so the primitives come first, and then by name, so the layout doesn't depend
+     * on the order in which the JVM reports the declared fields.
+     */
+    private static final class FieldOrder implements Comparator<Field> {
+
+        @Override
+        public int compare(Field f1, Field f2) {
+            int kind1 = kindOf(f1.getType());
+            int kind2 = kindOf(f2.getType());
+            if (kind1 != kind2) {
+                return kind1 < kind2 ? -1 : 1;
+            }
+            int result = f1.getName().compareTo(f2.getName());
+            return result != 0 ? result : f1.getDeclaringClass().getName().compareTo(f2.getDeclaringClass().getName());
+        }
+    }
+
+    private abstract static class FieldHandle {
+
+        final int kind;
+
+        FieldHandle(int kind) {
+            this.kind = kind;
+        }
+
+        abstract void write(ObjectDataOutput out, Object object) throws IOException;
+
+        abstract void read(ObjectDataInput in, Object object) throws IOException;
+    }
+
+    /**
+     * Accesses the field through its offset in the object, avoiding the checks and boxing of reflection.
+     */
+    private static final class OffsetFieldHandle extends FieldHandle {
+
+        private final long offset;
+
+        OffsetFieldHandle(int kind, long offset) {
+            super(kind);
+            this.offset = offset;
+        }
+
+        @Override
+        @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+        void write(ObjectDataOutput out, Object object) throws IOException {
+            switch (kind) {
+                case KIND_BOOLEAN:
+                    out.writeBoolean(MEM.getBoolean(object, offset));
+                    break;
+                case KIND_BYTE:
+                    out.writeByte(MEM.getByte(object, offset));
+                    break;
+                case KIND_CHAR:
+                    out.writeChar(MEM.getChar(object, offset));
+                    break;
+                case KIND_SHORT:
+                    out.writeShort(MEM.getShort(object, offset));
+                    break;
+                case KIND_INT:
+                    out.writeInt(MEM.getInt(object, offset));
+                    break;
+                case KIND_FLOAT:
+                    out.writeFloat(MEM.getFloat(object, offset));
+                    break;
+                case KIND_LONG:
+                    out.writeLong(MEM.getLong(object, offset));
+                    break;
+                case KIND_DOUBLE:
+                    out.writeDouble(MEM.getDouble(object, offset));
+                    break;
+                case KIND_UTF:
+                    out.writeUTF((String) MEM.getObject(object, offset));
+                    break;
+                default:
+                    out.writeObject(MEM.getObject(object, offset));
+            }
+        }
+
+        @Override
+        @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+        void read(ObjectDataInput in, Object object) throws IOException {
+            switch (kind) {
+                case KIND_BOOLEAN:
+                    MEM.putBoolean(object, offset, in.readBoolean());
+                    break;
+                case KIND_BYTE:
+                    MEM.putByte(object, offset, in.readByte());
+                    break;
+                case KIND_CHAR:
+                    MEM.putChar(object, offset, in.readChar());
+                    break;
+                case KIND_SHORT:
+                    MEM.putShort(object, offset, in.readShort());
+                    break;
+                case KIND_INT:
+                    MEM.putInt(object, offset, in.readInt());
+                    break;
+                case KIND_FLOAT:
+                    MEM.putFloat(object, offset, in.readFloat());
+                    break;
+                case KIND_LONG:
+                    MEM.putLong(object, offset, in.readLong());
+                    break;
+                case KIND_DOUBLE:
+                    MEM.putDouble(object, offset, in.readDouble());
+                    break;
+                case KIND_UTF:
+                    MEM.putObject(object, offset, in.readUTF());
+                    break;
+                default:
+                    MEM.putObject(object, offset, in.readObject());
+            }
+        }
+    }
+
+    /**
+     * Accesses the field through reflection, used when {@code sun.misc.Unsafe} is not available.
+     */
+    private static final class ReflectionFieldHandle extends FieldHandle {
+
+        private final Field field;
+
+        ReflectionFieldHandle(int kind, Field field) {
+            super(kind);
+            this.field = field;
+        }
+
+        @Override
+        void write(ObjectDataOutput out, Object object) throws IOException {
+            try {
+                writeField(out, object);
+            } catch (IllegalAccessException e) {
+                throw new HazelcastSerializationException("Cannot read field " + field, e);
+            }
+        }
+
+        @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+        private void writeField(ObjectDataOutput out, Object object) throws IOException, IllegalAccessException {
+            switch (kind) {
+                case KIND_BOOLEAN:
+                    out.writeBoolean(field.getBoolean(object));
+                    break;
+                case KIND_BYTE:
+                    out.writeByte(field.getByte(object));
+                    break;
+                case KIND_CHAR:
+                    out.writeChar(field.getChar(object));
+                    break;
+                case KIND_SHORT:
+                    out.writeShort(field.getShort(object));
+                    break;
+                case KIND_INT:
+                    out.writeInt(field.getInt(object));
+                    break;
+                case KIND_FLOAT:
+                    out.writeFloat(field.getFloat(object));
+                    break;
+                case KIND_LONG:
+                    out.writeLong(field.getLong(object));
+                    break;
+                case KIND_DOUBLE:
+                    out.writeDouble(field.getDouble(object));
+                    break;
+                case KIND_UTF:
+                    out.writeUTF((String) field.get(object));
+                    break;
+                default:
+                    out.writeObject(field.get(object));
+            }
+        }
+
+        @Override
+        void read(ObjectDataInput in, Object object) throws IOException {
+            try {
+                readField(in, object);
+            } catch (IllegalAccessException e) {
+                throw new HazelcastSerializationException("Cannot write field " + field, e);
+            }
+        }
+
+        @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+        private void readField(ObjectDataInput in, Object object) throws IOException, IllegalAccessException {
+            switch (kind) {
+                case KIND_BOOLEAN:
+                    field.setBoolean(object, in.readBoolean());
+                    break;
+                case KIND_BYTE:
+                    field.setByte(object, in.readByte());
+                    break;
+                case KIND_CHAR:
+                    field.setChar(object, in.readChar());
+                    break;
+                case KIND_SHORT:
+                    field.setShort(object, in.readShort());
+                    break;
+                case KIND_INT:
+                    field.setInt(object, in.readInt());
+                    break;
+                case KIND_FLOAT:
+                    field.setFloat(object, in.readFloat());
+                    break;
+                case KIND_LONG:
+                    field.setLong(object, in.readLong());
+                    break;
+                case KIND_DOUBLE:
+                    field.setDouble(object, in.readDouble());
+                    break;
+                case KIND_UTF:
+                    field.set(object, in.readUTF());
+                    break;
+                default:
+                    field.set(object, in.readObject());
+            }
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.HashUtil;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.impl.EndiannessUtil.NATIVE_ACCESS;
+import static com.hazelcast.internal.memory.impl.EndiannessUtil.readIntB;
+import static com.hazelcast.internal.serialization.impl.HeapData.DATA_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.HEAP_DATA_OVERHEAD;
+import static com.hazelcast.internal.serialization.impl.HeapData.PARTITION_HASH_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.TYPE_OFFSET;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+
+/**
+ * A {@link Data} implementation where the content lives in native memory. It is a flyweight over a block laid out as
+ * <pre>
+ * +--------------+---------------------------------------------+
+ * | size (int)   | payload (same layout as a {@link HeapData}) |
+ * +--------------+---------------------------------------------+
+ * </pre>
+ * An instance does not own the block; it is only valid as long as the data structure which allocated the block
+ * has not freed it. Use {@link #toHeapData()} to obtain a copy which can safely outlive the block.
+ */
+public final class NativeMemoryData implements Data {
+
+    /**
+     * Offset of the payload size within the block
+     */
+    public static final int SIZE_OFFSET = 0;
+
+    /**
+     * Offset of the payload within the block
+     */
+    public static final int COPY_OFFSET = SIZE_OFFSET + INT_SIZE_IN_BYTES;
+
+    private final long address;
+
+    public NativeMemoryData(long address) {
+        assert address != MemoryAllocator.NULL_ADDRESS : "NativeMemoryData cannot point to the NULL address";
+        this.address = address;
+    }
+
+    /**
+     * Allocates a native block and copies the payload of the given {@link Data} into it.
+     *
+     * @param malloc the allocator to allocate the block from
+     * @param data   the data to copy
+     * @return the address of the new block
+     */
+    public static long copyToNative(MemoryAllocator malloc, Data data) {
+        int size = data.totalSize();
+        long address = malloc.allocate(COPY_OFFSET + size);
+        MEM.putInt(address + SIZE_OFFSET, size);
+        if (data instanceof NativeMemoryData) {
+            MEM.copyMemory(((NativeMemoryData) data).address + COPY_OFFSET, address + COPY_OFFSET, size);
+        } else if (size > 0) {
+            MEM.copyFromByteArray(data.toByteArray(), 0, address + COPY_OFFSET, size);
+        }
+        return address;
+    }
+
+    /**
+     * Frees a block previously allocated by {@link #copyToNative(MemoryAllocator, Data)}.
+     */
+    public static void free(MemoryAllocator malloc, long address) {
+        malloc.free(address, blockSize(address));
+    }
+
+    /**
+     * @return the size of the native block at the given address, including its header
+     */
+    public static long blockSize(long address) {
+        return COPY_OFFSET + MEM.getInt(address + SIZE_OFFSET);
+    }
+
+    public long address() {
+        return address;
+    }
+
+    /**
+     * @return a copy of this data on the heap
+     */
+    public HeapData toHeapData() {
+        return new HeapData(toByteArray());
+    }
+
+    /**
+     * Copies the payload of this data into the given array.
+     *
+     * @param dest    the destination array
+     * @param destPos the position in the destination array to copy to
+     */
+    public void copyTo(byte[] dest, int destPos) {
+        int size = totalSize();
+        if (size > 0) {
+            MEM.copyToByteArray(address + COPY_OFFSET, dest, destPos, size);
+        }
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        int size = totalSize();
+        if (size == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[size];
+        copyTo(bytes, 0);
+        return bytes;
+    }
+
+    @Override
+    public int getType() {
+        if (totalSize() == 0) {
+            return SerializationConstants.CONSTANT_TYPE_NULL;
+        }
+        return readIntB(NATIVE_ACCESS, null, address + COPY_OFFSET + TYPE_OFFSET);
+    }
+
+    @Override
+    public int totalSize() {
+        return MEM.getInt(address + SIZE_OFFSET);
+    }
+
+    @Override
+    public int dataSize() {
+        return Math.max(totalSize() - HEAP_DATA_OVERHEAD, 0);
+    }
+
+    @Override
+    public int getHeapCost() {
+        // only the flyweight lives on the heap
+        return 0;
+    }
+
+    @Override
+    public int getPartitionHash() {
+        if (hasPartitionHash()) {
+            return readIntB(NATIVE_ACCESS, null, address + COPY_OFFSET + PARTITION_HASH_OFFSET);
+        }
+        return hashCode();
+    }
+
+    @Override
+    public boolean hasPartitionHash() {
+        return totalSize() >= HEAP_DATA_OVERHEAD
+                && readIntB(NATIVE_ACCESS, null, address + COPY_OFFSET + PARTITION_HASH_OFFSET) != 0;
+    }
+
+    @Override
+    public long hash64() {
+        return HashUtil.MurmurHash3_x64_64_direct(MEM, address, COPY_OFFSET + DATA_OFFSET, dataSize());
+    }
+
+    @Override
+    public boolean isPortable() {
+        return SerializationConstants.CONSTANT_TYPE_PORTABLE == getType();
+    }
+
+    @Override
+    public int hashCode() {
+        return HashUtil.MurmurHash3_x86_32_direct(MEM, address, COPY_OFFSET + DATA_OFFSET, dataSize());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Data)) {
+            return false;
+        }
+
+        Data data = (Data) o;
+        if (getType() != data.getType()) {
+            return false;
+        }
+
+        final int dataSize = dataSize();
+        if (dataSize != data.dataSize()) {
+            return false;
+        }
+        if (dataSize == 0) {
+            return true;
+        }
+
+        if (data instanceof NativeMemoryData) {
+            return equals(address, ((NativeMemoryData) data).address, totalSize());
+        }
+        return equals(address, data.toByteArray());
+    }
+
+    // compares from the end, same as HeapData, since the beginning of the payload is the header
+    private static boolean equals(long address, byte[] bytes) {
+        for (int i = bytes.length - 1; i >= DATA_OFFSET; i--) {
+            if (MEM.getByte(address + COPY_OFFSET + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equals(long address1, long address2, int size) {
+        if (address1 == address2) {
+            return true;
+        }
+        for (int i = size - 1; i >= DATA_OFFSET; i--) {
+            if (MEM.getByte(address1 + COPY_OFFSET + i) != MEM.getByte(address2 + COPY_OFFSET + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "NativeMemoryData{"
+                + "address=" + address
+                + ", type=" + getType()
+                + ", hashCode=" + hashCode()
+                + ", partitionHash=" + getPartitionHash()
+                + ", totalSize=" + totalSize()
+                + ", dataSize=" + dataSize()
+                + '}';
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.nio.BufferObjectDataInput;
+import com.hazelcast.nio.serialization.ClassDefinition;
+import com.hazelcast.nio.serialization.FieldDefinition;
+import com.hazelcast.nio.serialization.FieldType;
+
+import java.io.IOException;
+
+import static com.hazelcast.nio.Bits.BOOLEAN_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.BYTE_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.SHORT_SIZE_IN_BYTES;
+
+/**
+ * Compiled accessor of a path without quantifiers, like "name" or "person.address.city", whose leaf is a primitive
+ * or UTF field.
+ * <p>
+ * The accessor is compiled from the class definitions of the first portable read through it. For each token it
+ * keeps the position of the field in the offset table and the length of the field header, and for each nested
+ * portable the factoryId, classId and version it was compiled for. Finding the position of the value is then a
+ * couple of absolute reads from the stream, without any lookup of class or field definitions and without
+ * allocating {@link PortablePosition}s.
+ * <p>
+ * If a nested portable is null or has another class definition than the one the accessor was compiled for, the
+ * position can't be found and the caller falls back to the {@link PortablePositionNavigator}, which also takes care
+ * of reporting errors.
+ * <p>
+ * Accessors are immutable and cached per {@link ClassDefinitionImpl}, so they are keyed by factoryId, classId,
+ * version and path.
+ */
+final class PortablePathAccessor {
+
+    /**
+     * Accessor of paths that can't be compiled, e.g. paths with quantifiers or unknown fields.
+     */
+    static final PortablePathAccessor NOT_COMPILABLE = new PortablePathAccessor(null, null, null, null, null, null);
+
+    // nil flag, factoryId, classId and version of a nested portable followed by its final position and field count
+    private static final int NESTED_PORTABLE_HEADER_SIZE = BOOLEAN_SIZE_IN_BYTES + 5 * INT_SIZE_IN_BYTES;
+    private static final int FACTORY_ID_OFFSET = BOOLEAN_SIZE_IN_BYTES;
+    private static final int CLASS_ID_OFFSET = FACTORY_ID_OFFSET + INT_SIZE_IN_BYTES;
+    private static final int VERSION_OFFSET = CLASS_ID_OFFSET + INT_SIZE_IN_BYTES;
+
+    private final FieldType type;
+    // per token: the offset of the field position in the offset table and the length of the field header
+    private final int[] fieldIndexOffsets;
+    private final int[] fieldHeaderLengths;
+    // per token after the first one: the factoryId, classId and version of the portable the token is read from
+    private final int[] factoryIds;
+    private final int[] classIds;
+    private final int[] versions;
+
+    private PortablePathAccessor(FieldType type, int[] fieldIndexOffsets, int[] fieldHeaderLengths,
+                                 int[] factoryIds, int[] classIds, int[] versions) {
+        this.type = type;
+        this.fieldIndexOffsets = fieldIndexOffsets;
+        this.fieldHeaderLengths = fieldHeaderLengths;
+        this.factoryIds = factoryIds;
+        this.classIds = classIds;
+        this.versions = versions;
+    }
+
+    /**
+     * @return the type of the leaf field, {@code null} for {@link #NOT_COMPILABLE}
+     */
+    FieldType getType() {
+        return type;
+    }
+
+    /**
+     * Finds the stream position of the value. The position of the stream isn't changed.
+     *
+     * @param in     the stream of the portable the accessor was compiled for
+     * @param offset the offset of the field offset table of the portable
+     * @return the position of the value or -1 if it can't be found using this accessor
+     * @throws IOException on any stream errors
+     */
+    int findPosition(BufferObjectDataInput in, int offset) throws IOException {
+        if (type == null) {
+            return -1;
+        }
+
+        int currentOffset = offset;
+        int last = fieldIndexOffsets.length - 1;
+        for (int i = 0; i < last; i++) {
+            int position = in.readInt(currentOffset + fieldIndexOffsets[i]) + fieldHeaderLengths[i];
+            if (in.readBoolean(position)
+                    || in.readInt(position + FACTORY_ID_OFFSET) != factoryIds[i]
+                    || in.readInt(position + CLASS_ID_OFFSET) != classIds[i]
+                    || in.readInt(position + VERSION_OFFSET) != versions[i]) {
+                return -1;
+            }
+            currentOffset = position + NESTED_PORTABLE_HEADER_SIZE;
+        }
+        return in.readInt(currentOffset + fieldIndexOffsets[last]) + fieldHeaderLengths[last];
+    }
+
+    /**
+     * Compiles an accessor for the given path using the class definitions of the given portable. The position of the
+     * stream isn't changed.
+     *
+     * @param serializer the serializer used to look up the class definitions of nested portables
+     * @param in         the stream of the portable
+     * @param cd         the class definition of the portable
+     * @param offset     the offset of the field offset table of the portable
+     * @param path       the path to compile
+     * @return the accessor, {@link #NOT_COMPILABLE} if the path can't be compiled, or {@code null} if it can't be
+     * compiled from this portable, e.g. since a nested portable is null
+     * @throws IOException on any stream errors
+     */
+    @SuppressWarnings("checkstyle:npathcomplexity")
+    static PortablePathAccessor compile(PortableSerializer serializer, BufferObjectDataInput in, ClassDefinition cd,
+                                        int offset, String path) throws IOException {
+        if (path.indexOf('[') >= 0) {
+            return NOT_COMPILABLE;
+        }
+
+        String[] tokens = path.split("\\.", -1);
+        int depth = tokens.length;
+        int[] fieldIndexOffsets = new int[depth];
+        int[] fieldHeaderLengths = new int[depth];
+        int[] factoryIds = new int[depth - 1];
+        int[] classIds = new int[depth - 1];
+        int[] versions = new int[depth - 1];
+
+        int originalPosition = in.position();
+        try {
+            ClassDefinition currentCd = cd;
+            int currentOffset = offset;
+            for (int i = 0; ; i++) {
+                FieldDefinition fd = currentCd.getField(tokens[i]);
+                if (fd == null) {
+                    return NOT_COMPILABLE;
+                }
+                fieldIndexOffsets[i] = fd.getIndex() * INT_SIZE_IN_BYTES;
+                // the field name is written as its length followed by its characters, then comes the field type
+                fieldHeaderLengths[i] = SHORT_SIZE_IN_BYTES + fd.getName().length() + BYTE_SIZE_IN_BYTES;
+                if (i == depth - 1) {
+                    return isPrimitiveOrUTF(fd.getType())
+                            ? new PortablePathAccessor(fd.getType(), fieldIndexOffsets, fieldHeaderLengths,
+                            factoryIds, classIds, versions)
+                            : NOT_COMPILABLE;
+                }
+                if (fd.getType() != FieldType.PORTABLE) {
+                    return NOT_COMPILABLE;
+                }
+
+                int position = in.readInt(currentOffset + fieldIndexOffsets[i]) + fieldHeaderLengths[i];
+                if (in.readBoolean(position)) {
+                    return null;
+                }
+                factoryIds[i] = in.readInt(position + FACTORY_ID_OFFSET);
+                classIds[i] = in.readInt(position + CLASS_ID_OFFSET);
+                versions[i] = in.readInt(position + VERSION_OFFSET);
+                if (factoryIds[i] != fd.getFactoryId() || classIds[i] != fd.getClassId()) {
+                    return null;
+                }
+
+                in.position(position + VERSION_OFFSET + INT_SIZE_IN_BYTES);
+                currentCd = serializer.setupPositionAndDefinition(in, factoryIds[i], classIds[i], versions[i]);
+                currentOffset = position + NESTED_PORTABLE_HEADER_SIZE;
+            }
+        } finally {
+            in.position(originalPosition);
+        }
+    }
+
+    private static boolean isPrimitiveOrUTF(FieldType type) {
+        return type != FieldType.PORTABLE && !type.isArrayType();
+    }
+}
@@ -23,8 +23,18 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
  */
 public class BufferPoolFactoryImpl implements BufferPoolFactory {
 
+    private final int maxRetainedCapacity;
+
+    public BufferPoolFactoryImpl() {
+        this(BufferPoolImpl.DEFAULT_MAX_RETAINED_CAPACITY);
+    }
+
+    public BufferPoolFactoryImpl(int maxRetainedCapacity) {
+        this.maxRetainedCapacity = maxRetainedCapacity;
+    }
+
     @Override
     public BufferPool create(InternalSerializationService serializationService) {
-        return new BufferPoolImpl(serializationService);
+        return new BufferPoolImpl(serializationService, maxRetainedCapacity);
     }
 }
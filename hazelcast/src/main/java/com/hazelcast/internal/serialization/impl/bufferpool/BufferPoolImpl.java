@@ -18,6 +18,7 @@ package com.hazelcast.internal.serialization.impl.bufferpool;
 
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
@@ -26,31 +27,60 @@ import java.io.Closeable;
 import java.util.ArrayDeque;
 import java.util.Queue;
 
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.util.Preconditions.checkPositive;
 
 /**
  * Default {BufferPool} implementation.
  *
+ * The pooled outputs implementing {@link SizeAwareOutput} are trimmed using a {@link BufferSizeHistogram} of the sizes
+ * serialized by the owning thread: instead of shrinking every returned output back to its initial size, the pool keeps
+ * a grown buffer as long as it fits most of the recent sizes without being much larger than them. A buffer is never
+ * retained larger than the configured maximum retained capacity, see
+ * {@link com.hazelcast.spi.properties.GroupProperty#SERIALIZATION_MAX_RETAINED_OUTPUT_BUFFER_SIZE}. So a thread
+ * repeatedly serializing large values doesn't grow and discard its buffer each time.
+ *
  * This class is designed to that a subclass can be made. This is done for the Enterprise version.
  */
 public class BufferPoolImpl implements BufferPool {
     static final int MAX_POOLED_ITEMS = 3;
+    static final int DEFAULT_MAX_RETAINED_CAPACITY = 1 << 20;
+    static final int SHRINK_FACTOR = 4;
 
     protected final InternalSerializationService serializationService;
 
     // accessible for testing.
     final Queue<BufferObjectDataOutput> outputQueue = new ArrayDeque<BufferObjectDataOutput>(MAX_POOLED_ITEMS);
     final Queue<BufferObjectDataInput> inputQueue = new ArrayDeque<BufferObjectDataInput>(MAX_POOLED_ITEMS);
+    final BufferSizeHistogram histogram = new BufferSizeHistogram();
+
+    private final SwCounter outputHits = newSwCounter();
+    private final SwCounter outputMisses = newSwCounter();
+    private final SwCounter outputGrows = newSwCounter();
+    private final int maxRetainedCapacity;
+    private int initialCapacity;
 
     public BufferPoolImpl(InternalSerializationService serializationService) {
+        this(serializationService, DEFAULT_MAX_RETAINED_CAPACITY);
+    }
+
+    public BufferPoolImpl(InternalSerializationService serializationService, int maxRetainedCapacity) {
         this.serializationService = serializationService;
+        this.maxRetainedCapacity = checkPositive(maxRetainedCapacity, "maxRetainedCapacity should be positive");
     }
 
     @Override
     public BufferObjectDataOutput takeOutputBuffer() {
         BufferObjectDataOutput out = outputQueue.poll();
         if (out == null) {
+            outputMisses.inc();
             out = serializationService.createObjectDataOutput();
+            if (initialCapacity == 0 && out instanceof SizeAwareOutput) {
+                initialCapacity = ((SizeAwareOutput) out).capacity();
+            }
+        } else {
+            outputHits.inc();
         }
         return out;
     }
@@ -61,9 +91,55 @@ public class BufferPoolImpl implements BufferPool {
             return;
         }
 
-        out.clear();
+        if (outputQueue.size() == MAX_POOLED_ITEMS) {
+            closeResource(out);
+            return;
+        }
+
+        if (out instanceof SizeAwareOutput) {
+            clear((SizeAwareOutput) out, out.position());
+        } else {
+            out.clear();
+        }
+
+        outputQueue.offer(out);
+    }
+
+    private void clear(SizeAwareOutput out, int size) {
+        if (out.isGrown()) {
+            outputGrows.inc();
+        }
+        histogram.record(size);
+
+        int maxRetainedCapacity = Math.max(this.maxRetainedCapacity, initialCapacity);
+        int retainedCapacity = Math.min(Math.max(histogram.capacity(), initialCapacity), maxRetainedCapacity);
+        int capacity = out.capacity();
+        if (capacity > maxRetainedCapacity || capacity > retainedCapacity * SHRINK_FACTOR) {
+            out.clear(retainedCapacity);
+        } else {
+            out.clear(capacity);
+        }
+    }
+
+    /**
+     * Returns the number of output buffers taken from the pool.
+     */
+    long getOutputHits() {
+        return outputHits.get();
+    }
+
+    /**
+     * Returns the number of output buffers which had to be created because the pool was empty.
+     */
+    long getOutputMisses() {
+        return outputMisses.get();
+    }
 
-        offerOrClose(outputQueue, out);
+    /**
+     * Returns the number of returned output buffers which had to grow while in use.
+     */
+    long getOutputGrows() {
+        return outputGrows.get();
     }
 
     @Override
@@ -17,6 +17,7 @@
 package com.hazelcast.internal.serialization.impl.bufferpool;
 
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.util.ConcurrentReferenceHashMap;
@@ -76,6 +77,9 @@ import static com.hazelcast.util.ConcurrentReferenceHashMap.ReferenceType.WEAK;
  * The Performance of using a ThreadLocal in combination with a WeakReference is almost the same as using a ThreadLocal without
  * WeakReference. There is an extra pointer indirection and some additional pressure on the gc system since it needs to deal with
  * the WeakReferences, but the number of threads is limited.
+ *
+ * <h1>Metrics</h1>
+ * The output buffer hits, misses and grows of the {@link BufferPoolImpl} instances of all threads are exposed as probes.
  */
 public final class BufferPoolThreadLocal {
 
@@ -109,4 +113,37 @@ public final class BufferPoolThreadLocal {
     public void clear() {
         strongReferences.clear();
     }
+
+    @Probe(name = "outputHits")
+    private long outputHits() {
+        long hits = 0;
+        for (BufferPool pool : strongReferences.values()) {
+            if (pool instanceof BufferPoolImpl) {
+                hits += ((BufferPoolImpl) pool).getOutputHits();
+            }
+        }
+        return hits;
+    }
+
+    @Probe(name = "outputMisses")
+    private long outputMisses() {
+        long misses = 0;
+        for (BufferPool pool : strongReferences.values()) {
+            if (pool instanceof BufferPoolImpl) {
+                misses += ((BufferPoolImpl) pool).getOutputMisses();
+            }
+        }
+        return misses;
+    }
+
+    @Probe(name = "outputGrows")
+    private long outputGrows() {
+        long grows = 0;
+        for (BufferPool pool : strongReferences.values()) {
+            if (pool instanceof BufferPoolImpl) {
+                grows += ((BufferPoolImpl) pool).getOutputGrows();
+            }
+        }
+        return grows;
+    }
 }
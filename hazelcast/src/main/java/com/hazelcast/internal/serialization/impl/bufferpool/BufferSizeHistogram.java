@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.bufferpool;
+
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * A histogram of the sizes written to the output buffers of a {@link BufferPoolImpl}, used to decide which buffer
+ * capacity is worth retaining.
+ *
+ * The sizes are counted in power of two buckets. Every {@link #DECAY_INTERVAL} samples all counts are halved, so the
+ * histogram follows the recent sizes and forgets the old ones.
+ *
+ * This class is not thread-safe, it is owned by the thread of its pool.
+ */
+final class BufferSizeHistogram {
+
+    static final int DECAY_INTERVAL = 256;
+
+    private static final int BUCKET_COUNT = 32;
+    private static final int PERCENTILE = 90;
+    private static final int PERCENT = 100;
+
+    private final int[] counts = new int[BUCKET_COUNT];
+    private int total;
+    private int samples;
+
+    void record(int size) {
+        counts[bucket(size)]++;
+        total++;
+        if (++samples == DECAY_INTERVAL) {
+            decay();
+        }
+    }
+
+    /**
+     * Returns the smallest power of two which fits 90% of the recently recorded sizes, or 0 if nothing is recorded.
+     */
+    int capacity() {
+        long needed = ((long) total * PERCENTILE + PERCENT - 1) / PERCENT;
+        int sum = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            sum += counts[bucket];
+            if (sum > 0 && sum >= needed) {
+                return 1 << bucket;
+            }
+        }
+        return 0;
+    }
+
+    private void decay() {
+        total = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            counts[bucket] >>= 1;
+            total += counts[bucket];
+        }
+        samples = 0;
+    }
+
+    private static int bucket(int size) {
+        if (size <= 1) {
+            return 0;
+        }
+        int bucket = Integer.numberOfTrailingZeros(nextPowerOfTwo(size));
+        return Math.min(bucket, BUCKET_COUNT - 2);
+    }
+}
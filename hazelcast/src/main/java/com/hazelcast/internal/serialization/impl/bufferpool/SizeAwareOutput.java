@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.bufferpool;
+
+/**
+ * An output buffer which lets the {@link BufferPool} control the capacity of its underlying buffer, so that a pooled
+ * output can keep a buffer matching the sizes its thread actually serializes instead of being shrunk back to the
+ * initial size on every return.
+ */
+public interface SizeAwareOutput {
+
+    /**
+     * Returns the capacity of the underlying buffer.
+     *
+     * @return the capacity in bytes
+     */
+    int capacity();
+
+    /**
+     * Checks if the underlying buffer had to grow since the last clear.
+     *
+     * @return true if the buffer has grown, false otherwise
+     */
+    boolean isGrown();
+
+    /**
+     * Clears the output and makes sure the underlying buffer has exactly the given capacity. If it already has, the
+     * buffer is kept.
+     *
+     * @param capacity the capacity of the buffer in bytes
+     */
+    void clear(int capacity);
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.spi.properties.HazelcastProperty;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static com.hazelcast.util.StringUtil.isNullOrEmptyAfterTrim;
+
+/**
+ * The CPUs a group of threads, e.g. the partition operation threads, is allowed to run on.
+ * <p/>
+ * The configuration is a comma separated list of CPU ids and ranges, every CPU gets its own thread:
+ * <ul>
+ * <li>{@code 1,2,3} creates 3 threads, bound to CPU 1, 2 and 3.</li>
+ * <li>{@code 4-7} creates 4 threads, bound to CPU 4, 5, 6 and 7.</li>
+ * </ul>
+ * A group between brackets is shared by its threads, by default a group gets a single thread:
+ * <ul>
+ * <li>{@code [0-3]} creates 1 thread that may run on any of the CPUs 0 till 3.</li>
+ * <li>{@code [0-3,8]:2} creates 2 threads that may both run on CPU 0, 1, 2, 3 and 8.</li>
+ * </ul>
+ * The forms can be combined, e.g. {@code 0-3,[4-7]:2}.
+ * <p/>
+ * Binding a thread to CPUs is only supported on Linux and requires JNA on the classpath; if either is missing a
+ * warning is logged and the threads are left unbound.
+ */
+public final class ThreadAffinity {
+
+    /**
+     * A ThreadAffinity that doesn't bind any thread.
+     */
+    public static final ThreadAffinity DISABLED = new ThreadAffinity(null);
+
+    private final List<BitSet> allowedCpusList = new ArrayList<BitSet>();
+
+    public ThreadAffinity(String affinity) {
+        if (isNullOrEmptyAfterTrim(affinity)) {
+            return;
+        }
+
+        try {
+            parse(affinity.replaceAll("\\s", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid thread affinity '" + affinity + "'", e);
+        }
+        if (allowedCpusList.isEmpty()) {
+            throw new IllegalArgumentException("Invalid thread affinity '" + affinity + "', no CPUs are configured");
+        }
+    }
+
+    /**
+     * Creates the ThreadAffinity for the given property.
+     *
+     * @param properties the properties to read from
+     * @param property   the property containing the affinity
+     * @return the created ThreadAffinity, {@link #DISABLED} if the property isn't set
+     */
+    public static ThreadAffinity newThreadAffinity(HazelcastProperties properties, HazelcastProperty property) {
+        String affinity = properties.getString(property);
+        return isNullOrEmptyAfterTrim(affinity) ? DISABLED : new ThreadAffinity(affinity);
+    }
+
+    /**
+     * Checks if threads are bound to CPUs; only then {@link #getThreadCount()} is relevant.
+     *
+     * @return {@code true} if enabled, {@code false} otherwise
+     */
+    public boolean isEnabled() {
+        return !allowedCpusList.isEmpty();
+    }
+
+    /**
+     * Returns the number of threads the configuration asks for.
+     *
+     * @return the number of threads
+     */
+    public int getThreadCount() {
+        return allowedCpusList.size();
+    }
+
+    /**
+     * Returns the CPUs the thread with the given index is allowed to run on.
+     *
+     * @param threadIndex the index of the thread
+     * @return a copy of the allowed CPUs, or {@code null} if the affinity isn't enabled
+     */
+    public BitSet getAllowedCpus(int threadIndex) {
+        if (allowedCpusList.isEmpty()) {
+            return null;
+        }
+        return (BitSet) allowedCpusList.get(threadIndex % allowedCpusList.size()).clone();
+    }
+
+    /**
+     * Binds the calling thread to the given CPUs.
+     * <p/>
+     * Failures are logged and never propagated; an unbound thread is still a working thread.
+     *
+     * @param allowedCpus the CPUs to bind to, {@code null} if the thread should not be bound
+     * @param logger      the logger to report a failure to
+     */
+    public static void bindCurrentThread(BitSet allowedCpus, ILogger logger) {
+        if (allowedCpus == null) {
+            return;
+        }
+
+        String threadName = Thread.currentThread().getName();
+        if (!ThreadAffinitySupport.isAvailable()) {
+            logger.warning("Can't bind " + threadName + " to CPUs " + allowedCpus
+                    + ", thread affinity requires Linux and JNA on the classpath");
+            return;
+        }
+
+        try {
+            ThreadAffinitySupport.setAffinity(allowedCpus);
+            if (logger.isFineEnabled()) {
+                logger.fine("Bound " + threadName + " to CPUs " + allowedCpus);
+            }
+        } catch (Throwable t) {
+            logger.warning("Failed to bind " + threadName + " to CPUs " + allowedCpus, t);
+        }
+    }
+
+    private void parse(String affinity) {
+        int index = 0;
+        while (index < affinity.length()) {
+            int end = affinity.charAt(index) == '[' ? parseGroup(affinity, index) : parseCpus(affinity, index);
+            // skip the comma
+            index = end + 1;
+        }
+    }
+
+    private int parseGroup(String affinity, int index) {
+        int groupEnd = affinity.indexOf(']', index);
+        if (groupEnd == -1) {
+            throw new IllegalArgumentException("Invalid thread affinity '" + affinity + "', missing ']'");
+        }
+        BitSet group = new BitSet();
+        for (String item : affinity.substring(index + 1, groupEnd).split(",")) {
+            addCpus(group, item);
+        }
+
+        int end = nextComma(affinity, groupEnd);
+        int threadCount = 1;
+        if (groupEnd + 1 < end) {
+            if (affinity.charAt(groupEnd + 1) != ':') {
+                throw new IllegalArgumentException("Invalid thread affinity '" + affinity + "', expected ':' after ']'");
+            }
+            threadCount = Integer.parseInt(affinity.substring(groupEnd + 2, end));
+            if (threadCount <= 0 || threadCount > group.cardinality()) {
+                throw new IllegalArgumentException("Invalid thread affinity '" + affinity
+                        + "', the thread count of a group should be between 1 and its number of CPUs");
+            }
+        }
+        for (int k = 0; k < threadCount; k++) {
+            allowedCpusList.add(group);
+        }
+        return end;
+    }
+
+    private int parseCpus(String affinity, int index) {
+        int end = nextComma(affinity, index);
+        BitSet cpus = new BitSet();
+        addCpus(cpus, affinity.substring(index, end));
+        for (int cpu = cpus.nextSetBit(0); cpu >= 0; cpu = cpus.nextSetBit(cpu + 1)) {
+            BitSet single = new BitSet();
+            single.set(cpu);
+            allowedCpusList.add(single);
+        }
+        return end;
+    }
+
+    private static int nextComma(String affinity, int fromIndex) {
+        int comma = affinity.indexOf(',', fromIndex);
+        return comma == -1 ? affinity.length() : comma;
+    }
+
+    private static void addCpus(BitSet cpus, String item) {
+        int dash = item.indexOf('-');
+        int from;
+        int to;
+        if (dash == -1) {
+            from = Integer.parseInt(item);
+            to = from;
+        } else {
+            from = Integer.parseInt(item.substring(0, dash));
+            to = Integer.parseInt(item.substring(dash + 1));
+        }
+        if (from < 0 || to < from) {
+            throw new IllegalArgumentException("Invalid CPU range '" + item + "'");
+        }
+        cpus.set(from, to + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "ThreadAffinity{allowedCpus=" + allowedCpusList + '}';
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util;
+
+import com.sun.jna.Library;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+
+import java.util.BitSet;
+
+import static com.hazelcast.util.StringUtil.lowerCaseInternal;
+
+/**
+ * Binds threads to CPUs using {@code sched_setaffinity} through JNA.
+ * <p/>
+ * JNA is an optional dependency; the JNA classes are only touched once {@link #isAvailable()} confirmed they can
+ * be loaded, so this class can be loaded without JNA on the classpath.
+ */
+final class ThreadAffinitySupport {
+
+    private static final int BITS_PER_WORD = 64;
+    private static final int BYTES_PER_WORD = 8;
+    private static final boolean AVAILABLE = isLinux() && isJnaAvailable();
+
+    private ThreadAffinitySupport() {
+    }
+
+    static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * Binds the calling thread to the given CPUs.
+     *
+     * @param allowedCpus the CPUs the thread is allowed to run on
+     * @throws IllegalStateException if the binding failed
+     */
+    static void setAffinity(BitSet allowedCpus) {
+        // BitSet.toLongArray is Java 7+, so build the cpu_set_t words manually
+        long[] mask = new long[(allowedCpus.length() + BITS_PER_WORD - 1) / BITS_PER_WORD];
+        for (int cpu = allowedCpus.nextSetBit(0); cpu >= 0; cpu = allowedCpus.nextSetBit(cpu + 1)) {
+            mask[cpu / BITS_PER_WORD] |= 1L << (cpu % BITS_PER_WORD);
+        }
+
+        // pid 0 is the calling thread
+        if (CLibraryHolder.INSTANCE.sched_setaffinity(0, new NativeLong(mask.length * BYTES_PER_WORD), mask) != 0) {
+            throw new IllegalStateException("sched_setaffinity failed with errno " + Native.getLastError());
+        }
+    }
+
+    private static boolean isLinux() {
+        return lowerCaseInternal(System.getProperty("os.name", "")).contains("linux");
+    }
+
+    private static boolean isJnaAvailable() {
+        try {
+            Class.forName("com.sun.jna.Native", false, ThreadAffinitySupport.class.getClassLoader());
+            return CLibraryHolder.INSTANCE != null;
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("checkstyle:methodname")
+    private interface CLibrary extends Library {
+        // cpusetsize is a size_t, which has the width of a C long on Linux
+        int sched_setaffinity(int pid, NativeLong cpuSetSize, long[] mask);
+    }
+
+    private static final class CLibraryHolder {
+        static final CLibrary INSTANCE = (CLibrary) Native.loadLibrary("c", CLibrary.class);
+
+        private CLibraryHolder() {
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.hazelcast.map.impl;
 
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
 
@@ -47,13 +48,28 @@ public final class MapConfigValidator {
         }
     }
 
+    /**
+     * Throws {@link IllegalArgumentException} if the supplied {@link InMemoryFormat} is {@link InMemoryFormat#NATIVE}
+     * and native memory is not enabled.
+     *
+     * @param inMemoryFormat     supplied inMemoryFormat.
+     * @param nativeMemoryConfig native memory configuration of the member.
+     */
+    public static void checkInMemoryFormat(InMemoryFormat inMemoryFormat, NativeMemoryConfig nativeMemoryConfig) {
+        if (NATIVE == inMemoryFormat && (nativeMemoryConfig == null || !nativeMemoryConfig.isEnabled())) {
+            throw new IllegalArgumentException("NATIVE storage format requires native memory to be enabled. "
+                    + "Please enable it by Config.getNativeMemoryConfig().setEnabled(true)!");
+        }
+    }
+
     /**
      * Checks preconditions to create a map proxy.
      *
-     * @param mapConfig the mapConfig
+     * @param mapConfig          the mapConfig
+     * @param nativeMemoryConfig native memory configuration of the member
      */
-    public static void checkMapConfig(MapConfig mapConfig) {
-        checkInMemoryFormat(mapConfig.getInMemoryFormat());
+    public static void checkMapConfig(MapConfig mapConfig, NativeMemoryConfig nativeMemoryConfig) {
+        checkInMemoryFormat(mapConfig.getInMemoryFormat(), nativeMemoryConfig);
 
         logIgnoredConfig(mapConfig);
     }
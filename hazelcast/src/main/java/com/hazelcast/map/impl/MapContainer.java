@@ -20,6 +20,7 @@ import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.WanReplicationRef;
 import com.hazelcast.core.IFunction;
 import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.internal.memory.MemoryManager;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.map.eviction.MapEvictionPolicy;
 import com.hazelcast.map.impl.eviction.EvictionChecker;
@@ -28,6 +29,7 @@ import com.hazelcast.map.impl.eviction.EvictorImpl;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.query.QueryEntryFactory;
 import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
 import com.hazelcast.map.impl.record.ObjectRecordFactory;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.merge.MapMergePolicy;
@@ -36,6 +38,7 @@ import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.partition.IPartitionService;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.ConstructorFunction;
@@ -104,7 +107,8 @@ public class MapContainer {
         initWanReplication(nodeEngine);
         this.nearCacheSizeEstimator = createNearCacheSizeEstimator(mapConfig.getNearCacheConfig());
         this.extractors = new Extractors(mapConfig.getMapAttributeConfigs());
-        this.indexes = new Indexes((InternalSerializationService) serializationService, extractors);
+        this.indexes = new Indexes((InternalSerializationService) serializationService, extractors,
+                ((NodeEngineImpl) nodeEngine).getMetricsRegistry(), "map[" + name + "]");
         this.memberNearCacheInvalidationEnabled = hasMemberNearCache() && mapConfig.getNearCacheConfig().isInvalidateOnChange();
         this.mapStoreContext = createMapStoreContext(this);
         this.mapStoreContext.start();
@@ -134,6 +138,9 @@ public class MapContainer {
                         return new DataRecordFactory(mapConfig, serializationService, partitioningStrategy);
                     case OBJECT:
                         return new ObjectRecordFactory(mapConfig, serializationService);
+                    case NATIVE:
+                        return new NativeRecordFactory(getNativeMemoryManager(), serializationService,
+                                partitioningStrategy);
                     default:
                         throw new IllegalArgumentException("Invalid storage format: " + mapConfig.getInMemoryFormat());
                 }
@@ -141,6 +148,16 @@ public class MapContainer {
         };
     }
 
+    private MemoryManager getNativeMemoryManager() {
+        NodeEngineImpl nodeEngine = (NodeEngineImpl) mapServiceContext.getNodeEngine();
+        MemoryManager memoryManager = nodeEngine.getNode().getNodeExtension().getNativeMemoryManager();
+        if (memoryManager == null) {
+            throw new IllegalStateException("Native memory must be enabled to use in-memory format NATIVE for map "
+                    + name);
+        }
+        return memoryManager;
+    }
+
     public void initWanReplication(NodeEngine nodeEngine) {
         WanReplicationRef wanReplicationRef = mapConfig.getWanReplicationRef();
         if (wanReplicationRef == null) {
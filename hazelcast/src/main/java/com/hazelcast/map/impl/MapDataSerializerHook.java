@@ -29,6 +29,7 @@ import com.hazelcast.map.impl.operation.PutBackupOperation;
 import com.hazelcast.map.impl.operation.PutOperation;
 import com.hazelcast.map.impl.operation.RemoveBackupOperation;
 import com.hazelcast.map.impl.operation.RemoveOperation;
+import com.hazelcast.map.impl.query.AggregationResult;
 import com.hazelcast.map.impl.query.QueryResult;
 import com.hazelcast.map.impl.query.QueryResultRow;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
@@ -58,8 +59,9 @@ public final class MapDataSerializerHook implements DataSerializerHook {
     public static final int PUT_ALL_PER_MEMBER = 13;
     public static final int KEYS_WITH_CURSOR = 14;
     public static final int ENTRIES_WITH_CURSOR = 15;
+    public static final int AGGREGATION_RESULT = 16;
 
-    private static final int LEN = ENTRIES_WITH_CURSOR + 1;
+    private static final int LEN = AGGREGATION_RESULT + 1;
 
     @Override
     public int getFactoryId() {
@@ -150,6 +152,11 @@ public final class MapDataSerializerHook implements DataSerializerHook {
                 return new MapEntriesWithCursor();
             }
         };
+        constructors[AGGREGATION_RESULT] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new AggregationResult();
+            }
+        };
 
         return new ArrayDataSerializableFactory(constructors);
     }
@@ -187,7 +187,7 @@ class MapServiceContextImpl implements MapServiceContext {
             while (iter.hasNext()) {
                 RecordStore recordStore = iter.next();
                 if (backupCount > recordStore.getMapContainer().getTotalBackupCount()) {
-                    recordStore.clearPartition(false);
+                    recordStore.destroy();
                     iter.remove();
                 }
             }
@@ -199,7 +199,7 @@ class MapServiceContextImpl implements MapServiceContext {
         final PartitionContainer container = partitionContainers[partitionId];
         if (container != null) {
             for (RecordStore mapPartition : container.getMaps().values()) {
-                mapPartition.clearPartition(false);
+                mapPartition.destroy();
             }
             container.getMaps().clear();
         }
@@ -264,6 +264,8 @@ class MapServiceContextImpl implements MapServiceContext {
         localMapStatsProvider.destroyLocalMapStatsImpl(mapContainer.getName());
 
         destroyPartitionsAndMapContainer(mapContainer);
+        // deregisters the metrics of the indexes
+        mapContainer.getIndexes().clearIndexes();
     }
 
     private void destroyPartitionsAndMapContainer(MapContainer mapContainer) {
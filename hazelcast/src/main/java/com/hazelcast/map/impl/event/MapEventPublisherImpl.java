@@ -140,6 +140,9 @@ public class MapEventPublisherImpl implements MapEventPublisher {
             return;
         }
 
+        // a key backed by native memory, e.g. of an evicted record, must not escape into the event
+        dataKey = mapServiceContext.toData(dataKey);
+
         List<EventRegistration> includeValueRegistrations = null;
         List<EventRegistration> nullValueRegistrations = null;
 
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.iterator;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the entries of all partitions matching a predicate, one partition after the other. Only a batch
+ * of a single partition is held at a time, see {@link AbstractMapQueryPartitionIterator}.
+ */
+public abstract class AbstractMapQueryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+
+    private final int partitionCount;
+
+    private int partitionId = -1;
+    private Iterator<Map.Entry<K, V>> partitionIterator;
+    private Iterator<Map.Entry<K, V>> lastReturnedFrom;
+
+    protected AbstractMapQueryIterator(int partitionCount) {
+        this.partitionCount = partitionCount;
+    }
+
+    /**
+     * Creates the iterator over the matching entries of the given partition.
+     *
+     * @param partitionId the partition to iterate
+     * @return the iterator over the matching entries of the partition
+     */
+    protected abstract Iterator<Map.Entry<K, V>> newPartitionIterator(int partitionId);
+
+    @Override
+    public boolean hasNext() {
+        while (partitionIterator == null || !partitionIterator.hasNext()) {
+            if (partitionId + 1 >= partitionCount) {
+                return false;
+            }
+            partitionId++;
+            partitionIterator = newPartitionIterator(partitionId);
+        }
+        return true;
+    }
+
+    @Override
+    public Map.Entry<K, V> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        lastReturnedFrom = partitionIterator;
+        return partitionIterator.next();
+    }
+
+    @Override
+    public void remove() {
+        if (lastReturnedFrom == null) {
+            throw new IllegalStateException("Iterator.next() must be called before remove()!");
+        }
+        lastReturnedFrom.remove();
+        lastReturnedFrom = null;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.core.IMap;
+import com.hazelcast.query.Predicate;
+
+/**
+ * Iterates over the entries of a partition matching a predicate. The predicate is applied on the partition owner,
+ * which returns the matching entries in batches of at most {@code fetchSize} entries together with the table index
+ * to continue from, so neither the member nor the caller ever holds the complete result. Since the owner scans only
+ * a limited number of entries per batch, a batch may be empty before the partition is exhausted.
+ * <p/>
+ * Subclasses fetch the next batch in {@link #fetch()} and store the returned table index in {@link #lastTableIndex},
+ * also when the batch is empty.
+ */
+public abstract class AbstractMapQueryPartitionIterator<K, V> extends AbstractMapPartitionIterator<K, V> {
+
+    protected final Predicate<K, V> predicate;
+
+    protected AbstractMapQueryPartitionIterator(IMap<K, V> map, int fetchSize, int partitionId,
+                                                Predicate<K, V> predicate) {
+        super(map, fetchSize, partitionId, true);
+        this.predicate = predicate;
+    }
+
+    @Override
+    protected boolean advance() {
+        while (lastTableIndex >= 0) {
+            result = fetch();
+            if (!result.isEmpty()) {
+                index = 0;
+                return true;
+            }
+        }
+        lastTableIndex = Integer.MAX_VALUE;
+        return false;
+    }
+}
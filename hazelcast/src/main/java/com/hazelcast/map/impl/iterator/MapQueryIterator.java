@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.query.Predicate;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Iterates over the entries of all partitions matching a predicate on a member.
+ */
+public class MapQueryIterator<K, V> extends AbstractMapQueryIterator<K, V> {
+
+    private final MapProxyImpl<K, V> mapProxy;
+    private final int fetchSize;
+    private final Predicate<K, V> predicate;
+
+    public MapQueryIterator(MapProxyImpl<K, V> mapProxy, int fetchSize, Predicate<K, V> predicate) {
+        super(mapProxy.getNodeEngine().getPartitionService().getPartitionCount());
+        this.mapProxy = mapProxy;
+        this.fetchSize = fetchSize;
+        this.predicate = predicate;
+    }
+
+    @Override
+    protected Iterator<Map.Entry<K, V>> newPartitionIterator(int partitionId) {
+        return new MapQueryPartitionIterator<K, V>(mapProxy, fetchSize, partitionId, predicate);
+    }
+}
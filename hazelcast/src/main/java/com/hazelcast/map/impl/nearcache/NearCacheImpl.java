@@ -21,36 +21,50 @@ import com.hazelcast.config.Config;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.eviction.EvictionCandidate;
+import com.hazelcast.internal.eviction.EvictionChecker;
+import com.hazelcast.internal.eviction.EvictionListener;
+import com.hazelcast.internal.eviction.EvictionPolicyComparator;
+import com.hazelcast.internal.eviction.EvictionPolicyEvaluator;
+import com.hazelcast.internal.eviction.EvictionStrategy;
+import com.hazelcast.internal.eviction.EvictionStrategyProvider;
+import com.hazelcast.internal.eviction.impl.admission.FrequencySketch;
+import com.hazelcast.internal.eviction.impl.comparator.LFUEvictionPolicyComparator;
+import com.hazelcast.internal.eviction.impl.comparator.LRUEvictionPolicyComparator;
+import com.hazelcast.internal.eviction.impl.comparator.RandomEvictionPolicyComparator;
+import com.hazelcast.internal.eviction.impl.evaluator.DefaultEvictionPolicyEvaluator;
 import com.hazelcast.map.impl.SizeEstimator;
 import com.hazelcast.monitor.impl.NearCacheStatsImpl;
 import com.hazelcast.nio.serialization.Data;
-import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.ExceptionUtil;
 
-import java.util.Comparator;
+import java.util.Collection;
 import java.util.Map;
-import java.util.Set;
-import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.hazelcast.config.EvictionPolicy.NONE;
+import static com.hazelcast.config.NearCacheConfig.AdmissionPolicy.TINY_LFU;
+import static com.hazelcast.internal.eviction.impl.strategy.sampling.SamplingBasedEvictionStrategy.SAMPLE_COUNT;
 
 /**
  * NearCache.
+ * <p/>
+ * When the near cache reaches its max size, an entry selected by the eviction policy out of a few random samples
+ * is evicted on each put, see {@link com.hazelcast.internal.eviction.impl.strategy.sampling.SamplingBasedEvictionStrategy}.
+ * With the {@link NearCacheConfig.AdmissionPolicy#TINY_LFU} admission policy, the entry to put is only admitted if its
+ * key was accessed more often than the key of the entry to evict.
  */
-public class NearCacheImpl implements NearCache<Data, Object> {
+public class NearCacheImpl implements NearCache<Data, Object>, EvictionListener<Data, NearCacheRecord> {
 
     public static final String NEAR_CACHE_EXECUTOR_NAME = "hz:near-cache";
 
-    private static final double EVICTION_FACTOR = 0.2;
     private static final int CLEANUP_INTERVAL = 5000;
+    private static final int DEFAULT_INITIAL_CAPACITY = 1000;
 
     private final int maxSize;
     private final String mapName;
@@ -60,11 +74,13 @@ public class NearCacheImpl implements NearCache<Data, Object> {
     private final InMemoryFormat inMemoryFormat;
     private final NodeEngine nodeEngine;
     private final AtomicBoolean canCleanUp;
-    private final AtomicBoolean canEvict;
-    private final ConcurrentMap<Data, NearCacheRecord> cache;
+    private final NearCacheRecordMap cache;
     private final NearCacheStatsImpl nearCacheStats;
     private final SerializationService serializationService;
-    private final Comparator<NearCacheRecord> selectedComparator;
+    private final EvictionPolicyEvaluator<Data, NearCacheRecord> evictionPolicyEvaluator;
+    private final EvictionStrategy<Data, NearCacheRecord, NearCacheRecordMap> evictionStrategy;
+    private final EvictionChecker evictionChecker;
+    private final FrequencySketch frequencySketch;
     private final boolean invalidateOnChange;
 
     private SizeEstimator nearCacheSizeEstimator;
@@ -84,10 +100,14 @@ public class NearCacheImpl implements NearCache<Data, Object> {
         this.inMemoryFormat = nearCacheConfig.getInMemoryFormat();
         this.timeToLiveMillis = TimeUnit.SECONDS.toMillis(nearCacheConfig.getTimeToLiveSeconds());
         this.evictionPolicy = EvictionPolicy.valueOf(nearCacheConfig.getEvictionPolicy());
-        this.selectedComparator = NearCacheRecord.getComparator(evictionPolicy);
-        this.cache = new ConcurrentHashMap<Data, NearCacheRecord>();
+        this.cache = new NearCacheRecordMap(Math.min(maxSize, DEFAULT_INITIAL_CAPACITY));
+        this.evictionPolicyEvaluator = createEvictionPolicyEvaluator(evictionPolicy);
+        this.evictionStrategy = EvictionStrategyProvider.getDefaultEvictionStrategy();
+        this.evictionChecker = new MaxSizeEvictionChecker();
+        boolean admissionEnabled = nearCacheConfig.getAdmissionPolicy() == TINY_LFU
+                && evictionPolicy != NONE && maxSize != Integer.MAX_VALUE;
+        this.frequencySketch = admissionEnabled ? new FrequencySketch(maxSize) : null;
         this.canCleanUp = new AtomicBoolean(true);
-        this.canEvict = new AtomicBoolean(true);
         this.nearCacheStats = new NearCacheStatsImpl();
         this.lastCleanup = Clock.currentTimeMillis();
         this.serializationService = nodeEngine.getSerializationService();
@@ -102,8 +122,9 @@ public class NearCacheImpl implements NearCache<Data, Object> {
         if (evictionPolicy == NONE && cache.size() >= maxSize) {
             return;
         }
-        if (evictionPolicy != NONE && cache.size() >= maxSize) {
-            fireEvictCache();
+        if (frequencySketch != null && !admit(key)) {
+            nearCacheStats.incrementAdmissionRejections();
+            return;
         }
         if (value == null) {
             value = NULL_OBJECT;
@@ -117,6 +138,43 @@ public class NearCacheImpl implements NearCache<Data, Object> {
         if (previous != null) {
             updateSizeEstimator(-calculateCost(previous));
         }
+        evict();
+    }
+
+    /**
+     * Evicts a single entry if the max size is reached, so the cost of the eviction is spread over the puts.
+     */
+    private void evict() {
+        if (evictionPolicy != NONE) {
+            evictionStrategy.evict(cache, evictionPolicyEvaluator, evictionChecker, this);
+        }
+    }
+
+    /**
+     * Decides if the key is admitted when the put would cause an eviction. If so, the victim the key was compared to
+     * is evicted.
+     */
+    private boolean admit(Data key) {
+        if (cache.size() < maxSize || cache.containsKey(key)) {
+            return true;
+        }
+        Iterable<NearCacheRecordMap.NearCacheEvictableSamplingEntry> victims
+                = evictionPolicyEvaluator.evaluate(cache.sample(SAMPLE_COUNT));
+        if (victims == null) {
+            return true;
+        }
+        for (EvictionCandidate<Data, NearCacheRecord> victim : victims) {
+            if (!frequencySketch.admit(key, victim.getAccessor())) {
+                return false;
+            }
+        }
+        cache.evict(victims, this);
+        return true;
+    }
+
+    @Override
+    public void onEvict(Data key, NearCacheRecord record) {
+        updateSizeEstimator(-calculateCost(record));
     }
 
     @Override
@@ -141,45 +199,6 @@ public class NearCacheImpl implements NearCache<Data, Object> {
         return nearCacheStats;
     }
 
-    private void fireEvictCache() {
-        if (canEvict.compareAndSet(true, false)) {
-            try {
-                final ExecutionService executionService = nodeEngine.getExecutionService();
-                executionService.execute(NEAR_CACHE_EXECUTOR_NAME, new Runnable() {
-                    public void run() {
-                        try {
-                            Set<NearCacheRecord> records = new TreeSet<NearCacheRecord>(selectedComparator);
-                            records.addAll(cache.values());
-                            int evictSize = (int) (cache.size() * EVICTION_FACTOR);
-                            int i = 0;
-                            for (NearCacheRecord record : records) {
-                                cache.remove(record.getKey());
-                                updateSizeEstimator(-calculateCost(record));
-                                if (++i > evictSize) {
-                                    break;
-                                }
-                            }
-                        } finally {
-                            canEvict.set(true);
-                        }
-
-                        if (cache.size() >= maxSize && canEvict.compareAndSet(true, false)) {
-                            try {
-                                executionService.execute(NEAR_CACHE_EXECUTOR_NAME, this);
-                            } catch (RejectedExecutionException e) {
-                                canEvict.set(true);
-                            }
-                        }
-                    }
-                });
-            } catch (RejectedExecutionException e) {
-                canEvict.set(true);
-            } catch (Exception e) {
-                throw ExceptionUtil.rethrow(e);
-            }
-        }
-    }
-
     private void fireTtlCleanup() {
         if (Clock.currentTimeMillis() < (lastCleanup + CLEANUP_INTERVAL)) {
             return;
@@ -222,6 +241,9 @@ public class NearCacheImpl implements NearCache<Data, Object> {
     @Override
     public Object get(Data key) {
         fireTtlCleanup();
+        if (frequencySketch != null) {
+            frequencySketch.increment(key);
+        }
         NearCacheRecord record = cache.get(key);
         if (record != null) {
             if (record.isExpired(maxIdleMillis, timeToLiveMillis)) {
@@ -261,6 +283,11 @@ public class NearCacheImpl implements NearCache<Data, Object> {
         return cache.size();
     }
 
+    @Override
+    public Collection<Data> getKeysAsData() {
+        return cache.keySet();
+    }
+
     @Override
     public void clear() {
         cache.clear();
@@ -297,4 +324,27 @@ public class NearCacheImpl implements NearCache<Data, Object> {
         this.nearCacheSizeEstimator = nearCacheSizeEstimator;
     }
 
+    private static EvictionPolicyEvaluator<Data, NearCacheRecord> createEvictionPolicyEvaluator(EvictionPolicy policy) {
+        EvictionPolicyComparator comparator;
+        switch (policy) {
+            case LRU:
+                comparator = new LRUEvictionPolicyComparator();
+                break;
+            case LFU:
+                comparator = new LFUEvictionPolicyComparator();
+                break;
+            default:
+                comparator = new RandomEvictionPolicyComparator();
+                break;
+        }
+        return new DefaultEvictionPolicyEvaluator<Data, NearCacheRecord>(comparator);
+    }
+
+    private class MaxSizeEvictionChecker implements EvictionChecker {
+
+        @Override
+        public boolean isEvictionRequired() {
+            return cache.size() > maxSize;
+        }
+    }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.nearcache;
+
+import com.hazelcast.internal.eviction.EvictionCandidate;
+import com.hazelcast.internal.eviction.EvictionListener;
+import com.hazelcast.internal.eviction.impl.strategy.sampling.SampleableEvictableStore;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.ConcurrentReferenceHashMap;
+import com.hazelcast.util.SampleableConcurrentHashMap;
+
+/**
+ * The map of {@link NearCacheRecord}s of a {@link NearCacheImpl}.
+ * <p/>
+ * Random samples of it are taken by the
+ * {@link com.hazelcast.internal.eviction.impl.strategy.sampling.SamplingBasedEvictionStrategy}, so the cost of an
+ * eviction doesn't depend on the size of the near cache.
+ */
+public class NearCacheRecordMap
+        extends SampleableConcurrentHashMap<Data, NearCacheRecord>
+        implements SampleableEvictableStore<Data, NearCacheRecord> {
+
+    private static final float LOAD_FACTOR = 0.91f;
+    // the near cache is accessed by all threads reading the map, unlike the partition record stores
+    private static final int CONCURRENCY_LEVEL = 16;
+
+    public NearCacheRecordMap(int initialCapacity) {
+        super(initialCapacity, LOAD_FACTOR, CONCURRENCY_LEVEL, ConcurrentReferenceHashMap.ReferenceType.STRONG,
+                ConcurrentReferenceHashMap.ReferenceType.STRONG, null);
+    }
+
+    /**
+     * A sampled {@link NearCacheRecord} which is a candidate to be evicted.
+     */
+    public static class NearCacheEvictableSamplingEntry
+            extends SamplingEntry<Data, NearCacheRecord>
+            implements EvictionCandidate<Data, NearCacheRecord> {
+
+        public NearCacheEvictableSamplingEntry(Data key, NearCacheRecord value) {
+            super(key, value);
+        }
+
+        @Override
+        public Data getAccessor() {
+            return key;
+        }
+
+        @Override
+        public NearCacheRecord getEvictable() {
+            return value;
+        }
+
+        @Override
+        public Data getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return value.getValue();
+        }
+
+        @Override
+        public long getCreationTime() {
+            return value.getCreationTime();
+        }
+
+        @Override
+        public long getLastAccessTime() {
+            return value.getLastAccessTime();
+        }
+
+        @Override
+        public long getAccessHit() {
+            return value.getAccessHit();
+        }
+    }
+
+    @Override
+    protected <E extends SamplingEntry> E createSamplingEntry(Data key, NearCacheRecord value) {
+        return (E) new NearCacheEvictableSamplingEntry(key, value);
+    }
+
+    @Override
+    public <C extends EvictionCandidate<Data, NearCacheRecord>> int evict(Iterable<C> evictionCandidates,
+                                                                          EvictionListener<Data, NearCacheRecord>
+                                                                                  evictionListener) {
+        if (evictionCandidates == null) {
+            return 0;
+        }
+        int actualEvictedCount = 0;
+        for (EvictionCandidate<Data, NearCacheRecord> evictionCandidate : evictionCandidates) {
+            // the record may have been replaced since it was sampled, only the sampled one is evicted
+            if (remove(evictionCandidate.getAccessor(), evictionCandidate.getEvictable())) {
+                actualEvictedCount++;
+                if (evictionListener != null) {
+                    evictionListener.onEvict(evictionCandidate.getAccessor(), evictionCandidate.getEvictable());
+                }
+            }
+        }
+        return actualEvictedCount;
+    }
+
+    @Override
+    public Iterable<NearCacheEvictableSamplingEntry> sample(int sampleCount) {
+        return super.getRandomSamples(sampleCount);
+    }
+}
@@ -19,6 +19,9 @@ package com.hazelcast.map.impl.nearcache;
 import com.hazelcast.cache.impl.nearcache.NearCache;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.monitor.NearCacheStats;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.Collection;
 
 /**
  * Guards a {@link NearCache} against stale reads by using {@link KeyStateMarker}
@@ -97,6 +100,11 @@ public final class StaleReadPreventerNearCacheWrapper implements NearCache {
         return nearCache.size();
     }
 
+    @Override
+    public Collection<Data> getKeysAsData() {
+        return nearCache.getKeysAsData();
+    }
+
     public KeyStateMarker getKeyStateMarker() {
         return keyStateMarker;
     }
@@ -42,7 +42,7 @@ public final class GetOperation extends ReadonlyKeyBasedMapOperation
 
     @Override
     public void run() {
-        result = mapServiceContext.toData(recordStore.get(dataKey, false));
+        result = toResponseData(recordStore.get(dataKey, false));
     }
 
     @Override
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.ReadonlyOperation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fetches the next batch of entries of a partition matching a predicate, starting at the given table index like
+ * {@link MapFetchEntriesOperation}. The table is scanned until {@code fetchSize} matching entries are found, the
+ * end of the table is reached or {@value #SCANNED_ENTRIES_PER_FETCH_SIZE} times {@code fetchSize} entries have been
+ * scanned, so a selective predicate doesn't make a single run scan the whole partition. A batch may therefore contain
+ * fewer than {@code fetchSize} entries, or none at all, before the partition is exhausted.
+ * <p/>
+ * The response contains the table index to continue from; a negative index means the partition is exhausted.
+ */
+public class MapFetchWithQueryOperation extends MapOperation implements ReadonlyOperation {
+
+    static final int SCANNED_ENTRIES_PER_FETCH_SIZE = 8;
+
+    private int fetchSize;
+    private int lastTableIndex;
+    private Predicate predicate;
+    private transient MapEntriesWithCursor response;
+
+    public MapFetchWithQueryOperation() {
+    }
+
+    public MapFetchWithQueryOperation(String name, int lastTableIndex, int fetchSize, Predicate predicate) {
+        super(name);
+        this.lastTableIndex = lastTableIndex;
+        this.fetchSize = fetchSize;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public void run() throws Exception {
+        List<Map.Entry<Data, Data>> matchingEntries = new ArrayList<Map.Entry<Data, Data>>(fetchSize);
+        int maxScannedEntries = fetchSize * SCANNED_ENTRIES_PER_FETCH_SIZE;
+        int scannedEntries = 0;
+        int tableIndex = lastTableIndex;
+        while (matchingEntries.size() < fetchSize && scannedEntries < maxScannedEntries) {
+            int size = Math.min(fetchSize - matchingEntries.size(), maxScannedEntries - scannedEntries);
+            MapEntriesWithCursor entries = recordStore.fetchEntries(tableIndex, size);
+            scannedEntries += entries.getEntries().size();
+            for (Map.Entry<Data, Data> entry : entries.getEntries()) {
+                QueryableEntry queryEntry = mapContainer.newQueryEntry(entry.getKey(), entry.getValue());
+                if (predicate.apply(queryEntry)) {
+                    matchingEntries.add(entry);
+                }
+            }
+            tableIndex = entries.getNextTableIndexToReadFrom();
+            if (tableIndex < 0) {
+                break;
+            }
+        }
+        response = new MapEntriesWithCursor(matchingEntries, tableIndex);
+    }
+
+    @Override
+    public Object getResponse() {
+        return response;
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        fetchSize = in.readInt();
+        lastTableIndex = in.readInt();
+        predicate = in.readObject();
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeInt(fetchSize);
+        out.writeInt(lastTableIndex);
+        out.writeObject(predicate);
+    }
+}
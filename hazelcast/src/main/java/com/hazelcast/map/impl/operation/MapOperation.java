@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.operation;
 
+import com.hazelcast.internal.serialization.impl.NativeMemoryData;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.MapServiceContext;
@@ -25,6 +26,7 @@ import com.hazelcast.map.impl.mapstore.MapDataStore;
 import com.hazelcast.map.impl.nearcache.NearCacheProvider;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.OperationResponseHandler;
 import com.hazelcast.spi.impl.AbstractNamedOperation;
 
 import java.util.List;
@@ -75,6 +77,8 @@ public abstract class MapOperation extends AbstractNamedOperation {
             mapContainer = mapServiceContext.getMapContainer(name);
         } else {
             mapContainer = recordStore.getMapContainer();
+            // blocks released by the previous operation on this partition are not referenced anymore
+            recordStore.disposeDeferredBlocks();
         }
     }
 
@@ -92,6 +96,21 @@ public abstract class MapOperation extends AbstractNamedOperation {
         return mapDataStore.isPostProcessingMapStore() || mapServiceContext.hasInterceptor(name);
     }
 
+    /**
+     * Converts a value read from the record store into the {@link Data} response of this operation.
+     * <p/>
+     * The {@link NativeMemoryData} view of a NATIVE record is handed out without copying when the response doesn't
+     * escape the partition thread: the response to a remote caller is serialized before the next operation on the
+     * partition can free the block. A local caller consumes the response on another thread, so it gets a heap copy.
+     */
+    protected final Data toResponseData(Object value) {
+        OperationResponseHandler responseHandler = getOperationResponseHandler();
+        if (value instanceof NativeMemoryData && responseHandler != null && !responseHandler.isLocal()) {
+            return (Data) value;
+        }
+        return mapServiceContext.toData(value);
+    }
+
     public void setThreadId(long threadId) {
         throw new UnsupportedOperationException();
     }
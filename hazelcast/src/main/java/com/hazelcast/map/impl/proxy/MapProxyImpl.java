@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.proxy;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.core.EntryListener;
 import com.hazelcast.core.EntryView;
@@ -29,6 +30,8 @@ import com.hazelcast.map.MapInterceptor;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.SimpleEntryView;
 import com.hazelcast.map.impl.iterator.MapPartitionIterator;
+import com.hazelcast.map.impl.iterator.MapQueryIterator;
+import com.hazelcast.map.impl.iterator.MapQueryPartitionIterator;
 import com.hazelcast.map.impl.query.MapQueryEngine;
 import com.hazelcast.map.impl.query.QueryResult;
 import com.hazelcast.map.impl.query.QueryResultCollection;
@@ -46,6 +49,7 @@ import com.hazelcast.mapreduce.ReducingSubmittableJob;
 import com.hazelcast.mapreduce.aggregation.Aggregation;
 import com.hazelcast.mapreduce.aggregation.Supplier;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.projection.Projection;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.TruePredicate;
@@ -780,6 +784,36 @@ public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, I
         }
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator) {
+        return aggregate(aggregator, (Predicate<K, V>) TruePredicate.INSTANCE);
+    }
+
+    @Override
+    public <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator, Predicate<K, V> predicate) {
+        checkNotNull(aggregator, NULL_AGGREGATOR_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+
+        return getMapQueryEngine().invokeAggregationAllPartitions(name, predicate, aggregator);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> Collection<R> project(Projection<Map.Entry<K, V>, R> projection) {
+        return project(projection, (Predicate<K, V>) TruePredicate.INSTANCE);
+    }
+
+    @Override
+    public <R> Collection<R> project(Projection<Map.Entry<K, V>, R> projection, Predicate<K, V> predicate) {
+        checkNotNull(projection, NULL_PROJECTION_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+
+        QueryResult result = getMapQueryEngine().invokeProjectionAllPartitions(name, predicate, projection);
+        return new QueryResultCollection<R>(
+                getNodeEngine().getSerializationService(), IterationType.VALUE, false, false, result);
+    }
+
     protected Object invoke(Operation operation, int partitionId) throws Throwable {
         NodeEngine nodeEngine = getNodeEngine();
         Future f = nodeEngine.getOperationService().invokeOnPartition(SERVICE_NAME, operation, partitionId);
@@ -795,6 +829,41 @@ public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, I
         return new MapPartitionIterator<K, V>(this, fetchSize, partitionId, prefetchValues);
     }
 
+    /**
+     * Returns an iterator over the entries of the given partition matching the predicate. The predicate is applied
+     * on the partition owner, which returns the matching entries in batches of about {@code fetchSize} entries, so
+     * unlike {@link #entrySet(Predicate)} the result is never materialized as a whole.
+     *
+     * @param fetchSize   the number of matching entries fetched at once
+     * @param partitionId the partition to iterate
+     * @param predicate   the predicate the entries have to match, a {@link PagingPredicate} is not supported
+     * @return an iterator over the matching entries of the partition
+     */
+    public Iterator<Entry<K, V>> iterator(int fetchSize, int partitionId, Predicate<K, V> predicate) {
+        checkQueryIteratorArguments(fetchSize, predicate);
+        return new MapQueryPartitionIterator<K, V>(this, fetchSize, partitionId, predicate);
+    }
+
+    /**
+     * Returns an iterator over the entries of all partitions matching the predicate, fetched partition by partition
+     * in batches of about {@code fetchSize} entries.
+     *
+     * @param fetchSize the number of matching entries fetched at once
+     * @param predicate the predicate the entries have to match, a {@link PagingPredicate} is not supported
+     * @return an iterator over the matching entries of the map
+     * @see #iterator(int, int, Predicate)
+     */
+    public Iterator<Entry<K, V>> iterator(int fetchSize, Predicate<K, V> predicate) {
+        checkQueryIteratorArguments(fetchSize, predicate);
+        return new MapQueryIterator<K, V>(this, fetchSize, predicate);
+    }
+
+    private static void checkQueryIteratorArguments(int fetchSize, Predicate predicate) {
+        checkPositive(fetchSize, "fetchSize should be positive");
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        checkTrue(!(predicate instanceof PagingPredicate), "Paging predicates are not supported by query iterators");
+    }
+
     @Override
     public String toString() {
         return "IMap{name='" + name + '\'' + '}';
@@ -16,6 +16,8 @@
 
 package com.hazelcast.map.impl.query;
 
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.projection.Projection;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.util.IterationType;
@@ -45,6 +47,18 @@ public interface MapQueryEngine {
     QueryResult queryLocalPartitions(String mapName, Predicate predicate, IterationType iterationType)
             throws ExecutionException, InterruptedException;
 
+    /**
+     * Executes a query on all the local partitions like {@link #queryLocalPartitions(String, Predicate, IterationType)},
+     * but the values of the result rows are the values produced by the given projection.
+     *
+     * @param mapName    the name of the map
+     * @param predicate  the predicate
+     * @param projection the projection applied to the matching entries, may be {@code null}
+     * @return the QueryResult
+     */
+    QueryResult queryLocalPartitions(String mapName, Predicate predicate, Projection projection, IterationType iterationType)
+            throws ExecutionException, InterruptedException;
+
     /**
      * Executes a query on a specific local partition.
      * <p>
@@ -62,6 +76,20 @@ public interface MapQueryEngine {
      */
     QueryResult queryLocalPartition(String mapName, Predicate predicate, int partitionId, IterationType iterationType);
 
+    /**
+     * Executes a query on a specific local partition like
+     * {@link #queryLocalPartition(String, Predicate, int, IterationType)}, but the values of the result rows are the values
+     * produced by the given projection.
+     *
+     * @param mapName     map name.
+     * @param predicate   any predicate.
+     * @param partitionId partition id.
+     * @param projection  the projection applied to the matching entries, may be {@code null}
+     * @return result of query
+     */
+    QueryResult queryLocalPartition(String mapName, Predicate predicate, int partitionId, Projection projection,
+                                    IterationType iterationType);
+
     /**
      * Query all local partitions.
      * <p>
@@ -87,6 +115,20 @@ public interface MapQueryEngine {
      */
     QueryResult invokeQueryAllPartitions(String mapName, Predicate predicate, IterationType iterationType);
 
+    /**
+     * Queries all partitions and applies the projection to the matching entries on the members owning them.
+     * <p>
+     * - Does NOT accept PagingPredicate
+     * - Query executed in an Operation on each member (NOT in the calling thread)
+     * - Calls {@link #queryLocalPartitions(String, Predicate, Projection, IterationType)} in an operation
+     *
+     * @param mapName    map name.
+     * @param predicate  except paging predicate.
+     * @param projection the projection.
+     * @return the QueryResult, the values of its rows are the serialized projected values
+     */
+    QueryResult invokeProjectionAllPartitions(String mapName, Predicate predicate, Projection projection);
+
     /**
      * Query all local partitions with a paging predicate.
      * <p>
@@ -119,4 +161,50 @@ public interface MapQueryEngine {
      * @return {@link SortedQueryResultSet}
      */
     Set queryAllPartitionsWithPagingPredicate(String mapName, PagingPredicate pagingPredicate, IterationType iterationType);
+
+    /**
+     * Aggregates the entries of all local partitions matching the predicate.
+     * <p>
+     * - Uses Indexes
+     * - Does NOT accept PagingPredicate
+     * - Executed in the calling thread
+     * - predicate evaluation and accumulation will be parallelized if QUERY_PREDICATE_PARALLEL_EVALUATION is enabled
+     *
+     * @param mapName    map name.
+     * @param predicate  except paging predicate.
+     * @param aggregator the aggregator, it is not modified.
+     * @return the accumulated copy of the aggregator together with the aggregated partitions
+     */
+    AggregationResult aggregateLocalPartitions(String mapName, Predicate predicate, Aggregator aggregator)
+            throws ExecutionException, InterruptedException;
+
+    /**
+     * Aggregates the entries of a specific local partition matching the predicate.
+     * <p>
+     * - Does NOT use Indexes
+     * - Sequential full table scan
+     * - Executed in the calling thread
+     *
+     * @param mapName     map name.
+     * @param predicate   except paging predicate.
+     * @param partitionId partition id.
+     * @param aggregator  the aggregator, it is not modified.
+     * @return the accumulated copy of the aggregator
+     */
+    AggregationResult aggregateLocalPartition(String mapName, Predicate predicate, int partitionId, Aggregator aggregator);
+
+    /**
+     * Aggregates the entries of all partitions matching the predicate and returns the combined result.
+     * <p>
+     * - Does NOT accept PagingPredicate
+     * - Executed in an Operation on each member (NOT in the calling thread)
+     * - Calls {@link #aggregateLocalPartitions(String, Predicate, Aggregator)} in an operation
+     *
+     * @param mapName    map name.
+     * @param predicate  except paging predicate.
+     * @param aggregator the aggregator, it is not modified.
+     * @param <R>        the type of the result
+     * @return the result of the aggregation
+     */
+    <R> R invokeAggregationAllPartitions(String mapName, Predicate predicate, Aggregator<?, R> aggregator);
 }
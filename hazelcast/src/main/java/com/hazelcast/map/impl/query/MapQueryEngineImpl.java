@@ -16,7 +16,9 @@
 
 package com.hazelcast.map.impl.query;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.config.CacheDeserializedValues;
+import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.core.Member;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.serialization.InternalSerializationService;
@@ -31,6 +33,7 @@ import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.Records;
 import com.hazelcast.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.projection.Projection;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.TruePredicate;
@@ -42,6 +45,8 @@ import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.exception.RetryableHazelcastException;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.impl.operationservice.InternalOperationService;
 import com.hazelcast.spi.partition.IPartitionService;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.IterationType;
@@ -60,7 +65,9 @@ import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.query.PagingPredicateAccessor.getNearestAnchorEntry;
 import static com.hazelcast.spi.ExecutionService.QUERY_EXECUTOR;
 import static com.hazelcast.spi.properties.GroupProperty.QUERY_PREDICATE_PARALLEL_EVALUATION;
@@ -115,6 +122,12 @@ public class MapQueryEngineImpl implements MapQueryEngine {
     @Override
     public QueryResult queryLocalPartitions(String mapName, Predicate predicate, IterationType iterationType)
             throws ExecutionException, InterruptedException {
+        return queryLocalPartitions(mapName, predicate, null, iterationType);
+    }
+
+    @Override
+    public QueryResult queryLocalPartitions(String mapName, Predicate predicate, Projection projection,
+                                            IterationType iterationType) throws ExecutionException, InterruptedException {
 
         int initialPartitionStateVersion = partitionService.getPartitionStateVersion();
         Collection<Integer> initialPartitions = mapServiceContext.getOwnedPartitions();
@@ -126,10 +139,10 @@ public class MapQueryEngineImpl implements MapQueryEngine {
         // then we try to run using an index, but if that doesn't work, we'll try a full table scan
         // This would be the point where a query-plan should be added. It should determine if a full table scan
         // or an index should be used.
-        QueryResult result = tryQueryUsingIndexes(predicate, initialPartitions, mapContainer, iterationType,
+        QueryResult result = tryQueryUsingIndexes(predicate, initialPartitions, mapContainer, projection, iterationType,
                 initialPartitionStateVersion);
         if (result == null) {
-            result = queryUsingFullTableScan(mapName, predicate, initialPartitions, iterationType);
+            result = queryUsingFullTableScan(mapName, predicate, initialPartitions, projection, iterationType);
         }
 
         if (hasPartitionVersion(initialPartitionStateVersion, predicate)) {
@@ -142,7 +155,8 @@ public class MapQueryEngineImpl implements MapQueryEngine {
     }
 
     protected QueryResult tryQueryUsingIndexes(Predicate predicate, Collection<Integer> partitions, MapContainer mapContainer,
-                                               IterationType iterationType, int initialPartitionStateVersion) {
+                                               Projection projection, IterationType iterationType,
+                                               int initialPartitionStateVersion) {
 
         // if a migration is in progress, do not attempt to use an index as they may have not been created yet.
         // MapService.getMigrationsInFlight() returns the number of currently executing migrations (for which
@@ -157,7 +171,7 @@ public class MapQueryEngineImpl implements MapQueryEngine {
             return null;
         }
 
-        QueryResult result = newQueryResult(partitions.size(), iterationType);
+        QueryResult result = newQueryResult(partitions.size(), projection, iterationType);
         // if partition state version has changed in the meanwhile, this means migrations were executed and we may
         // return stale data, so we should rather return null and let the query run with a full table scan
         if (initialPartitionStateVersion != partitionService.getPartitionStateVersion()) {
@@ -175,22 +189,22 @@ public class MapQueryEngineImpl implements MapQueryEngine {
     }
 
     protected QueryResult queryUsingFullTableScan(String name, Predicate predicate, Collection<Integer> partitions,
-                                                  IterationType iterationType)
+                                                  Projection projection, IterationType iterationType)
             throws InterruptedException, ExecutionException {
 
         if (predicate instanceof PagingPredicate) {
             return queryParallelForPaging(name, (PagingPredicate) predicate, partitions, iterationType);
-        } else if (parallelEvaluation) {
-            return queryParallel(name, predicate, partitions, iterationType);
+        } else if (parallelEvaluation || isNative(name)) {
+            return queryParallel(name, predicate, partitions, projection, iterationType);
         } else {
-            return querySequential(name, predicate, partitions, iterationType);
+            return querySequential(name, predicate, partitions, projection, iterationType);
         }
     }
 
     protected QueryResult querySequential(String name, Predicate predicate, Collection<Integer> partitions,
-                                          IterationType iterationType) {
+                                          Projection projection, IterationType iterationType) {
 
-        QueryResult result = newQueryResult(partitions.size(), iterationType);
+        QueryResult result = newQueryResult(partitions.size(), projection, iterationType);
         RetryableHazelcastException storedException = null;
         for (Integer partitionId : partitions) {
             try {
@@ -212,15 +226,15 @@ public class MapQueryEngineImpl implements MapQueryEngine {
     }
 
     protected QueryResult queryParallel(String name, Predicate predicate, Collection<Integer> partitions,
-                                        IterationType iterationType) throws InterruptedException, ExecutionException {
-        QueryResult result = newQueryResult(partitions.size(), iterationType);
+                                        Projection projection, IterationType iterationType)
+            throws InterruptedException, ExecutionException {
+        QueryResult result = newQueryResult(partitions.size(), projection, iterationType);
 
         List<Future<Collection<QueryableEntry>>> futures
                 = new ArrayList<Future<Collection<QueryableEntry>>>(partitions.size());
 
         for (Integer partitionId : partitions) {
-            QueryPartitionCallable task = new QueryPartitionCallable(name, predicate, partitionId);
-            Future<Collection<QueryableEntry>> future = executor.submit(task);
+            Future<Collection<QueryableEntry>> future = submitPartitionQuery(name, predicate, partitionId);
             futures.add(future);
         }
 
@@ -242,8 +256,7 @@ public class MapQueryEngineImpl implements MapQueryEngine {
         List<Future<Collection<QueryableEntry>>> futures =
                 new ArrayList<Future<Collection<QueryableEntry>>>(partitions.size());
         for (Integer partitionId : partitions) {
-            QueryPartitionCallable task = new QueryPartitionCallable(name, predicate, partitionId);
-            Future<Collection<QueryableEntry>> future = executor.submit(task);
+            Future<Collection<QueryableEntry>> future = submitPartitionQuery(name, predicate, partitionId);
             futures.add(future);
         }
 
@@ -259,6 +272,27 @@ public class MapQueryEngineImpl implements MapQueryEngine {
         return result;
     }
 
+    /**
+     * Submits the full table scan of a single partition. Records of a map with {@link InMemoryFormat#NATIVE}
+     * may only be accessed by the partition thread, so their scan is run there instead of on the query executor.
+     */
+    protected Future<Collection<QueryableEntry>> submitPartitionQuery(String name, Predicate predicate, int partitionId) {
+        return submitToPartition(name, new QueryPartitionCallable(name, predicate, partitionId), partitionId);
+    }
+
+    protected <T> Future<T> submitToPartition(String name, Callable<T> task, int partitionId) {
+        if (isNative(name)) {
+            PartitionQueryFuture<T> future = new PartitionQueryFuture<T>(task, partitionId);
+            ((InternalOperationService) operationService).execute(future);
+            return future;
+        }
+        return executor.submit(task);
+    }
+
+    protected boolean isNative(String name) {
+        return NATIVE == mapServiceContext.getMapContainer(name).getMapConfig().getInMemoryFormat();
+    }
+
     protected static Collection<Collection<QueryableEntry>> getResult(List<Future<Collection<QueryableEntry>>> lsFutures) {
         return returnWithDeadline(lsFutures, QUERY_EXECUTION_TIMEOUT_MINUTES, MINUTES, RETHROW_EVERYTHING);
     }
@@ -281,16 +315,13 @@ public class MapQueryEngineImpl implements MapQueryEngine {
         Iterator<Record> iterator = partitionContainer.getRecordStore(mapName).loadAwareIterator(getNow(), false);
         Map.Entry<Integer, Map.Entry> nearestAnchorEntry = getNearestAnchorEntry(pagingPredicate);
         boolean useCachedVersion = shouldUseCachedValue(mapContainer);
+        boolean nativeFormat = NATIVE == mapContainer.getMapConfig().getInMemoryFormat();
         Extractors extractors = mapServiceContext.getExtractors(mapName);
         while (iterator.hasNext()) {
-            Record record = iterator.next();
-            Object value = useCachedVersion ? Records.getValueOrCachedValue(record, serializationService) : record.getValue();
-            if (value == null) {
+            QueryableEntry queryEntry = newQueryEntry(iterator.next(), useCachedVersion, nativeFormat, extractors);
+            if (queryEntry == null) {
                 continue;
             }
-            Data key = record.getKey();
-            //we want to always use CachedQueryEntry as these are short-living objects anyway
-            QueryableEntry queryEntry = new CachedQueryEntry(serializationService, key, value, extractors);
 
             if (predicate.apply(queryEntry) && compareAnchor(pagingPredicate, queryEntry, nearestAnchorEntry)) {
                 resultList.add(queryEntry);
@@ -299,6 +330,22 @@ public class MapQueryEngineImpl implements MapQueryEngine {
         return getSortedSubList(resultList, pagingPredicate, nearestAnchorEntry);
     }
 
+    private QueryableEntry newQueryEntry(Record record, boolean useCachedVersion, boolean nativeFormat,
+                                         Extractors extractors) {
+        Object value = useCachedVersion ? Records.getValueOrCachedValue(record, serializationService) : record.getValue();
+        if (value == null) {
+            return null;
+        }
+        Data key = record.getKey();
+        if (nativeFormat) {
+            // native records are only valid on the partition thread, the matched entries outlive them
+            key = serializationService.toData(key);
+            value = serializationService.toData(value);
+        }
+        //we want to always use CachedQueryEntry as these are short-living objects anyway
+        return new CachedQueryEntry(serializationService, key, value, extractors);
+    }
+
     private boolean shouldUseCachedValue(MapContainer mapContainer) {
         CacheDeserializedValues cacheDeserializedValues = mapContainer.getMapConfig().getCacheDeserializedValues();
         switch (cacheDeserializedValues) {
@@ -314,8 +361,14 @@ public class MapQueryEngineImpl implements MapQueryEngine {
 
     @Override
     public QueryResult queryLocalPartition(String mapName, Predicate predicate, int partitionId, IterationType iterationType) {
+        return queryLocalPartition(mapName, predicate, partitionId, null, iterationType);
+    }
+
+    @Override
+    public QueryResult queryLocalPartition(String mapName, Predicate predicate, int partitionId, Projection projection,
+                                           IterationType iterationType) {
         Collection<QueryableEntry> queryableEntries = queryTheLocalPartition(mapName, predicate, partitionId);
-        QueryResult result = newQueryResult(1, iterationType);
+        QueryResult result = newQueryResult(1, projection, iterationType);
         result.addAll(queryableEntries);
         result.setPartitionIds(singletonList(partitionId));
         return result;
@@ -424,6 +477,16 @@ public class MapQueryEngineImpl implements MapQueryEngine {
 
     @Override
     public QueryResult invokeQueryAllPartitions(String mapName, Predicate predicate, IterationType iterationType) {
+        return invokeQueryAllPartitions(mapName, predicate, null, iterationType);
+    }
+
+    @Override
+    public QueryResult invokeProjectionAllPartitions(String mapName, Predicate predicate, Projection projection) {
+        return invokeQueryAllPartitions(mapName, predicate, projection, IterationType.VALUE);
+    }
+
+    protected QueryResult invokeQueryAllPartitions(String mapName, Predicate predicate, Projection projection,
+                                                   IterationType iterationType) {
         checkNotPagingPredicate(predicate);
         if (predicate == TruePredicate.INSTANCE) {
             queryResultSizeLimiter.checkMaxResultLimitOnLocalPartitions(mapName);
@@ -434,7 +497,7 @@ public class MapQueryEngineImpl implements MapQueryEngine {
 
         // query the local partitions
         try {
-            List<Future<QueryResult>> futures = queryOnMembers(mapName, predicate, iterationType);
+            List<Future<QueryResult>> futures = queryOnMembers(mapName, predicate, projection, iterationType);
             // modifies partitionIds list!
             addResultsOfPredicate(futures, result, partitionIds);
             if (partitionIds.isEmpty()) {
@@ -449,7 +512,7 @@ public class MapQueryEngineImpl implements MapQueryEngine {
 
         // query the remaining partitions that are not local to the member
         try {
-            List<Future<QueryResult>> futures = queryPartitions(mapName, predicate, partitionIds, iterationType);
+            List<Future<QueryResult>> futures = queryPartitions(mapName, predicate, partitionIds, projection, iterationType);
             addResultsOfPredicate(futures, result, partitionIds);
         } catch (Throwable t) {
             throw rethrow(t);
@@ -458,6 +521,220 @@ public class MapQueryEngineImpl implements MapQueryEngine {
         return result;
     }
 
+    @Override
+    public AggregationResult aggregateLocalPartitions(String mapName, Predicate predicate, Aggregator aggregator)
+            throws ExecutionException, InterruptedException {
+
+        int initialPartitionStateVersion = partitionService.getPartitionStateVersion();
+        Collection<Integer> initialPartitions = mapServiceContext.getOwnedPartitions();
+        MapContainer mapContainer = mapServiceContext.getMapContainer(mapName);
+
+        predicate = queryOptimizer.optimize(predicate, mapContainer.getIndexes());
+
+        Aggregator result = tryAggregateUsingIndexes(predicate, mapContainer, aggregator, initialPartitionStateVersion);
+        if (result == null) {
+            result = aggregateUsingFullTableScan(mapName, predicate, initialPartitions, aggregator);
+        }
+
+        AggregationResult aggregationResult = new AggregationResult(result);
+        if (hasPartitionVersion(initialPartitionStateVersion, predicate)) {
+            aggregationResult.setPartitionIds(initialPartitions);
+        }
+
+        updateStatistics(mapContainer);
+
+        return aggregationResult;
+    }
+
+    @Override
+    public AggregationResult aggregateLocalPartition(String mapName, Predicate predicate, int partitionId,
+                                                     Aggregator aggregator) {
+        Aggregator result = cloneAggregator(aggregator);
+        aggregateTheLocalPartition(mapName, predicate, partitionId, result);
+        result.onAccumulationFinished();
+
+        AggregationResult aggregationResult = new AggregationResult(result);
+        aggregationResult.setPartitionIds(singletonList(partitionId));
+        return aggregationResult;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R invokeAggregationAllPartitions(String mapName, Predicate predicate, Aggregator<?, R> aggregator) {
+        checkNotPagingPredicate(predicate);
+
+        Set<Integer> partitionIds = getAllPartitionIds();
+        Aggregator<?, R> result = cloneAggregator(aggregator);
+
+        // aggregate the partitions owned by each member
+        try {
+            List<Future<AggregationResult>> futures = aggregateOnMembers(mapName, predicate, aggregator);
+            // modifies partitionIds list!
+            combineAggregationResults(futures, result, partitionIds);
+        } catch (Throwable t) {
+            logger.warning("Could not get results", t);
+        }
+
+        // aggregate the remaining partitions, e.g. the ones which were migrating
+        if (!partitionIds.isEmpty()) {
+            try {
+                List<Future<AggregationResult>> futures = aggregatePartitions(mapName, predicate, partitionIds, aggregator);
+                combineAggregationResults(futures, result, partitionIds);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        result.onCombinationFinished();
+        return result.aggregate();
+    }
+
+    protected Aggregator tryAggregateUsingIndexes(Predicate predicate, MapContainer mapContainer, Aggregator aggregator,
+                                                  int initialPartitionStateVersion) {
+        // see tryQueryUsingIndexes() why indexes can't be used during migrations
+        if (mapServiceContext.getService().getOwnerMigrationsInFlight() > 0) {
+            return null;
+        }
+
+        Set<QueryableEntry> entries = mapContainer.getIndexes().query(predicate);
+        if (entries == null || initialPartitionStateVersion != partitionService.getPartitionStateVersion()) {
+            return null;
+        }
+
+        Aggregator result = cloneAggregator(aggregator);
+        for (QueryableEntry entry : entries) {
+            result.accumulate(entry);
+        }
+        result.onAccumulationFinished();
+        return result;
+    }
+
+    protected Aggregator aggregateUsingFullTableScan(String name, Predicate predicate, Collection<Integer> partitions,
+                                                     Aggregator aggregator)
+            throws InterruptedException, ExecutionException {
+
+        if (parallelEvaluation || isNative(name)) {
+            return aggregateParallel(name, predicate, partitions, aggregator);
+        } else {
+            return aggregateSequential(name, predicate, partitions, aggregator);
+        }
+    }
+
+    protected Aggregator aggregateSequential(String name, Predicate predicate, Collection<Integer> partitions,
+                                             Aggregator aggregator) {
+        Aggregator result = cloneAggregator(aggregator);
+        RetryableHazelcastException storedException = null;
+        for (Integer partitionId : partitions) {
+            try {
+                aggregateTheLocalPartition(name, predicate, partitionId, result);
+            } catch (RetryableHazelcastException e) {
+                // see querySequential()
+                if (storedException == null) {
+                    storedException = e;
+                }
+            }
+        }
+        if (storedException != null) {
+            throw storedException;
+        }
+        result.onAccumulationFinished();
+        return result;
+    }
+
+    protected Aggregator aggregateParallel(String name, Predicate predicate, Collection<Integer> partitions,
+                                           Aggregator aggregator) throws InterruptedException, ExecutionException {
+        List<Future<Aggregator>> futures = new ArrayList<Future<Aggregator>>(partitions.size());
+        for (Integer partitionId : partitions) {
+            AggregatePartitionCallable task
+                    = new AggregatePartitionCallable(name, predicate, cloneAggregator(aggregator), partitionId);
+            futures.add(submitToPartition(name, task, partitionId));
+        }
+
+        Aggregator result = cloneAggregator(aggregator);
+        Collection<Aggregator> partitionResults
+                = returnWithDeadline(futures, QUERY_EXECUTION_TIMEOUT_MINUTES, MINUTES, RETHROW_EVERYTHING);
+        for (Aggregator partitionResult : partitionResults) {
+            result.combine(partitionResult);
+        }
+        return result;
+    }
+
+    /**
+     * Accumulates the entries of the given local partition matching the predicate into the given aggregator.
+     */
+    @SuppressWarnings("unchecked")
+    protected void aggregateTheLocalPartition(String mapName, Predicate predicate, int partitionId, Aggregator aggregator) {
+        PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(partitionId);
+        MapContainer mapContainer = mapServiceContext.getMapContainer(mapName);
+        Iterator<Record> iterator = partitionContainer.getRecordStore(mapName).loadAwareIterator(getNow(), false);
+        boolean useCachedVersion = shouldUseCachedValue(mapContainer);
+        boolean nativeFormat = NATIVE == mapContainer.getMapConfig().getInMemoryFormat();
+        Extractors extractors = mapServiceContext.getExtractors(mapName);
+        while (iterator.hasNext()) {
+            QueryableEntry queryEntry = newQueryEntry(iterator.next(), useCachedVersion, nativeFormat, extractors);
+            if (queryEntry != null && predicate.apply(queryEntry)) {
+                aggregator.accumulate(queryEntry);
+            }
+        }
+    }
+
+    protected List<Future<AggregationResult>> aggregateOnMembers(String mapName, Predicate predicate,
+                                                                 Aggregator aggregator) {
+        Collection<Member> members = clusterService.getMembers();
+        List<Future<AggregationResult>> futures = new ArrayList<Future<AggregationResult>>(members.size());
+        for (Member member : members) {
+            Operation operation = new AggregationOperation(mapName, predicate, aggregator);
+            Future<AggregationResult> future
+                    = operationService.invokeOnTarget(MapService.SERVICE_NAME, operation, member.getAddress());
+            futures.add(future);
+        }
+        return futures;
+    }
+
+    protected List<Future<AggregationResult>> aggregatePartitions(String mapName, Predicate predicate,
+                                                                  Collection<Integer> partitionIds, Aggregator aggregator) {
+        List<Future<AggregationResult>> futures = new ArrayList<Future<AggregationResult>>(partitionIds.size());
+        for (Integer partitionId : partitionIds) {
+            Operation op = new AggregationPartitionOperation(mapName, predicate, aggregator);
+            op.setPartitionId(partitionId);
+            futures.add(operationService.<AggregationResult>invokeOnPartition(MapService.SERVICE_NAME, op, partitionId));
+        }
+        return futures;
+    }
+
+    /**
+     * Combines the partial results into the given aggregator and removes the covered partition ids.
+     */
+    protected void combineAggregationResults(List<Future<AggregationResult>> futures, Aggregator result,
+                                             Collection<Integer> partitionIds)
+            throws ExecutionException, InterruptedException {
+        for (Future<AggregationResult> future : futures) {
+            AggregationResult aggregationResult = future.get();
+            if (aggregationResult == null) {
+                continue;
+            }
+            Collection<Integer> aggregatedPartitionIds = aggregationResult.getPartitionIds();
+            if (aggregatedPartitionIds != null) {
+                partitionIds.removeAll(aggregatedPartitionIds);
+                result.combine(aggregationResult.getAggregator());
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the given aggregator, so the aggregator passed by the caller is never mutated and each
+     * partition accumulates into its own instance. Falls back to a serialization round trip if the aggregator
+     * doesn't create its own copies.
+     */
+    @SuppressWarnings("unchecked")
+    protected <A extends Aggregator> A cloneAggregator(A aggregator) {
+        Aggregator copy = aggregator.newInstance();
+        if (copy != null) {
+            return (A) copy;
+        }
+        return (A) serializationService.toObject(serializationService.toData(aggregator));
+    }
+
     /**
      * Creates a {@link QueryResult} with configured result limit (according to the number of partitions) if feature is enabled.
      *
@@ -465,7 +742,15 @@ public class MapQueryEngineImpl implements MapQueryEngine {
      * @return {@link QueryResult}
      */
     protected QueryResult newQueryResult(int numberOfPartitions, IterationType iterationType) {
-        return new QueryResult(iterationType, queryResultSizeLimiter.getNodeResultLimit(numberOfPartitions));
+        return newQueryResult(numberOfPartitions, null, iterationType);
+    }
+
+    /**
+     * Creates a {@link QueryResult} which holds the values produced by the given projection, if it isn't {@code null}.
+     */
+    protected QueryResult newQueryResult(int numberOfPartitions, Projection projection, IterationType iterationType) {
+        long resultLimit = queryResultSizeLimiter.getNodeResultLimit(numberOfPartitions);
+        return new QueryResult(iterationType, projection, serializationService, resultLimit);
     }
 
     protected void checkNotPagingPredicate(Predicate predicate) {
@@ -480,10 +765,17 @@ public class MapQueryEngineImpl implements MapQueryEngine {
     }
 
     protected List<Future<QueryResult>> queryOnMembers(String mapName, Predicate predicate, IterationType iterationType) {
+        return queryOnMembers(mapName, predicate, null, iterationType);
+    }
+
+    protected List<Future<QueryResult>> queryOnMembers(String mapName, Predicate predicate, Projection projection,
+                                                       IterationType iterationType) {
         Collection<Member> members = clusterService.getMembers();
         List<Future<QueryResult>> futures = new ArrayList<Future<QueryResult>>(members.size());
         for (Member member : members) {
-            Operation operation = new QueryOperation(mapName, predicate, iterationType);
+            Operation operation = projection == null
+                    ? new QueryOperation(mapName, predicate, iterationType)
+                    : new ProjectionOperation(mapName, predicate, projection);
             Future<QueryResult> future = operationService.invokeOnTarget(MapService.SERVICE_NAME, operation, member.getAddress());
             futures.add(future);
         }
@@ -492,13 +784,20 @@ public class MapQueryEngineImpl implements MapQueryEngine {
 
     protected List<Future<QueryResult>> queryPartitions(String mapName, Predicate predicate,
                                                         Collection<Integer> partitionIds, IterationType iterationType) {
+        return queryPartitions(mapName, predicate, partitionIds, null, iterationType);
+    }
+
+    protected List<Future<QueryResult>> queryPartitions(String mapName, Predicate predicate, Collection<Integer> partitionIds,
+                                                        Projection projection, IterationType iterationType) {
         if (partitionIds == null || partitionIds.isEmpty()) {
             return Collections.emptyList();
         }
 
         List<Future<QueryResult>> futures = new ArrayList<Future<QueryResult>>(partitionIds.size());
         for (Integer partitionId : partitionIds) {
-            Operation op = new QueryPartitionOperation(mapName, predicate, iterationType);
+            Operation op = projection == null
+                    ? new QueryPartitionOperation(mapName, predicate, iterationType)
+                    : new ProjectionPartitionOperation(mapName, predicate, projection);
             op.setPartitionId(partitionId);
             try {
                 Future<QueryResult> future = operationService
@@ -599,4 +898,42 @@ public class MapQueryEngineImpl implements MapQueryEngine {
             return queryEngine.queryTheLocalPartition(name, predicate, partition);
         }
     }
+
+    protected final class AggregatePartitionCallable implements Callable<Aggregator> {
+
+        protected final int partition;
+        protected final String name;
+        protected final Predicate predicate;
+        protected final Aggregator aggregator;
+
+        protected AggregatePartitionCallable(String name, Predicate predicate, Aggregator aggregator, int partitionId) {
+            this.name = name;
+            this.predicate = predicate;
+            this.aggregator = aggregator;
+            this.partition = partitionId;
+        }
+
+        @Override
+        public Aggregator call() throws Exception {
+            MapQueryEngineImpl queryEngine = (MapQueryEngineImpl) mapServiceContext.getMapQueryEngine(name);
+            queryEngine.aggregateTheLocalPartition(name, predicate, partition, aggregator);
+            aggregator.onAccumulationFinished();
+            return aggregator;
+        }
+    }
+
+    private static final class PartitionQueryFuture<T> extends FutureTask<T> implements PartitionSpecificRunnable {
+
+        private final int partitionId;
+
+        PartitionQueryFuture(Callable<T> task, int partitionId) {
+            super(task);
+            this.partitionId = partitionId;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+    }
 }
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.serialization.impl.NativeMemoryData;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.Clock;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+
+/**
+ * Flyweight {@link Record} over a record block in native memory. The block has the fixed layout
+ * <pre>
+ * +-----------------+-------------------+-------------+---------+
+ * | key address     | value address     | version     | ttl     |
+ * +-----------------+-------------------+-------------+---------+
+ * | creation time   | hits              | last access | last update |
+ * +-----------------+-------------------+-------------+-------------+
+ * | last stored     | expiration time   | next record |
+ * +-----------------+-------------------+-------------+
+ * </pre>
+ * where every field is a {@code long}. Key and value are separate {@link NativeMemoryData} blocks. The
+ * {@code next record} field is reserved for the owning storage to chain records sharing a hash slot.
+ * <p>
+ * Like the blocks it points to, an instance is only valid until the owning storage frees the record, so it
+ * must not be retained beyond the partition operation which obtained it.
+ */
+public final class NativeRecord implements Record<Data> {
+
+    static final int KEY_OFFSET = 0;
+    static final int VALUE_OFFSET = KEY_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int VERSION_OFFSET = VALUE_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int TTL_OFFSET = VERSION_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int CREATION_TIME_OFFSET = TTL_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int HITS_OFFSET = CREATION_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int LAST_ACCESS_TIME_OFFSET = HITS_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int LAST_UPDATE_TIME_OFFSET = LAST_ACCESS_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int LAST_STORED_TIME_OFFSET = LAST_UPDATE_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int EXPIRATION_TIME_OFFSET = LAST_STORED_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int NEXT_OFFSET = EXPIRATION_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+
+    /**
+     * Size of a record block in bytes
+     */
+    public static final int SIZE = NEXT_OFFSET + LONG_SIZE_IN_BYTES;
+
+    private final long address;
+    private final NativeRecordFactory recordFactory;
+    private final MemoryAccessor mem;
+
+    NativeRecord(long address, NativeRecordFactory recordFactory) {
+        assert address != NULL_ADDRESS : "NativeRecord cannot point to the NULL address";
+        this.address = address;
+        this.recordFactory = recordFactory;
+        this.mem = recordFactory.getMemoryAccessor();
+    }
+
+    public long address() {
+        return address;
+    }
+
+    public long getKeyAddress() {
+        return mem.getLong(address + KEY_OFFSET);
+    }
+
+    public void setKeyAddress(long keyAddress) {
+        mem.putLong(address + KEY_OFFSET, keyAddress);
+    }
+
+    public long getValueAddress() {
+        return mem.getLong(address + VALUE_OFFSET);
+    }
+
+    void setValueAddress(long valueAddress) {
+        mem.putLong(address + VALUE_OFFSET, valueAddress);
+    }
+
+    public long getNextAddress() {
+        return mem.getLong(address + NEXT_OFFSET);
+    }
+
+    public void setNextAddress(long nextAddress) {
+        mem.putLong(address + NEXT_OFFSET, nextAddress);
+    }
+
+    @Override
+    public Data getKey() {
+        long keyAddress = getKeyAddress();
+        return keyAddress == NULL_ADDRESS ? null : new NativeMemoryData(keyAddress);
+    }
+
+    @Override
+    public Data getValue() {
+        long valueAddress = getValueAddress();
+        return valueAddress == NULL_ADDRESS ? null : new NativeMemoryData(valueAddress);
+    }
+
+    @Override
+    public void setValue(Data value) {
+        recordFactory.setValue(this, value);
+    }
+
+    @Override
+    public void onAccess(long now) {
+        setHits(getHits() + 1);
+        setLastAccessTime(now);
+    }
+
+    @Override
+    public void onUpdate(long now) {
+        onAccess(now);
+
+        setVersion(getVersion() + 1);
+        setLastUpdateTime(now);
+    }
+
+    @Override
+    public void onStore() {
+        setLastStoredTime(Clock.currentTimeMillis());
+    }
+
+    @Override
+    public long getCost() {
+        long cost = SIZE;
+        long keyAddress = getKeyAddress();
+        if (keyAddress != NULL_ADDRESS) {
+            cost += NativeMemoryData.blockSize(keyAddress);
+        }
+        long valueAddress = getValueAddress();
+        if (valueAddress != NULL_ADDRESS) {
+            cost += NativeMemoryData.blockSize(valueAddress);
+        }
+        return cost;
+    }
+
+    @Override
+    public long getVersion() {
+        return mem.getLong(address + VERSION_OFFSET);
+    }
+
+    @Override
+    public void setVersion(long version) {
+        mem.putLong(address + VERSION_OFFSET, version);
+    }
+
+    @Override
+    public Object getCachedValueUnsafe() {
+        return NOT_CACHED;
+    }
+
+    @Override
+    public boolean casCachedValue(Object expectedValue, Object newValue) {
+        return true;
+    }
+
+    @Override
+    public long getTtl() {
+        return mem.getLong(address + TTL_OFFSET);
+    }
+
+    @Override
+    public void setTtl(long ttl) {
+        mem.putLong(address + TTL_OFFSET, ttl);
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return mem.getLong(address + LAST_ACCESS_TIME_OFFSET);
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        mem.putLong(address + LAST_ACCESS_TIME_OFFSET, lastAccessTime);
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return mem.getLong(address + LAST_UPDATE_TIME_OFFSET);
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdatedTime) {
+        mem.putLong(address + LAST_UPDATE_TIME_OFFSET, lastUpdatedTime);
+    }
+
+    @Override
+    public long getCreationTime() {
+        return mem.getLong(address + CREATION_TIME_OFFSET);
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        mem.putLong(address + CREATION_TIME_OFFSET, creationTime);
+    }
+
+    @Override
+    public long getHits() {
+        return mem.getLong(address + HITS_OFFSET);
+    }
+
+    @Override
+    public void setHits(long hits) {
+        mem.putLong(address + HITS_OFFSET, hits);
+    }
+
+    @Override
+    public long getExpirationTime() {
+        return mem.getLong(address + EXPIRATION_TIME_OFFSET);
+    }
+
+    @Override
+    public void setExpirationTime(long expirationTime) {
+        mem.putLong(address + EXPIRATION_TIME_OFFSET, expirationTime);
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        return mem.getLong(address + LAST_STORED_TIME_OFFSET);
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        mem.putLong(address + LAST_STORED_TIME_OFFSET, lastStoredTime);
+    }
+
+    @Override
+    public long getSequence() {
+        return NOT_AVAILABLE;
+    }
+
+    @Override
+    public void setSequence(long sequence) {
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return address == ((NativeRecord) o).address;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (address ^ (address >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "NativeRecord{address=" + address + '}';
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.impl.NativeMemoryData;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+
+/**
+ * Creates {@link NativeRecord}s whose key, value and metadata live in native memory.
+ * <p>
+ * Blocks which are released while the current operation may still be referencing them (an old value
+ * returned from a {@code put}, a removed record, etc.) are not freed immediately but deferred until
+ * {@link #disposeDeferredBlocks()} is called. Like the record store using it, an instance is confined
+ * to its partition thread.
+ */
+public class NativeRecordFactory implements RecordFactory<Data> {
+
+    private static final int INITIAL_DEFERRED_CAPACITY = 16;
+
+    private final MemoryManager memoryManager;
+    private final MemoryAllocator malloc;
+    private final MemoryAccessor mem;
+    private final SerializationService serializationService;
+    private final PartitioningStrategy partitionStrategy;
+
+    // (address, size) pairs of the blocks to be freed on the next disposeDeferredBlocks()
+    private long[] deferredBlocks = new long[INITIAL_DEFERRED_CAPACITY];
+    private int deferredBlockCount;
+
+    public NativeRecordFactory(MemoryManager memoryManager, SerializationService serializationService,
+                               PartitioningStrategy partitionStrategy) {
+        this.memoryManager = memoryManager;
+        this.malloc = memoryManager.getAllocator();
+        this.mem = memoryManager.getAccessor();
+        this.serializationService = serializationService;
+        this.partitionStrategy = partitionStrategy;
+    }
+
+    @Override
+    public Record<Data> newRecord(Object value) {
+        assert value != null : "value can not be null";
+
+        Data data = toData(value);
+        long recordAddress = malloc.allocate(NativeRecord.SIZE);
+        try {
+            NativeRecord record = newRecord(recordAddress);
+            record.setValueAddress(NativeMemoryData.copyToNative(malloc, data));
+            return record;
+        } catch (Error e) {
+            malloc.free(recordAddress, NativeRecord.SIZE);
+            throw e;
+        }
+    }
+
+    @Override
+    public void setValue(Record<Data> record, Object value) {
+        assert value != null : "value can not be null";
+
+        NativeRecord nativeRecord = (NativeRecord) record;
+        long oldValueAddress = nativeRecord.getValueAddress();
+        nativeRecord.setValueAddress(NativeMemoryData.copyToNative(malloc, toData(value)));
+        deferDataBlock(oldValueAddress);
+    }
+
+    @Override
+    public boolean isEquals(Object value1, Object value2) {
+        if (value1 == null && value2 == null) {
+            return true;
+        }
+        if (value1 == null || value2 == null) {
+            return false;
+        }
+        Data data1 = value1 instanceof Data ? (Data) value1 : serializationService.toData(value1);
+        Data data2 = value2 instanceof Data ? (Data) value2 : serializationService.toData(value2);
+        return data1.equals(data2);
+    }
+
+    /**
+     * Returns a flyweight over an existing record block.
+     */
+    public NativeRecord newRecord(long recordAddress) {
+        return new NativeRecord(recordAddress, this);
+    }
+
+    /**
+     * Copies the given key into native memory and assigns it to the record.
+     */
+    public void setKey(NativeRecord record, Data key) {
+        assert record.getKeyAddress() == NULL_ADDRESS : "Record already has a key";
+        record.setKeyAddress(NativeMemoryData.copyToNative(malloc, key));
+    }
+
+    /**
+     * Schedules the record block together with its key and value blocks to be freed on the next
+     * {@link #disposeDeferredBlocks()}.
+     */
+    public void disposeRecordDeferred(NativeRecord record, boolean disposeKey) {
+        if (disposeKey) {
+            deferDataBlock(record.getKeyAddress());
+        }
+        deferDataBlock(record.getValueAddress());
+        defer(record.address(), NativeRecord.SIZE);
+    }
+
+    /**
+     * Immediately frees the record block together with its key and value blocks.
+     */
+    public void disposeRecord(NativeRecord record) {
+        freeDataBlock(record.getKeyAddress());
+        freeDataBlock(record.getValueAddress());
+        malloc.free(record.address(), NativeRecord.SIZE);
+    }
+
+    /**
+     * Frees all blocks released since the previous call.
+     */
+    public void disposeDeferredBlocks() {
+        for (int i = 0; i < deferredBlockCount; i += 2) {
+            malloc.free(deferredBlocks[i], deferredBlocks[i + 1]);
+        }
+        if (deferredBlocks.length > INITIAL_DEFERRED_CAPACITY) {
+            deferredBlocks = new long[INITIAL_DEFERRED_CAPACITY];
+        }
+        deferredBlockCount = 0;
+    }
+
+    public MemoryManager getMemoryManager() {
+        return memoryManager;
+    }
+
+    MemoryAccessor getMemoryAccessor() {
+        return mem;
+    }
+
+    private Data toData(Object value) {
+        return value instanceof Data ? (Data) value : serializationService.toData(value, partitionStrategy);
+    }
+
+    private void deferDataBlock(long address) {
+        if (address != NULL_ADDRESS) {
+            defer(address, NativeMemoryData.blockSize(address));
+        }
+    }
+
+    private void freeDataBlock(long address) {
+        if (address != NULL_ADDRESS) {
+            NativeMemoryData.free(malloc, address);
+        }
+    }
+
+    private void defer(long address, long size) {
+        if (deferredBlockCount == deferredBlocks.length) {
+            deferredBlocks = Arrays.copyOf(deferredBlocks, deferredBlocks.length * 2);
+        }
+        deferredBlocks[deferredBlockCount++] = address;
+        deferredBlocks[deferredBlockCount++] = size;
+    }
+}
@@ -29,10 +29,13 @@ import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.properties.GroupProperty;
 import com.hazelcast.spi.properties.HazelcastProperties;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.core.EntryEventType.EVICTED;
 import static com.hazelcast.core.EntryEventType.EXPIRED;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.calculateExpirationWithDelay;
@@ -40,6 +43,7 @@ import static com.hazelcast.map.impl.ExpirationTimeSetter.calculateMaxIdleMillis
 import static com.hazelcast.map.impl.ExpirationTimeSetter.getIdlenessStartTime;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.getLifeStartTime;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.setExpirationTime;
+import static com.hazelcast.map.impl.ExpirationTimeSetter.updateExpiryTime;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
 
@@ -58,6 +62,11 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
      * Used in expiration logic for traversing entries. Initializes lazily.
      */
     protected Iterator<Record> expirationIterator;
+    /**
+     * Keys ordered by expiration time, used instead of the {@link #expirationIterator} to find the expired entries.
+     * {@code null} for the {@link com.hazelcast.config.InMemoryFormat#NATIVE} format since its keys are not on heap.
+     */
+    protected final ExpirationIndex expirationIndex;
     protected volatile boolean hasEntryWithCustomTTL;
 
     protected AbstractEvictableRecordStore(MapContainer mapContainer, int partitionId) {
@@ -68,6 +77,7 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         eventService = nodeEngine.getEventService();
         mapEventPublisher = mapServiceContext.getMapEventPublisher();
         thisAddress = nodeEngine.getThisAddress();
+        expirationIndex = inMemoryFormat == NATIVE ? null : new ExpirationIndex();
     }
 
     /**
@@ -85,6 +95,10 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         final long now = getNow();
         final int size = size();
         final int maxIterationCount = getMaxIterationCount(size, percentage);
+        if (expirationIndex != null) {
+            evictExpiredEntriesFromIndex(maxIterationCount, now, backup);
+            return;
+        }
         final int maxRetry = 3;
         int loop = 0;
         int evictedEntryCount = 0;
@@ -140,6 +154,89 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         return evictedCount;
     }
 
+    /**
+     * Evicts the expired entries found in the {@link #expirationIndex}. The keys which are not expired yet, e.g.
+     * because they were accessed or they are locked, are indexed again.
+     */
+    private int evictExpiredEntriesFromIndex(int maxIterationCount, long now, boolean backup) {
+        List<Data> keys = new ArrayList<Data>();
+        expirationIndex.pollExpired(now, maxIterationCount, keys);
+        int evictedCount = 0;
+        for (Data key : keys) {
+            Record record = storage.get(key);
+            if (record == null) {
+                continue;
+            }
+            if (getOrNullIfExpired(record, now, backup) == null) {
+                evictedCount++;
+            } else {
+                // retried on the next tick at the earliest, e.g. if the key is locked
+                long expirationTime = Math.max(getExpirationTime(record, backup), now + ExpirationIndex.TICK_MILLIS);
+                expirationIndex.add(key, expirationTime);
+            }
+        }
+        return evictedCount;
+    }
+
+    /**
+     * Adds the record to the {@link #expirationIndex}, or moves it to its new expiration time. Has to be called when
+     * a record is added or its expiration time is shortened, e.g. by a put with a new TTL.
+     */
+    protected void indexExpiration(Data key, Record record) {
+        if (expirationIndex != null) {
+            expirationIndex.add(key, getExpirationTime(record, false));
+        }
+    }
+
+    /**
+     * Removes the key from the {@link #expirationIndex}. Has to be called when a record is removed or evicted.
+     */
+    protected void unindexExpiration(Data key) {
+        if (expirationIndex != null) {
+            expirationIndex.remove(key);
+        }
+    }
+
+    /**
+     * Updates the TTL and expiration time of an existing record and moves it to its new expiration time in the
+     * {@link #expirationIndex}.
+     */
+    protected void updateExpiration(Data key, Record record, long ttl) {
+        updateExpiryTime(record, ttl, mapContainer.getMapConfig());
+        indexExpiration(key, record);
+    }
+
+    protected void clearExpirationIndex() {
+        if (expirationIndex != null) {
+            expirationIndex.clear();
+        }
+        expirationIterator = null;
+    }
+
+    /**
+     * Returns the time at or after which the record is expired according to {@link #isExpired(Record, long, boolean)}.
+     */
+    private long getExpirationTime(Record record, boolean backup) {
+        long expirationTime = Long.MAX_VALUE;
+        long maxIdleMillis = calculateMaxIdleMillis(mapContainer.getMapConfig());
+        if (maxIdleMillis != Long.MAX_VALUE) {
+            long idleMillis = calculateExpirationWithDelay(maxIdleMillis, expiryDelayMillis, backup);
+            expirationTime = sumForExpiration(getIdlenessStartTime(record), idleMillis);
+        }
+        long ttl = record.getTtl();
+        if (ttl >= 1L && ttl != Long.MAX_VALUE) {
+            long ttlMillis = calculateExpirationWithDelay(ttl, expiryDelayMillis, backup);
+            expirationTime = Math.min(expirationTime, sumForExpiration(getLifeStartTime(record), ttlMillis));
+        }
+        return expirationTime;
+    }
+
+    private static long sumForExpiration(long startTime, long millis) {
+        long expirationTime = startTime + millis;
+        // detect potential overflow.
+        return expirationTime < 0L ? Long.MAX_VALUE : expirationTime;
+    }
+
     private void initExpirationIterator() {
         if (expirationIterator == null || !expirationIterator.hasNext()) {
             expirationIterator = storage.values().iterator();
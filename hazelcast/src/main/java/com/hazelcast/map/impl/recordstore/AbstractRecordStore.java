@@ -27,6 +27,7 @@ import com.hazelcast.map.impl.SizeEstimator;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.mapstore.MapStoreManager;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.impl.record.Records;
@@ -106,6 +107,9 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
 
     @Override
     public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
+        if (NATIVE == memoryFormat) {
+            return new NativeStorage((NativeRecordFactory) recordFactory, serializationService);
+        }
         return new StorageImpl(recordFactory, memoryFormat, serializationService);
     }
 
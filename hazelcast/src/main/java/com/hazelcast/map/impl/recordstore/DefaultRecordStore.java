@@ -58,6 +58,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
 
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.config.NativeMemoryConfig.MemoryAllocatorType.POOLED;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.updateExpiryTime;
 import static com.hazelcast.map.impl.mapstore.MapDataStores.EMPTY_MAP_DATA_STORE;
@@ -224,6 +225,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     public void putRecord(Data key, Record record) {
         markRecordStoreExpirable(record.getTtl());
         storage.put(key, record);
+        indexExpiration(key, record);
         updateStatsOnPut(record.getHits());
     }
 
@@ -241,6 +243,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (record == null) {
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            indexExpiration(key, record);
         } else {
             updateRecord(key, record, value, now);
         }
@@ -292,6 +295,10 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             for (Record record : storage.values()) {
                 Data key = record.getKey();
                 Object value = Records.getValueOrCachedValue(record, serializationService);
+                if (NATIVE == inMemoryFormat) {
+                    key = (Data) copyToHeap(key);
+                    value = copyToHeap(value);
+                }
                 indexes.removeEntryIndex(key, value);
             }
         }
@@ -307,6 +314,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         } else {
             storage.clear(false);
         }
+        clearExpirationIndex();
     }
 
     /**
@@ -393,6 +401,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (value != null) {
             record = createRecord(value, DEFAULT_TTL, getNow());
             storage.put(key, record);
+            indexExpiration(key, record);
             if (!backup) {
                 saveIndex(record, null);
             }
@@ -454,6 +463,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         while (iterator.hasNext()) {
             Record record = iterator.next();
             storage.removeRecord(record);
+            unindexExpiration(record.getKey());
             updateStatsOnRemove(record.getHits());
             iterator.remove();
         }
@@ -488,6 +498,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     public void reset() {
         mapDataStore.reset();
         storage.clear(false);
+        clearExpirationIndex();
         resetStats();
     }
 
@@ -500,6 +511,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             mapDataStore.flush(key, value, backup);
             removeIndex(record);
             storage.removeRecord(record);
+            unindexExpiration(key);
             updateStatsOnRemove(record.getHits());
             if (!backup) {
                 mapServiceContext.interceptRemove(name, value);
@@ -527,6 +539,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             return;
         }
         storage.removeRecord(record);
+        unindexExpiration(key);
         updateStatsOnRemove(record.getHits());
         mapDataStore.removeBackup(key, now);
     }
@@ -571,6 +584,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             mapDataStore.remove(key, now);
             onStore(record);
             storage.removeRecord(record);
+            unindexExpiration(key);
             updateStatsOnRemove(record.getHits());
             removed = true;
         }
@@ -733,9 +747,10 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (record == null) {
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            indexExpiration(key, record);
         } else {
             updateRecord(key, record, value, now);
-            updateExpiryTime(record, ttl, mapContainer.getMapConfig());
+            updateExpiration(key, record, ttl);
         }
 
         saveIndex(record, oldValue);
@@ -762,6 +777,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             record = createRecord(newValue, DEFAULT_TTL, now);
             mergeRecordExpiration(record, mergingEntry);
             storage.put(key, record);
+            indexExpiration(key, record);
         } else {
             oldValue = record.getValue();
             EntryView existingEntry = EntryViews.createLazyEntryView(record.getKey(), record.getValue(),
@@ -773,11 +789,13 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
                 mapDataStore.remove(key, now);
                 onStore(record);
                 storage.removeRecord(record);
+                unindexExpiration(key);
                 updateStatsOnRemove(record.getHits());
                 return true;
             }
             if (newValue == mergingEntry.getValue()) {
                 mergeRecordExpiration(record, mergingEntry);
+                indexExpiration(key, record);
             }
             // same with the existing entry so no need to map-store etc operations.
             if (recordFactory.isEquals(newValue, oldValue)) {
@@ -845,11 +863,12 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             value = mapServiceContext.interceptPut(name, null, value);
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            indexExpiration(key, record);
         } else {
             oldValue = record.getValue();
             value = mapServiceContext.interceptPut(name, oldValue, value);
             updateRecord(key, record, value, now);
-            updateExpiryTime(record, ttl, mapContainer.getMapConfig());
+            updateExpiration(key, record, ttl);
         }
         saveIndex(record, oldValue);
         mapDataStore.addTransient(key, now);
@@ -888,11 +907,12 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             value = mapServiceContext.interceptPut(name, null, value);
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            indexExpiration(key, record);
         } else {
             oldValue = record.getValue();
             value = mapServiceContext.interceptPut(name, oldValue, value);
             updateRecord(key, record, value, now);
-            updateExpiryTime(record, ttl, mapContainer.getMapConfig());
+            updateExpiration(key, record, ttl);
         }
         if (!backup) {
             saveIndex(record, oldValue);
@@ -933,6 +953,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             if (oldValue != null) {
                 record = createRecord(oldValue, DEFAULT_TTL, now);
                 storage.put(key, record);
+                indexExpiration(key, record);
             }
         } else {
             accessRecord(record, now);
@@ -945,6 +966,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             record = createRecord(value, ttl, now);
             storage.put(key, record);
             updateExpiryTime(record, ttl, mapContainer.getMapConfig());
+            indexExpiration(key, record);
         }
         saveIndex(record, oldValue);
         return oldValue;
@@ -965,6 +987,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             onStore(record);
         }
         storage.removeRecord(record);
+        unindexExpiration(key);
         updateStatsOnRemove(record.getHits());
         return oldValue;
     }
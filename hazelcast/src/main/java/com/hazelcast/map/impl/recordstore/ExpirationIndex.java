@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Index of the keys of a record store ordered by expiration time, so the expiration work is proportional to the
+ * number of entries actually expiring instead of the number of entries in the record store.
+ * <p/>
+ * The keys are grouped into buckets of {@link #TICK_MILLIS}. A key is added to the bucket of the first tick at or
+ * after its expiration time, so all the keys of a bucket are due once the time of the bucket is reached. Each key is
+ * indexed at most once: adding a key again moves it to the bucket of its new expiration time, and removed keys have
+ * to be removed from the index as well.
+ * <p/>
+ * Keys whose expiration time is extended without being added again (e.g. by accessing them with max-idle
+ * configured) stay in their earlier bucket. The index only guarantees that a key is never indexed later than its
+ * expiration time, so the record of a polled key has to be checked and the key is added again if it didn't expire yet.
+ * <p/>
+ * Not thread-safe, it is only accessed by the partition thread of its record store.
+ */
+final class ExpirationIndex {
+
+    /**
+     * The granularity of the index in milliseconds.
+     */
+    static final long TICK_MILLIS = 1000;
+
+    private final TreeMap<Long, Set<Data>> buckets = new TreeMap<Long, Set<Data>>();
+    // the tick of the bucket of each indexed key
+    private final Map<Data, Long> ticks = new HashMap<Data, Long>();
+
+    /**
+     * Adds the key to the bucket of the given expiration time, or moves it there if it is already indexed. A key which
+     * never expires is removed from the index.
+     *
+     * @param key            the key to add
+     * @param expirationTime the time in milliseconds at or after which the key expires
+     */
+    void add(Data key, long expirationTime) {
+        if (expirationTime == Long.MAX_VALUE) {
+            remove(key);
+            return;
+        }
+        Long tick = toTick(expirationTime);
+        Long previousTick = ticks.put(key, tick);
+        if (tick.equals(previousTick)) {
+            return;
+        }
+        if (previousTick != null) {
+            removeFromBucket(key, previousTick);
+        }
+        Set<Data> bucket = buckets.get(tick);
+        if (bucket == null) {
+            bucket = new HashSet<Data>();
+            buckets.put(tick, bucket);
+        }
+        bucket.add(key);
+    }
+
+    /**
+     * Removes the key from the index, e.g. when its record is removed or evicted.
+     *
+     * @param key the key to remove
+     */
+    void remove(Data key) {
+        Long tick = ticks.remove(key);
+        if (tick != null) {
+            removeFromBucket(key, tick);
+        }
+    }
+
+    /**
+     * Removes the keys of the buckets which are due at the given time and adds them to the given collection.
+     *
+     * @param now      the current time in milliseconds
+     * @param maxCount the maximum number of keys to poll
+     * @param keys     the collection the polled keys are added to
+     * @return the number of polled keys
+     */
+    int pollExpired(long now, int maxCount, Collection<Data> keys) {
+        int count = 0;
+        long nowTick = now / TICK_MILLIS;
+        while (count < maxCount && !buckets.isEmpty()) {
+            Map.Entry<Long, Set<Data>> first = buckets.firstEntry();
+            if (first.getKey() > nowTick) {
+                break;
+            }
+            Set<Data> bucket = first.getValue();
+            Iterator<Data> iterator = bucket.iterator();
+            while (count < maxCount && iterator.hasNext()) {
+                Data key = iterator.next();
+                iterator.remove();
+                ticks.remove(key);
+                keys.add(key);
+                count++;
+            }
+            if (bucket.isEmpty()) {
+                buckets.remove(first.getKey());
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of indexed keys.
+     */
+    int size() {
+        return ticks.size();
+    }
+
+    void clear() {
+        buckets.clear();
+        ticks.clear();
+    }
+
+    private void removeFromBucket(Data key, Long tick) {
+        Set<Data> bucket = buckets.get(tick);
+        bucket.remove(key);
+        if (bucket.isEmpty()) {
+            buckets.remove(tick);
+        }
+    }
+
+    private static long toTick(long expirationTime) {
+        long tick = expirationTime / TICK_MILLIS;
+        return expirationTime % TICK_MILLIS == 0 ? tick : tick + 1;
+    }
+}
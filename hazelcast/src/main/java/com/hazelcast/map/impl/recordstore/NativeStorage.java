@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.impl.NativeMemoryData;
+import com.hazelcast.internal.util.hashslot.HashSlotCursor8byteKey;
+import com.hazelcast.internal.util.hashslot.impl.HashSlotArray8byteKeyImpl;
+import com.hazelcast.map.impl.SizeEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.NativeRecord;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.util.hashslot.impl.CapacityUtil.DEFAULT_LOAD_FACTOR;
+import static com.hazelcast.map.impl.SizeEstimators.createMapSizeEstimator;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+
+/**
+ * {@link Storage} used by a {@link RecordStore} of a map configured with {@link InMemoryFormat#NATIVE}.
+ * <p>
+ * Keys, values and record metadata are kept in native memory as {@link NativeRecord} blocks. The records are
+ * indexed by a {@link HashSlotArray8byteKeyImpl} keyed by the 64-bit hash of the key, every slot pointing to
+ * a chain of the records whose keys share that hash. Records handed out by this storage are flyweights which
+ * are only valid until the end of the current partition operation: released blocks are freed on
+ * {@link #disposeDeferredBlocks()}.
+ */
+public class NativeStorage implements Storage<Data, NativeRecord> {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 256;
+    private static final int SAMPLE_PROBE_FACTOR = 8;
+
+    private final NativeRecordFactory recordFactory;
+    private final SerializationService serializationService;
+    private final MemoryAccessor mem;
+    private final RecordSlotArray slots;
+    private final Random random = new Random();
+
+    // written only by the partition thread, may be read by others for statistics
+    private volatile int size;
+    private SizeEstimator sizeEstimator = createMapSizeEstimator(InMemoryFormat.NATIVE);
+
+    NativeStorage(NativeRecordFactory recordFactory, SerializationService serializationService) {
+        this.recordFactory = recordFactory;
+        this.serializationService = serializationService;
+        MemoryManager memoryManager = recordFactory.getMemoryManager();
+        this.mem = memoryManager.getAccessor();
+        this.slots = new RecordSlotArray(memoryManager);
+        this.slots.gotoNew();
+    }
+
+    @Override
+    public void put(Data key, NativeRecord record) {
+        long hash = key.hash64();
+        long slotAddress = slots.ensure(hash);
+        if (slotAddress > 0) {
+            // the slot must be assigned before anything else can fail and leave it with the sentinel value
+            mem.putLong(slotAddress, record.address());
+            try {
+                setKeyIfAbsent(record, key);
+            } catch (Error e) {
+                slots.remove(hash);
+                throw e;
+            }
+            record.setNextAddress(NULL_ADDRESS);
+            size++;
+            return;
+        }
+
+        slotAddress = -slotAddress;
+        long prevAddress = NULL_ADDRESS;
+        long currentAddress = mem.getLong(slotAddress);
+        while (currentAddress != NULL_ADDRESS) {
+            NativeRecord current = recordFactory.newRecord(currentAddress);
+            if (currentAddress == record.address()) {
+                return;
+            }
+            if (key.equals(current.getKey())) {
+                if (record.getKeyAddress() == NULL_ADDRESS) {
+                    // take over the key block of the replaced record
+                    record.setKeyAddress(current.getKeyAddress());
+                    recordFactory.disposeRecordDeferred(current, false);
+                } else {
+                    recordFactory.disposeRecordDeferred(current, true);
+                }
+                record.setNextAddress(current.getNextAddress());
+                link(slotAddress, prevAddress, record.address());
+                return;
+            }
+            prevAddress = currentAddress;
+            currentAddress = current.getNextAddress();
+        }
+
+        setKeyIfAbsent(record, key);
+        record.setNextAddress(mem.getLong(slotAddress));
+        mem.putLong(slotAddress, record.address());
+        size++;
+    }
+
+    @Override
+    public void updateRecordValue(Data key, NativeRecord record, Object value) {
+        recordFactory.setValue(record, value);
+    }
+
+    @Override
+    public NativeRecord get(Data key) {
+        long slotAddress = slots.get(key.hash64());
+        if (slotAddress == NULL_ADDRESS) {
+            return null;
+        }
+        long currentAddress = mem.getLong(slotAddress);
+        while (currentAddress != NULL_ADDRESS) {
+            NativeRecord current = recordFactory.newRecord(currentAddress);
+            if (key.equals(current.getKey())) {
+                return current;
+            }
+            currentAddress = current.getNextAddress();
+        }
+        return null;
+    }
+
+    @Override
+    public NativeRecord getIfSameKey(Data key) {
+        if (!(key instanceof NativeMemoryData)) {
+            return null;
+        }
+        NativeRecord record = get(key);
+        if (record == null || record.getKeyAddress() != ((NativeMemoryData) key).address()) {
+            return null;
+        }
+        return record;
+    }
+
+    @Override
+    public void removeRecord(NativeRecord record) {
+        if (record == null) {
+            return;
+        }
+
+        long hash = record.getKey().hash64();
+        long slotAddress = slots.get(hash);
+        if (slotAddress == NULL_ADDRESS) {
+            return;
+        }
+        long prevAddress = NULL_ADDRESS;
+        long currentAddress = mem.getLong(slotAddress);
+        while (currentAddress != NULL_ADDRESS) {
+            NativeRecord current = recordFactory.newRecord(currentAddress);
+            if (currentAddress == record.address()) {
+                long nextAddress = current.getNextAddress();
+                if (prevAddress == NULL_ADDRESS && nextAddress == NULL_ADDRESS) {
+                    slots.remove(hash);
+                } else {
+                    link(slotAddress, prevAddress, nextAddress);
+                }
+                recordFactory.disposeRecordDeferred(current, true);
+                size--;
+                return;
+            }
+            prevAddress = currentAddress;
+            currentAddress = current.getNextAddress();
+        }
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Collection<NativeRecord> values() {
+        List<NativeRecord> records = new ArrayList<NativeRecord>(size);
+        HashSlotCursor8byteKey cursor = slots.cursor();
+        while (cursor.advance()) {
+            addChain(mem.getLong(cursor.valueAddress()), records);
+        }
+        return records;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        for (NativeRecord record : values()) {
+            if (isDuringShutdown) {
+                recordFactory.disposeRecord(record);
+            } else {
+                recordFactory.disposeRecordDeferred(record, true);
+            }
+        }
+        slots.clear();
+        size = 0;
+        sizeEstimator.reset();
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        // records are cleared by the record store beforehand, unless the node is shutting down
+        // and the memory manager releases all of its memory at once
+        recordFactory.disposeDeferredBlocks();
+        slots.dispose();
+    }
+
+    @Override
+    public SizeEstimator getSizeEstimator() {
+        return sizeEstimator;
+    }
+
+    @Override
+    public void setSizeEstimator(SizeEstimator sizeEstimator) {
+        this.sizeEstimator = sizeEstimator;
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        recordFactory.disposeDeferredBlocks();
+    }
+
+    @Override
+    public Iterable<LazyEntryViewFromRecord> getRandomSamples(int sampleCount) {
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be a negative value.");
+        }
+        if (sampleCount == 0 || size == 0) {
+            return Collections.emptyList();
+        }
+
+        // independent random slots, so clusters of occupied slots don't dominate the sample
+        List<NativeRecord> records = new ArrayList<NativeRecord>(sampleCount);
+        long capacity = slots.capacity();
+        int maxProbes = sampleCount * SAMPLE_PROBE_FACTOR;
+        for (int probe = 0; probe < maxProbes && records.size() < sampleCount; probe++) {
+            addChain(slots.headOfSlot((long) (random.nextDouble() * capacity)), records);
+        }
+        if (records.isEmpty()) {
+            // a sparse table may miss all probes, fall back to the first occupied slot after a random one
+            long startSlot = (long) (random.nextDouble() * capacity);
+            for (long i = 0; i < capacity && records.isEmpty(); i++) {
+                addChain(slots.headOfSlot((startSlot + i) % capacity), records);
+            }
+        }
+
+        List<LazyEntryViewFromRecord> samples = new ArrayList<LazyEntryViewFromRecord>(records.size());
+        for (NativeRecord record : records) {
+            samples.add(new LazyEntryViewFromRecord<NativeRecord>(record, serializationService));
+        }
+        return samples;
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(int tableIndex, int size) {
+        List<NativeRecord> records = new ArrayList<NativeRecord>(size);
+        int nextTableIndex = fetch(tableIndex, size, records);
+        List<Data> keys = new ArrayList<Data>(records.size());
+        for (NativeRecord record : records) {
+            keys.add(serializationService.toData(record.getKey()));
+        }
+        return new MapKeysWithCursor(keys, nextTableIndex);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(int tableIndex, int size, SerializationService serializationService) {
+        List<NativeRecord> records = new ArrayList<NativeRecord>(size);
+        int nextTableIndex = fetch(tableIndex, size, records);
+        List<Map.Entry<Data, Data>> entries = new ArrayList<Map.Entry<Data, Data>>(records.size());
+        for (NativeRecord record : records) {
+            Data key = serializationService.toData(record.getKey());
+            Data value = serializationService.toData(record.getValue());
+            entries.add(new AbstractMap.SimpleEntry<Data, Data>(key, value));
+        }
+        return new MapEntriesWithCursor(entries, nextTableIndex);
+    }
+
+    /**
+     * Collects the records of whole slot chains starting from {@code tableIndex} downwards until at
+     * least {@code size} records are collected, the same way {@link StorageSCHM} walks its table.
+     *
+     * @return the slot to continue from on the next call
+     */
+    private int fetch(int tableIndex, int size, List<NativeRecord> records) {
+        long capacity = slots.capacity();
+        long nextSlot = tableIndex >= 0 && tableIndex < capacity ? tableIndex : capacity - 1;
+        while (nextSlot >= 0 && records.size() < size) {
+            addChain(slots.headOfSlot(nextSlot--), records);
+        }
+        return (int) nextSlot;
+    }
+
+    private void addChain(long headAddress, List<NativeRecord> records) {
+        long currentAddress = headAddress;
+        while (currentAddress != NULL_ADDRESS) {
+            NativeRecord record = recordFactory.newRecord(currentAddress);
+            records.add(record);
+            currentAddress = record.getNextAddress();
+        }
+    }
+
+    private void link(long slotAddress, long prevAddress, long recordAddress) {
+        if (prevAddress == NULL_ADDRESS) {
+            mem.putLong(slotAddress, recordAddress);
+        } else {
+            recordFactory.newRecord(prevAddress).setNextAddress(recordAddress);
+        }
+    }
+
+    private void setKeyIfAbsent(NativeRecord record, Data key) {
+        if (record.getKeyAddress() == NULL_ADDRESS) {
+            recordFactory.setKey(record, key);
+        }
+    }
+
+    /**
+     * Hash slot array whose value block holds the address of the first record of a slot chain.
+     * Exposes the slots by their index for sampling and cursor based fetching.
+     */
+    private static final class RecordSlotArray extends HashSlotArray8byteKeyImpl {
+
+        RecordSlotArray(MemoryManager memoryManager) {
+            super(NULL_ADDRESS, memoryManager, LONG_SIZE_IN_BYTES, DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+        }
+
+        long headOfSlot(long slot) {
+            long baseAddress = address();
+            if (!isAssigned(baseAddress, slot)) {
+                return NULL_ADDRESS;
+            }
+            return mem.getLong(slotBase(baseAddress, slot) + keySize());
+        }
+    }
+}
@@ -37,12 +37,15 @@ public class NearCacheStatsImpl implements NearCacheStats {
             newUpdater(NearCacheStatsImpl.class, "hits");
     private static final AtomicLongFieldUpdater<NearCacheStatsImpl> MISSES =
             newUpdater(NearCacheStatsImpl.class, "misses");
+    private static final AtomicLongFieldUpdater<NearCacheStatsImpl> ADMISSION_REJECTIONS =
+            newUpdater(NearCacheStatsImpl.class, "admissionRejections");
 
     private volatile long creationTime;
     private volatile long ownedEntryCount;
     private volatile long ownedEntryMemoryCost;
     private volatile long hits;
     private volatile long misses;
+    private volatile long admissionRejections;
 
     public NearCacheStatsImpl() {
         this.creationTime = Clock.currentTimeMillis();
@@ -113,6 +116,19 @@ public class NearCacheStatsImpl implements NearCacheStats {
         MISSES.incrementAndGet(this);
     }
 
+    /**
+     * Returns the number of entries which were not put into the near cache because the admission policy rejected them.
+     *
+     * @return the number of entries rejected by the admission policy
+     */
+    public long getAdmissionRejections() {
+        return admissionRejections;
+    }
+
+    public void incrementAdmissionRejections() {
+        ADMISSION_REJECTIONS.incrementAndGet(this);
+    }
+
     @Override
     public double getRatio() {
         if (misses == 0) {
@@ -134,6 +150,7 @@ public class NearCacheStatsImpl implements NearCacheStats {
         root.add("creationTime", creationTime);
         root.add("hits", hits);
         root.add("misses", misses);
+        root.add("admissionRejections", admissionRejections);
         return root;
     }
 
@@ -144,6 +161,7 @@ public class NearCacheStatsImpl implements NearCacheStats {
         creationTime = getLong(json, "creationTime", -1L);
         hits = getLong(json, "hits", -1L);
         misses = getLong(json, "misses", -1L);
+        admissionRejections = getLong(json, "admissionRejections", -1L);
     }
 
     @Override
@@ -154,6 +172,7 @@ public class NearCacheStatsImpl implements NearCacheStats {
                 + ", creationTime=" + creationTime
                 + ", hits=" + hits
                 + ", misses=" + misses
+                + ", admissionRejections=" + admissionRejections
                 + ", ratio=" + String.format("%.1f%%", getRatio())
                 + '}';
     }
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio;
+
+import com.hazelcast.spi.annotation.PrivateApi;
+
+/**
+ * An {@link OutboundFrame} which is turned into a {@link Packet} only when the writer of the connection takes it from
+ * the write queue. So the content of the packet can still grow while the frame waits behind the frames queued before
+ * it, e.g. to batch the responses produced while the writer is busy.
+ */
+@PrivateApi
+public interface DeferredPacketFrame extends OutboundFrame {
+
+    /**
+     * Creates the packet to write in place of this frame. Called by the writer when it takes this frame from the
+     * write queue.
+     *
+     * @return the packet to write, or null if there is nothing to write.
+     */
+    Packet toPacket();
+}
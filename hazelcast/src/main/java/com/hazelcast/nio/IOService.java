@@ -22,6 +22,7 @@ import com.hazelcast.config.SocketInterceptorConfig;
 import com.hazelcast.config.SymmetricEncryptionConfig;
 import com.hazelcast.internal.ascii.TextCommandService;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.ThreadAffinity;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.tcp.ReadHandler;
@@ -84,6 +85,28 @@ public interface IOService {
 
     boolean isSocketBufferDirect();
 
+    /**
+     * Packets of at least this size are written to the socket straight from their payload using a gathering write,
+     * instead of being copied into the socket output buffer first.
+     *
+     * @return the threshold in bytes, a negative value disables gathering writes
+     */
+    int getGatheringWriteThreshold();
+
+    /**
+     * Checks if member packets should be compressed. Compression is only used if the other member enables it too.
+     *
+     * @return true if compression is enabled
+     */
+    boolean isSocketCompressionEnabled();
+
+    /**
+     * Packets of at least this size are compressed if compression is enabled.
+     *
+     * @return the threshold in bytes
+     */
+    int getSocketCompressionThreshold();
+
     /**
      * Size of receive buffers for connections opened by clients
      *
@@ -110,6 +133,20 @@ public interface IOService {
 
     int getOutputSelectorThreadCount();
 
+    /**
+     * Returns the CPUs the input threads are bound to. If enabled, the number of input threads is taken from it.
+     *
+     * @return the input thread affinity, {@link ThreadAffinity#DISABLED} if the threads are not bound
+     */
+    ThreadAffinity getInputThreadAffinity();
+
+    /**
+     * Returns the CPUs the output threads are bound to. If enabled, the number of output threads is taken from it.
+     *
+     * @return the output thread affinity, {@link ThreadAffinity#DISABLED} if the threads are not bound
+     */
+    ThreadAffinity getOutputThreadAffinity();
+
     long getConnectionMonitorInterval();
 
     int getConnectionMonitorMaxFaults();
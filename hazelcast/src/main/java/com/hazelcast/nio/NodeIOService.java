@@ -28,6 +28,7 @@ import com.hazelcast.instance.OutOfMemoryErrorDispatcher;
 import com.hazelcast.internal.ascii.TextCommandService;
 import com.hazelcast.internal.cluster.impl.ClusterServiceImpl;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.ThreadAffinity;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.tcp.ReadHandler;
@@ -213,6 +214,21 @@ public class NodeIOService implements IOService {
         return node.getProperties().getBoolean(GroupProperty.SOCKET_BUFFER_DIRECT);
     }
 
+    @Override
+    public int getGatheringWriteThreshold() {
+        return node.getProperties().getInteger(GroupProperty.SOCKET_GATHERING_WRITE_THRESHOLD);
+    }
+
+    @Override
+    public boolean isSocketCompressionEnabled() {
+        return node.getProperties().getBoolean(GroupProperty.SOCKET_COMPRESSION_ENABLED);
+    }
+
+    @Override
+    public int getSocketCompressionThreshold() {
+        return node.getProperties().getInteger(GroupProperty.SOCKET_COMPRESSION_THRESHOLD);
+    }
+
     @Override
     public int getSocketClientReceiveBufferSize() {
         int clientSendBuffer = node.getProperties().getInteger(GroupProperty.SOCKET_CLIENT_RECEIVE_BUFFER_SIZE);
@@ -255,6 +271,16 @@ public class NodeIOService implements IOService {
         return node.getProperties().getInteger(GroupProperty.IO_OUTPUT_THREAD_COUNT);
     }
 
+    @Override
+    public ThreadAffinity getInputThreadAffinity() {
+        return ThreadAffinity.newThreadAffinity(node.getProperties(), GroupProperty.IO_INPUT_THREAD_AFFINITY);
+    }
+
+    @Override
+    public ThreadAffinity getOutputThreadAffinity() {
+        return ThreadAffinity.newThreadAffinity(node.getProperties(), GroupProperty.IO_OUTPUT_THREAD_AFFINITY);
+    }
+
     @Override
     public boolean isClient() {
         return false;
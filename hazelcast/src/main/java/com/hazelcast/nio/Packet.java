@@ -49,6 +49,17 @@ public final class Packet extends HeapData implements OutboundFrame {
      */
     public static final int FLAG_OP_CONTROL = 1 << 6;
 
+    /**
+     * A flag to indicate the payload is compressed, see {@link com.hazelcast.nio.tcp.PacketCompressor}.
+     */
+    public static final int FLAG_COMPRESSED = 1 << 7;
+
+    /**
+     * A flag to indicate the payload is a batch of responses, see
+     * {@link com.hazelcast.spi.impl.operationservice.impl.ResponseBatcher}.
+     */
+    public static final int FLAG_RESPONSE_BATCH = 1 << 8;
+
     private static final int HEADER_SIZE = BYTE_SIZE_IN_BYTES + SHORT_SIZE_IN_BYTES + INT_SIZE_IN_BYTES + INT_SIZE_IN_BYTES;
 
     private short flags;
@@ -158,22 +169,60 @@ public final class Packet extends HeapData implements OutboundFrame {
     }
 
     public boolean writeTo(ByteBuffer dst) {
-        if (!headerComplete) {
-            if (dst.remaining() < HEADER_SIZE) {
-                return false;
-            }
-
-            dst.put(VERSION);
-            dst.putShort(flags);
-            dst.putInt(partitionId);
-            size = totalSize();
-            dst.putInt(size);
-            headerComplete = true;
+        if (!headerComplete && !writeHeader(dst)) {
+            return false;
         }
 
         return writeValue(dst);
     }
 
+    /**
+     * Writes only the header of this packet to the given buffer; the payload is written by the caller directly from
+     * {@link #toByteArray()}. Afterwards the packet is considered to be written completely.
+     *
+     * @param dst the buffer to write the header to
+     * @return true if the header was written, false if there is not enough space in the buffer
+     */
+    public boolean writeHeaderTo(ByteBuffer dst) {
+        if (!writeHeader(dst)) {
+            return false;
+        }
+
+        valueOffset = size;
+        return true;
+    }
+
+    private boolean writeHeader(ByteBuffer dst) {
+        size = totalSize();
+        if (!writeHeader(dst, flags, partitionId, size)) {
+            return false;
+        }
+
+        headerComplete = true;
+        return true;
+    }
+
+    /**
+     * Writes a packet header for a payload that the caller writes itself, e.g. a compressed payload.
+     *
+     * @param dst         the buffer to write the header to
+     * @param flags       the flags of the packet
+     * @param partitionId the partition id of the packet
+     * @param payloadSize the size of the payload following the header
+     * @return true if the header was written, false if there is not enough space in the buffer
+     */
+    public static boolean writeHeader(ByteBuffer dst, int flags, int partitionId, int payloadSize) {
+        if (dst.remaining() < HEADER_SIZE) {
+            return false;
+        }
+
+        dst.put(VERSION);
+        dst.putShort((short) flags);
+        dst.putInt(partitionId);
+        dst.putInt(payloadSize);
+        return true;
+    }
+
     public boolean readFrom(ByteBuffer src) {
         if (!headerComplete) {
             if (src.remaining() < HEADER_SIZE) {
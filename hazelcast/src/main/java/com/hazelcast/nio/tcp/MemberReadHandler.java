@@ -27,6 +27,8 @@ import java.nio.ByteBuffer;
  *
  * It reads as many packets from the src ByteBuffer as possible, and each of the Packets is send to the {@link PacketDispatcher}.
  *
+ * Packets compressed by the {@link MemberWriteHandler} of the other member are decompressed before being dispatched.
+ *
  * @see PacketDispatcher
  * @see MemberWriteHandler
  */
@@ -38,6 +40,7 @@ public class MemberReadHandler implements ReadHandler {
     private final PacketDispatcher packetDispatcher;
     private final Counter normalPacketsRead;
     private final Counter priorityPacketsRead;
+    private PacketCompressor decompressor;
 
     public MemberReadHandler(TcpIpConnection connection, PacketDispatcher packetDispatcher) {
         this.connection = connection;
@@ -63,7 +66,11 @@ public class MemberReadHandler implements ReadHandler {
         }
     }
 
-    protected void handlePacket(Packet packet) {
+    protected void handlePacket(Packet packet) throws Exception {
+        if (packet.isFlagSet(Packet.FLAG_COMPRESSED)) {
+            packet = decompress(packet);
+        }
+
         if (packet.isFlagSet(Packet.FLAG_URGENT)) {
             priorityPacketsRead.inc();
         } else {
@@ -74,4 +81,12 @@ public class MemberReadHandler implements ReadHandler {
 
         packetDispatcher.dispatch(packet);
     }
+
+    private Packet decompress(Packet compressed) throws Exception {
+        if (decompressor == null) {
+            // the threshold is irrelevant for decompression
+            decompressor = new PacketCompressor(0);
+        }
+        return decompressor.decompress(compressed);
+    }
 }
@@ -23,14 +23,74 @@ import java.nio.ByteBuffer;
 /**
  * A {@link WriteHandler} that for member to member communication.
  *
- * It writes {@link Packet} instances to the {@link ByteBuffer}.
+ * It writes {@link Packet} instances to the {@link ByteBuffer}. Once compression has been negotiated with the other
+ * member, large packets are compressed using a {@link PacketCompressor}.
  *
  * @see MemberReadHandler
  */
 public class MemberWriteHandler implements WriteHandler<Packet> {
 
+    // set by the thread that binds the connection, read by the IO thread
+    private volatile PacketCompressor compressor;
+    // the state of the packet that is being written; only accessed by the IO thread.
+    // If it is compressed, its compressed payload is in the buffer of the compressor.
+    private Packet source;
+    private PacketCompressor sourceCompressor;
+    private int compressedSize;
+    // the number of bytes of the compressed payload written so far, -1 if the header isn't written yet
+    private int compressedOffset;
+
     @Override
     public boolean onWrite(Packet packet, ByteBuffer dst) {
-        return packet.writeTo(dst);
+        if (packet != source) {
+            // the packet is compressed only once, even if it is written in multiple calls
+            source = packet;
+            sourceCompressor = compressor;
+            compressedSize = sourceCompressor == null ? -1 : sourceCompressor.compress(packet);
+            compressedOffset = -1;
+        }
+
+        boolean complete = compressedSize < 0 ? packet.writeTo(dst) : writeCompressed(packet, dst);
+        if (complete) {
+            source = null;
+            sourceCompressor = null;
+        }
+        return complete;
+    }
+
+    private boolean writeCompressed(Packet packet, ByteBuffer dst) {
+        if (compressedOffset < 0) {
+            int flags = packet.getFlags() | Packet.FLAG_COMPRESSED;
+            if (!Packet.writeHeader(dst, flags, packet.getPartitionId(), compressedSize)) {
+                return false;
+            }
+            compressedOffset = 0;
+        }
+
+        int bytes = Math.min(dst.remaining(), compressedSize - compressedOffset);
+        dst.put(sourceCompressor.getBuffer(), compressedOffset, bytes);
+        compressedOffset += bytes;
+        return compressedOffset == compressedSize;
+    }
+
+    /**
+     * Checks whether the given packet would be compressed when it is written, so it has to be written by
+     * {@link #onWrite(Packet, ByteBuffer)} and can't be written from its payload directly.
+     *
+     * @param packet the packet to check
+     * @return true if the packet is a candidate for compression
+     */
+    public boolean isCompressible(Packet packet) {
+        PacketCompressor compressor = this.compressor;
+        return compressor != null && compressor.isCompressible(packet);
+    }
+
+    /**
+     * Enables compression of the packets of at least the given size.
+     *
+     * @param threshold the minimum packet size in bytes to compress
+     */
+    public void enableCompression(int threshold) {
+        compressor = new PacketCompressor(threshold);
     }
 }
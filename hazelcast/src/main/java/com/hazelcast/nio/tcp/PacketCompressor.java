@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp;
+
+import com.hazelcast.nio.Packet;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.readIntB;
+import static com.hazelcast.nio.Bits.writeIntB;
+
+/**
+ * Compresses and decompresses the payload of member {@link Packet}s.
+ * <p/>
+ * A compressed packet has the {@link Packet#FLAG_COMPRESSED} flag set and its payload consists of the length of the
+ * original payload followed by the deflated original payload. The payload is deflated into a buffer that is reused for
+ * all packets and written from there, so compressing doesn't allocate a new packet. The partition id and the other flags are kept, so the
+ * packet can still be dispatched before it is decompressed.
+ * <p/>
+ * Packets smaller than the threshold and packets that don't get smaller are sent as is.
+ * <p/>
+ * An instance is not thread-safe; every {@link MemberWriteHandler} and {@link MemberReadHandler} has its own.
+ */
+public final class PacketCompressor {
+
+    private final int threshold;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final Inflater inflater = new Inflater();
+    private byte[] buffer = new byte[0];
+
+    /**
+     * @param threshold the minimum size in bytes of the packets to compress
+     */
+    public PacketCompressor(int threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Checks whether the given packet is a candidate for compression, i.e. it is at least as large as the threshold
+     * and not compressed yet.
+     *
+     * @param packet the packet to check
+     * @return true if {@link #compress(Packet)} tries to compress it
+     */
+    public boolean isCompressible(Packet packet) {
+        return !packet.isFlagSet(Packet.FLAG_COMPRESSED) && packet.totalSize() > 0 && packet.packetSize() >= threshold;
+    }
+
+    /**
+     * Compresses the payload of the given packet into the buffer of this compressor, see {@link #getBuffer()}. The buffer
+     * is reused, so the compressed payload is only valid until the next call.
+     *
+     * @param packet the packet to compress
+     * @return the size of the compressed payload, or -1 if the packet is too small, already compressed or not compressible
+     */
+    public int compress(Packet packet) {
+        if (!isCompressible(packet)) {
+            return -1;
+        }
+
+        byte[] src = packet.toByteArray();
+        if (buffer.length < src.length) {
+            buffer = new byte[src.length];
+        }
+
+        deflater.reset();
+        deflater.setInput(src);
+        deflater.finish();
+        writeIntB(buffer, 0, src.length);
+        int length = INT_SIZE_IN_BYTES;
+        while (!deflater.finished()) {
+            if (length == buffer.length) {
+                // compressing doesn't pay off
+                return -1;
+            }
+            length += deflater.deflate(buffer, length, buffer.length - length);
+        }
+        return length;
+    }
+
+    /**
+     * Returns the buffer holding the payload compressed by the last call of {@link #compress(Packet)}.
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Decompresses a packet created by {@link #compress(Packet)}.
+     *
+     * @param packet the compressed packet
+     * @return the original packet
+     * @throws DataFormatException if the payload is corrupt
+     */
+    public Packet decompress(Packet packet) throws DataFormatException {
+        byte[] src = packet.toByteArray();
+        byte[] dst = new byte[readIntB(src, 0)];
+
+        inflater.reset();
+        inflater.setInput(src, INT_SIZE_IN_BYTES, src.length - INT_SIZE_IN_BYTES);
+        int length = 0;
+        while (length < dst.length) {
+            int inflated = inflater.inflate(dst, length, dst.length - length);
+            if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+                throw new DataFormatException("Compressed packet is truncated, got " + length + " of "
+                        + dst.length + " bytes");
+            }
+            length += inflated;
+        }
+
+        return new Packet(dst, packet.getPartitionId()).setAllFlags(packet.getFlags() & ~Packet.FLAG_COMPRESSED);
+    }
+}
@@ -233,7 +233,28 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
         assert packet.isFlagSet(Packet.FLAG_BIND);
 
         BindMessage bind = ioService.getSerializationService().toObject(packet);
-        bind((TcpIpConnection) packet.getConn(), bind.getLocalAddress(), bind.getTargetAddress(), bind.shouldReply());
+        TcpIpConnection connection = (TcpIpConnection) packet.getConn();
+        if (bind(connection, bind.getLocalAddress(), bind.getTargetAddress(), bind.shouldReply())
+                && bind.isCompressionEnabled()) {
+            enableCompression(connection);
+        }
+    }
+
+    /**
+     * Compresses the packets sent over the connection if this member enables compression too. The other member
+     * does the same when it receives our bind message, so each direction is compressed once both agree.
+     */
+    private void enableCompression(TcpIpConnection connection) {
+        if (!ioService.isSocketCompressionEnabled()) {
+            return;
+        }
+        WriteHandler writeHandler = connection.getSocketWriter().getWriteHandler();
+        if (writeHandler instanceof MemberWriteHandler) {
+            ((MemberWriteHandler) writeHandler).enableCompression(ioService.getSocketCompressionThreshold());
+            if (logger.isFinestEnabled()) {
+                logger.finest("Enabled compression of packets sent over " + connection);
+            }
+        }
     }
 
     /**
@@ -333,7 +354,8 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
         if (logger.isFinestEnabled()) {
             logger.finest("Sending bind packet to " + remoteEndPoint);
         }
-        BindMessage bind = new BindMessage(ioService.getThisAddress(), remoteEndPoint, replyBack);
+        BindMessage bind = new BindMessage(ioService.getThisAddress(), remoteEndPoint, replyBack,
+                ioService.isSocketCompressionEnabled());
         byte[] bytes = ioService.getSerializationService().toBytes(bind);
         Packet packet = new Packet(bytes);
         packet.setFlag(Packet.FLAG_BIND);
@@ -19,10 +19,13 @@ package com.hazelcast.nio.tcp.nonblocking;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.metrics.ProbeLevel;
+import com.hazelcast.internal.util.ThreadAffinity;
 import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.operationexecutor.OperationHostileThread;
 import com.hazelcast.util.EmptyStatement;
+import com.hazelcast.util.concurrent.BackoffIdleStrategy;
+import com.hazelcast.util.concurrent.IdleStrategy;
 
 import java.io.IOException;
 import java.nio.channels.CancelledKeyException;
@@ -30,6 +33,7 @@ import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.Queue;
 import java.util.Random;
@@ -39,6 +43,8 @@ import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static com.hazelcast.nio.tcp.nonblocking.SelectorOptimizer.optimize;
 import static java.lang.Math.max;
 import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 
 public class NonBlockingIOThread extends Thread implements OperationHostileThread {
 
@@ -53,6 +59,14 @@ public class NonBlockingIOThread extends Thread implements OperationHostileThrea
     // when testing, we simulate the selector bug randomly with one out of TEST_SELECTOR_BUG_PROBABILITY
     private static final int TEST_SELECTOR_BUG_PROBABILITY = Integer.parseInt(
             System.getProperty("hazelcast.io.selector.bug.probability", "16"));
+    // the default idle strategy while busy polling: spin and yield shortly, then park for at most 100 micros
+    private static final long IDLE_MAX_SPINS = 20;
+    private static final long IDLE_MAX_YIELDS = 50;
+    private static final long IDLE_MIN_PARK_NS = MICROSECONDS.toNanos(1);
+    private static final long IDLE_MAX_PARK_NS = MICROSECONDS.toNanos(100);
+    // how long a busy polling thread keeps polling after the last activity before it blocks on the selector
+    private static final long BUSY_POLL_WINDOW_NANOS = MICROSECONDS.toNanos(
+            Long.getLong("hazelcast.io.busypoll.window.micros", 1000));
 
     @SuppressWarnings("checkstyle:visibilitymodifier")
     // this field is set during construction and is meant for the probes so that the read/write handler can
@@ -71,6 +85,9 @@ public class NonBlockingIOThread extends Thread implements OperationHostileThrea
     // count number of times the selector was rebuilt (if selectWorkaround is enabled)
     @Probe
     private final SwCounter selectorRebuildCount = newSwCounter();
+    // count number of times the thread stopped busy polling and blocked on the selector (if busy poll is enabled)
+    @Probe
+    private final SwCounter blockingSelectCount = newSwCounter();
 
     private final ILogger logger;
 
@@ -84,6 +101,12 @@ public class NonBlockingIOThread extends Thread implements OperationHostileThrea
     private volatile long lastSelectTimeMs;
     // set to true while testing
     private boolean selectorWorkaroundTest;
+    // set before the thread is started
+    private BitSet allowedCpus;
+    private IdleStrategy idleStrategy = new BackoffIdleStrategy(
+            IDLE_MAX_SPINS, IDLE_MAX_YIELDS, IDLE_MIN_PARK_NS, IDLE_MAX_PARK_NS);
+    // true while a busy polling thread blocks on the selector; only then a wakeup is needed
+    private volatile boolean blocking;
 
     public NonBlockingIOThread(ThreadGroup threadGroup,
                                String threadName,
@@ -173,13 +196,18 @@ public class NonBlockingIOThread extends Thread implements OperationHostileThrea
      */
     public void addTaskAndWakeup(Runnable task) {
         taskQueue.add(task);
-        if (selectMode != SelectorMode.SELECT_NOW) {
+        if (selectMode == SelectorMode.SELECT_NOW) {
+            return;
+        }
+        if (selectMode != SelectorMode.BUSY_POLL || blocking) {
             selector.wakeup();
         }
     }
 
     @Override
     public final void run() {
+        ThreadAffinity.bindCurrentThread(allowedCpus, logger);
+
         // This outer loop is a bit complex but it takes care of a lot of stuff:
         // * it calls runSelectNowLoop or runSelectLoop based on selectNow enabled or not.
         // * handles backoff and retrying in case if io exception is thrown
@@ -200,9 +228,12 @@ public class NonBlockingIOThread extends Thread implements OperationHostileThrea
                         case SELECT:
                             selectLoop();
                             break;
+                        case BUSY_POLL:
+                            busyPollLoop();
+                            break;
                         default:
                             throw new IllegalArgumentException("Selector.select mode not set, use -Dhazelcast.io.selectorMode="
-                                    + "{select|selectnow|selectwithfix} to explicitly specify select mode or leave empty for "
+                                    + "{select|selectnow|selectwithfix|busypoll} to explicitly specify select mode or leave empty for "
                                     + "default select mode.");
                     }
                     // break the for loop; we are done
@@ -291,14 +322,61 @@ public class NonBlockingIOThread extends Thread implements OperationHostileThrea
         }
     }
 
-    private void processTaskQueue() {
+    /**
+     * Polls the selector without blocking as long as there is work. Once there has been no work for the busy poll
+     * window, the thread blocks on the selector; only then the producers of tasks need to wake it up.
+     */
+    private void busyPollLoop() throws IOException {
+        long idleCount = 0;
+        long lastActivityNanos = nanoTime();
+        while (!isInterrupted()) {
+            boolean active = processTaskQueue();
+            if (selector.selectNow() > 0) {
+                handleSelectionKeys();
+                active = true;
+            }
+
+            if (active) {
+                idleCount = 0;
+                lastActivityNanos = nanoTime();
+            } else if (nanoTime() - lastActivityNanos < BUSY_POLL_WINDOW_NANOS) {
+                idleStrategy.idle(idleCount++);
+            } else if (blockingSelect()) {
+                idleCount = 0;
+                lastActivityNanos = nanoTime();
+            }
+        }
+    }
+
+    private boolean blockingSelect() throws IOException {
+        blocking = true;
+        try {
+            // a task added before the flag was visible didn't wake up the selector
+            if (!taskQueue.isEmpty()) {
+                return true;
+            }
+            blockingSelectCount.inc();
+            if (selector.select(SELECT_WAIT_TIME_MILLIS) > 0) {
+                handleSelectionKeys();
+                return true;
+            }
+            return !taskQueue.isEmpty();
+        } finally {
+            blocking = false;
+        }
+    }
+
+    private boolean processTaskQueue() {
+        boolean processed = false;
         while (!isInterrupted()) {
             Runnable task = taskQueue.poll();
             if (task == null) {
-                return;
+                break;
             }
+            processed = true;
             executeTask(task);
         }
+        return processed;
     }
 
     private void executeTask(Runnable task) {
@@ -404,4 +482,22 @@ public class NonBlockingIOThread extends Thread implements OperationHostileThrea
     void setSelectorWorkaroundTest(boolean selectorWorkaroundTest) {
         this.selectorWorkaroundTest = selectorWorkaroundTest;
     }
+
+    /**
+     * Sets the CPUs this thread will bind itself to once started.
+     *
+     * @param allowedCpus the allowed CPUs, {@code null} to not bind the thread
+     */
+    public void setAllowedCpus(BitSet allowedCpus) {
+        this.allowedCpus = allowedCpus;
+    }
+
+    /**
+     * Sets how this thread idles while busy polling. Only used in the {@link SelectorMode#BUSY_POLL} mode.
+     *
+     * @param idleStrategy the strategy applied while there is no work during the busy poll window
+     */
+    public void setIdleStrategy(IdleStrategy idleStrategy) {
+        this.idleStrategy = idleStrategy;
+    }
 }
@@ -18,6 +18,7 @@ package com.hazelcast.nio.tcp.nonblocking;
 
 import com.hazelcast.instance.HazelcastThreadGroup;
 import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.util.ThreadAffinity;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.nio.IOService;
@@ -26,6 +27,7 @@ import com.hazelcast.nio.tcp.SocketReader;
 import com.hazelcast.nio.tcp.SocketWriter;
 import com.hazelcast.nio.tcp.TcpIpConnection;
 import com.hazelcast.nio.tcp.nonblocking.iobalancer.IOBalancer;
+import com.hazelcast.util.concurrent.IdleStrategy;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.util.concurrent.atomic.AtomicInteger;
@@ -41,6 +43,10 @@ import static java.util.logging.Level.INFO;
  * By default the {@link NonBlockingIOThread} blocks on the Selector, but it can be put in a 'selectNow' mode that makes it
  * spinning on the selector. This is an experimental feature and will cause the io threads to run hot. For this reason, when
  * this feature is enabled, the number of io threads should be reduced (preferably 1).
+ *
+ * The 'busypoll' mode sits in between: the threads poll the Selector without blocking while there is activity and for
+ * a short window (-Dhazelcast.io.busypoll.window.micros) after it, idling according to an {@link IdleStrategy}. Once
+ * idle for the whole window they block on the Selector, so writers don't need to wake up the Selector while it is polled.
  */
 public class NonBlockingIOThreadingModel implements IOThreadingModel {
 
@@ -53,15 +59,20 @@ public class NonBlockingIOThreadingModel implements IOThreadingModel {
     private final MetricsRegistry metricsRegistry;
     private final LoggingService loggingService;
     private final HazelcastThreadGroup hazelcastThreadGroup;
+    private final ThreadAffinity inputThreadAffinity;
+    private final ThreadAffinity outputThreadAffinity;
     // The selector mode determines how IO threads will block (or not) on the Selector:
     //  select:         this is the default mode, uses Selector.select(long timeout)
     //  selectnow:      use Selector.selectNow()
     //  selectwithfix:  use Selector.select(timeout) with workaround for bug occurring when
     //                  SelectorImpl.select returns immediately with no channels selected,
     //                  resulting in 100% CPU usage while doing no progress.
+    //  busypoll:       use Selector.selectNow() while active, Selector.select(long timeout) once idle
     // See issue: https://github.com/hazelcast/hazelcast/issues/7943
     // In Hazelcast 3.8, selector mode must be set via HazelcastProperties
     private SelectorMode selectorMode;
+    // the idle strategy of the busypoll mode, null for the default of the NonBlockingIOThread
+    private IdleStrategy idleStrategy;
     private volatile IOBalancer ioBalancer;
     private boolean selectorWorkaroundTest = Boolean.getBoolean("hazelcast.io.selector.workaround.test");
 
@@ -75,8 +86,12 @@ public class NonBlockingIOThreadingModel implements IOThreadingModel {
         this.metricsRegistry = metricsRegistry;
         this.loggingService = loggingService;
         this.logger = loggingService.getLogger(NonBlockingIOThreadingModel.class);
-        this.inputThreads = new NonBlockingIOThread[ioService.getInputSelectorThreadCount()];
-        this.outputThreads = new NonBlockingIOThread[ioService.getOutputSelectorThreadCount()];
+        this.inputThreadAffinity = ioService.getInputThreadAffinity();
+        this.outputThreadAffinity = ioService.getOutputThreadAffinity();
+        this.inputThreads = new NonBlockingIOThread[inputThreadAffinity.isEnabled()
+                ? inputThreadAffinity.getThreadCount() : ioService.getInputSelectorThreadCount()];
+        this.outputThreads = new NonBlockingIOThread[outputThreadAffinity.isEnabled()
+                ? outputThreadAffinity.getThreadCount() : ioService.getOutputSelectorThreadCount()];
     }
 
     private SelectorMode getSelectorMode() {
@@ -90,6 +105,16 @@ public class NonBlockingIOThreadingModel implements IOThreadingModel {
         this.selectorMode = mode;
     }
 
+    /**
+     * Sets the strategy the IO threads use to idle while busy polling in the {@link SelectorMode#BUSY_POLL} mode.
+     * Needs to be set before the threads are started. The strategy is shared by all threads, so it must be stateless.
+     *
+     * @param idleStrategy the idle strategy
+     */
+    public void setIdleStrategy(IdleStrategy idleStrategy) {
+        this.idleStrategy = idleStrategy;
+    }
+
     /**
      * Set to {@code true} for Selector CPU-consuming bug workaround tests
      *
@@ -144,6 +169,10 @@ public class NonBlockingIOThreadingModel implements IOThreadingModel {
             );
             thread.id = i;
             thread.setSelectorWorkaroundTest(selectorWorkaroundTest);
+            if (idleStrategy != null) {
+                thread.setIdleStrategy(idleStrategy);
+            }
+            thread.setAllowedCpus(inputThreadAffinity.getAllowedCpus(i));
             inputThreads[i] = thread;
             metricsRegistry.scanAndRegister(thread, "tcp.inputThread[" + thread.getName() + "]");
             thread.start();
@@ -159,6 +188,10 @@ public class NonBlockingIOThreadingModel implements IOThreadingModel {
             );
             thread.id = i;
             thread.setSelectorWorkaroundTest(selectorWorkaroundTest);
+            if (idleStrategy != null) {
+                thread.setIdleStrategy(idleStrategy);
+            }
+            thread.setAllowedCpus(outputThreadAffinity.getAllowedCpus(i));
             outputThreads[i] = thread;
             metricsRegistry.scanAndRegister(thread, "tcp.outputThread[" + thread.getName() + "]");
             thread.start();
@@ -19,11 +19,13 @@ package com.hazelcast.nio.tcp.nonblocking;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.util.counters.SwCounter;
+import com.hazelcast.nio.DeferredPacketFrame;
 import com.hazelcast.nio.IOUtil;
 import com.hazelcast.nio.OutboundFrame;
 import com.hazelcast.nio.Packet;
 import com.hazelcast.nio.ascii.TextWriteHandler;
 import com.hazelcast.nio.tcp.ClientWriteHandler;
+import com.hazelcast.nio.tcp.MemberWriteHandler;
 import com.hazelcast.nio.tcp.SocketWriter;
 import com.hazelcast.nio.tcp.TcpIpConnection;
 import com.hazelcast.nio.tcp.WriteHandler;
@@ -55,6 +57,7 @@ import static java.lang.System.currentTimeMillis;
 public final class NonBlockingSocketWriter extends AbstractHandler implements Runnable, SocketWriter {
 
     private static final long TIMEOUT = 3;
+    private static final int MAX_GATHER_BUFFERS = 64;
 
     @SuppressWarnings("checkstyle:visibilitymodifier")
     @Probe(name = "writeQueueSize")
@@ -72,12 +75,24 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
     private final SwCounter normalFramesWritten = newSwCounter();
     @Probe(name = "priorityFramesWritten")
     private final SwCounter priorityFramesWritten = newSwCounter();
+    @Probe(name = "writeCount")
+    private final SwCounter writeCount = newSwCounter();
+    @Probe(name = "gatheredFramesWritten")
+    private final SwCounter gatheredFramesWritten = newSwCounter();
     private final MetricsRegistry metricsRegistry;
 
     private volatile OutboundFrame currentFrame;
     private WriteHandler writeHandler;
     private volatile long lastWriteTime;
 
+    // only used by the IO thread. A negative threshold means the outputBuffer is written with a regular write.
+    private int gatheringWriteThreshold = -1;
+    // the buffers of the pending gathering write: slices of the outputBuffer interleaved with packet payloads.
+    // The outputBuffer is only cleared once all of them are written.
+    private final ByteBuffer[] gatherBuffers = new ByteBuffer[MAX_GATHER_BUFFERS];
+    private int gatherOffset;
+    private int gatherLength;
+
     // this field will be accessed by the NonBlockingIOThread or
     // it is accessed by any other thread but only that thread managed to cas the scheduled flag to true.
     // This prevents running into an NonBlockingIOThread that is migrating.
@@ -126,6 +141,18 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
         return bytesPending;
     }
 
+    @Probe(name = "framesPerWrite", level = DEBUG)
+    private double framesPerWrite() {
+        long writes = writeCount.get();
+        return writes == 0 ? 0 : (double) (normalFramesWritten.get() + priorityFramesWritten.get()) / writes;
+    }
+
+    @Probe(name = "bytesPerWrite", level = DEBUG)
+    private double bytesPerWrite() {
+        long writes = writeCount.get();
+        return writes == 0 ? 0 : (double) bytesWritten.get() / writes;
+    }
+
     @Probe(name = "idleTimeMs")
     private long idleTimeMs() {
         return max(currentTimeMillis() - lastWriteTime, 0);
@@ -164,6 +191,9 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
             if (CLUSTER.equals(protocol)) {
                 configureBuffers(ioService.getSocketSendBufferSize() * KILO_BYTE);
                 writeHandler = ioService.createWriteHandler(connection);
+                if (writeHandler.getClass() == MemberWriteHandler.class) {
+                    gatheringWriteThreshold = ioService.getGatheringWriteThreshold();
+                }
                 outputBuffer.put(stringToBytes(CLUSTER));
                 registerOp(SelectionKey.OP_WRITE);
             } else if (CLIENT_BINARY_NEW.equals(protocol)) {
@@ -217,6 +247,13 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
                 continue;
             }
 
+            if (frame instanceof DeferredPacketFrame) {
+                frame = ((DeferredPacketFrame) frame).toPacket();
+                if (frame == null) {
+                    continue;
+                }
+            }
+
             if (urgent) {
                 priorityFramesWritten.inc();
             } else {
@@ -316,10 +353,20 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
             createWriterHandler(CLUSTER);
         }
 
-        fillOutputBuffer();
+        if (gatheringWriteThreshold >= 0) {
+            if (gatherLength == 0) {
+                fillGatherBuffers();
+            }
+
+            if (gatherLength > 0) {
+                writeGatherBuffersToSocket();
+            }
+        } else {
+            fillOutputBuffer();
 
-        if (dirtyOutputBuffer()) {
-            writeOutputBufferToSocket();
+            if (dirtyOutputBuffer()) {
+                writeOutputBufferToSocket();
+            }
         }
 
         if (newOwner == null) {
@@ -341,7 +388,7 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
      * @return true if dirty, false otherwise.
      */
     private boolean dirtyOutputBuffer() {
-        return outputBuffer.position() > 0;
+        return outputBuffer.position() > 0 || gatherLength > 0;
     }
 
     /**
@@ -352,6 +399,7 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
         outputBuffer.flip();
         int written = socketChannel.write(outputBuffer);
 
+        writeCount.inc();
         bytesWritten.inc(written);
 
         // Now we verify if all data is written.
@@ -397,6 +445,88 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
         }
     }
 
+    /**
+     * Fills the gatherBuffers with frames. Small frames are copied into the outputBuffer like
+     * {@link #fillOutputBuffer()} does, but from packets of at least the gatheringWriteThreshold only the header is
+     * copied and the payload is added as a separate buffer. This is done till there are no more frames, till there is no
+     * more space in the outputBuffer or till the gatherBuffers are full.
+     * <p/>
+     * The payloads are wrapped heap arrays, so the JDK copies them into a temporary direct buffer during the write;
+     * what is saved is only the copy into a heap outputBuffer.
+     * <p/>
+     * Is only called when all gatherBuffers of the previous round have been written, so the outputBuffer only contains
+     * data that isn't part of any gatherBuffer yet.
+     *
+     * @throws Exception
+     */
+    private void fillGatherBuffers() throws Exception {
+        int sliceStart = 0;
+        // a slice and a payload are added per round
+        while (gatherLength < MAX_GATHER_BUFFERS - 1 && outputBuffer.hasRemaining()) {
+            if (currentFrame == null) {
+                OutboundFrame frame = poll();
+                if (frame == null) {
+                    // There is no frames to write, we are done.
+                    break;
+                }
+
+                if (frame.getClass() == Packet.class) {
+                    // packets that are going to be compressed are written by the MemberWriteHandler
+                    Packet packet = (Packet) frame;
+                    if (packet.packetSize() >= gatheringWriteThreshold
+                            && !((MemberWriteHandler) writeHandler).isCompressible(packet)
+                            && packet.writeHeaderTo(outputBuffer)) {
+                        addOutputBufferSlice(sliceStart);
+                        sliceStart = outputBuffer.position();
+                        gatherBuffers[gatherLength++] = ByteBuffer.wrap(packet.toByteArray());
+                        gatheredFramesWritten.inc();
+                        continue;
+                    }
+                }
+                currentFrame = frame;
+            }
+
+            if (!writeHandler.onWrite(currentFrame, outputBuffer)) {
+                // Not all data of the current frame fits in the outputBuffer, it is continued in the next round.
+                break;
+            }
+            currentFrame = null;
+        }
+
+        if (outputBuffer.position() > sliceStart) {
+            addOutputBufferSlice(sliceStart);
+        }
+    }
+
+    private void addOutputBufferSlice(int sliceStart) {
+        ByteBuffer slice = outputBuffer.duplicate();
+        slice.flip();
+        slice.position(sliceStart);
+        gatherBuffers[gatherLength++] = slice;
+    }
+
+    /**
+     * Writes the pending gatherBuffers to the socket using a single gathering write.
+     */
+    private void writeGatherBuffersToSocket() throws IOException {
+        long written = socketChannel.write(gatherBuffers, gatherOffset, gatherLength - gatherOffset);
+
+        writeCount.inc();
+        bytesWritten.inc(written);
+
+        // release the buffers that are written completely, so the payloads can be gc'ed
+        while (gatherOffset < gatherLength && !gatherBuffers[gatherOffset].hasRemaining()) {
+            gatherBuffers[gatherOffset++] = null;
+        }
+
+        if (gatherOffset == gatherLength) {
+            // We managed to write all buffers, so the outputBuffer can be reused.
+            gatherOffset = 0;
+            gatherLength = 0;
+            outputBuffer.clear();
+        }
+    }
+
     @Override
     public void run() {
         try {
@@ -24,7 +24,12 @@ import com.hazelcast.util.StringUtil;
 public enum SelectorMode {
     SELECT,
     SELECT_NOW,
-    SELECT_WITH_FIX;
+    SELECT_WITH_FIX,
+    /**
+     * Uses Selector.selectNow while there is activity and for a short window after it, idling according to an
+     * {@link com.hazelcast.util.concurrent.IdleStrategy}, and blocks on Selector.select once the window has passed.
+     */
+    BUSY_POLL;
 
     public static SelectorMode getConfiguredValue() {
         return fromString(System.getProperty("hazelcast.io.selectorMode"));
@@ -38,6 +43,8 @@ public enum SelectorMode {
             return SELECT_NOW;
         } else if (valueToCheck.equals("selectwithfix")) {
             return SELECT_WITH_FIX;
+        } else if (valueToCheck.equals("busypoll")) {
+            return BUSY_POLL;
         } else {
             return SELECT;
         }
@@ -20,6 +20,7 @@ import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.DeferredPacketFrame;
 import com.hazelcast.nio.IOUtil;
 import com.hazelcast.nio.OutboundFrame;
 import com.hazelcast.nio.Packet;
@@ -200,6 +201,13 @@ public class SpinningSocketWriter extends AbstractHandler implements SocketWrite
                 continue;
             }
 
+            if (frame instanceof DeferredPacketFrame) {
+                frame = ((DeferredPacketFrame) frame).toPacket();
+                if (frame == null) {
+                    continue;
+                }
+            }
+
             if (urgent) {
                 priorityFramesWritten.inc();
             } else {
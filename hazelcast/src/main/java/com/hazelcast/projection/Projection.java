@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.projection;
+
+import com.hazelcast.spi.annotation.Beta;
+
+import java.io.Serializable;
+
+/**
+ * Transforms the entries matching a query into the values returned to the caller.
+ * <p/>
+ * The projection is applied on the members owning the entries, so only the projected values are transferred. The
+ * entries passed to {@link #transform(Object)} are {@link com.hazelcast.query.impl.Extractable}, so attributes can
+ * be extracted like in predicates; for {@link com.hazelcast.nio.serialization.Portable} values this reads the fields
+ * without deserializing the whole value.
+ * <p/>
+ * Since instances are sent to the members, they have to be serializable. A set of predefined projections can be
+ * found in {@link Projections}.
+ *
+ * @param <I> the input type, the entries of the map
+ * @param <O> the type of the projected values
+ */
+@Beta
+public abstract class Projection<I, O> implements Serializable {
+
+    /**
+     * Transforms the input object into the output object.
+     *
+     * @param input the entry to transform
+     * @return the projected value
+     */
+    public abstract O transform(I input);
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.projection;
+
+import com.hazelcast.projection.impl.MultiAttributeProjection;
+import com.hazelcast.projection.impl.SingleAttributeProjection;
+import com.hazelcast.spi.annotation.Beta;
+
+import java.util.Map;
+
+/**
+ * A utility class to create the predefined {@link Projection}s.
+ * <p/>
+ * The attribute paths are the same as in queries (e.g. {@code address.city}).
+ * <pre>
+ * IMap&lt;String, Employee> employees = hazelcastInstance.getMap("employees");
+ * Collection&lt;Object[]> namesAndAges = employees.project(
+ *         Projections.&lt;String, Employee>multiAttribute("name", "age"), new SqlPredicate("department = 'sales'"));
+ * </pre>
+ */
+@Beta
+public final class Projections {
+
+    private Projections() {
+    }
+
+    /**
+     * Returns a projection extracting a single attribute of the entries.
+     *
+     * @param attributePath the path of the attribute to extract
+     */
+    public static <K, V, O> Projection<Map.Entry<K, V>, O> singleAttribute(String attributePath) {
+        return new SingleAttributeProjection<Map.Entry<K, V>, O>(attributePath);
+    }
+
+    /**
+     * Returns a projection extracting several attributes of the entries into an {@code Object[]}, in the
+     * order of the given attribute paths.
+     *
+     * @param attributePaths the paths of the attributes to extract
+     */
+    public static <K, V> Projection<Map.Entry<K, V>, Object[]> multiAttribute(String... attributePaths) {
+        return new MultiAttributeProjection<Map.Entry<K, V>>(attributePaths);
+    }
+}
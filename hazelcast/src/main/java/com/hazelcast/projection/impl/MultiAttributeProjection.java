@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.projection.impl;
+
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.impl.Extractable;
+
+import static com.hazelcast.util.Preconditions.checkHasText;
+
+/**
+ * Projects several attributes of the entries into an {@code Object[]}, in the order of the given attribute paths.
+ *
+ * @param <I> the input type
+ */
+public final class MultiAttributeProjection<I> extends Projection<I, Object[]> {
+
+    private final String[] attributePaths;
+
+    public MultiAttributeProjection(String... attributePaths) {
+        if (attributePaths == null || attributePaths.length == 0) {
+            throw new IllegalArgumentException("At least one attributePath must be given");
+        }
+        for (String attributePath : attributePaths) {
+            checkHasText(attributePath, "attributePath must not be null or empty");
+        }
+        this.attributePaths = attributePaths;
+    }
+
+    @Override
+    public Object[] transform(I input) {
+        if (!(input instanceof Extractable)) {
+            throw new IllegalArgumentException("Can't extract the attributes from the given input");
+        }
+        Extractable extractable = (Extractable) input;
+        Object[] result = new Object[attributePaths.length];
+        for (int i = 0; i < attributePaths.length; i++) {
+            result[i] = extractable.getAttributeValue(attributePaths[i]);
+        }
+        return result;
+    }
+}
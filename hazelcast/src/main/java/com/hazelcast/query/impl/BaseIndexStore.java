@@ -91,6 +91,18 @@ public abstract class BaseIndexStore implements IndexStore {
     public final void updateIndex(Object oldValue, Object newValue, QueryableEntry entry) {
         takeWriteLock();
         try {
+            if (!(oldValue instanceof MultiResult) && !(newValue instanceof MultiResult)) {
+                Comparable sanitizedOldValue = sanitizeValue(oldValue);
+                Comparable sanitizedNewValue = sanitizeValue(newValue);
+                if (sanitizedOldValue.equals(sanitizedNewValue)) {
+                    // the attribute didn't change, only the entry is replaced without touching the maps per value
+                    newIndexInternal(sanitizedNewValue, entry);
+                    return;
+                }
+                removeIndexInternal(sanitizedOldValue, entry.getKeyData());
+                newIndexInternal(sanitizedNewValue, entry);
+                return;
+            }
             Data indexKey = entry.getKeyData();
             unwrapAndRemoveFromIndex(oldValue, indexKey);
             unwrapAndAddToIndex(newValue, entry);
@@ -0,0 +1,411 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.QueryException;
+import com.hazelcast.query.impl.bitmap.SparseBitmap;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.getters.MultiResult;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+
+import static com.hazelcast.query.impl.TypeConverters.NULL_CONVERTER;
+
+/**
+ * An index for attributes with few distinct values, like a status or a flag, declared as {@code BITMAP(attribute)}.
+ * <p/>
+ * Instead of a map of the entries per distinct value, it keeps a compressed {@link SparseBitmap} of the entry
+ * ordinals assigned by the {@link EntryOrdinals} shared with the other bitmap indexes. So conjunctions,
+ * disjunctions and negations of conditions on bitmap indexed attributes can be evaluated on the bitmaps,
+ * the entries are materialized only once for the final bitmap.
+ * <p/>
+ * Comparisons are supported by combining the bitmaps of the matching distinct values.
+ */
+public class BitmapIndexImpl implements Index {
+
+    private static final String PREFIX = "BITMAP(";
+    private static final String SUFFIX = ")";
+    private static final SparseBitmap EMPTY = new SparseBitmap();
+
+    private final String declaredName;
+    private final String attributeName;
+    private final EntryOrdinals ordinals;
+
+    private final IndexStripe[] stripes;
+
+    private volatile TypeConverter converter;
+
+    private final IndexStats stats = new IndexStats();
+    private final InternalSerializationService ss;
+    private final Extractors extractors;
+
+    public BitmapIndexImpl(String declaredName, EntryOrdinals ordinals, InternalSerializationService ss,
+                           Extractors extractors) {
+        this.declaredName = declaredName;
+        this.attributeName = getIndexedAttribute(declaredName);
+        this.ordinals = ordinals;
+        this.stripes = new IndexStripe[ordinals.getStripeCount()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new IndexStripe();
+        }
+        this.ss = ss;
+        this.extractors = extractors;
+    }
+
+    /**
+     * Checks whether the given index attribute declares a bitmap index.
+     */
+    public static boolean isBitmap(String declaredName) {
+        return declaredName.regionMatches(true, 0, PREFIX, 0, PREFIX.length()) && declaredName.endsWith(SUFFIX);
+    }
+
+    /**
+     * Returns the attribute indexed by the bitmap index with the given declaration.
+     */
+    public static String getIndexedAttribute(String declaredName) {
+        String attribute = declaredName.substring(PREFIX.length(), declaredName.length() - SUFFIX.length()).trim();
+        if (attribute.length() == 0) {
+            throw new IllegalArgumentException("Bitmap index without attribute: " + declaredName);
+        }
+        return attribute;
+    }
+
+    @Override
+    public void saveEntryIndex(QueryableEntry entry, Object oldRecordValue) throws QueryException {
+        IndexUpdateContext context = IndexUpdateContext.acquire(ss, extractors, entry, oldRecordValue);
+        try {
+            saveEntryIndex(entry, oldRecordValue, context);
+        } finally {
+            context.release();
+        }
+    }
+
+    @Override
+    public void saveEntryIndex(QueryableEntry entry, Object oldRecordValue, IndexUpdateContext context)
+            throws QueryException {
+        // the converter is initialized before the entry is indexed for the same reason as in IndexImpl
+        if (converter == null || converter == NULL_CONVERTER) {
+            converter = context.getConverter(attributeName);
+        }
+
+        Object newValue = context.extractValue(attributeName);
+        Object oldValue = oldRecordValue == null ? null : context.extractOldValue(attributeName);
+        int stripe = ordinals.stripeOf(entry.getKeyData());
+        Lock lock = ordinals.getLock(stripe).writeLock();
+        lock.lock();
+        try {
+            int ordinal = ordinals.assign(stripe, entry);
+            IndexStripe indexStripe = stripes[stripe];
+            if (oldRecordValue != null) {
+                indexStripe.unwrapAndRemove(oldValue, ordinal);
+            }
+            indexStripe.unwrapAndAdd(newValue, ordinal);
+            indexStripe.indexed.add(ordinal);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void removeEntryIndex(Data key, Object value) {
+        IndexUpdateContext context = IndexUpdateContext.acquire(ss, extractors, key, value, null);
+        try {
+            removeEntryIndex(key, context);
+        } finally {
+            context.release();
+        }
+    }
+
+    @Override
+    public void removeEntryIndex(Data key, IndexUpdateContext context) {
+        Object attributeValue = context.extractValue(attributeName);
+        int stripe = ordinals.stripeOf(key);
+        Lock lock = ordinals.getLock(stripe).writeLock();
+        lock.lock();
+        try {
+            int ordinal = ordinals.get(stripe, key);
+            if (ordinal < 0) {
+                return;
+            }
+            IndexStripe indexStripe = stripes[stripe];
+            indexStripe.unwrapAndRemove(attributeValue, ordinal);
+            indexStripe.indexed.remove(ordinal);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Comparable sanitizeValue(Object input) {
+        if (input == null) {
+            return IndexImpl.NULL;
+        }
+        if (!(input instanceof Comparable)) {
+            throw new IllegalArgumentException("It is not allowed to used a type that is not Comparable: "
+                    + input.getClass());
+        }
+        Comparable value = (Comparable) input;
+        return value.getClass().isEnum() ? TypeConverters.ENUM_CONVERTER.convert(value) : value;
+    }
+
+    /**
+     * Returns the bitmap of the entries of the stripe having the given value. The read lock of the stripe has to
+     * be held while the bitmap is used, the bitmap must not be modified.
+     */
+    public SparseBitmap getBitmap(int stripe, Comparable value) {
+        if (converter == null) {
+            return EMPTY;
+        }
+        SparseBitmap bitmap = stripes[stripe].bitmaps.get(converter.convert(value));
+        return bitmap == null ? EMPTY : bitmap;
+    }
+
+    /**
+     * Returns the bitmap of the entries of the stripe having any of the given values. The read lock of the stripe
+     * has to be held while the bitmap is used, the bitmap must not be modified.
+     */
+    public SparseBitmap getBitmap(int stripe, Comparable[] values) {
+        SparseBitmap result = EMPTY;
+        if (converter == null) {
+            return result;
+        }
+        Map<Comparable, SparseBitmap> bitmaps = stripes[stripe].bitmaps;
+        for (Comparable value : values) {
+            SparseBitmap bitmap = bitmaps.get(converter.convert(value));
+            if (bitmap != null) {
+                result = result.or(bitmap);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the bitmap of the entries of the stripe not having the given value, including the entries without
+     * value. The read lock of the stripe has to be held while the bitmap is used, the bitmap must not be modified.
+     */
+    public SparseBitmap getBitmapNotEqual(int stripe, Comparable value) {
+        IndexStripe indexStripe = stripes[stripe];
+        if (converter == null) {
+            return indexStripe.indexed;
+        }
+        SparseBitmap bitmap = indexStripe.bitmaps.get(converter.convert(value));
+        return bitmap == null ? indexStripe.indexed : indexStripe.indexed.andNot(bitmap);
+    }
+
+    /**
+     * Returns the bitmap of all entries of the stripe in this index. The read lock of the stripe has to be held
+     * while the bitmap is used, the bitmap must not be modified.
+     */
+    public SparseBitmap getBitmapOfAll(int stripe) {
+        return stripes[stripe].indexed;
+    }
+
+    /**
+     * Returns the ordinals the bitmaps of this index refer to.
+     */
+    public EntryOrdinals getOrdinals() {
+        return ordinals;
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(final Comparable[] values) {
+        return ordinals.query(new EntryOrdinals.StripeEvaluator() {
+            @Override
+            public SparseBitmap evaluate(int stripe) {
+                return getBitmap(stripe, values);
+            }
+        });
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(final Comparable value) {
+        return ordinals.query(new EntryOrdinals.StripeEvaluator() {
+            @Override
+            public SparseBitmap evaluate(int stripe) {
+                return getBitmap(stripe, value);
+            }
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<QueryableEntry> getSubRecordsBetween(Comparable from, Comparable to) {
+        if (converter == null) {
+            return Collections.EMPTY_SET;
+        }
+        final Comparable convertedFrom = converter.convert(from);
+        final Comparable convertedTo = converter.convert(to);
+        return ordinals.query(new EntryOrdinals.StripeEvaluator() {
+            @Override
+            public SparseBitmap evaluate(int stripe) {
+                SparseBitmap result = EMPTY;
+                for (Map.Entry<Comparable, SparseBitmap> entry : stripes[stripe].bitmaps.entrySet()) {
+                    Comparable value = entry.getKey();
+                    if (!(value instanceof IndexImpl.NullObject)
+                            && value.compareTo(convertedFrom) >= 0 && value.compareTo(convertedTo) <= 0) {
+                        result = result.or(entry.getValue());
+                    }
+                }
+                return result;
+            }
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<QueryableEntry> getSubRecords(final ComparisonType comparisonType, final Comparable searchedValue) {
+        if (converter == null) {
+            return Collections.EMPTY_SET;
+        }
+        if (comparisonType == ComparisonType.NOT_EQUAL) {
+            return ordinals.query(new EntryOrdinals.StripeEvaluator() {
+                @Override
+                public SparseBitmap evaluate(int stripe) {
+                    return getBitmapNotEqual(stripe, searchedValue);
+                }
+            });
+        }
+        final Comparable convertedValue = converter.convert(searchedValue);
+        return ordinals.query(new EntryOrdinals.StripeEvaluator() {
+            @Override
+            public SparseBitmap evaluate(int stripe) {
+                SparseBitmap result = EMPTY;
+                for (Map.Entry<Comparable, SparseBitmap> entry : stripes[stripe].bitmaps.entrySet()) {
+                    Comparable value = entry.getKey();
+                    if (!(value instanceof IndexImpl.NullObject)
+                            && matches(comparisonType, value.compareTo(convertedValue))) {
+                        result = result.or(entry.getValue());
+                    }
+                }
+                return result;
+            }
+        });
+    }
+
+    private static boolean matches(ComparisonType comparisonType, int comparison) {
+        switch (comparisonType) {
+            case LESSER:
+                return comparison < 0;
+            case LESSER_EQUAL:
+                return comparison <= 0;
+            case GREATER:
+                return comparison > 0;
+            case GREATER_EQUAL:
+                return comparison >= 0;
+            default:
+                throw new IllegalArgumentException("Unrecognized comparisonType: " + comparisonType);
+        }
+    }
+
+    @Override
+    public TypeConverter getConverter() {
+        return converter;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < stripes.length; i++) {
+            Lock lock = ordinals.getLock(i).writeLock();
+            lock.lock();
+            try {
+                stripes[i] = new IndexStripe();
+            } finally {
+                lock.unlock();
+            }
+        }
+        converter = null;
+    }
+
+    /**
+     * Returns the declaration of this index, e.g. {@code BITMAP(status)}, so that other members create the same index.
+     */
+    @Override
+    public String getAttributeName() {
+        return declaredName;
+    }
+
+    /**
+     * Returns the attribute indexed by this index.
+     */
+    public String getIndexedAttribute() {
+        return attributeName;
+    }
+
+    @Override
+    public boolean isOrdered() {
+        return false;
+    }
+
+    @Override
+    public IndexStats getStats() {
+        return stats;
+    }
+
+    /**
+     * The bitmaps of the entries of a stripe of the {@link EntryOrdinals}, guarded by the lock of the stripe.
+     */
+    private static final class IndexStripe {
+
+        private final Map<Comparable, SparseBitmap> bitmaps = new HashMap<Comparable, SparseBitmap>();
+        private final SparseBitmap indexed = new SparseBitmap();
+
+        void unwrapAndAdd(Object value, int ordinal) {
+            if (value instanceof MultiResult) {
+                for (Object result : ((MultiResult) value).getResults()) {
+                    add(sanitizeValue(result), ordinal);
+                }
+            } else {
+                add(sanitizeValue(value), ordinal);
+            }
+        }
+
+        void add(Comparable value, int ordinal) {
+            SparseBitmap bitmap = bitmaps.get(value);
+            if (bitmap == null) {
+                bitmap = new SparseBitmap();
+                bitmaps.put(value, bitmap);
+            }
+            bitmap.add(ordinal);
+        }
+
+        void unwrapAndRemove(Object value, int ordinal) {
+            if (value instanceof MultiResult) {
+                for (Object result : ((MultiResult) value).getResults()) {
+                    remove(sanitizeValue(result), ordinal);
+                }
+            } else {
+                remove(sanitizeValue(value), ordinal);
+            }
+        }
+
+        void remove(Comparable value, int ordinal) {
+            SparseBitmap bitmap = bitmaps.get(value);
+            if (bitmap != null) {
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    bitmaps.remove(value);
+                }
+            }
+        }
+    }
+}
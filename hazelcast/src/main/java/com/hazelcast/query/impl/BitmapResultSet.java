@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.AbstractSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The entries selected by the bitmaps of {@link EntryOrdinals}. The entries are materialized when the set
+ * is created, so the set doesn't depend on the ordinals, which may be reassigned afterwards. Membership is
+ * checked by the entry keys.
+ */
+class BitmapResultSet extends AbstractSet<QueryableEntry> {
+
+    private final QueryableEntry[] entries;
+    private Set<Data> keys;
+
+    BitmapResultSet(QueryableEntry[] entries) {
+        this.entries = entries;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof QueryableEntry)) {
+            return false;
+        }
+        if (keys == null) {
+            Set<Data> keySet = new HashSet<Data>(entries.length * 2);
+            for (QueryableEntry entry : entries) {
+                keySet.add(entry.getKeyData());
+            }
+            keys = keySet;
+        }
+        return keys.contains(((QueryableEntry) o).getKeyData());
+    }
+
+    @Override
+    public Iterator<QueryableEntry> iterator() {
+        return new Iterator<QueryableEntry>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < entries.length;
+            }
+
+            @Override
+            public QueryableEntry next() {
+                if (index == entries.length) {
+                    throw new NoSuchElementException();
+                }
+                return entries[index++];
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return entries.length;
+    }
+}
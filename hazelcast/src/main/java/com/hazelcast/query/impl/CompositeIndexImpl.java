@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.QueryException;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.getters.MultiResult;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.hazelcast.query.impl.TypeConverters.NULL_CONVERTER;
+
+/**
+ * An index on several attributes, declared as a comma separated list of the attributes, e.g. {@code "city,age"}.
+ * <p/>
+ * The entries are indexed by a {@link CompositeValue} made of the values of the attributes in the declared order.
+ * An ordered composite index answers the lookups having equality conditions on a prefix of the attributes and
+ * a range condition on the next attribute with a single range scan, see
+ * {@link #getSubRecords(CompositeValue, boolean, CompositeValue, boolean)}. An unordered one answers only
+ * equality conditions on all attributes.
+ */
+public class CompositeIndexImpl implements Index {
+
+    private final IndexStore indexStore;
+    private final String attributeName;
+    private final String[] components;
+    private final boolean ordered;
+
+    private final TypeConverter[] converters;
+    private volatile TypeConverter converter;
+
+    private final IndexStats stats = new IndexStats();
+    private final InternalSerializationService ss;
+    private final Extractors extractors;
+
+    public CompositeIndexImpl(String attributeName, boolean ordered, InternalSerializationService ss, Extractors extractors) {
+        this.attributeName = attributeName;
+        this.components = parseComponents(attributeName);
+        this.ordered = ordered;
+        this.ss = ss;
+        this.extractors = extractors;
+        this.indexStore = ordered ? new SortedIndexStore() : new UnsortedIndexStore();
+        this.converters = new TypeConverter[components.length];
+    }
+
+    /**
+     * Checks whether the given index attribute declares a composite index.
+     */
+    public static boolean isComposite(String attributeName) {
+        return attributeName.indexOf(',') >= 0;
+    }
+
+    private static String[] parseComponents(String attributeName) {
+        String[] components = attributeName.split(",");
+        if (components.length < 2) {
+            throw new IllegalArgumentException("A composite index needs at least two attributes: " + attributeName);
+        }
+        for (int i = 0; i < components.length; i++) {
+            components[i] = components[i].trim();
+            if (components[i].length() == 0) {
+                throw new IllegalArgumentException("Empty attribute in composite index: " + attributeName);
+            }
+        }
+        return components;
+    }
+
+    @Override
+    public void saveEntryIndex(QueryableEntry entry, Object oldRecordValue) throws QueryException {
+        IndexUpdateContext context = IndexUpdateContext.acquire(ss, extractors, entry, oldRecordValue);
+        try {
+            saveEntryIndex(entry, oldRecordValue, context);
+        } finally {
+            context.release();
+        }
+    }
+
+    @Override
+    public void saveEntryIndex(QueryableEntry entry, Object oldRecordValue, IndexUpdateContext context)
+            throws QueryException {
+        // the converters are initialized before the entry is indexed for the same reason as in IndexImpl
+        if (converter == null) {
+            initConverters(context);
+        }
+
+        CompositeValue newValue = extractValue(context, false);
+        if (oldRecordValue == null) {
+            indexStore.newIndex(newValue, entry);
+        } else {
+            CompositeValue oldValue = extractValue(context, true);
+            indexStore.updateIndex(oldValue, newValue, entry);
+        }
+    }
+
+    private void initConverters(IndexUpdateContext context) {
+        boolean initialized = true;
+        for (int i = 0; i < components.length; i++) {
+            if (converters[i] == null || converters[i] == NULL_CONVERTER) {
+                converters[i] = context.getConverter(components[i]);
+            }
+            initialized &= converters[i] != NULL_CONVERTER;
+        }
+        if (initialized) {
+            converter = new CompositeConverter(converters.clone());
+        }
+    }
+
+    @Override
+    public void removeEntryIndex(Data key, Object value) {
+        IndexUpdateContext context = IndexUpdateContext.acquire(ss, extractors, key, value, null);
+        try {
+            removeEntryIndex(key, context);
+        } finally {
+            context.release();
+        }
+    }
+
+    @Override
+    public void removeEntryIndex(Data key, IndexUpdateContext context) {
+        indexStore.removeIndex(extractValue(context, false), key);
+    }
+
+    private CompositeValue extractValue(IndexUpdateContext context, boolean oldValue) {
+        Comparable[] values = new Comparable[components.length];
+        for (int i = 0; i < components.length; i++) {
+            Object attributeValue = oldValue ? context.extractOldValue(components[i]) : context.extractValue(components[i]);
+            values[i] = sanitizeComponent(attributeValue);
+        }
+        return new CompositeValue(values);
+    }
+
+    private Comparable sanitizeComponent(Object attributeValue) {
+        if (attributeValue == null) {
+            return IndexImpl.NULL;
+        }
+        if (attributeValue instanceof MultiResult) {
+            throw new QueryException("Composite index " + attributeName + " can't index multi-value attributes");
+        }
+        if (!(attributeValue instanceof Comparable)) {
+            throw new IllegalArgumentException("It is not allowed to used a type that is not Comparable: "
+                    + attributeValue.getClass());
+        }
+        Comparable value = (Comparable) attributeValue;
+        return value.getClass().isEnum() ? TypeConverters.ENUM_CONVERTER.convert(value) : value;
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable[] values) {
+        if (values.length == 1) {
+            return getRecords(values[0]);
+        }
+        if (converter == null) {
+            return Collections.EMPTY_SET;
+        }
+        Set<Comparable> convertedValues = new HashSet<Comparable>(values.length);
+        for (Comparable value : values) {
+            convertedValues.add(converter.convert(value));
+        }
+        return indexStore.getRecords(convertedValues);
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        if (converter == null) {
+            return new SingleResultSet(null);
+        }
+        return indexStore.getRecords(converter.convert(value));
+    }
+
+    @Override
+    public Set<QueryableEntry> getSubRecordsBetween(Comparable from, Comparable to) {
+        if (converter == null) {
+            return Collections.EMPTY_SET;
+        }
+        return indexStore.getSubRecordsBetween(converter.convert(from), converter.convert(to));
+    }
+
+    @Override
+    public Set<QueryableEntry> getSubRecords(ComparisonType comparisonType, Comparable searchedValue) {
+        if (converter == null) {
+            return Collections.EMPTY_SET;
+        }
+        return indexStore.getSubRecords(comparisonType, converter.convert(searchedValue));
+    }
+
+    /**
+     * Returns the records whose composite values are in the given range. Only supported by ordered indexes, the
+     * {@link com.hazelcast.query.impl.predicates.CompositeIndexVisitor} never plans a range lookup of an unordered one.
+     */
+    public Set<QueryableEntry> getSubRecords(CompositeValue from, boolean fromInclusive,
+                                             CompositeValue to, boolean toInclusive) {
+        if (!ordered) {
+            throw new QueryException("Composite index " + attributeName + " is unordered, range lookups need an"
+                    + " ordered index");
+        }
+        if (converter == null) {
+            return Collections.EMPTY_SET;
+        }
+        return ((SortedIndexStore) indexStore).getSubRecords(converter.convert(from), fromInclusive,
+                converter.convert(to), toInclusive);
+    }
+
+    /**
+     * Returns the converter of the composite values, or {@code null} as long as the types of the attributes
+     * are not known.
+     */
+    @Override
+    public TypeConverter getConverter() {
+        return converter;
+    }
+
+    @Override
+    public void clear() {
+        indexStore.clear();
+        converter = null;
+        for (int i = 0; i < converters.length; i++) {
+            converters[i] = null;
+        }
+    }
+
+    @Override
+    public String getAttributeName() {
+        return attributeName;
+    }
+
+    /**
+     * Returns the indexed attributes in the order they are compared.
+     */
+    public String[] getComponents() {
+        return components;
+    }
+
+    @Override
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    @Override
+    public IndexStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Converts each component of a {@link CompositeValue} with the converter of its attribute.
+     */
+    private static final class CompositeConverter implements TypeConverter {
+
+        private final TypeConverter[] converters;
+
+        CompositeConverter(TypeConverter[] converters) {
+            this.converters = converters;
+        }
+
+        @Override
+        public Comparable convert(Comparable value) {
+            if (!(value instanceof CompositeValue)) {
+                throw new IllegalArgumentException("Composite indexes can only be queried with a CompositeValue: " + value);
+            }
+            Comparable[] components = ((CompositeValue) value).getComponents();
+            Comparable[] converted = new Comparable[components.length];
+            for (int i = 0; i < components.length; i++) {
+                Comparable component = components[i];
+                if (component == CompositeValue.NEGATIVE_INFINITY || component == CompositeValue.POSITIVE_INFINITY
+                        || component instanceof IndexImpl.NullObject) {
+                    converted[i] = component;
+                } else {
+                    converted[i] = converters[i].convert(component);
+                }
+            }
+            return new CompositeValue(converted);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.impl.predicates.PredicateDataSerializerHook;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The key of a composite index: the values of the indexed attributes, compared lexicographically.
+ * <p/>
+ * {@code null} attribute values are represented by {@link IndexImpl#NULL} and are lesser than any other value.
+ * The {@link #NEGATIVE_INFINITY} and {@link #POSITIVE_INFINITY} components are only used in the boundaries of
+ * range lookups, they are lesser respectively greater than any other value.
+ */
+public final class CompositeValue implements Comparable<CompositeValue>, IdentifiedDataSerializable {
+
+    /**
+     * Component lesser than any other value.
+     */
+    public static final Comparable NEGATIVE_INFINITY = new SpecialValue("-INF");
+
+    /**
+     * Component greater than any other value.
+     */
+    public static final Comparable POSITIVE_INFINITY = new SpecialValue("+INF");
+
+    private static final byte REGULAR_COMPONENT = 0;
+    private static final byte NEGATIVE_INFINITY_COMPONENT = 1;
+    private static final byte POSITIVE_INFINITY_COMPONENT = 2;
+
+    private Comparable[] components;
+
+    public CompositeValue() {
+    }
+
+    public CompositeValue(Comparable[] components) {
+        this.components = components;
+    }
+
+    public Comparable[] getComponents() {
+        return components;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int compareTo(CompositeValue that) {
+        int length = Math.min(components.length, that.components.length);
+        for (int i = 0; i < length; i++) {
+            int result = compareComponents(components[i], that.components[i]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return components.length - that.components.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareComponents(Comparable left, Comparable right) {
+        if (left == right) {
+            return 0;
+        }
+        if (left == NEGATIVE_INFINITY || right == POSITIVE_INFINITY) {
+            return -1;
+        }
+        if (left == POSITIVE_INFINITY || right == NEGATIVE_INFINITY) {
+            return 1;
+        }
+        if (left instanceof IndexImpl.NullObject) {
+            return right instanceof IndexImpl.NullObject ? 0 : -1;
+        }
+        if (right instanceof IndexImpl.NullObject) {
+            return 1;
+        }
+        return left.compareTo(right);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return Arrays.equals(components, ((CompositeValue) o).components);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(components);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(components);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return PredicateDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return PredicateDataSerializerHook.COMPOSITE_VALUE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(components.length);
+        for (Comparable component : components) {
+            if (component == NEGATIVE_INFINITY) {
+                out.writeByte(NEGATIVE_INFINITY_COMPONENT);
+            } else if (component == POSITIVE_INFINITY) {
+                out.writeByte(POSITIVE_INFINITY_COMPONENT);
+            } else {
+                out.writeByte(REGULAR_COMPONENT);
+                out.writeObject(component);
+            }
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        int length = in.readInt();
+        components = new Comparable[length];
+        for (int i = 0; i < length; i++) {
+            byte kind = in.readByte();
+            if (kind == NEGATIVE_INFINITY_COMPONENT) {
+                components[i] = NEGATIVE_INFINITY;
+            } else if (kind == POSITIVE_INFINITY_COMPONENT) {
+                components[i] = POSITIVE_INFINITY;
+            } else {
+                components[i] = in.readObject();
+            }
+        }
+    }
+
+    /**
+     * The infinite components; they are unique, so the same value is equal and any other value is lesser
+     * respectively greater.
+     */
+    private static final class SpecialValue implements Comparable {
+
+        private final String name;
+
+        SpecialValue(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public int compareTo(Object o) {
+            if (o == this) {
+                return 0;
+            }
+            return this == NEGATIVE_INFINITY ? -1 : 1;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
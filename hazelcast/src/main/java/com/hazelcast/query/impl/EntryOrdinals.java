@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.impl.bitmap.SparseBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.hazelcast.util.HashUtil.hashToIndex;
+
+/**
+ * Assigns a dense int ordinal to each indexed entry, shared by all the {@link BitmapIndexImpl}s of an
+ * {@link Indexes} instance so that their bitmaps can be combined.
+ * <p/>
+ * The entries are spread over stripes by the partition hash of their keys, so all keys of a partition share a
+ * stripe. Each stripe has its own ordinals and its own lock, which also guards the bitmaps the bitmap indexes keep
+ * for the stripe. Updates of entries in different stripes don't contend, and a query evaluates its bitmaps and
+ * materializes the entries stripe by stripe under the read lock of the stripe, so an ordinal can't be reassigned
+ * to another entry in between.
+ * <p/>
+ * The ordinals of removed entries are reused, keeping the ordinals dense and the bitmaps small.
+ */
+public class EntryOrdinals {
+
+    /**
+     * Evaluates the bitmap of the matching ordinals of a single stripe. Called with the read lock of the stripe
+     * held, the returned bitmap is only read while the lock is still held.
+     */
+    public interface StripeEvaluator {
+
+        SparseBitmap evaluate(int stripe);
+    }
+
+    private static final int DEFAULT_STRIPE_COUNT = 16;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Stripe[] stripes;
+
+    public EntryOrdinals() {
+        this(DEFAULT_STRIPE_COUNT);
+    }
+
+    public EntryOrdinals(int stripeCount) {
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Returns the stripe the given key belongs to.
+     */
+    public int stripeOf(Data key) {
+        return hashToIndex(key.getPartitionHash(), stripes.length);
+    }
+
+    /**
+     * Returns the lock guarding the ordinals of the given stripe and the bitmaps of the stripe.
+     */
+    public ReadWriteLock getLock(int stripe) {
+        return stripes[stripe].lock;
+    }
+
+    /**
+     * Returns the ordinal of the entry's key, assigning one if the key has none yet. The entry returned
+     * for the ordinal is replaced by the given one. The write lock of the stripe has to be held.
+     */
+    public int assign(int stripe, QueryableEntry entry) {
+        return stripes[stripe].assign(entry);
+    }
+
+    /**
+     * Returns the ordinal of the given key or -1 if it has none. A lock of the stripe has to be held.
+     */
+    public int get(int stripe, Data key) {
+        Integer ordinal = stripes[stripe].ordinals.get(key);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * Releases the ordinal of the given key. It has to be removed from all bitmaps before, since it will be reused.
+     */
+    public void release(Data key) {
+        Stripe stripe = stripes[stripeOf(key)];
+        stripe.lock.writeLock().lock();
+        try {
+            stripe.release(key);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the bitmap of all assigned ordinals of the stripe. A lock of the stripe has to be held; the bitmap
+     * must not be modified.
+     */
+    public SparseBitmap all(int stripe) {
+        return stripes[stripe].liveOrdinals;
+    }
+
+    /**
+     * Evaluates the bitmaps stripe by stripe and materializes the entries of the resulting ordinals, both under
+     * the read lock of the stripe.
+     */
+    public Set<QueryableEntry> query(StripeEvaluator evaluator) {
+        List<QueryableEntry> result = new ArrayList<QueryableEntry>();
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe stripe = stripes[i];
+            stripe.lock.readLock().lock();
+            try {
+                stripe.collectEntries(evaluator.evaluate(i), result);
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+        return new BitmapResultSet(result.toArray(new QueryableEntry[result.size()]));
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.writeLock().lock();
+            try {
+                stripe.clear();
+            } finally {
+                stripe.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static final class Stripe {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Data, Integer> ordinals = new HashMap<Data, Integer>();
+        private SparseBitmap freeOrdinals = new SparseBitmap();
+        private SparseBitmap liveOrdinals = new SparseBitmap();
+        private QueryableEntry[] entries = new QueryableEntry[INITIAL_CAPACITY];
+        private int nextOrdinal;
+
+        int assign(QueryableEntry entry) {
+            Data key = entry.getKeyData();
+            Integer ordinal = ordinals.get(key);
+            if (ordinal == null) {
+                int newOrdinal = freeOrdinals.next(0);
+                if (newOrdinal >= 0) {
+                    freeOrdinals.remove(newOrdinal);
+                } else {
+                    newOrdinal = nextOrdinal++;
+                    if (newOrdinal == entries.length) {
+                        entries = Arrays.copyOf(entries, entries.length * 2);
+                    }
+                }
+                liveOrdinals.add(newOrdinal);
+                ordinal = newOrdinal;
+                ordinals.put(key, ordinal);
+            }
+            entries[ordinal] = entry;
+            return ordinal;
+        }
+
+        void release(Data key) {
+            Integer ordinal = ordinals.remove(key);
+            if (ordinal != null) {
+                entries[ordinal] = null;
+                liveOrdinals.remove(ordinal);
+                freeOrdinals.add(ordinal);
+            }
+        }
+
+        void collectEntries(SparseBitmap bitmap, List<QueryableEntry> result) {
+            for (int ordinal = bitmap.next(0); ordinal >= 0; ordinal = bitmap.next(ordinal + 1)) {
+                QueryableEntry entry = ordinal < entries.length ? entries[ordinal] : null;
+                if (entry != null) {
+                    result.add(entry);
+                }
+            }
+        }
+
+        void clear() {
+            ordinals.clear();
+            Arrays.fill(entries, null);
+            nextOrdinal = 0;
+            liveOrdinals = new SparseBitmap();
+            freeOrdinals = new SparseBitmap();
+        }
+    }
+}
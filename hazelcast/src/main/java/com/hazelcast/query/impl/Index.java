@@ -37,6 +37,16 @@ public interface Index {
      */
     void saveEntryIndex(QueryableEntry e, Object oldValue) throws QueryException;
 
+    /**
+     * Add entry to this index, extracting the attribute values through the given context, which is shared by all
+     * indexes updated for the same entry.
+     * @param e entry
+     * @param oldValue or null if there is no old value
+     * @param context the context created for the entry and the old value
+     * @throws QueryException
+     */
+    void saveEntryIndex(QueryableEntry e, Object oldValue, IndexUpdateContext context) throws QueryException;
+
     /**
      * Return converter associated with this Index.
      * It can return <code>null</code> if no entry has been saved yet.
@@ -47,6 +57,14 @@ public interface Index {
 
     void removeEntryIndex(Data key, Object value);
 
+    /**
+     * Remove entry from this index, extracting the attribute values through the given context, which is shared by all
+     * indexes updated for the same entry.
+     * @param key key of the entry
+     * @param context the context created for the removed entry
+     */
+    void removeEntryIndex(Data key, IndexUpdateContext context);
+
     Set<QueryableEntry> getRecords(Comparable[] values);
 
     Set<QueryableEntry> getRecords(Comparable value);
@@ -58,4 +76,9 @@ public interface Index {
     String getAttributeName();
 
     boolean isOrdered();
+
+    /**
+     * Returns the statistics of the updates of this index.
+     */
+    IndexStats getStats();
 }
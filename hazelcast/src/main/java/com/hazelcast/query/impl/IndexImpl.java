@@ -43,6 +43,7 @@ public class IndexImpl implements Index {
 
     private volatile TypeConverter converter;
 
+    private final IndexStats stats = new IndexStats();
     private final InternalSerializationService ss;
     private final Extractors extractors;
 
@@ -56,6 +57,17 @@ public class IndexImpl implements Index {
 
     @Override
     public void saveEntryIndex(QueryableEntry entry, Object oldRecordValue) throws QueryException {
+        IndexUpdateContext context = IndexUpdateContext.acquire(ss, extractors, entry, oldRecordValue);
+        try {
+            saveEntryIndex(entry, oldRecordValue, context);
+        } finally {
+            context.release();
+        }
+    }
+
+    @Override
+    public void saveEntryIndex(QueryableEntry entry, Object oldRecordValue, IndexUpdateContext context)
+            throws QueryException {
         /*
          * At first, check if converter is not initialized, initialize it before saving an entry index
          * Because, if entity index is saved before,
@@ -64,26 +76,32 @@ public class IndexImpl implements Index {
          * this causes to class cast exceptions.
          */
         if (converter == null || converter == NULL_CONVERTER) {
-            converter = entry.getConverter(attributeName);
+            converter = context.getConverter(attributeName);
         }
 
-        Object newAttributeValue = extractAttributeValue(entry.getKeyData(), entry.getValue());
+        Object newAttributeValue = context.extractValue(attributeName);
         if (oldRecordValue == null) {
             indexStore.newIndex(newAttributeValue, entry);
         } else {
-            Object oldAttributeValue = extractAttributeValue(entry.getKeyData(), oldRecordValue);
+            Object oldAttributeValue = context.extractOldValue(attributeName);
             indexStore.updateIndex(oldAttributeValue, newAttributeValue, entry);
         }
     }
 
     @Override
     public void removeEntryIndex(Data key, Object value) {
-        Object attributeValue = extractAttributeValue(key, value);
-        indexStore.removeIndex(attributeValue, key);
+        IndexUpdateContext context = IndexUpdateContext.acquire(ss, extractors, key, value, null);
+        try {
+            removeEntryIndex(key, context);
+        } finally {
+            context.release();
+        }
     }
 
-    private Object extractAttributeValue(Data key, Object value) {
-        return QueryableEntry.extractAttributeValue(extractors, ss, attributeName, key, value);
+    @Override
+    public void removeEntryIndex(Data key, IndexUpdateContext context) {
+        Object attributeValue = context.extractValue(attributeName);
+        indexStore.removeIndex(attributeValue, key);
     }
 
     @Override
@@ -161,6 +179,11 @@ public class IndexImpl implements Index {
         return ordered;
     }
 
+    @Override
+    public IndexStats getStats() {
+        return stats;
+    }
+
     ConcurrentMap<Data, QueryableEntry> getRecordMap(Comparable indexValue) {
         return indexStore.getRecordMap(indexValue);
     }
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * The cost of maintaining an {@link Index}, registered as metrics under {@code map[<name>].index[<attribute>]}.
+ * <p/>
+ * The counters are updated by all partition threads; since every update takes the write lock of the index
+ * anyway, the shared counters add no significant contention.
+ */
+public final class IndexStats {
+
+    @Probe(name = "updateCount")
+    private final MwCounter updateCount = newMwCounter();
+    @Probe(name = "updateLatencyNanos")
+    private final MwCounter updateLatencyNanos = newMwCounter();
+    @Probe(name = "removeCount")
+    private final MwCounter removeCount = newMwCounter();
+    @Probe(name = "removeLatencyNanos")
+    private final MwCounter removeLatencyNanos = newMwCounter();
+
+    void onUpdate(long latencyNanos) {
+        updateCount.inc();
+        updateLatencyNanos.inc(latencyNanos);
+    }
+
+    void onRemove(long latencyNanos) {
+        removeCount.inc();
+        removeLatencyNanos.inc(latencyNanos);
+    }
+
+    /**
+     * Returns the number of entries added or updated in the index.
+     */
+    public long getUpdateCount() {
+        return updateCount.get();
+    }
+
+    /**
+     * Returns the total time spent adding or updating entries, in nanoseconds.
+     */
+    public long getUpdateLatencyNanos() {
+        return updateLatencyNanos.get();
+    }
+
+    /**
+     * Returns the number of entries removed from the index.
+     */
+    public long getRemoveCount() {
+        return removeCount.get();
+    }
+
+    /**
+     * Returns the total time spent removing entries, in nanoseconds.
+     */
+    public long getRemoveLatencyNanos() {
+        return removeLatencyNanos.get();
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.QueryException;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.getters.ReflectionHelper;
+
+import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
+import static com.hazelcast.query.impl.TypeConverters.IDENTITY_CONVERTER;
+import static com.hazelcast.query.impl.TypeConverters.NULL_CONVERTER;
+
+/**
+ * Extracts the attribute values of an entry for all the indexes updated for it. The key, the value and the old value
+ * are converted at most once into the objects the attributes are extracted from, instead of being deserialized
+ * again by every index.
+ * <p/>
+ * The contexts are reused by the threads updating the indexes, mostly the partition threads, see
+ * {@link #acquire(InternalSerializationService, Extractors, Data, Object, Object)}.
+ */
+public final class IndexUpdateContext {
+
+    private static final ThreadLocal<IndexUpdateContext> THREAD_CONTEXT = new ThreadLocal<IndexUpdateContext>() {
+        @Override
+        protected IndexUpdateContext initialValue() {
+            return new IndexUpdateContext();
+        }
+    };
+
+    private final Target key = new Target();
+    private final Target value = new Target();
+    private final Target oldValue = new Target();
+
+    private InternalSerializationService serializationService;
+    private Extractors extractors;
+    private boolean inUse;
+
+    private IndexUpdateContext() {
+    }
+
+    /**
+     * Returns the context of the current thread initialized with the given entry. It has to be released by
+     * {@link #release()} once the indexes are updated. If the context of the thread is in use already, a new
+     * one is returned.
+     *
+     * @param key      the key of the entry
+     * @param value    the value of the entry, either serialized or not
+     * @param oldValue the previous value of the entry, either serialized or not, or {@code null}
+     */
+    public static IndexUpdateContext acquire(InternalSerializationService serializationService, Extractors extractors,
+                                             Data key, Object value, Object oldValue) {
+        IndexUpdateContext context = THREAD_CONTEXT.get();
+        if (context.inUse) {
+            context = new IndexUpdateContext();
+        }
+        context.inUse = true;
+        context.serializationService = serializationService;
+        context.extractors = extractors;
+        context.key.init(key);
+        context.value.init(value);
+        context.oldValue.init(oldValue);
+        return context;
+    }
+
+    /**
+     * Returns the context of the current thread initialized with the given entry.
+     *
+     * @see #acquire(InternalSerializationService, Extractors, Data, Object, Object)
+     */
+    static IndexUpdateContext acquire(InternalSerializationService serializationService, Extractors extractors,
+                                      QueryableEntry entry, Object oldValue) {
+        return acquire(serializationService, extractors, entry.getKeyData(), entry.getTargetObject(false), oldValue);
+    }
+
+    /**
+     * Releases the references to the entry, the context may be reused afterwards.
+     */
+    public void release() {
+        key.init(null);
+        value.init(null);
+        oldValue.init(null);
+        serializationService = null;
+        extractors = null;
+        inUse = false;
+    }
+
+    /**
+     * Extracts the given attribute from the value of the entry.
+     */
+    public Object extractValue(String attributeName) throws QueryException {
+        return extract(attributeName, value);
+    }
+
+    /**
+     * Extracts the given attribute from the previous value of the entry.
+     */
+    public Object extractOldValue(String attributeName) throws QueryException {
+        return extract(attributeName, oldValue);
+    }
+
+    /**
+     * Returns the converter for the type of the given attribute of the value of the entry, like
+     * {@link QueryableEntry#getConverter(String)} does.
+     */
+    TypeConverter getConverter(String attributeName) {
+        Object attributeValue = extractValue(attributeName);
+        if (attributeValue == null) {
+            return NULL_CONVERTER;
+        }
+        AttributeType attributeType;
+        if (KEY_ATTRIBUTE_NAME.value().equals(attributeName) || THIS_ATTRIBUTE_NAME.value().equals(attributeName)) {
+            attributeType = ReflectionHelper.getAttributeType(attributeValue.getClass());
+        } else {
+            attributeType = QueryableEntry.extractAttributeType(attributeValue);
+        }
+        return attributeType == null ? IDENTITY_CONVERTER : attributeType.getConverter();
+    }
+
+    private Object extract(String attributeName, Target valueTarget) {
+        if (KEY_ATTRIBUTE_NAME.value().equals(attributeName)) {
+            return key.toObject(serializationService);
+        } else if (THIS_ATTRIBUTE_NAME.value().equals(attributeName)) {
+            return valueTarget.toObject(serializationService);
+        }
+        if (attributeName.startsWith(KEY_ATTRIBUTE_NAME.value())) {
+            String keyAttributeName = attributeName.substring(KEY_ATTRIBUTE_NAME.value().length() + 1);
+            return extractors.extract(serializationService, key.toTarget(serializationService), keyAttributeName);
+        }
+        return extractors.extract(serializationService, valueTarget.toTarget(serializationService), attributeName);
+    }
+
+    /**
+     * Caches the deserialized object and the extraction target of a key or value.
+     */
+    private static final class Target {
+        private Object original;
+        private Object object;
+        private Object target;
+        private boolean objectResolved;
+        private boolean targetResolved;
+
+        void init(Object original) {
+            this.original = original;
+            this.object = null;
+            this.target = null;
+            this.objectResolved = false;
+            this.targetResolved = false;
+        }
+
+        Object toObject(InternalSerializationService serializationService) {
+            if (!objectResolved) {
+                object = original instanceof Data ? serializationService.toObject(original) : original;
+                objectResolved = true;
+            }
+            return object;
+        }
+
+        Object toTarget(InternalSerializationService serializationService) {
+            if (!targetResolved) {
+                if (original instanceof Data && !((Data) original).isPortable()) {
+                    target = toObject(serializationService);
+                } else {
+                    target = original == null ? null : Extractors.getTargetObject(serializationService, original);
+                }
+                targetResolved = true;
+            }
+            return target;
+        }
+    }
+}
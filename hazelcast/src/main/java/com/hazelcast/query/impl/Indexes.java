@@ -16,6 +16,7 @@
 
 package com.hazelcast.query.impl;
 
+import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.IndexAwarePredicate;
@@ -33,28 +34,72 @@ import java.util.concurrent.atomic.AtomicReference;
  */
 public class Indexes {
     private static final Index[] EMPTY_INDEX = {};
+    private static final CompositeIndexImpl[] EMPTY_COMPOSITE_INDEX = {};
     private final ConcurrentMap<String, Index> mapIndexes = new ConcurrentHashMap<String, Index>(3);
     private final AtomicReference<Index[]> indexes = new AtomicReference<Index[]>(EMPTY_INDEX);
+    private final AtomicReference<CompositeIndexImpl[]> compositeIndexes
+            = new AtomicReference<CompositeIndexImpl[]>(EMPTY_COMPOSITE_INDEX);
     private volatile boolean hasIndex;
+    private volatile EntryOrdinals ordinals;
     private final InternalSerializationService serializationService;
     private Extractors extractors;
+    private final MetricsRegistry metricsRegistry;
+    private final String metricsPrefix;
 
     public Indexes(InternalSerializationService serializationService, Extractors extractors) {
+        this(serializationService, extractors, null, null);
+    }
+
+    /**
+     * Creates indexes whose {@link IndexStats} are registered in the given registry, under the given prefix followed
+     * by {@code .index[<attribute>]}.
+     */
+    public Indexes(InternalSerializationService serializationService, Extractors extractors,
+                   MetricsRegistry metricsRegistry, String metricsPrefix) {
         this.serializationService = serializationService;
         this.extractors = extractors;
+        this.metricsRegistry = metricsRegistry;
+        this.metricsPrefix = metricsPrefix;
     }
 
     public synchronized Index destroyIndex(String attribute) {
-        return mapIndexes.remove(attribute);
+        Index index = mapIndexes.remove(indexKey(attribute));
+        if (index != null && metricsRegistry != null) {
+            metricsRegistry.deregister(index.getStats());
+        }
+        return index;
     }
 
     public synchronized Index addOrGetIndex(String attribute, boolean ordered) {
-        Index index = mapIndexes.get(attribute);
+        String key = indexKey(attribute);
+        Index index = mapIndexes.get(key);
         if (index != null) {
+            if (index instanceof BitmapIndexImpl != BitmapIndexImpl.isBitmap(attribute)) {
+                throw new IllegalArgumentException("Index " + attribute + " conflicts with the existing index "
+                        + index.getAttributeName() + " on the same attribute");
+            }
             return index;
         }
-        index = new IndexImpl(attribute, ordered, serializationService, extractors);
-        mapIndexes.put(attribute, index);
+        if (BitmapIndexImpl.isBitmap(attribute)) {
+            if (ordinals == null) {
+                ordinals = new EntryOrdinals();
+            }
+            index = new BitmapIndexImpl(attribute, ordinals, serializationService, extractors);
+        } else if (CompositeIndexImpl.isComposite(attribute)) {
+            CompositeIndexImpl compositeIndex = new CompositeIndexImpl(attribute, ordered, serializationService, extractors);
+            CompositeIndexImpl[] oldCompositeIndexes = compositeIndexes.get();
+            CompositeIndexImpl[] newCompositeIndexes = new CompositeIndexImpl[oldCompositeIndexes.length + 1];
+            System.arraycopy(oldCompositeIndexes, 0, newCompositeIndexes, 0, oldCompositeIndexes.length);
+            newCompositeIndexes[oldCompositeIndexes.length] = compositeIndex;
+            compositeIndexes.set(newCompositeIndexes);
+            index = compositeIndex;
+        } else {
+            index = new IndexImpl(attribute, ordered, serializationService, extractors);
+        }
+        mapIndexes.put(key, index);
+        if (metricsRegistry != null) {
+            metricsRegistry.scanAndRegister(index.getStats(), metricsPrefix + ".index[" + attribute + "]");
+        }
         Object[] indexObjects = mapIndexes.values().toArray();
         Index[] newIndexes = new Index[indexObjects.length];
         for (int i = 0; i < indexObjects.length; i++) {
@@ -65,20 +110,57 @@ public class Indexes {
         return index;
     }
 
+    /**
+     * Bitmap indexes are registered under the attribute they index, so that the predicates on the attribute find them.
+     * So there is at most one index per attribute, a bitmap index conflicts with a regular index on the same attribute.
+     */
+    private static String indexKey(String attribute) {
+        return BitmapIndexImpl.isBitmap(attribute) ? BitmapIndexImpl.getIndexedAttribute(attribute) : attribute;
+    }
+
     public Index[] getIndexes() {
         return indexes.get();
     }
 
+    /**
+     * Returns the indexes on several attributes, they are also contained in {@link #getIndexes()}.
+     */
+    public CompositeIndexImpl[] getCompositeIndexes() {
+        return compositeIndexes.get();
+    }
+
     public void clearIndexes() {
+        if (metricsRegistry != null) {
+            for (Index index : indexes.get()) {
+                metricsRegistry.deregister(index.getStats());
+            }
+        }
         indexes.set(EMPTY_INDEX);
+        compositeIndexes.set(EMPTY_COMPOSITE_INDEX);
         mapIndexes.clear();
+        EntryOrdinals currentOrdinals = ordinals;
+        if (currentOrdinals != null) {
+            currentOrdinals.clear();
+        }
         hasIndex = false;
     }
 
     public void removeEntryIndex(Data key, Object value) throws QueryException {
         Index[] indexes = getIndexes();
-        for (Index index : indexes) {
-            index.removeEntryIndex(key, value);
+        IndexUpdateContext context = IndexUpdateContext.acquire(serializationService, extractors, key, value, null);
+        try {
+            for (Index index : indexes) {
+                long start = System.nanoTime();
+                index.removeEntryIndex(key, context);
+                index.getStats().onRemove(System.nanoTime() - start);
+            }
+        } finally {
+            context.release();
+        }
+        EntryOrdinals currentOrdinals = ordinals;
+        if (currentOrdinals != null) {
+            // released only after all bitmap indexes dropped the entry, since released ordinals are reused
+            currentOrdinals.release(key);
         }
     }
 
@@ -86,10 +168,20 @@ public class Indexes {
         return hasIndex;
     }
 
+    /**
+     * Adds the entry to all indexes. The key, value and old value are deserialized at most once for all indexes.
+     */
     public void saveEntryIndex(QueryableEntry queryableEntry, Object oldValue) throws QueryException {
         Index[] indexes = getIndexes();
-        for (Index index : indexes) {
-            index.saveEntryIndex(queryableEntry, oldValue);
+        IndexUpdateContext context = IndexUpdateContext.acquire(serializationService, extractors, queryableEntry, oldValue);
+        try {
+            for (Index index : indexes) {
+                long start = System.nanoTime();
+                index.saveEntryIndex(queryableEntry, oldValue, context);
+                index.getStats().onUpdate(System.nanoTime() - start);
+            }
+        } finally {
+            context.release();
         }
     }
 
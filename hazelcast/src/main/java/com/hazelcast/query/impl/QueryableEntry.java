@@ -174,7 +174,7 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
     }
 
 
-    private AttributeType extractAttributeType(Object attributeValue) {
+    static AttributeType extractAttributeType(Object attributeValue) {
         if (attributeValue instanceof MultiResult) {
             return extractAttributeTypeFromMultiResult((MultiResult) attributeValue);
         } else {
@@ -182,7 +182,7 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
         }
     }
 
-    private AttributeType extractAttributeTypeFromSingleResult(Object extractedSingleResult) {
+    private static AttributeType extractAttributeTypeFromSingleResult(Object extractedSingleResult) {
         if (extractedSingleResult == null) {
             return null;
         }
@@ -193,7 +193,7 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
 
     }
 
-    private AttributeType extractAttributeTypeFromMultiResult(MultiResult extractedMultiResult) {
+    private static AttributeType extractAttributeTypeFromMultiResult(MultiResult extractedMultiResult) {
         Object firstNonNullResult = null;
         for (Object result : extractedMultiResult.getResults()) {
             if (result != null) {
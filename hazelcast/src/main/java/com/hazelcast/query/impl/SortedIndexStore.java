@@ -101,6 +101,29 @@ public class SortedIndexStore extends BaseIndexStore {
         }
     }
 
+    /**
+     * Returns the records whose values are in the given range. An empty result is returned if {@code from} is
+     * greater than {@code to}.
+     */
+    @SuppressWarnings("unchecked")
+    public Set<QueryableEntry> getSubRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        takeReadLock();
+        try {
+            MultiResultSet results = createMultiResultSet();
+            if (from.compareTo(to) > 0) {
+                return results;
+            }
+            SortedMap<Comparable, ConcurrentMap<Data, QueryableEntry>> subMap =
+                    recordMap.subMap(from, fromInclusive, to, toInclusive);
+            for (ConcurrentMap<Data, QueryableEntry> value : subMap.values()) {
+                results.addResultSet(value);
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
     @Override
     public Set<QueryableEntry> getSubRecords(ComparisonType comparisonType, Comparable searchedValue) {
         takeReadLock();
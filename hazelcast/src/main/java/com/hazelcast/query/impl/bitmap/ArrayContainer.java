@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.bitmap;
+
+import java.util.Arrays;
+
+/**
+ * A {@link Container} of few values stored as a sorted {@code char[]}.
+ */
+final class ArrayContainer extends Container {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private char[] values;
+    private int cardinality;
+
+    ArrayContainer() {
+        this(new char[INITIAL_CAPACITY], 0);
+    }
+
+    ArrayContainer(char[] values, int cardinality) {
+        this.values = values;
+        this.cardinality = cardinality;
+    }
+
+    @Override
+    Container add(char value) {
+        int index = Arrays.binarySearch(values, 0, cardinality, value);
+        if (index >= 0) {
+            return this;
+        }
+        if (cardinality == ARRAY_MAX_CARDINALITY) {
+            return toBitset().add(value);
+        }
+        index = -index - 1;
+        if (cardinality == values.length) {
+            values = Arrays.copyOf(values, Math.min(Math.max(values.length * 2, INITIAL_CAPACITY), ARRAY_MAX_CARDINALITY));
+        }
+        System.arraycopy(values, index, values, index + 1, cardinality - index);
+        values[index] = value;
+        cardinality++;
+        return this;
+    }
+
+    @Override
+    Container remove(char value) {
+        int index = Arrays.binarySearch(values, 0, cardinality, value);
+        if (index >= 0) {
+            System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+            cardinality--;
+        }
+        return this;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    int next(int from) {
+        if (from > Character.MAX_VALUE) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(values, 0, cardinality, (char) from);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index < cardinality ? values[index] : -1;
+    }
+
+    @Override
+    Container copy() {
+        return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 1)), cardinality);
+    }
+
+    @Override
+    BitsetContainer toBitset() {
+        BitsetContainer bitset = new BitsetContainer();
+        for (int i = 0; i < cardinality; i++) {
+            bitset.add(values[i]);
+        }
+        return bitset;
+    }
+
+    @Override
+    Container and(Container other) {
+        char[] result = new char[Math.min(cardinality, other.cardinality())];
+        int size = 0;
+        if (other instanceof ArrayContainer) {
+            ArrayContainer that = (ArrayContainer) other;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality && j < that.cardinality) {
+                if (values[i] < that.values[j]) {
+                    i++;
+                } else if (values[i] > that.values[j]) {
+                    j++;
+                } else {
+                    result[size++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+        } else {
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    result[size++] = values[i];
+                }
+            }
+        }
+        return new ArrayContainer(result, size);
+    }
+
+    @Override
+    Container or(Container other) {
+        if (!(other instanceof ArrayContainer)) {
+            return other.or(this);
+        }
+        ArrayContainer that = (ArrayContainer) other;
+        if (cardinality + that.cardinality > ARRAY_MAX_CARDINALITY) {
+            return toBitset().or(that);
+        }
+        char[] result = new char[Math.max(cardinality + that.cardinality, 1)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < cardinality && j < that.cardinality) {
+            if (values[i] < that.values[j]) {
+                result[size++] = values[i++];
+            } else if (values[i] > that.values[j]) {
+                result[size++] = that.values[j++];
+            } else {
+                result[size++] = values[i];
+                i++;
+                j++;
+            }
+        }
+        while (i < cardinality) {
+            result[size++] = values[i++];
+        }
+        while (j < that.cardinality) {
+            result[size++] = that.values[j++];
+        }
+        return new ArrayContainer(result, size);
+    }
+
+    @Override
+    Container andNot(Container other) {
+        char[] result = new char[Math.max(cardinality, 1)];
+        int size = 0;
+        for (int i = 0; i < cardinality; i++) {
+            if (!other.contains(values[i])) {
+                result[size++] = values[i];
+            }
+        }
+        return new ArrayContainer(result, size);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.bitmap;
+
+/**
+ * A {@link Container} of many values stored as a bitset of 2^16 bits.
+ */
+final class BitsetContainer extends Container {
+
+    private static final int WORD_COUNT = 1024;
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+
+    private final long[] words;
+    private int cardinality;
+
+    BitsetContainer() {
+        this(new long[WORD_COUNT], 0);
+    }
+
+    private BitsetContainer(long[] words, int cardinality) {
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    @Override
+    Container add(char value) {
+        int index = value >>> ADDRESS_BITS_PER_WORD;
+        long word = words[index];
+        long newWord = word | (1L << value);
+        if (word != newWord) {
+            words[index] = newWord;
+            cardinality++;
+        }
+        return this;
+    }
+
+    @Override
+    Container remove(char value) {
+        int index = value >>> ADDRESS_BITS_PER_WORD;
+        long word = words[index];
+        long newWord = word & ~(1L << value);
+        if (word != newWord) {
+            words[index] = newWord;
+            cardinality--;
+            if (cardinality == ARRAY_MAX_CARDINALITY) {
+                return toArray();
+            }
+        }
+        return this;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return (words[value >>> ADDRESS_BITS_PER_WORD] & (1L << value)) != 0;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    int next(int from) {
+        int index = from >>> ADDRESS_BITS_PER_WORD;
+        if (index >= WORD_COUNT) {
+            return -1;
+        }
+        long word = words[index] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (index << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+            }
+            if (++index == WORD_COUNT) {
+                return -1;
+            }
+            word = words[index];
+        }
+    }
+
+    @Override
+    Container copy() {
+        return new BitsetContainer(words.clone(), cardinality);
+    }
+
+    @Override
+    BitsetContainer toBitset() {
+        return this;
+    }
+
+    private Container toArray() {
+        char[] values = new char[cardinality];
+        int size = 0;
+        for (int i = 0; i < WORD_COUNT; i++) {
+            long word = words[i];
+            while (word != 0) {
+                values[size++] = (char) ((i << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return new ArrayContainer(values, size);
+    }
+
+    @Override
+    Container and(Container other) {
+        if (other instanceof ArrayContainer) {
+            return other.and(this);
+        }
+        long[] otherWords = ((BitsetContainer) other).words;
+        long[] result = new long[WORD_COUNT];
+        int resultCardinality = 0;
+        for (int i = 0; i < WORD_COUNT; i++) {
+            result[i] = words[i] & otherWords[i];
+            resultCardinality += Long.bitCount(result[i]);
+        }
+        return normalize(result, resultCardinality);
+    }
+
+    @Override
+    Container or(Container other) {
+        long[] otherWords = other.toBitset().words;
+        long[] result = new long[WORD_COUNT];
+        int resultCardinality = 0;
+        for (int i = 0; i < WORD_COUNT; i++) {
+            result[i] = words[i] | otherWords[i];
+            resultCardinality += Long.bitCount(result[i]);
+        }
+        return new BitsetContainer(result, resultCardinality);
+    }
+
+    @Override
+    Container andNot(Container other) {
+        long[] otherWords = other.toBitset().words;
+        long[] result = new long[WORD_COUNT];
+        int resultCardinality = 0;
+        for (int i = 0; i < WORD_COUNT; i++) {
+            result[i] = words[i] & ~otherWords[i];
+            resultCardinality += Long.bitCount(result[i]);
+        }
+        return normalize(result, resultCardinality);
+    }
+
+    private static Container normalize(long[] words, int cardinality) {
+        BitsetContainer bitset = new BitsetContainer(words, cardinality);
+        return cardinality <= ARRAY_MAX_CARDINALITY ? bitset.toArray() : bitset;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.bitmap;
+
+/**
+ * Holds the lower 16 bits of the values of a {@link SparseBitmap} sharing the same upper 16 bits.
+ * <p/>
+ * The mutating methods return the container holding the result, which is a different instance when the
+ * representation changes, so callers have to replace their reference.
+ */
+abstract class Container {
+
+    /**
+     * Maximum cardinality of an {@link ArrayContainer}, above it a {@link BitsetContainer} takes less space.
+     */
+    static final int ARRAY_MAX_CARDINALITY = 4096;
+
+    abstract Container add(char value);
+
+    abstract Container remove(char value);
+
+    abstract boolean contains(char value);
+
+    abstract int cardinality();
+
+    /**
+     * Returns the smallest value greater than or equal to {@code from}, or -1 if there is none.
+     */
+    abstract int next(int from);
+
+    abstract Container copy();
+
+    abstract BitsetContainer toBitset();
+
+    abstract Container and(Container other);
+
+    abstract Container or(Container other);
+
+    abstract Container andNot(Container other);
+
+    boolean isEmpty() {
+        return cardinality() == 0;
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.bitmap;
+
+import java.util.Arrays;
+
+import static com.hazelcast.util.Preconditions.checkNotNegative;
+
+/**
+ * A compressed set of non-negative ints in the spirit of Roaring bitmaps.
+ * <p/>
+ * The values are partitioned by their upper 16 bits into containers holding the lower 16 bits: sparse containers
+ * are sorted arrays, dense ones are bitsets of 2^16 bits. So a bitmap of few values takes about 2 bytes per value
+ * and a dense one about 1 bit per value, and the set operations work container by container.
+ * <p/>
+ * The set operations return new instances and don't modify their operands. Instances are not thread safe.
+ */
+public final class SparseBitmap {
+
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int LOW_BITS = 16;
+    private static final int LOW_MASK = 0xFFFF;
+
+    private int[] keys;
+    private Container[] containers;
+    private int size;
+
+    public SparseBitmap() {
+        this(new int[INITIAL_CAPACITY], new Container[INITIAL_CAPACITY], 0);
+    }
+
+    private SparseBitmap(int[] keys, Container[] containers, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+    }
+
+    public void add(int value) {
+        checkNotNegative(value, "value can't be negative");
+        int key = value >>> LOW_BITS;
+        char low = (char) (value & LOW_MASK);
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index >= 0) {
+            containers[index] = containers[index].add(low);
+        } else {
+            insert(-index - 1, key, new ArrayContainer().add(low));
+        }
+    }
+
+    public void remove(int value) {
+        if (value < 0) {
+            return;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, value >>> LOW_BITS);
+        if (index < 0) {
+            return;
+        }
+        Container container = containers[index].remove((char) (value & LOW_MASK));
+        if (container.isEmpty()) {
+            removeAt(index);
+        } else {
+            containers[index] = container;
+        }
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, value >>> LOW_BITS);
+        return index >= 0 && containers[index].contains((char) (value & LOW_MASK));
+    }
+
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the smallest value greater than or equal to {@code from}, or -1 if there is none.
+     * The values are iterated as:
+     * <pre>
+     * for (int i = bitmap.next(0); i >= 0; i = bitmap.next(i + 1)) {
+     * }
+     * </pre>
+     */
+    public int next(int from) {
+        if (from < 0) {
+            return -1;
+        }
+        int key = from >>> LOW_BITS;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        int low = from & LOW_MASK;
+        if (index < 0) {
+            index = -index - 1;
+            low = 0;
+        }
+        for (; index < size; index++) {
+            int next = containers[index].next(keys[index] == key ? low : 0);
+            if (next >= 0) {
+                return (keys[index] << LOW_BITS) | next;
+            }
+        }
+        return -1;
+    }
+
+    public SparseBitmap copy() {
+        Container[] copies = new Container[Math.max(size, 1)];
+        for (int i = 0; i < size; i++) {
+            copies[i] = containers[i].copy();
+        }
+        return new SparseBitmap(Arrays.copyOf(keys, copies.length), copies, size);
+    }
+
+    /**
+     * Returns the values contained in both bitmaps.
+     */
+    public SparseBitmap and(SparseBitmap other) {
+        SparseBitmap result = new SparseBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.append(keys[i], containers[i].and(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the values contained in any of the bitmaps.
+     */
+    public SparseBitmap or(SparseBitmap other) {
+        SparseBitmap result = new SparseBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                result.append(keys[i], containers[i].copy());
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.append(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        for (; i < size; i++) {
+            result.append(keys[i], containers[i].copy());
+        }
+        for (; j < other.size; j++) {
+            result.append(other.keys[j], other.containers[j].copy());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the values contained in this bitmap but not in the other one.
+     */
+    public SparseBitmap andNot(SparseBitmap other) {
+        SparseBitmap result = new SparseBitmap();
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.size && other.keys[j] == keys[i]) {
+                result.append(keys[i], containers[i].andNot(other.containers[j]));
+            } else {
+                result.append(keys[i], containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    private void append(int key, Container container) {
+        if (!container.isEmpty()) {
+            insert(size, key, container);
+        }
+    }
+
+    private void insert(int index, int key, Container container) {
+        if (size == keys.length) {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void removeAt(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        size--;
+        containers[size] = null;
+    }
+
+    @Override
+    public String toString() {
+        return "SparseBitmap{cardinality=" + cardinality() + ", containers=" + size + '}';
+    }
+}
@@ -72,9 +72,12 @@ public final class Extractors {
     }
 
     /**
+     * Returns the object the attributes of the given target are extracted from. Passing the returned object to
+     * {@link #extract(InternalSerializationService, Object, String)} avoids converting the target on every extraction.
+     *
      * @return Data (in this case it's portable) or Object (in this case it's non-portable)
      */
-    private static Object getTargetObject(InternalSerializationService serializationService, Object target) {
+    public static Object getTargetObject(InternalSerializationService serializationService, Object target) {
         Data targetData;
         if (target instanceof Portable) {
             targetData = serializationService.toData(target);
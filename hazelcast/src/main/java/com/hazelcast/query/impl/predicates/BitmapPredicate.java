@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.IndexAwarePredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.BitmapIndexImpl;
+import com.hazelcast.query.impl.EntryOrdinals;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.QueryContext;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.bitmap.SparseBitmap;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evaluates a conjunction, disjunction or negation of predicates on bitmap indexed attributes as operations
+ * on the bitmaps of the indexes; the entries are materialized only for the resulting bitmap. It is only created
+ * by the {@link BitmapVisitor} as a replacement of the predicates it covers, it is never sent to other members.
+ * <p/>
+ * The operands are {@link EqualPredicate}s, {@link NotEqualPredicate}s and {@link InPredicate}s on bitmap indexed
+ * attributes or nested bitmap predicates. The bitmaps are evaluated stripe by stripe of the {@link EntryOrdinals},
+ * under the read lock of the stripe.
+ */
+final class BitmapPredicate implements IndexAwarePredicate {
+
+    enum Operator {
+        AND, OR, NOT
+    }
+
+    private final Operator operator;
+    private final Predicate[] operands;
+
+    BitmapPredicate(Operator operator, Predicate[] operands) {
+        this.operator = operator;
+        this.operands = operands;
+    }
+
+    /**
+     * Checks whether the given predicate can be evaluated on the bitmaps of the given indexes.
+     */
+    static boolean isEvaluable(Predicate predicate, Indexes indexes) {
+        if (predicate instanceof BitmapPredicate) {
+            return true;
+        }
+        if (predicate instanceof EqualPredicate || predicate instanceof InPredicate) {
+            return indexes.getIndex(((AbstractPredicate) predicate).attributeName) instanceof BitmapIndexImpl;
+        }
+        return false;
+    }
+
+    @Override
+    public Set<QueryableEntry> filter(final QueryContext queryContext) {
+        BitmapIndexImpl anyIndex = findAnyIndex(queryContext);
+        return anyIndex.getOrdinals().query(new EntryOrdinals.StripeEvaluator() {
+            @Override
+            public SparseBitmap evaluate(int stripe) {
+                return BitmapPredicate.this.evaluate(queryContext, stripe);
+            }
+        });
+    }
+
+    @Override
+    public boolean isIndexed(QueryContext queryContext) {
+        for (Predicate operand : operands) {
+            if (operand instanceof BitmapPredicate) {
+                if (!((BitmapPredicate) operand).isIndexed(queryContext)) {
+                    return false;
+                }
+            } else if (!(queryContext.getIndex(((AbstractPredicate) operand).attributeName) instanceof BitmapIndexImpl)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private SparseBitmap evaluate(QueryContext queryContext, int stripe) {
+        switch (operator) {
+            case AND:
+                SparseBitmap intersection = evaluate(operands[0], queryContext, stripe);
+                for (int i = 1; i < operands.length && !intersection.isEmpty(); i++) {
+                    intersection = intersection.and(evaluate(operands[i], queryContext, stripe));
+                }
+                return intersection;
+            case OR:
+                SparseBitmap union = evaluate(operands[0], queryContext, stripe);
+                for (int i = 1; i < operands.length; i++) {
+                    union = union.or(evaluate(operands[i], queryContext, stripe));
+                }
+                return union;
+            case NOT:
+                SparseBitmap all = findAnyIndex(queryContext).getOrdinals().all(stripe);
+                return all.andNot(evaluate(operands[0], queryContext, stripe));
+            default:
+                throw new IllegalStateException("Unknown operator: " + operator);
+        }
+    }
+
+    private static SparseBitmap evaluate(Predicate operand, QueryContext queryContext, int stripe) {
+        if (operand instanceof BitmapPredicate) {
+            return ((BitmapPredicate) operand).evaluate(queryContext, stripe);
+        }
+        if (operand instanceof InPredicate) {
+            InPredicate in = (InPredicate) operand;
+            return getIndex(in, queryContext).getBitmap(stripe, in.values);
+        }
+        EqualPredicate equal = (EqualPredicate) operand;
+        BitmapIndexImpl index = getIndex(equal, queryContext);
+        if (equal instanceof NotEqualPredicate) {
+            return index.getBitmapNotEqual(stripe, equal.value);
+        }
+        return index.getBitmap(stripe, equal.value);
+    }
+
+    private static BitmapIndexImpl getIndex(AbstractPredicate predicate, QueryContext queryContext) {
+        return (BitmapIndexImpl) queryContext.getIndex(predicate.attributeName);
+    }
+
+    private BitmapIndexImpl findAnyIndex(QueryContext queryContext) {
+        Predicate operand = operands[0];
+        if (operand instanceof BitmapPredicate) {
+            return ((BitmapPredicate) operand).findAnyIndex(queryContext);
+        }
+        return getIndex((AbstractPredicate) operand, queryContext);
+    }
+
+    @Override
+    public boolean apply(Map.Entry mapEntry) {
+        switch (operator) {
+            case AND:
+                for (Predicate operand : operands) {
+                    if (!operand.apply(mapEntry)) {
+                        return false;
+                    }
+                }
+                return true;
+            case OR:
+                for (Predicate operand : operands) {
+                    if (operand.apply(mapEntry)) {
+                        return true;
+                    }
+                }
+                return false;
+            case NOT:
+                return !operands[0].apply(mapEntry);
+            default:
+                throw new IllegalStateException("Unknown operator: " + operator);
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (operator == Operator.NOT) {
+            return "BITMAP NOT(" + operands[0] + ")";
+        }
+        StringBuilder sb = new StringBuilder("BITMAP(");
+        for (int i = 0; i < operands.length; i++) {
+            if (i > 0) {
+                sb.append(' ').append(operator).append(' ');
+            }
+            sb.append(operands[i]);
+        }
+        return sb.append(')').toString();
+    }
+}
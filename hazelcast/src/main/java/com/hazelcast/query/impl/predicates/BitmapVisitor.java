@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.util.collection.ArrayUtils;
+
+import static com.hazelcast.query.impl.predicates.BitmapPredicate.isEvaluable;
+import static com.hazelcast.util.collection.ArrayUtils.createCopy;
+
+/**
+ * Rewrites the conjunctions, disjunctions and negations of predicates on bitmap indexed attributes into a
+ * {@link BitmapPredicate}, so they are evaluated on the bitmaps instead of intersecting or merging sets of entries.
+ *
+ * Given bitmap indexes on status and region:
+ * (status = X and region in (Y, Z) and age > 10) is rewritten into (BITMAP(status = X AND region in (Y, Z)) and age > 10),
+ * not(status = X or region = Y) is rewritten into BITMAP NOT(BITMAP(status = X OR region = Y)).
+ *
+ * A disjunction is rewritten only if all its inner predicates can be evaluated on the bitmaps, a conjunction
+ * if at least two of them can be. The predicates are visited bottom-up, so nested expressions are combined too.
+ */
+public class BitmapVisitor extends AbstractVisitor {
+
+    private static final int MINIMUM_NUMBER_OF_AND_TO_REPLACE = 2;
+
+    @Override
+    public Predicate visit(AndPredicate andPredicate, Indexes indexes) {
+        Predicate[] originalPredicates = andPredicate.predicates;
+        int evaluableCount = 0;
+        for (Predicate predicate : originalPredicates) {
+            if (isEvaluable(predicate, indexes)) {
+                evaluableCount++;
+            }
+        }
+        if (evaluableCount < MINIMUM_NUMBER_OF_AND_TO_REPLACE) {
+            return andPredicate;
+        }
+
+        Predicate[] operands = new Predicate[evaluableCount];
+        Predicate[] target = createCopy(originalPredicates);
+        int firstPosition = -1;
+        int operandCount = 0;
+        for (int i = 0; i < target.length; i++) {
+            if (isEvaluable(target[i], indexes)) {
+                operands[operandCount++] = target[i];
+                target[i] = null;
+                if (firstPosition < 0) {
+                    firstPosition = i;
+                }
+            }
+        }
+        BitmapPredicate bitmapPredicate = new BitmapPredicate(BitmapPredicate.Operator.AND, operands);
+        if (evaluableCount == originalPredicates.length) {
+            return bitmapPredicate;
+        }
+        target[firstPosition] = bitmapPredicate;
+        Predicate[] newPredicates = new Predicate[originalPredicates.length - evaluableCount + 1];
+        ArrayUtils.copyWithoutNulls(target, newPredicates);
+        return new AndPredicate(newPredicates);
+    }
+
+    @Override
+    public Predicate visit(OrPredicate orPredicate, Indexes indexes) {
+        Predicate[] originalPredicates = orPredicate.predicates;
+        for (Predicate predicate : originalPredicates) {
+            if (!isEvaluable(predicate, indexes)) {
+                return orPredicate;
+            }
+        }
+        return new BitmapPredicate(BitmapPredicate.Operator.OR, originalPredicates);
+    }
+
+    @Override
+    public Predicate visit(NotPredicate notPredicate, Indexes indexes) {
+        if (!isEvaluable(notPredicate.predicate, indexes)) {
+            return notPredicate;
+        }
+        return new BitmapPredicate(BitmapPredicate.Operator.NOT, new Predicate[]{notPredicate.predicate});
+    }
+}
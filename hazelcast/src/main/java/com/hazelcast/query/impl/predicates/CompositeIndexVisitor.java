@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.CompositeIndexImpl;
+import com.hazelcast.query.impl.CompositeValue;
+import com.hazelcast.query.impl.IndexImpl;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.util.collection.ArrayUtils;
+
+import java.util.Arrays;
+
+import static com.hazelcast.query.impl.CompositeValue.NEGATIVE_INFINITY;
+import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
+import static com.hazelcast.util.collection.ArrayUtils.createCopy;
+
+/**
+ * Rewrites the inner predicates of an AndPredicate covered by a composite index into a single lookup of the index.
+ *
+ * Given a composite index on (city, age):
+ * (city = X and age = Y) is rewritten into a lookup of the key (X, Y), and with an ordered index
+ * (city = X and age > Y) is rewritten into a range scan from (X, Y) exclusive to (X, +INF).
+ *
+ * The equality predicates have to cover a prefix of the attributes of the index; the next attribute may be
+ * covered by a single GreaterLessPredicate or BetweenPredicate if the index is ordered. A range scan over a prefix
+ * only is used if the prefix has at least two attributes. The remaining inner predicates are kept as they are.
+ * When several composite indexes match, the one covering the most predicates is used.
+ *
+ * This visitor runs after the {@link BetweenVisitor}, so (age >= 5 and age <= 10) has already become a
+ * single BetweenPredicate.
+ */
+public class CompositeIndexVisitor extends AbstractVisitor {
+
+    private static final int MINIMUM_PREFIX_FOR_PREFIX_SCAN = 2;
+
+    @Override
+    public Predicate visit(AndPredicate andPredicate, Indexes indexes) {
+        CompositeIndexImpl[] compositeIndexes = indexes.getCompositeIndexes();
+        if (compositeIndexes == null || compositeIndexes.length == 0) {
+            return andPredicate;
+        }
+
+        Predicate[] originalPredicates = andPredicate.predicates;
+        Match bestMatch = null;
+        for (CompositeIndexImpl index : compositeIndexes) {
+            if (index.getConverter() == null) {
+                // nothing indexed yet, the types of the attributes are unknown
+                continue;
+            }
+            Match match = match(index, originalPredicates);
+            if (match != null && (bestMatch == null || match.positions.length > bestMatch.positions.length)) {
+                bestMatch = match;
+            }
+        }
+        if (bestMatch == null) {
+            return andPredicate;
+        }
+        return rewrite(originalPredicates, bestMatch);
+    }
+
+    private Match match(CompositeIndexImpl index, Predicate[] predicates) {
+        String[] components = index.getComponents();
+        int[] positions = new int[components.length];
+        Comparable[] prefix = new Comparable[components.length];
+
+        int prefixLength = 0;
+        while (prefixLength < components.length) {
+            int position = findEqualPredicate(predicates, components[prefixLength]);
+            if (position < 0) {
+                break;
+            }
+            positions[prefixLength] = position;
+            prefix[prefixLength] = sanitize(((EqualPredicate) predicates[position]).value);
+            prefixLength++;
+        }
+
+        if (prefixLength == components.length) {
+            CompositeValue key = new CompositeValue(prefix);
+            return new Match(index, positions, key, true, key, true, predicates);
+        }
+        if (prefixLength == 0 || !index.isOrdered()) {
+            return null;
+        }
+
+        int rangePosition = findRangePredicate(predicates, components[prefixLength]);
+        if (rangePosition < 0) {
+            if (prefixLength < MINIMUM_PREFIX_FOR_PREFIX_SCAN) {
+                return null;
+            }
+            CompositeValue from = bound(prefix, prefixLength, null, NEGATIVE_INFINITY);
+            CompositeValue to = bound(prefix, prefixLength, null, POSITIVE_INFINITY);
+            return new Match(index, Arrays.copyOf(positions, prefixLength), from, true, to, true, predicates);
+        }
+
+        int[] usedPositions = Arrays.copyOf(positions, prefixLength + 1);
+        usedPositions[prefixLength] = rangePosition;
+        Predicate rangePredicate = predicates[rangePosition];
+        if (rangePredicate instanceof BetweenPredicate) {
+            BetweenPredicate between = (BetweenPredicate) rangePredicate;
+            CompositeValue from = bound(prefix, prefixLength, between.from, NEGATIVE_INFINITY);
+            CompositeValue to = bound(prefix, prefixLength, between.to, POSITIVE_INFINITY);
+            return new Match(index, usedPositions, from, true, to, true, predicates);
+        }
+
+        GreaterLessPredicate greaterLess = (GreaterLessPredicate) rangePredicate;
+        if (greaterLess.less) {
+            // (prefix, NULL) is excluded: null values never match a comparison
+            CompositeValue from = bound(prefix, prefixLength, IndexImpl.NULL, POSITIVE_INFINITY);
+            CompositeValue to = bound(prefix, prefixLength, greaterLess.value,
+                    greaterLess.equal ? POSITIVE_INFINITY : NEGATIVE_INFINITY);
+            return new Match(index, usedPositions, from, false, to, greaterLess.equal, predicates);
+        } else {
+            CompositeValue from = bound(prefix, prefixLength, greaterLess.value,
+                    greaterLess.equal ? NEGATIVE_INFINITY : POSITIVE_INFINITY);
+            CompositeValue to = bound(prefix, prefixLength, null, POSITIVE_INFINITY);
+            return new Match(index, usedPositions, from, greaterLess.equal, to, true, predicates);
+        }
+    }
+
+    /**
+     * Creates a boundary made of the prefix, followed by the given value, if any, and the given filler for
+     * the remaining components.
+     */
+    private static CompositeValue bound(Comparable[] prefix, int prefixLength, Comparable value, Comparable filler) {
+        Comparable[] components = new Comparable[prefix.length];
+        System.arraycopy(prefix, 0, components, 0, prefixLength);
+        int next = prefixLength;
+        if (value != null) {
+            components[next++] = value;
+        }
+        for (int i = next; i < components.length; i++) {
+            components[i] = filler;
+        }
+        return new CompositeValue(components);
+    }
+
+    private static Comparable sanitize(Comparable value) {
+        return value == null ? IndexImpl.NULL : value;
+    }
+
+    private static int findEqualPredicate(Predicate[] predicates, String attributeName) {
+        for (int i = 0; i < predicates.length; i++) {
+            Predicate predicate = predicates[i];
+            // NotEqualPredicate extends EqualPredicate
+            if (predicate.getClass() == EqualPredicate.class
+                    && attributeName.equals(((EqualPredicate) predicate).attributeName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int findRangePredicate(Predicate[] predicates, String attributeName) {
+        for (int i = 0; i < predicates.length; i++) {
+            Predicate predicate = predicates[i];
+            if ((predicate instanceof GreaterLessPredicate || predicate instanceof BetweenPredicate)
+                    && attributeName.equals(((AbstractPredicate) predicate).attributeName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Predicate rewrite(Predicate[] originalPredicates, Match match) {
+        Predicate[] target = createCopy(originalPredicates);
+        int firstPosition = Integer.MAX_VALUE;
+        for (int position : match.positions) {
+            target[position] = null;
+            firstPosition = Math.min(firstPosition, position);
+        }
+        target[firstPosition] = match.predicate;
+
+        int newSize = originalPredicates.length - match.positions.length + 1;
+        if (newSize == 1) {
+            return match.predicate;
+        }
+        Predicate[] newPredicates = new Predicate[newSize];
+        ArrayUtils.copyWithoutNulls(target, newPredicates);
+        return new AndPredicate(newPredicates);
+    }
+
+    /**
+     * The inner predicates covered by a composite index and their replacement.
+     */
+    private static final class Match {
+        private final int[] positions;
+        private final Predicate predicate;
+
+        Match(CompositeIndexImpl index, int[] positions, CompositeValue from, boolean fromInclusive,
+              CompositeValue to, boolean toInclusive, Predicate[] predicates) {
+            boolean pointLookup = fromInclusive && toInclusive && from.equals(to);
+            if (!pointLookup && !index.isOrdered()) {
+                throw new IllegalArgumentException("Composite index " + index.getAttributeName()
+                        + " is unordered, it can't be used for a range lookup");
+            }
+            this.positions = positions;
+            Predicate[] replaced = new Predicate[positions.length];
+            for (int i = 0; i < positions.length; i++) {
+                replaced[i] = predicates[positions[i]];
+            }
+            this.predicate = new CompositeRangePredicate(index.getAttributeName(), from, fromInclusive, to, toInclusive,
+                    replaced);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.IndexAwarePredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.CompositeIndexImpl;
+import com.hazelcast.query.impl.CompositeValue;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.QueryContext;
+import com.hazelcast.query.impl.QueryableEntry;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Looks up a range of a {@link CompositeIndexImpl}. It is only created by the {@link CompositeIndexVisitor}
+ * as a replacement of the predicates it covers, it is never sent to other members.
+ * <p/>
+ * When the index is not available anymore, the replaced predicates are evaluated instead.
+ */
+final class CompositeRangePredicate implements IndexAwarePredicate {
+
+    private final String indexName;
+    private final CompositeValue from;
+    private final boolean fromInclusive;
+    private final CompositeValue to;
+    private final boolean toInclusive;
+    private final Predicate[] replacedPredicates;
+
+    CompositeRangePredicate(String indexName, CompositeValue from, boolean fromInclusive, CompositeValue to,
+                            boolean toInclusive, Predicate[] replacedPredicates) {
+        this.indexName = indexName;
+        this.from = from;
+        this.fromInclusive = fromInclusive;
+        this.to = to;
+        this.toInclusive = toInclusive;
+        this.replacedPredicates = replacedPredicates;
+    }
+
+    @Override
+    public Set<QueryableEntry> filter(QueryContext queryContext) {
+        CompositeIndexImpl index = (CompositeIndexImpl) queryContext.getIndex(indexName);
+        if (isPointLookup()) {
+            return index.getRecords(from);
+        }
+        return index.getSubRecords(from, fromInclusive, to, toInclusive);
+    }
+
+    @Override
+    public boolean isIndexed(QueryContext queryContext) {
+        Index index = queryContext.getIndex(indexName);
+        return index instanceof CompositeIndexImpl && (index.isOrdered() || isPointLookup());
+    }
+
+    private boolean isPointLookup() {
+        return fromInclusive && toInclusive && from.equals(to);
+    }
+
+    @Override
+    public boolean apply(Map.Entry mapEntry) {
+        for (Predicate predicate : replacedPredicates) {
+            if (!predicate.apply(mapEntry)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + indexName + ") in " + (fromInclusive ? "[" : "(") + from + ", " + to + (toInclusive ? "]" : ")");
+    }
+}
@@ -24,6 +24,7 @@ import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.SqlPredicate;
 import com.hazelcast.query.TruePredicate;
+import com.hazelcast.query.impl.CompositeValue;
 import com.hazelcast.query.impl.FalsePredicate;
 import com.hazelcast.util.ConstructorFunction;
 
@@ -67,7 +68,9 @@ public class PredicateDataSerializerHook
 
     public static final int PAGING_PREDICATE = 15;
 
-    public static final int LEN = 16;
+    public static final int COMPOSITE_VALUE = 16;
+
+    public static final int LEN = 17;
 
     @Override
     public int getFactoryId() {
@@ -158,6 +161,11 @@ public class PredicateDataSerializerHook
                 return new PagingPredicate();
             }
         };
+        constructors[COMPOSITE_VALUE] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new CompositeValue();
+            }
+        };
 
         return new ArrayDataSerializableFactory(constructors);
     }
@@ -21,6 +21,7 @@ import com.hazelcast.instance.NodeExtension;
 import com.hazelcast.internal.metrics.MetricsProvider;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.ThreadAffinity;
 import com.hazelcast.internal.util.collection.MPSCQueue;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.LoggingService;
@@ -42,8 +43,11 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static com.hazelcast.internal.util.ThreadAffinity.newThreadAffinity;
+import static com.hazelcast.spi.properties.GroupProperty.GENERIC_OPERATION_THREAD_AFFINITY;
 import static com.hazelcast.spi.properties.GroupProperty.GENERIC_OPERATION_THREAD_COUNT;
 import static com.hazelcast.spi.properties.GroupProperty.PARTITION_COUNT;
+import static com.hazelcast.spi.properties.GroupProperty.PARTITION_OPERATION_THREAD_AFFINITY;
 import static com.hazelcast.spi.properties.GroupProperty.PARTITION_OPERATION_THREAD_COUNT;
 import static com.hazelcast.spi.properties.GroupProperty.PRIORITY_GENERIC_OPERATION_THREAD_COUNT;
 import static com.hazelcast.util.Preconditions.checkNotNull;
@@ -92,6 +96,8 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
     private final Address thisAddress;
     private final OperationRunner adHocOperationRunner;
     private final int priorityThreadCount;
+    private final ThreadAffinity partitionThreadAffinity;
+    private final ThreadAffinity genericThreadAffinity;
 
     public OperationExecutorImpl(HazelcastProperties properties,
                                  LoggingService loggerService,
@@ -103,6 +109,8 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
         this.logger = loggerService.getLogger(OperationExecutorImpl.class);
 
         this.adHocOperationRunner = operationRunnerFactory.createAdHocRunner();
+        this.partitionThreadAffinity = newThreadAffinity(properties, PARTITION_OPERATION_THREAD_AFFINITY);
+        this.genericThreadAffinity = newThreadAffinity(properties, GENERIC_OPERATION_THREAD_AFFINITY);
 
         this.partitionOperationRunners = initPartitionOperationRunners(properties, operationRunnerFactory);
         this.partitionThreads = initPartitionThreads(properties, threadGroup, nodeExtension);
@@ -123,7 +131,9 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
 
     private OperationRunner[] initGenericOperationRunners(HazelcastProperties properties, OperationRunnerFactory runnerFactory) {
         int threadCount = properties.getInteger(GENERIC_OPERATION_THREAD_COUNT);
-        if (threadCount <= 0) {
+        if (genericThreadAffinity.isEnabled()) {
+            threadCount = genericThreadAffinity.getThreadCount();
+        } else if (threadCount <= 0) {
             // default generic operation thread count
             int coreSize = Runtime.getRuntime().availableProcessors();
             threadCount = Math.max(2, coreSize / 2);
@@ -141,7 +151,9 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
                                                             NodeExtension nodeExtension) {
 
         int threadCount = properties.getInteger(PARTITION_OPERATION_THREAD_COUNT);
-        if (threadCount <= 0) {
+        if (partitionThreadAffinity.isEnabled()) {
+            threadCount = partitionThreadAffinity.getThreadCount();
+        } else if (threadCount <= 0) {
             // default partition operation thread count
             int coreSize = Runtime.getRuntime().availableProcessors();
             threadCount = Math.max(2, coreSize);
@@ -156,6 +168,7 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
 
             PartitionOperationThread partitionThread = new PartitionOperationThread(threadName, threadId, operationQueue, logger,
                     threadGroup, nodeExtension, partitionOperationRunners);
+            partitionThread.setAllowedCpus(partitionThreadAffinity.getAllowedCpus(threadId));
 
             threads[threadId] = partitionThread;
             normalQueue.setConsumerThread(partitionThread);
@@ -189,6 +202,9 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
             GenericOperationThread operationThread = new GenericOperationThread(
                     threadName, threadIndex, genericQueue, logger, threadGroup, nodeExtension, operationRunner, priority);
 
+            if (!priority) {
+                operationThread.setAllowedCpus(genericThreadAffinity.getAllowedCpus(threadIndex - priorityThreadCount));
+            }
             threads[threadIndex] = operationThread;
             operationRunner.setCurrentThread(operationThread);
 
@@ -21,6 +21,7 @@ import com.hazelcast.instance.NodeExtension;
 import com.hazelcast.internal.metrics.MetricsProvider;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.ThreadAffinity;
 import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Packet;
@@ -29,6 +30,7 @@ import com.hazelcast.spi.impl.PartitionSpecificRunnable;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
 import com.hazelcast.util.executor.HazelcastManagedThread;
 
+import java.util.BitSet;
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.instance.OutOfMemoryErrorDispatcher.inspectOutOfMemoryError;
@@ -69,6 +71,8 @@ public abstract class OperationThread extends HazelcastManagedThread implements
     private final NodeExtension nodeExtension;
     private final ILogger logger;
     private volatile boolean shutdown;
+    // set before the thread is started
+    private BitSet allowedCpus;
 
     public OperationThread(String name, int threadId, OperationQueue queue, ILogger logger, HazelcastThreadGroup threadGroup,
                            NodeExtension nodeExtension, boolean priority) {
@@ -85,10 +89,20 @@ public abstract class OperationThread extends HazelcastManagedThread implements
         return threadId;
     }
 
+    /**
+     * Sets the CPUs this thread will bind itself to once started.
+     *
+     * @param allowedCpus the allowed CPUs, {@code null} to not bind the thread
+     */
+    public void setAllowedCpus(BitSet allowedCpus) {
+        this.allowedCpus = allowedCpus;
+    }
+
     public abstract OperationRunner getOperationRunner(int partitionId);
 
     @Override
     public final void run() {
+        ThreadAffinity.bindCurrentThread(allowedCpus, logger);
         nodeExtension.onThreadStart(this);
         try {
             while (!shutdown) {
@@ -17,10 +17,12 @@
 package com.hazelcast.spi.impl.operationservice.impl;
 
 import com.hazelcast.instance.HazelcastThreadGroup;
+import com.hazelcast.internal.metrics.LongProbeFunction;
 import com.hazelcast.internal.metrics.MetricsProvider;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.util.collection.MPSCQueue;
+import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Packet;
 import com.hazelcast.spi.impl.PacketHandler;
@@ -32,12 +34,20 @@ import com.hazelcast.util.concurrent.BusySpinIdleStrategy;
 import com.hazelcast.util.concurrent.IdleStrategy;
 
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import static com.hazelcast.instance.OutOfMemoryErrorDispatcher.inspectOutOfMemoryError;
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static com.hazelcast.nio.Bits.BOOLEAN_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.readLongB;
 import static com.hazelcast.nio.Packet.FLAG_OP;
 import static com.hazelcast.nio.Packet.FLAG_RESPONSE;
+import static com.hazelcast.nio.Packet.FLAG_RESPONSE_BATCH;
 import static com.hazelcast.util.EmptyStatement.ignore;
+import static com.hazelcast.util.HashUtil.fastLongMix;
+import static com.hazelcast.util.HashUtil.hashToIndex;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 import static com.hazelcast.util.Preconditions.checkTrue;
 import static java.util.concurrent.TimeUnit.MICROSECONDS;
@@ -53,29 +63,67 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
  * The reason that the IO thread doesn't immediately deals with the response is that deserializing the
  * {@link com.hazelcast.spi.impl.operationservice.impl.responses.Response} and let the invocation-future
  * deal with the response can be rather expensive currently.
+ *
+ * The number of ResponseThreads is configured with {@link #RESPONSE_THREAD_COUNT}. With more than one thread, a
+ * response is assigned to a thread based on its call id, which is read from the packet without deserializing it. A
+ * batch of responses (see {@link ResponseBatcher}) is assigned by the call id of its first response only, so the
+ * normal response and the backup acknowledgements of one invocation can still be processed by different threads.
+ * The {@link Invocation} handles them concurrently anyway, like responses arriving from different members on
+ * different IO threads. With 0 threads the response is processed directly on the IO thread, which avoids the
+ * handoff but lets the IO thread pay for the processing.
+ *
+ * Each ResponseThread publishes its queue size and a histogram of the time it takes to process a response.
  */
 public class AsyncResponseHandler implements PacketHandler, MetricsProvider {
 
     public static final HazelcastProperty IDLE_STRATEGY
             = new HazelcastProperty("hazelcast.operation.responsequeue.idlestrategy", "block");
 
+    /**
+     * The number of threads processing the responses. If set to 0, the responses are processed on the IO threads.
+     */
+    public static final HazelcastProperty RESPONSE_THREAD_COUNT
+            = new HazelcastProperty("hazelcast.operation.response.thread.count", 1);
+
+    // the offset of the call id in a serialized Response, see DataSerializableSerializer and Response.writeData
+    static final int CALL_ID_OFFSET = HeapData.DATA_OFFSET + BOOLEAN_SIZE_IN_BYTES + INT_SIZE_IN_BYTES + INT_SIZE_IN_BYTES;
+    // the offset of the call id of the first Response in a batch: the number of responses, the length and the type id
+    // of the response precede it, see ResponseBatcher and InternalSerializationService.writeObject
+    static final int BATCH_CALL_ID_OFFSET = INT_SIZE_IN_BYTES + INT_SIZE_IN_BYTES + INT_SIZE_IN_BYTES
+            + BOOLEAN_SIZE_IN_BYTES + INT_SIZE_IN_BYTES + INT_SIZE_IN_BYTES;
+
     private static final long IDLE_MAX_SPINS = 20;
     private static final long IDLE_MAX_YIELDS = 50;
     private static final long IDLE_MIN_PARK_NS = NANOSECONDS.toNanos(1);
     private static final long IDLE_MAX_PARK_NS = MICROSECONDS.toNanos(100);
 
-    final ResponseThread responseThread;
+    final ResponseThread[] responseThreads;
     private final ILogger logger;
+    private final PacketHandler responsePacketHandler;
 
     AsyncResponseHandler(HazelcastThreadGroup threadGroup, ILogger logger, PacketHandler responsePacketHandler,
                          HazelcastProperties properties) {
         this.logger = logger;
-        this.responseThread = new ResponseThread(threadGroup, responsePacketHandler, properties);
+        this.responsePacketHandler = responsePacketHandler;
+
+        int threadCount = properties.getInteger(RESPONSE_THREAD_COUNT);
+        if (threadCount < 0) {
+            throw new IllegalArgumentException(RESPONSE_THREAD_COUNT.getName() + " can't be smaller than 0");
+        }
+        this.responseThreads = new ResponseThread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            String name = threadCount == 1 ? "response" : "response-" + i;
+            responseThreads[i] = new ResponseThread(threadGroup, name, responsePacketHandler, properties);
+        }
     }
 
     @Probe(name = "responseQueueSize", level = MANDATORY)
     public int getQueueSize() {
-        return responseThread.responseQueue.size();
+        int size = 0;
+        for (ResponseThread responseThread : responseThreads) {
+            size += responseThread.responseQueue.size();
+        }
+        return size;
     }
 
     @Override
@@ -84,20 +132,57 @@ public class AsyncResponseHandler implements PacketHandler, MetricsProvider {
         checkTrue(packet.isFlagSet(FLAG_OP), "FLAG_OP should be set");
         checkTrue(packet.isFlagSet(FLAG_RESPONSE), "FLAG_RESPONSE should be set");
 
-        responseThread.responseQueue.add(packet);
+        if (responseThreads.length == 0) {
+            try {
+                responsePacketHandler.handle(packet);
+            } catch (Throwable e) {
+                inspectOutOfMemoryError(e);
+                logger.severe("Failed to process response: " + packet + " on:" + Thread.currentThread().getName(), e);
+            }
+            return;
+        }
+
+        responseThreads[threadIndex(packet)].responseQueue.add(packet);
+    }
+
+    /**
+     * Selects the ResponseThread based on the call id of the response, or of the first response of a batch. The other
+     * responses of a batch don't affect the selection.
+     */
+    int threadIndex(Packet packet) {
+        if (responseThreads.length == 1) {
+            return 0;
+        }
+
+        byte[] payload = packet.toByteArray();
+        int offset = packet.isFlagSet(FLAG_RESPONSE_BATCH) ? BATCH_CALL_ID_OFFSET : CALL_ID_OFFSET;
+        if (payload == null || payload.length < offset + LONG_SIZE_IN_BYTES) {
+            return 0;
+        }
+        long callId = readLongB(payload, offset);
+        return hashToIndex((int) fastLongMix(callId), responseThreads.length);
     }
 
     @Override
     public void provideMetrics(MetricsRegistry metricsRegistry) {
         metricsRegistry.scanAndRegister(this, "operation");
+        for (ResponseThread responseThread : responseThreads) {
+            String prefix = "operation.responseThread[" + responseThread.getName() + "]";
+            metricsRegistry.scanAndRegister(responseThread, prefix);
+            responseThread.latency.provideMetrics(metricsRegistry, prefix);
+        }
     }
 
     public void start() {
-        responseThread.start();
+        for (ResponseThread responseThread : responseThreads) {
+            responseThread.start();
+        }
     }
 
     public void shutdown() {
-        responseThread.shutdown();
+        for (ResponseThread responseThread : responseThreads) {
+            responseThread.shutdown();
+        }
     }
 
     public static IdleStrategy getIdleStrategy(HazelcastProperties properties, HazelcastProperty property) {
@@ -119,14 +204,17 @@ public class AsyncResponseHandler implements PacketHandler, MetricsProvider {
      */
     final class ResponseThread extends Thread implements OperationHostileThread {
 
+        @Probe(name = "responseQueueSize")
         private final BlockingQueue<Packet> responseQueue;
         private final PacketHandler responsePacketHandler;
+        private final LatencyHistogram latency = new LatencyHistogram();
         private volatile boolean shutdown;
 
         private ResponseThread(HazelcastThreadGroup threadGroup,
+                               String name,
                                PacketHandler responsePacketHandler,
                                HazelcastProperties properties) {
-            super(threadGroup.getInternalThreadGroup(), threadGroup.getThreadNamePrefix("response"));
+            super(threadGroup.getInternalThreadGroup(), threadGroup.getThreadNamePrefix(name));
             setContextClassLoader(threadGroup.getClassLoader());
             this.responsePacketHandler = responsePacketHandler;
             this.responseQueue = new MPSCQueue<Packet>(this, getIdleStrategy(properties, IDLE_STRATEGY));
@@ -147,12 +235,14 @@ public class AsyncResponseHandler implements PacketHandler, MetricsProvider {
         private void doRun() throws InterruptedException {
             while (!shutdown) {
                 Packet response = responseQueue.take();
+                long startNanos = System.nanoTime();
                 try {
                     responsePacketHandler.handle(response);
                 } catch (Throwable e) {
                     inspectOutOfMemoryError(e);
                     logger.severe("Failed to process response: " + response + " on:" + getName(), e);
                 }
+                latency.record(System.nanoTime() - startNanos);
             }
         }
 
@@ -161,4 +251,45 @@ public class AsyncResponseHandler implements PacketHandler, MetricsProvider {
             interrupt();
         }
     }
+
+    /**
+     * A histogram of the time it takes to process a response, in decades of microseconds. It is written only by its
+     * ResponseThread.
+     */
+    static final class LatencyHistogram {
+
+        private static final String[] BUCKET_NAMES = {
+                "latency[<1us]", "latency[1-10us]", "latency[10-100us]", "latency[100us-1ms]", "latency[1-10ms]",
+                "latency[>=10ms]",
+        };
+        private static final long NANOS_PER_MICRO = 1000;
+        private static final int DECADE = 10;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_NAMES.length);
+
+        void record(long durationNanos) {
+            int bucket = 0;
+            for (long bound = NANOS_PER_MICRO; durationNanos >= bound && bucket < BUCKET_NAMES.length - 1; bound *= DECADE) {
+                bucket++;
+            }
+            buckets.lazySet(bucket, buckets.get(bucket) + 1);
+        }
+
+        long get(int bucket) {
+            return buckets.get(bucket);
+        }
+
+        void provideMetrics(MetricsRegistry metricsRegistry, String prefix) {
+            for (int i = 0; i < BUCKET_NAMES.length; i++) {
+                final int bucket = i;
+                metricsRegistry.register(this, prefix + "." + BUCKET_NAMES[i], MANDATORY,
+                        new LongProbeFunction<LatencyHistogram>() {
+                            @Override
+                            public long get(LatencyHistogram histogram) {
+                                return histogram.get(bucket);
+                            }
+                        });
+            }
+        }
+    }
 }
@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.util.HashUtil.fastLongMix;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * A concurrent map from call ids to values which doesn't box the keys, used by the {@link InvocationRegistry} to
+ * track the pending invocations.
+ *
+ * The map is split in segments. Each segment is an open addressing hash table with linear probing, stored in an
+ * {@link AtomicLongArray} with the keys and an {@link AtomicReferenceArray} with the values, so a registration or
+ * deregistration doesn't allocate. Updates lock the segment; {@link #get(long)} doesn't lock.
+ *
+ * Removed slots are marked as removed, so that a concurrent lookup never misses an entry which is still present. When
+ * the slot after a removed one is empty, the removed slots are cleared to keep the probe sequences short. A segment is
+ * rehashed into a new table once the used and removed slots exceed half of its capacity; lookups in progress keep
+ * reading the old table.
+ *
+ * Call ids 0 (no call id) and {@link Long#MIN_VALUE} are reserved.
+ *
+ * @param <V> the type of the values
+ */
+final class CallIdMap<V> implements Iterable<Map.Entry<Long, V>> {
+
+    static final int MIN_SEGMENT_CAPACITY = 16;
+
+    private static final long EMPTY = 0;
+    private static final long REMOVED = Long.MIN_VALUE;
+    private static final int LOAD_FACTOR_DIVISOR = 2;
+    private static final int HASH_BITS = 32;
+
+    private final Segment<V>[] segments;
+    private final int segmentMask;
+
+    /**
+     * @param expectedSize     the expected maximum number of entries, used to size the tables upfront
+     * @param concurrencyLevel the expected number of concurrently updating threads, used to determine the number
+     *                         of segments
+     */
+    @SuppressWarnings("unchecked")
+    CallIdMap(int expectedSize, int concurrencyLevel) {
+        int segmentCount = nextPowerOfTwo(Math.max(1, concurrencyLevel));
+        int segmentCapacity = nextPowerOfTwo(Math.max(MIN_SEGMENT_CAPACITY,
+                (int) Math.min(Integer.MAX_VALUE >> 1, (long) expectedSize * LOAD_FACTOR_DIVISOR / segmentCount)));
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<V>(segmentCapacity);
+        }
+        this.segmentMask = segmentCount - 1;
+    }
+
+    /**
+     * Returns the value of the given call id, without locking.
+     *
+     * @param callId the call id
+     * @return the value or null if there is none
+     */
+    V get(long callId) {
+        long hash = fastLongMix(callId);
+        Table<V> table = segmentFor(hash).table;
+        int mask = table.mask;
+        for (int index = slot(hash, mask); ; index = (index + 1) & mask) {
+            long key = table.keys.get(index);
+            if (key == callId) {
+                V value = table.values.get(index);
+                // the slot could have been removed and reused between reading the key and the value
+                return table.keys.get(index) == callId ? value : null;
+            }
+            if (key == EMPTY) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Associates the value with the given call id.
+     *
+     * @param callId the call id
+     * @param value  the value
+     * @return the previous value or null if there was none
+     * @throws IllegalArgumentException if the call id is reserved
+     */
+    V put(long callId, V value) {
+        if (callId == EMPTY || callId == REMOVED) {
+            throw new IllegalArgumentException("Call id " + callId + " is reserved");
+        }
+        checkNotNull(value, "value can't be null");
+        long hash = fastLongMix(callId);
+        return segmentFor(hash).put(hash, callId, value);
+    }
+
+    /**
+     * Removes the value of the given call id.
+     *
+     * @param callId the call id
+     * @return the removed value or null if there was none
+     */
+    V remove(long callId) {
+        long hash = fastLongMix(callId);
+        return segmentFor(hash).remove(hash, callId, null);
+    }
+
+    /**
+     * Removes the value of the given call id if it is mapped to the given value.
+     *
+     * @param callId the call id
+     * @param value  the expected value
+     * @return true if the value was removed, false otherwise
+     */
+    boolean remove(long callId, V value) {
+        long hash = fastLongMix(callId);
+        return segmentFor(hash).remove(hash, callId, value) != null;
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the entries. The entries are snapshots; removing through the iterator
+     * only removes the entry if the call id is still mapped to the same value.
+     */
+    @Override
+    public Iterator<Map.Entry<Long, V>> iterator() {
+        return new EntryIterator();
+    }
+
+    private Segment<V> segmentFor(long hash) {
+        return segments[(int) hash & segmentMask];
+    }
+
+    private static int slot(long hash, int mask) {
+        return (int) (hash >>> HASH_BITS) & mask;
+    }
+
+    private static final class Table<V> {
+
+        final AtomicLongArray keys;
+        final AtomicReferenceArray<V> values;
+        final int mask;
+
+        Table(int capacity) {
+            this.keys = new AtomicLongArray(capacity);
+            this.values = new AtomicReferenceArray<V>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+    }
+
+    private static final class Segment<V> {
+
+        volatile Table<V> table;
+        volatile int size;
+        // guarded by this
+        private int removed;
+
+        Segment(int capacity) {
+            this.table = new Table<V>(capacity);
+        }
+
+        synchronized V put(long hash, long callId, V value) {
+            Table<V> table = this.table;
+            if ((size + removed + 1) * LOAD_FACTOR_DIVISOR > table.capacity()) {
+                table = rehash(table);
+            }
+
+            int mask = table.mask;
+            int firstRemoved = -1;
+            int index = slot(hash, mask);
+            for (; ; index = (index + 1) & mask) {
+                long key = table.keys.get(index);
+                if (key == callId) {
+                    return table.values.getAndSet(index, value);
+                }
+                if (key == EMPTY) {
+                    break;
+                }
+                if (key == REMOVED && firstRemoved == -1) {
+                    firstRemoved = index;
+                }
+            }
+
+            if (firstRemoved != -1) {
+                index = firstRemoved;
+                removed--;
+            }
+            // the value is published before the key, so a lookup finding the key also finds the value
+            table.values.set(index, value);
+            table.keys.set(index, callId);
+            size++;
+            return null;
+        }
+
+        synchronized V remove(long hash, long callId, V expected) {
+            Table<V> table = this.table;
+            int mask = table.mask;
+            for (int index = slot(hash, mask); ; index = (index + 1) & mask) {
+                long key = table.keys.get(index);
+                if (key == EMPTY) {
+                    return null;
+                }
+                if (key != callId) {
+                    continue;
+                }
+
+                V value = table.values.get(index);
+                if (expected != null && expected != value) {
+                    return null;
+                }
+                table.values.set(index, null);
+                markRemoved(table, index);
+                size--;
+                return value;
+            }
+        }
+
+        /**
+         * Marks the slot as removed. If the next slot is empty, no probe sequence runs through this slot anymore, so
+         * it and the removed slots before it are cleared instead.
+         */
+        private void markRemoved(Table<V> table, int index) {
+            int mask = table.mask;
+            if (table.keys.get((index + 1) & mask) != EMPTY) {
+                table.keys.set(index, REMOVED);
+                removed++;
+                return;
+            }
+
+            table.keys.set(index, EMPTY);
+            for (int i = (index - 1) & mask; table.keys.get(i) == REMOVED; i = (i - 1) & mask) {
+                table.keys.set(i, EMPTY);
+                removed--;
+            }
+        }
+
+        private Table<V> rehash(Table<V> oldTable) {
+            int capacity = oldTable.capacity();
+            if ((size + 1) * LOAD_FACTOR_DIVISOR * 2 > capacity) {
+                capacity <<= 1;
+            }
+
+            Table<V> newTable = new Table<V>(capacity);
+            int mask = newTable.mask;
+            for (int i = 0; i < oldTable.capacity(); i++) {
+                long key = oldTable.keys.get(i);
+                if (key == EMPTY || key == REMOVED) {
+                    continue;
+                }
+                int index = slot(fastLongMix(key), mask);
+                while (newTable.keys.get(index) != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                newTable.values.set(index, oldTable.values.get(i));
+                newTable.keys.set(index, key);
+            }
+            removed = 0;
+            table = newTable;
+            return newTable;
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<Long, V>> {
+
+        private int segmentIndex;
+        private Table<V> table = segments[0].table;
+        private int slot = -1;
+        private Map.Entry<Long, V> next;
+        private Map.Entry<Long, V> current;
+
+        EntryIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<Long, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            advance();
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            CallIdMap.this.remove(current.getKey(), current.getValue());
+            current = null;
+        }
+
+        private void advance() {
+            next = null;
+            for (; ; ) {
+                while (++slot < table.capacity()) {
+                    long key = table.keys.get(slot);
+                    V value = table.values.get(slot);
+                    if (key != EMPTY && key != REMOVED && value != null && table.keys.get(slot) == key) {
+                        next = new AbstractMap.SimpleImmutableEntry<Long, V>(key, value);
+                        return;
+                    }
+                }
+                if (++segmentIndex == segments.length) {
+                    return;
+                }
+                table = segments[segmentIndex].table;
+                slot = -1;
+            }
+        }
+    }
+}
@@ -23,11 +23,10 @@ import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.logging.ILogger;
 
+import java.util.AbstractSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
 import static com.hazelcast.spi.Operation.CALL_ID_LOCAL_SKIPPED;
@@ -41,6 +40,10 @@ import static com.hazelcast.spi.OperationAccessor.setCallId;
  * {@link com.hazelcast.spi.impl.operationservice.impl.responses.Response} comes in, the
  * appropriate invocation can be looked up.
  * <p/>
+ * The invocations are stored in a {@link CallIdMap}, so registering and deregistering doesn't box the call id and
+ * looking up the invocation of a response doesn't lock. The map is sized upfront for the maximum number of concurrent
+ * invocations when back-pressure is enabled.
+ * <p/>
  * Some idea's:
  * - use an ringbuffer to store all invocations instead of a CHM. The call-id can be used as sequence-id for this
  * ringbuffer. It can be that you run in slots that have not been released; if that happens, just keep increasing
@@ -51,18 +54,18 @@ import static com.hazelcast.spi.OperationAccessor.setCallId;
 public class InvocationRegistry implements Iterable<Invocation>, MetricsProvider {
 
     private static final int INITIAL_CAPACITY = 1000;
-    private static final float LOAD_FACTOR = 0.75f;
     private static final double HUNDRED_PERCENT = 100d;
 
-    @Probe(name = "invocations.pending", level = MANDATORY)
-    private final ConcurrentMap<Long, Invocation> invocations;
+    private final CallIdMap<Invocation> invocations;
     private final ILogger logger;
     private final CallIdSequence callIdSequence;
 
     public InvocationRegistry(ILogger logger, CallIdSequence callIdSequence, int concurrencyLevel) {
         this.logger = logger;
         this.callIdSequence = callIdSequence;
-        this.invocations = new ConcurrentHashMap<Long, Invocation>(INITIAL_CAPACITY, LOAD_FACTOR, concurrencyLevel);
+        int maxConcurrentInvocations = callIdSequence.getMaxConcurrentInvocations();
+        int expectedSize = maxConcurrentInvocations == Integer.MAX_VALUE ? INITIAL_CAPACITY : maxConcurrentInvocations;
+        this.invocations = new CallIdMap<Invocation>(expectedSize, concurrencyLevel);
     }
 
     @Override
@@ -132,22 +135,50 @@ public class InvocationRegistry implements Iterable<Invocation>, MetricsProvider
      *
      * @return the number of pending invocations.
      */
+    @Probe(name = "invocations.pending", level = MANDATORY)
     public int size() {
         return invocations.size();
     }
 
     @Override
     public Iterator<Invocation> iterator() {
-        return invocations.values().iterator();
+        final Iterator<Map.Entry<Long, Invocation>> iterator = invocations.iterator();
+        return new Iterator<Invocation>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Invocation next() {
+                return iterator.next().getValue();
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+            }
+        };
     }
 
     /**
-     * Intention to expose the entry set is to mutate it.
+     * Intention to expose the entry set is to mutate it. The set is a weakly consistent view; removing an entry
+     * through its iterator only removes the invocation if it is still registered under the same call id.
      *
      * @return set of invocations in this registry
      */
     public Set<Map.Entry<Long, Invocation>> entrySet() {
-        return invocations.entrySet();
+        return new AbstractSet<Map.Entry<Long, Invocation>>() {
+            @Override
+            public Iterator<Map.Entry<Long, Invocation>> iterator() {
+                return invocations.iterator();
+            }
+
+            @Override
+            public int size() {
+                return invocations.size();
+            }
+        };
     }
 
     /**
@@ -71,6 +71,7 @@ import static com.hazelcast.spi.InvocationBuilder.DEFAULT_TRY_COUNT;
 import static com.hazelcast.spi.InvocationBuilder.DEFAULT_TRY_PAUSE_MILLIS;
 import static com.hazelcast.spi.impl.operationutil.Operations.isJoinOperation;
 import static com.hazelcast.spi.properties.GroupProperty.OPERATION_CALL_TIMEOUT_MILLIS;
+import static com.hazelcast.spi.properties.GroupProperty.OPERATION_RESPONSE_BATCHING_ENABLED;
 import static com.hazelcast.util.Preconditions.checkNotNegative;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 
@@ -128,6 +129,7 @@ public final class OperationServiceImpl implements InternalOperationService, Met
     private final AsyncResponseHandler asyncResponseHandler;
     private final InternalSerializationService serializationService;
     private final ResponseHandler responseHandler;
+    private final ResponseBatcher responseBatcher;
     private final Address thisAddress;
 
     public OperationServiceImpl(NodeEngineImpl nodeEngine) {
@@ -159,6 +161,8 @@ public final class OperationServiceImpl implements InternalOperationService, Met
         this.asyncResponseHandler = new AsyncResponseHandler(
                 node.getHazelcastThreadGroup(), node.getLogger(AsyncResponseHandler.class),
                 responseHandler, node.getProperties());
+        this.responseBatcher = node.getProperties().getBoolean(OPERATION_RESPONSE_BATCHING_ENABLED)
+                ? new ResponseBatcher(node, serializationService) : null;
 
         this.operationExecutor = new OperationExecutorImpl(
                 node.getProperties(), node.loggingService, thisAddress, new OperationRunnerFactoryImpl(this),
@@ -406,6 +410,10 @@ public final class OperationServiceImpl implements InternalOperationService, Met
             throw new IllegalArgumentException("Target is this node! -> " + target + ", response: " + response);
         }
 
+        if (responseBatcher != null) {
+            return responseBatcher.send(response, target);
+        }
+
         byte[] bytes = serializationService.toBytes(response);
         Packet packet = new Packet(bytes, -1)
                 .setAllFlags(FLAG_OP | FLAG_RESPONSE);
@@ -421,6 +429,9 @@ public final class OperationServiceImpl implements InternalOperationService, Met
 
     public void onMemberLeft(MemberImpl member) {
         invocationMonitor.onMemberLeft(member);
+        if (responseBatcher != null) {
+            responseBatcher.onMemberLeft(member.getAddress());
+        }
     }
 
     public void reset() {
@@ -432,6 +443,9 @@ public final class OperationServiceImpl implements InternalOperationService, Met
         metricsRegistry.scanAndRegister(this, "operation");
         metricsRegistry.collectMetrics(invocationRegistry, invocationMonitor, responseHandler, asyncResponseHandler,
                 operationExecutor);
+        if (responseBatcher != null) {
+            metricsRegistry.scanAndRegister(responseBatcher, "operation.invocations");
+        }
     }
 
     public void start() {
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.instance.Node;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.DeferredPacketFrame;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
+import com.hazelcast.util.ConcurrencyUtil;
+import com.hazelcast.util.ConstructorFunction;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Packet.FLAG_OP;
+import static com.hazelcast.nio.Packet.FLAG_RESPONSE;
+import static com.hazelcast.nio.Packet.FLAG_RESPONSE_BATCH;
+import static com.hazelcast.nio.Packet.FLAG_URGENT;
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+
+/**
+ * Coalesces the responses and backup acknowledgements sent to the same member into batched packets.
+ *
+ * The batching is driven by the writer of the connection: the first response sent to a member puts the batch of that
+ * member as a {@link DeferredPacketFrame} on the write queue of the connection, and the responses sent until the
+ * writer takes the frame from the queue are added to the same batch. So a response is never delayed by a timer; when
+ * the writer is idle, the batch is written right away with a single response, and when the writer is busy, all the
+ * responses produced in the meantime go out in as few packets as possible. A packet holds at most
+ * {@link #MAX_BATCH_SIZE} responses and about {@link #MAX_BATCH_BYTES} bytes, so a slow connection doesn't build
+ * a huge packet.
+ *
+ * The responses are serialized directly into the buffer of the batch, so they are not copied again when the packet
+ * is created. A batch packet has the {@link Packet#FLAG_RESPONSE_BATCH} flag set and contains the number of responses
+ * followed by the length and the serialized form of each response, see
+ * {@link InternalSerializationService#writeObject}. It is unpacked by the {@link ResponseHandler} of the receiving
+ * member. Urgent and normal responses are batched separately, so urgent responses keep using the urgent write queue.
+ */
+final class ResponseBatcher {
+
+    static final int MAX_BATCH_SIZE = 64;
+    static final int MAX_BATCH_BYTES = 16 * 1024;
+
+    private final Node node;
+    private final InternalSerializationService serializationService;
+    private final ConcurrentMap<Address, ResponseBatch> normalBatches = new ConcurrentHashMap<Address, ResponseBatch>();
+    private final ConcurrentMap<Address, ResponseBatch> urgentBatches = new ConcurrentHashMap<Address, ResponseBatch>();
+    private final ConstructorFunction<Address, ResponseBatch> normalBatchConstructor;
+    private final ConstructorFunction<Address, ResponseBatch> urgentBatchConstructor;
+
+    @Probe(name = "responses[batched]", level = MANDATORY)
+    private final MwCounter batchedResponses = newMwCounter();
+    @Probe(name = "responses[batches]", level = MANDATORY)
+    private final MwCounter batches = newMwCounter();
+
+    ResponseBatcher(Node node, InternalSerializationService serializationService) {
+        this.node = node;
+        this.serializationService = serializationService;
+        this.normalBatchConstructor = new ResponseBatchConstructor(false);
+        this.urgentBatchConstructor = new ResponseBatchConstructor(true);
+    }
+
+    /**
+     * Sends the response to the given member, possibly batched with other responses.
+     *
+     * @param response the response
+     * @param target   the address of the member
+     * @return false if there is no connection to the member, true otherwise
+     */
+    boolean send(Response response, Address target) {
+        Connection connection = node.getConnectionManager().getOrConnect(target);
+        if (connection == null) {
+            return false;
+        }
+
+        return send(response, connection);
+    }
+
+    /**
+     * Sends the response over the given connection, possibly batched with other responses.
+     *
+     * @param response   the response
+     * @param connection the connection to the member
+     * @return false if the connection is not alive, true otherwise
+     */
+    boolean send(Response response, Connection connection) {
+        Address target = connection.getEndPoint();
+        ResponseBatch batch = response.isUrgent()
+                ? ConcurrencyUtil.getOrPutIfAbsent(urgentBatches, target, urgentBatchConstructor)
+                : ConcurrencyUtil.getOrPutIfAbsent(normalBatches, target, normalBatchConstructor);
+        return batch.add(response, connection);
+    }
+
+    /**
+     * Forgets the batches of a member which left. Its pending responses can't be delivered anymore.
+     *
+     * @param target the address of the member
+     */
+    void onMemberLeft(Address target) {
+        normalBatches.remove(target);
+        urgentBatches.remove(target);
+    }
+
+    /**
+     * The responses for a member which are not taken by the writer yet.
+     *
+     * The sending threads serialize their responses into the frame waiting on the write queue under the lock of the
+     * batch, and the writer takes the content of the frame under the same lock, so it can only wait for the response
+     * being serialized. Once that frame is full, the next response goes into a new frame queued behind it.
+     */
+    private final class ResponseBatch {
+
+        private final boolean urgent;
+        // the frame the responses are added to, null if there is no frame waiting for the writer
+        private BatchFrame current;
+        // the cleared buffer of a written frame, reused by the next frame
+        private BufferObjectDataOutput spare;
+
+        private ResponseBatch(boolean urgent) {
+            this.urgent = urgent;
+        }
+
+        boolean add(Response response, Connection connection) {
+            BatchFrame frame;
+            synchronized (this) {
+                frame = current;
+                if (frame != null && frame.scheduledOn != null && frame.scheduledOn.isAlive()) {
+                    if (!frame.isFull()) {
+                        frame.append(response);
+                        return true;
+                    }
+                    frame = null;
+                }
+                // a connection which was closed dropped its write queue, so its frame needs to be written again
+                if (frame == null) {
+                    frame = new BatchFrame(this, takeBuffer());
+                    current = frame;
+                }
+                frame.append(response);
+                frame.scheduledOn = connection;
+            }
+
+            if (connection.write(frame)) {
+                return true;
+            }
+
+            // the responses stay in the frame; they are written with the next response on a new connection
+            synchronized (this) {
+                if (frame.scheduledOn == connection) {
+                    frame.scheduledOn = null;
+                }
+            }
+            return false;
+        }
+
+        private BufferObjectDataOutput takeBuffer() {
+            BufferObjectDataOutput out = spare;
+            if (out == null) {
+                return serializationService.createObjectDataOutput();
+            }
+            spare = null;
+            return out;
+        }
+
+        private void release(BatchFrame frame) {
+            if (current == frame) {
+                current = null;
+            }
+            // trims a buffer grown by a large response back to its default size
+            frame.out.clear();
+            if (spare == null) {
+                spare = frame.out;
+            }
+        }
+    }
+
+    /**
+     * A batch packet waiting on the write queue of a connection. It holds at most {@link #MAX_BATCH_SIZE} responses,
+     * and stops accepting responses once it holds {@link #MAX_BATCH_BYTES} bytes.
+     */
+    private final class BatchFrame implements DeferredPacketFrame {
+
+        private final ResponseBatch batch;
+        private BufferObjectDataOutput out;
+        private int count;
+        // the connection this frame waits on to be written, null if it isn't on a write queue
+        private Connection scheduledOn;
+
+        private BatchFrame(ResponseBatch batch, BufferObjectDataOutput out) {
+            this.batch = batch;
+            this.out = out;
+        }
+
+        @Override
+        public boolean isUrgent() {
+            return batch.urgent;
+        }
+
+        private boolean isFull() {
+            return count >= MAX_BATCH_SIZE || out.position() >= MAX_BATCH_BYTES;
+        }
+
+        private void append(Response response) {
+            int start = out.position();
+            try {
+                if (count == 0) {
+                    // the number of responses, filled in when the packet is created
+                    out.writeInt(0);
+                }
+                int lengthPosition = out.position();
+                out.writeInt(0);
+                serializationService.writeObject(out, response);
+                out.writeInt(lengthPosition, out.position() - lengthPosition - INT_SIZE_IN_BYTES);
+            } catch (Throwable t) {
+                out.position(start);
+                throw rethrow(t);
+            }
+            count++;
+        }
+
+        @Override
+        public Packet toPacket() {
+            byte[] payload;
+            int batched;
+            synchronized (batch) {
+                scheduledOn = null;
+                if (count == 0) {
+                    return null;
+                }
+
+                try {
+                    out.writeInt(0, count);
+                } catch (Throwable t) {
+                    throw rethrow(t);
+                }
+                payload = out.toByteArray();
+                batched = count;
+                count = 0;
+                batch.release(this);
+                out = null;
+            }
+
+            batches.inc();
+            batchedResponses.inc(batched);
+            Packet packet = new Packet(payload, -1).setAllFlags(FLAG_OP | FLAG_RESPONSE | FLAG_RESPONSE_BATCH);
+            if (batch.urgent) {
+                packet.setFlag(FLAG_URGENT);
+            }
+            return packet;
+        }
+    }
+
+    private final class ResponseBatchConstructor implements ConstructorFunction<Address, ResponseBatch> {
+
+        private final boolean urgent;
+
+        private ResponseBatchConstructor(boolean urgent) {
+            this.urgent = urgent;
+        }
+
+        @Override
+        public ResponseBatch createNew(Address target) {
+            return new ResponseBatch(urgent);
+        }
+    }
+}
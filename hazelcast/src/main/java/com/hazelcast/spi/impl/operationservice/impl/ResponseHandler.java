@@ -25,6 +25,7 @@ import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
+import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.Packet;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.PacketHandler;
@@ -34,13 +35,19 @@ import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
 
+import java.io.IOException;
+
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
 import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static com.hazelcast.nio.Packet.FLAG_RESPONSE_BATCH;
 
 /**
  * Responsible for handling responses for invocations. Based on the content of the response packet, it will lookup the
  * Invocation from the InvocationRegistry and notify the Invocation.
+ * <p/>
+ * A packet can also contain a batch of responses created by the {@link ResponseBatcher} of the sending member; each
+ * response of the batch is handled in turn.
  */
 public final class ResponseHandler implements PacketHandler, MetricsProvider {
 
@@ -76,8 +83,40 @@ public final class ResponseHandler implements PacketHandler, MetricsProvider {
 
     @Override
     public void handle(Packet packet) throws Exception {
-        Response response = serializationService.toObject(packet);
         Address sender = packet.getConn().getEndPoint();
+        if (packet.isFlagSet(FLAG_RESPONSE_BATCH)) {
+            handleBatch(packet.toByteArray(), sender);
+            return;
+        }
+
+        Response response = serializationService.toObject(packet);
+        handle(response, sender);
+    }
+
+    /**
+     * Deserializes the responses of a batch directly from the payload, see {@link ResponseBatcher}. A response which
+     * can't be deserialized is skipped.
+     */
+    private void handleBatch(byte[] payload, Address sender) throws IOException {
+        BufferObjectDataInput in = serializationService.createObjectDataInput(payload);
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            int length = in.readInt();
+            int next = in.position() + length;
+            Response response;
+            try {
+                response = serializationService.readObject(in);
+            } catch (Throwable e) {
+                logger.severe("Failed to deserialize a batched response sent from " + sender, e);
+                continue;
+            } finally {
+                in.position(next);
+            }
+            handle(response, sender);
+        }
+    }
+
+    private void handle(Response response, Address sender) {
         try {
             if (response instanceof NormalResponse) {
                 NormalResponse normalResponse = (NormalResponse) response;
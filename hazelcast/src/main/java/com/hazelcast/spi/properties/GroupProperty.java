@@ -90,6 +90,27 @@ public final class GroupProperty {
     public static final HazelcastProperty PRIORITY_GENERIC_OPERATION_THREAD_COUNT
             = new HazelcastProperty("hazelcast.operation.priority.generic.thread.count", 1);
 
+    /**
+     * The CPUs the partition operation threads are bound to, e.g. {@code 2-11} or {@code [2-11]:4}.
+     * <p/>
+     * If set, the number of partition operation threads is determined by the affinity and
+     * {@link #PARTITION_OPERATION_THREAD_COUNT} is ignored. See {@link com.hazelcast.internal.util.ThreadAffinity}
+     * for the syntax. Binding threads requires Linux and JNA on the classpath.
+     * <p/>
+     * By default the threads are not bound.
+     */
+    public static final HazelcastProperty PARTITION_OPERATION_THREAD_AFFINITY
+            = new HazelcastProperty("hazelcast.operation.thread.affinity");
+
+    /**
+     * The CPUs the generic operation threads are bound to. If set, {@link #GENERIC_OPERATION_THREAD_COUNT} is ignored.
+     * The priority generic operation threads are never bound.
+     * <p/>
+     * By default the threads are not bound.
+     */
+    public static final HazelcastProperty GENERIC_OPERATION_THREAD_AFFINITY
+            = new HazelcastProperty("hazelcast.operation.generic.thread.affinity");
+
     /**
      * The number of threads that the client engine has available for processing requests that are not partition specific.
      * Most of the requests, such as map.put and map.get, are partition specific and will use a partition-operation-thread, but
@@ -138,6 +159,25 @@ public final class GroupProperty {
     public static final HazelcastProperty IO_OUTPUT_THREAD_COUNT
             = new HazelcastProperty("hazelcast.io.output.thread.count", IO_THREAD_COUNT);
 
+    /**
+     * The CPUs the socket input threads are bound to. If set, {@link #IO_INPUT_THREAD_COUNT} is ignored.
+     * <p/>
+     * Binding the input threads to CPUs of the same socket as the {@link #PARTITION_OPERATION_THREAD_AFFINITY}
+     * keeps the received packets on the NUMA node that processes them.
+     * <p/>
+     * By default the threads are not bound.
+     */
+    public static final HazelcastProperty IO_INPUT_THREAD_AFFINITY
+            = new HazelcastProperty("hazelcast.io.input.thread.affinity");
+
+    /**
+     * The CPUs the socket output threads are bound to. If set, {@link #IO_OUTPUT_THREAD_COUNT} is ignored.
+     * <p/>
+     * By default the threads are not bound.
+     */
+    public static final HazelcastProperty IO_OUTPUT_THREAD_AFFINITY
+            = new HazelcastProperty("hazelcast.io.output.thread.affinity");
+
     /**
      * The interval in seconds between {@link com.hazelcast.nio.tcp.nonblocking.iobalancer.IOBalancer IOBalancer}
      * executions. The shorter intervals will catch I/O Imbalance faster, but they will cause higher overhead.
@@ -187,6 +227,14 @@ public final class GroupProperty {
     public static final HazelcastProperty OPERATION_BACKUP_TIMEOUT_MILLIS
             = new HazelcastProperty("hazelcast.operation.backup.timeout.millis", 5000, MILLISECONDS);
 
+    /**
+     * Enables the batching of responses and backup acknowledgements sent to another member. Responses produced while
+     * the connection to the member is busy writing are packed into batch packets of at most 64 responses or about
+     * 16 KB each. All members need to enable it, since a member that doesn't can't unpack the batches.
+     */
+    public static final HazelcastProperty OPERATION_RESPONSE_BATCHING_ENABLED
+            = new HazelcastProperty("hazelcast.operation.response.batching.enabled", false);
+
     public static final HazelcastProperty SOCKET_BIND_ANY
             = new HazelcastProperty("hazelcast.socket.bind.any", true);
     public static final HazelcastProperty SOCKET_SERVER_BIND_ANY
@@ -210,6 +258,37 @@ public final class GroupProperty {
     public static final HazelcastProperty SOCKET_BUFFER_DIRECT
             = new HazelcastProperty("hazelcast.socket.buffer.direct", false);
 
+    /**
+     * Member packets of at least this number of bytes are not copied into the socket send buffer, but written
+     * together with the buffered packets using a single gathering write.
+     * <p/>
+     * The payloads are heap buffers, which the JDK still copies into a temporary direct buffer when writing them. So
+     * a gathering write only saves the copy into the send buffer while that is a heap buffer, see
+     * {@link #SOCKET_BUFFER_DIRECT}; with a direct send buffer it saves nothing.
+     * <p/>
+     * Gathering writes are disabled by default (-1); a threshold of e.g. 8192 bytes enables them. A negative value
+     * disables gathering writes.
+     */
+    public static final HazelcastProperty SOCKET_GATHERING_WRITE_THRESHOLD
+            = new HazelcastProperty("hazelcast.socket.gathering.write.threshold", -1);
+
+    /**
+     * Enables the compression of member packets. A connection only compresses if both members enable it; it is
+     * negotiated when the connection is bound.
+     * <p/>
+     * Compression trades CPU time for bandwidth, so it mainly pays off on slow networks and large values.
+     */
+    public static final HazelcastProperty SOCKET_COMPRESSION_ENABLED
+            = new HazelcastProperty("hazelcast.socket.compression.enabled", false);
+
+    /**
+     * Member packets of at least this number of bytes are compressed if compression is enabled.
+     * <p/>
+     * The default is 1024 bytes.
+     */
+    public static final HazelcastProperty SOCKET_COMPRESSION_THRESHOLD
+            = new HazelcastProperty("hazelcast.socket.compression.threshold", 1024);
+
 
     /**
      * Overrides receive buffer size for connections opened by clients.
@@ -619,6 +698,17 @@ public final class GroupProperty {
             = new HazelcastProperty("hazelcast.serialization.version",
             BuildInfoProvider.getBuildInfo().getSerializationVersion());
 
+    /**
+     * The maximum size in kilobytes of a grown output buffer kept by the serialization buffer pool of a thread.
+     * <p/>
+     * A returned output buffer is kept at the size which fits most of the sizes recently serialized by its thread,
+     * up to this ceiling; larger buffers are trimmed. Raise it when the serialized values are regularly larger.
+     * <p/>
+     * The default is 1024 (1 MB).
+     */
+    public static final HazelcastProperty SERIALIZATION_MAX_RETAINED_OUTPUT_BUFFER_SIZE
+            = new HazelcastProperty("hazelcast.serialization.max.retained.output.buffer.size", 1024);
+
     private GroupProperty() {
     }
 }
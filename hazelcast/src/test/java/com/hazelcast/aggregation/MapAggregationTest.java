@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.spi.properties.GroupProperty.QUERY_PREDICATE_PARALLEL_EVALUATION;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MapAggregationTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @Test
+    public void testCount() {
+        IMap<Integer, Employee> map = populatedMap(new Config());
+
+        assertEquals(Long.valueOf(ENTRY_COUNT), map.aggregate(Aggregators.<Integer, Employee>count()));
+    }
+
+    @Test
+    public void testSum() {
+        IMap<Integer, Employee> map = populatedMap(new Config());
+
+        assertEquals(Long.valueOf(sumOfAges(0, ENTRY_COUNT)),
+                map.aggregate(Aggregators.<Integer, Employee>integerSum("age")));
+        assertEquals(Long.valueOf(sumOfAges(0, ENTRY_COUNT)),
+                map.aggregate(Aggregators.<Integer, Employee>longSum("ageAsLong")));
+        assertEquals(sumOfAges(0, ENTRY_COUNT), map.aggregate(Aggregators.<Integer, Employee>doubleSum("salary")), 0.01);
+    }
+
+    @Test
+    public void testAverage() {
+        IMap<Integer, Employee> map = populatedMap(new Config());
+        double expected = (double) sumOfAges(0, ENTRY_COUNT) / ENTRY_COUNT;
+
+        assertEquals(expected, map.aggregate(Aggregators.<Integer, Employee>integerAvg("age")), 0.01);
+        assertEquals(expected, map.aggregate(Aggregators.<Integer, Employee>longAvg("ageAsLong")), 0.01);
+        assertEquals(expected, map.aggregate(Aggregators.<Integer, Employee>doubleAvg("salary")), 0.01);
+    }
+
+    @Test
+    public void testAverage_whenEmpty() {
+        IMap<Integer, Employee> map = createHazelcastInstance().getMap(randomMapName());
+
+        assertNull(map.aggregate(Aggregators.<Integer, Employee>integerAvg("age")));
+    }
+
+    @Test
+    public void testMinMax() {
+        IMap<Integer, Employee> map = populatedMap(new Config());
+
+        assertEquals(Integer.valueOf(0), map.aggregate(Aggregators.<Integer, Employee, Integer>comparableMin("age")));
+        assertEquals(Integer.valueOf(99), map.aggregate(Aggregators.<Integer, Employee, Integer>comparableMax("age")));
+    }
+
+    @Test
+    public void testDistinct() {
+        IMap<Integer, Employee> map = populatedMap(new Config());
+
+        Set<String> departments = map.aggregate(Aggregators.<Integer, Employee, String>distinct("department"));
+        assertEquals(new HashSet<String>(asList("department0", "department1", "department2")), departments);
+    }
+
+    @Test
+    public void testAggregate_withPredicate() {
+        IMap<Integer, Employee> map = populatedMap(new Config());
+
+        Long count = map.aggregate(Aggregators.<Integer, Employee>count(), new SqlPredicate("age < 10"));
+        assertEquals(Long.valueOf(ENTRY_COUNT / 10), count);
+    }
+
+    @Test
+    public void testAggregate_withPredicate_usingIndex() {
+        IMap<Integer, Employee> map = populatedMap(new Config());
+        map.addIndex("age", true);
+
+        Long sum = map.aggregate(Aggregators.<Integer, Employee>integerSum("age"), new SqlPredicate("age >= 90"));
+        assertEquals(Long.valueOf(sumOfAges(90, 100)), sum);
+    }
+
+    @Test
+    public void testAggregate_withParallelEvaluation() {
+        Config config = new Config();
+        config.setProperty(QUERY_PREDICATE_PARALLEL_EVALUATION.getName(), "true");
+        IMap<Integer, Employee> map = populatedMap(config);
+
+        Long sum = map.aggregate(Aggregators.<Integer, Employee>integerSum("age"), new SqlPredicate("age >= 90"));
+        assertEquals(Long.valueOf(sumOfAges(90, 100)), sum);
+    }
+
+    @Test
+    public void testAggregate_doesNotModifyAggregator() {
+        IMap<Integer, Employee> map = populatedMap(new Config());
+        Aggregator<Map.Entry<Integer, Employee>, Long> aggregator = Aggregators.count();
+
+        map.aggregate(aggregator);
+
+        assertEquals(Long.valueOf(0), aggregator.aggregate());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testAggregate_whenAggregatorNull() {
+        IMap<Integer, Employee> map = createHazelcastInstance().getMap(randomMapName());
+
+        map.aggregate(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAggregate_whenPagingPredicate() {
+        IMap<Integer, Employee> map = createHazelcastInstance().getMap(randomMapName());
+
+        map.aggregate(Aggregators.<Integer, Employee>count(), new PagingPredicate<Integer, Employee>(10));
+    }
+
+    private IMap<Integer, Employee> populatedMap(Config config) {
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        IMap<Integer, Employee> map = instances[0].getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Employee(i % 100, "department" + (i % 3)));
+        }
+        return map;
+    }
+
+    private static long sumOfAges(int fromAge, int toAge) {
+        long sum = 0;
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            int age = i % 100;
+            if (age >= fromAge && age < toAge) {
+                sum += age;
+            }
+        }
+        return sum;
+    }
+
+    public static class Employee implements Serializable {
+
+        private int age;
+        private long ageAsLong;
+        private double salary;
+        private String department;
+
+        public Employee(int age, String department) {
+            this.age = age;
+            this.ageAsLong = age;
+            this.salary = age;
+            this.department = department;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public long getAgeAsLong() {
+            return ageAsLong;
+        }
+
+        public double getSalary() {
+            return salary;
+        }
+
+        public String getDepartment() {
+            return department;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cache.impl.nearcache.impl.preloader;
+
+import com.hazelcast.cache.impl.nearcache.NearCache;
+import com.hazelcast.config.NearCachePreloaderConfig;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.nio.IOUtil;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.function.Consumer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileLock;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.cache.impl.nearcache.impl.preloader.NearCachePreloader.LOAD_BATCH_SIZE;
+import static com.hazelcast.test.HazelcastTestSupport.randomName;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class NearCachePreloaderTest {
+
+    private static final int KEY_COUNT = 2 * LOAD_BATCH_SIZE + LOAD_BATCH_SIZE / 2;
+
+    private final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+    private File directory;
+    private NearCachePreloaderConfig preloaderConfig;
+    private NearCachePreloader preloader;
+
+    @Before
+    public void setUp() {
+        directory = new File(randomName());
+        preloaderConfig = new NearCachePreloaderConfig()
+                .setEnabled(true)
+                .setDirectory(directory.getPath());
+        preloader = createPreloader("client", "default");
+    }
+
+    @After
+    public void tearDown() {
+        IOUtil.delete(directory);
+    }
+
+    @Test
+    public void testStoreAndLoadKeys() {
+        List<Data> keys = createKeys(KEY_COUNT);
+        preloader.storeKeys(createNearCache(keys));
+
+        CollectingLoader loader = new CollectingLoader();
+        int loadedKeys = preloader.loadKeys(loader);
+
+        assertEquals(KEY_COUNT, loadedKeys);
+        assertEquals(keys, loader.keys);
+        assertEquals(3, loader.batchCount);
+    }
+
+    @Test
+    public void testStoreKeys_replacesPreviousKeys() {
+        preloader.storeKeys(createNearCache(createKeys(KEY_COUNT)));
+        List<Data> keys = createKeys(10);
+        preloader.storeKeys(createNearCache(keys));
+
+        CollectingLoader loader = new CollectingLoader();
+        preloader.loadKeys(loader);
+
+        assertEquals(keys, loader.keys);
+    }
+
+    @Test
+    public void testStoreKeys_ofOtherClientInstance_usesOtherFile() {
+        List<Data> keys = createKeys(KEY_COUNT);
+        preloader.storeKeys(createNearCache(keys));
+        NearCachePreloader otherPreloader = createPreloader("otherClient", "default");
+        otherPreloader.storeKeys(createNearCache(createKeys(10)));
+
+        CollectingLoader loader = new CollectingLoader();
+        preloader.loadKeys(loader);
+
+        assertFalse(preloader.getStoreFile().equals(otherPreloader.getStoreFile()));
+        assertEquals(keys, loader.keys);
+    }
+
+    @Test
+    public void testStoreKeys_whenKeyFileIsLocked_thenSkipped() throws Exception {
+        List<Data> keys = createKeys(KEY_COUNT);
+        preloader.storeKeys(createNearCache(keys));
+
+        RandomAccessFile lockFile = new RandomAccessFile(preloader.getStoreFile().getPath() + ".lock", "rw");
+        try {
+            FileLock lock = lockFile.getChannel().lock();
+            NearCachePreloader otherPreloader = createPreloader("client", "default");
+            otherPreloader.storeKeys(createNearCache(createKeys(10)));
+            lock.release();
+        } finally {
+            lockFile.close();
+        }
+
+        CollectingLoader loader = new CollectingLoader();
+        preloader.loadKeys(loader);
+
+        assertEquals(keys, loader.keys);
+    }
+
+    @Test
+    public void testStoreKeys_whenNearCacheFails() {
+        NearCache nearCache = mock(NearCache.class);
+        when(nearCache.getKeysAsData()).thenThrow(new IllegalStateException("Near-Cache is already destroyed"));
+
+        preloader.storeKeys(nearCache);
+
+        assertFalse(preloader.getStoreFile().exists());
+    }
+
+    @Test
+    public void testLoadKeys_withoutStoredKeys() {
+        CollectingLoader loader = new CollectingLoader();
+
+        assertEquals(0, preloader.loadKeys(loader));
+        assertEquals(0, loader.batchCount);
+    }
+
+    @Test
+    public void testLoadKeys_withUnknownFileFormat() throws Exception {
+        assertTrue(directory.mkdirs());
+        FileOutputStream out = new FileOutputStream(preloader.getStoreFile());
+        try {
+            out.write(new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        } finally {
+            out.close();
+        }
+
+        CollectingLoader loader = new CollectingLoader();
+
+        assertEquals(0, preloader.loadKeys(loader));
+        assertEquals(0, loader.batchCount);
+    }
+
+    @Test
+    public void testLoadKeys_withCorruptKeyLength() throws Exception {
+        assertTrue(directory.mkdirs());
+        DataOutputStream out = new DataOutputStream(new FileOutputStream(preloader.getStoreFile()));
+        try {
+            out.writeInt(NearCachePreloader.MAGIC_BYTES);
+            out.writeInt(NearCachePreloader.FILE_FORMAT);
+            out.writeInt(Integer.MAX_VALUE);
+        } finally {
+            out.close();
+        }
+
+        CollectingLoader loader = new CollectingLoader();
+
+        assertEquals(0, preloader.loadKeys(loader));
+        assertEquals(0, loader.batchCount);
+    }
+
+    @Test
+    public void testDeleteKeys() {
+        preloader.storeKeys(createNearCache(createKeys(KEY_COUNT)));
+        assertTrue(preloader.getStoreFile().exists());
+
+        preloader.deleteKeys();
+
+        assertFalse(preloader.getStoreFile().exists());
+    }
+
+    private NearCachePreloader createPreloader(String instanceName, String nearCacheName) {
+        return new NearCachePreloader(instanceName, nearCacheName, preloaderConfig,
+                Logger.getLogger(NearCachePreloaderTest.class));
+    }
+
+    private List<Data> createKeys(int count) {
+        List<Data> keys = new ArrayList<Data>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add(serializationService.toData("key-" + i));
+        }
+        return keys;
+    }
+
+    private static NearCache createNearCache(List<Data> keys) {
+        NearCache nearCache = mock(NearCache.class);
+        when(nearCache.getKeysAsData()).thenReturn(keys);
+        return nearCache;
+    }
+
+    private static class CollectingLoader implements Consumer<List<Data>> {
+
+        private final List<Data> keys = new ArrayList<Data>();
+        private int batchCount;
+
+        @Override
+        public void accept(List<Data> batch) {
+            keys.addAll(batch);
+            batchCount++;
+        }
+    }
+}
@@ -3,11 +3,15 @@ package com.hazelcast.cache.nearcache;
 import com.hazelcast.cache.impl.nearcache.NearCacheContext;
 import com.hazelcast.cache.impl.nearcache.NearCacheExecutor;
 import com.hazelcast.cache.impl.nearcache.NearCacheRecordStore;
+import com.hazelcast.cache.impl.nearcache.impl.store.NativeNearCacheRecordStore;
 import com.hazelcast.cache.impl.nearcache.impl.store.NearCacheDataRecordStore;
 import com.hazelcast.cache.impl.nearcache.impl.store.NearCacheObjectRecordStore;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.memory.impl.StandardMemoryManager;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.MemoryUnit;
 import com.hazelcast.test.HazelcastTestSupport;
 import org.junit.After;
 
@@ -24,6 +28,7 @@ public abstract class CommonNearCacheTestSupport extends HazelcastTestSupport {
     protected static final String DEFAULT_NEAR_CACHE_NAME = "TestNearCache";
 
     protected List<ScheduledExecutorService> scheduledExecutorServices = new ArrayList<ScheduledExecutorService>();
+    protected List<StandardMemoryManager> memoryManagers = new ArrayList<StandardMemoryManager>();
 
     protected NearCacheConfig createNearCacheConfig(String name, InMemoryFormat inMemoryFormat) {
         return
@@ -39,7 +44,14 @@ public abstract class CommonNearCacheTestSupport extends HazelcastTestSupport {
                 null, // No need to near-cache manager
                 new DefaultSerializationServiceBuilder().build(),
                 createNearCacheExecutor(),
-                null);
+                null,
+                createMemoryManager());
+    }
+
+    protected StandardMemoryManager createMemoryManager() {
+        StandardMemoryManager memoryManager = new StandardMemoryManager(new MemorySize(8, MemoryUnit.MEGABYTES));
+        memoryManagers.add(memoryManager);
+        return memoryManager;
     }
 
     protected NearCacheExecutor createNearCacheExecutor() {
@@ -61,6 +73,8 @@ public abstract class CommonNearCacheTestSupport extends HazelcastTestSupport {
                 return new NearCacheDataRecordStore<K, V>(nearCacheConfig, nearCacheContext);
             case OBJECT:
                 return new NearCacheObjectRecordStore<K, V>(nearCacheConfig, nearCacheContext);
+            case NATIVE:
+                return new NativeNearCacheRecordStore<K, V>(nearCacheConfig, nearCacheContext);
             default:
                 throw new IllegalArgumentException("Unsupported in-memory format: " + inMemoryFormat);
         }
@@ -72,6 +86,10 @@ public abstract class CommonNearCacheTestSupport extends HazelcastTestSupport {
             scheduledExecutorService.shutdown();
         }
         scheduledExecutorServices.clear();
+        for (StandardMemoryManager memoryManager : memoryManagers) {
+            memoryManager.dispose();
+        }
+        memoryManagers.clear();
     }
 
 }
@@ -247,4 +247,75 @@ public class NearCacheRecordStoreTest extends NearCacheRecordStoreTestSupport {
         doEvictionWithEntryCountMaxSizePolicy(InMemoryFormat.BINARY, EvictionPolicy.RANDOM);
     }
 
+    @Test
+    public void putAndGetRecordFromNativeNearCacheRecordStore() {
+        putAndGetRecord(InMemoryFormat.NATIVE);
+    }
+
+    @Test
+    public void putAndRemoveRecordFromNativeNearCacheRecordStore() {
+        putAndRemoveRecord(InMemoryFormat.NATIVE);
+    }
+
+    @Test
+    public void clearRecordsFromNativeNearCacheRecordStore() {
+        clearRecordsOrDestroyStoreFromNearCacheDataRecordStore(InMemoryFormat.NATIVE, false);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void destroyStoreFromNativeNearCacheRecordStore() {
+        clearRecordsOrDestroyStoreFromNearCacheDataRecordStore(InMemoryFormat.NATIVE, true);
+    }
+
+    @Test
+    public void statsCalculatedOnNativeNearCacheRecordStore() {
+        statsCalculated(InMemoryFormat.NATIVE);
+    }
+
+    @Test
+    public void ttlEvaluatedOnNativeNearCacheRecordStore() {
+        ttlEvaluated(InMemoryFormat.NATIVE);
+    }
+
+    @Test
+    public void maxIdleTimeEvaluatedSuccessfullyOnNativeNearCacheRecordStore() {
+        maxIdleTimeEvaluatedSuccessfully(InMemoryFormat.NATIVE);
+    }
+
+    @Test
+    public void expiredRecordsCleanedUpSuccessfullyBecauseOfTTLOnNativeNearCacheRecordStore() {
+        expiredRecordsCleanedUpSuccessfully(InMemoryFormat.NATIVE, false);
+    }
+
+    @Test
+    public void canCreateNativeNearCacheRecordStoreWithEntryCountMaxSizePolicy() {
+        createNearCacheWithMaxSizePolicy(InMemoryFormat.NATIVE,
+                EvictionConfig.MaxSizePolicy.ENTRY_COUNT,
+                1000);
+    }
+
+    @Test
+    public void canCreateNativeNearCacheRecordStoreWithUsedNativeMemorySizeMaxSizePolicy() {
+        createNearCacheWithMaxSizePolicy(InMemoryFormat.NATIVE,
+                EvictionConfig.MaxSizePolicy.USED_NATIVE_MEMORY_SIZE,
+                1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateNativeNearCacheRecordStoreWithFreeNativeMemorySizeMaxSizePolicy() {
+        createNearCacheWithMaxSizePolicy(InMemoryFormat.NATIVE,
+                EvictionConfig.MaxSizePolicy.FREE_NATIVE_MEMORY_SIZE,
+                1);
+    }
+
+    @Test
+    public void evictionTriggeredAndHandledSuccessfullyWithEntryCountMaxSizePolicyAndLRUEvictionPolicyNativeNearCacheRecordStore() {
+        doEvictionWithEntryCountMaxSizePolicy(InMemoryFormat.NATIVE, EvictionPolicy.LRU);
+    }
+
+    @Test
+    public void evictionTriggeredAndHandledSuccessfullyWithEntryCountMaxSizePolicyAndLFUEvictionPolicyNativeNearCacheRecordStore() {
+        doEvictionWithEntryCountMaxSizePolicy(InMemoryFormat.NATIVE, EvictionPolicy.LFU);
+    }
+
 }
@@ -117,6 +117,7 @@ public abstract class NearCacheRecordStoreTestSupport extends CommonNearCacheTes
         assertEquals(expectedEntryCount, nearCacheStats.getOwnedEntryCount());
         switch (inMemoryFormat) {
             case BINARY:
+            case NATIVE:
                 assertTrue(memoryCostWhenFull > 0);
                 break;
             case OBJECT:
@@ -132,6 +133,7 @@ public abstract class NearCacheRecordStoreTestSupport extends CommonNearCacheTes
         assertEquals(expectedEntryCount, nearCacheStats.getOwnedEntryCount());
         switch (inMemoryFormat) {
             case BINARY:
+            case NATIVE:
                 assertTrue(nearCacheStats.getOwnedEntryMemoryCost() > 0);
                 assertTrue(nearCacheStats.getOwnedEntryMemoryCost() < memoryCostWhenFull);
                 break;
@@ -145,6 +147,7 @@ public abstract class NearCacheRecordStoreTestSupport extends CommonNearCacheTes
         switch (inMemoryFormat) {
             case BINARY:
             case OBJECT:
+            case NATIVE:
                 assertEquals(0, nearCacheStats.getOwnedEntryMemoryCost());
                 break;
         }
@@ -4,11 +4,17 @@ import com.hazelcast.cache.impl.nearcache.NearCache;
 import com.hazelcast.cache.impl.nearcache.NearCacheRecordStore;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.monitor.NearCacheStats;
 import com.hazelcast.monitor.impl.NearCacheStatsImpl;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.test.AssertTask;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
@@ -31,6 +37,7 @@ public abstract class NearCacheTestSupport extends CommonNearCacheTestSupport {
     protected class ManagedNearCacheRecordStore implements NearCacheRecordStore<Integer, String> {
 
         protected final NearCacheStats nearCacheStats = new NearCacheStatsImpl();
+        protected final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
 
         protected Map<Integer, String> expectedKeyValueMappings;
         protected Integer latestKeyOnGet;
@@ -122,6 +129,18 @@ public abstract class NearCacheTestSupport extends CommonNearCacheTestSupport {
             return latestSize;
         }
 
+        @Override
+        public Collection<Data> getKeysAsData() {
+            if (expectedKeyValueMappings == null) {
+                throw new IllegalStateException("Near-Cache is already destroyed");
+            }
+            List<Data> keys = new ArrayList<Data>(expectedKeyValueMappings.size());
+            for (Integer key : expectedKeyValueMappings.keySet()) {
+                keys.add(serializationService.toData(key));
+            }
+            return keys;
+        }
+
         @Override
         public void doExpiration() {
             if (expectedKeyValueMappings == null) {
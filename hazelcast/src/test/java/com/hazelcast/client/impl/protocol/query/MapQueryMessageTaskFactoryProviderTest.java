@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.query;
+
+import com.hazelcast.client.impl.protocol.DefaultMessageTaskFactoryProvider;
+import com.hazelcast.client.impl.protocol.MessageTaskFactory;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MapQueryMessageTaskFactoryProviderTest extends HazelcastTestSupport {
+
+    private NodeEngine nodeEngine;
+
+    @Before
+    public void setUp() {
+        nodeEngine = getNodeEngineImpl(createHazelcastInstance());
+    }
+
+    @Test
+    public void testMessageTypes_useReservedServiceId() {
+        for (MapQueryMessageType messageType : MapQueryMessageType.values()) {
+            assertEquals(messageType.name(), MapQueryMessageType.SERVICE_ID, messageType.id() >> 8);
+        }
+    }
+
+    @Test
+    public void testReservedServiceId_notUsedByGeneratedMessages() {
+        MessageTaskFactory[] factories = new DefaultMessageTaskFactoryProvider(nodeEngine).getFactories();
+
+        int firstId = MapQueryMessageType.SERVICE_ID << 8;
+        for (int id = firstId; id < firstId + 0x100 && id < factories.length; id++) {
+            assertNull("message type " + Integer.toHexString(id), factories[id]);
+        }
+    }
+
+    @Test
+    public void testFactories_registeredForAllMessageTypes() {
+        MessageTaskFactory[] factories = new MapQueryMessageTaskFactoryProvider(nodeEngine).getFactories();
+
+        for (MapQueryMessageType messageType : MapQueryMessageType.values()) {
+            assertNotNull(messageType.name(), factories[messageType.id()]);
+        }
+    }
+}
@@ -16,6 +16,9 @@
 
 package com.hazelcast.config;
 
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -23,6 +26,10 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelTest.class})
 public class NearCacheConfigTest {
@@ -34,4 +41,82 @@ public class NearCacheConfigTest {
     public void testReadOnlyNearCacheConfigSetCacheLocalEntries() {
         new NearCacheConfigReadOnly(new NearCacheConfig()).setCacheLocalEntries(true);
     }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnlyNearCacheConfigSetAdmissionPolicy() {
+        new NearCacheConfigReadOnly(new NearCacheConfig()).setAdmissionPolicy(NearCacheConfig.AdmissionPolicy.TINY_LFU);
+    }
+
+    @Test
+    public void testAdmissionPolicyCopied() {
+        NearCacheConfig config = new NearCacheConfig().setAdmissionPolicy(NearCacheConfig.AdmissionPolicy.TINY_LFU);
+
+        assertEquals(NearCacheConfig.AdmissionPolicy.TINY_LFU, new NearCacheConfig(config).getAdmissionPolicy());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnlyNearCacheConfigSetPreloaderConfig() {
+        new NearCacheConfigReadOnly(new NearCacheConfig()).setPreloaderConfig(new NearCachePreloaderConfig());
+    }
+
+    @Test
+    public void testPreloaderConfigCopied() {
+        NearCacheConfig config = new NearCacheConfig();
+        config.getPreloaderConfig()
+                .setEnabled(true)
+                .setDirectory("nearcache")
+                .setStoreInitialDelaySeconds(10)
+                .setStoreIntervalSeconds(20);
+
+        NearCachePreloaderConfig copy = new NearCacheConfig(config).getPreloaderConfig();
+
+        assertTrue(copy.isEnabled());
+        assertEquals("nearcache", copy.getDirectory());
+        assertEquals(10, copy.getStoreInitialDelaySeconds());
+        assertEquals(20, copy.getStoreIntervalSeconds());
+    }
+
+    @Test
+    public void testSerialization_whenAdmissionPolicyUsed() {
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        NearCacheConfig config = new NearCacheConfig().setAdmissionPolicy(NearCacheConfig.AdmissionPolicy.TINY_LFU);
+
+        NearCacheConfig found = serializationService.toObject(serializationService.toData(config));
+
+        assertEquals(NearCacheConfig.AdmissionPolicy.TINY_LFU, found.getAdmissionPolicy());
+    }
+
+    @Test
+    public void testSerialization_whenPreloaderUsed() {
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        NearCacheConfig config = new NearCacheConfig();
+        config.getPreloaderConfig()
+                .setEnabled(true)
+                .setDirectory("nearcache");
+
+        NearCacheConfig found = serializationService.toObject(serializationService.toData(config));
+
+        assertTrue(found.getPreloaderConfig().isEnabled());
+        assertEquals("nearcache", found.getPreloaderConfig().getDirectory());
+    }
+
+    @Test
+    public void testSerialization_whenAdmissionPolicyAndPreloaderNotUsed_thenNotWritten() {
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        NearCacheConfig config = new NearCacheConfig();
+
+        Data data = serializationService.toData(config);
+        Data dataWithAdmissionPolicy = serializationService.toData(
+                new NearCacheConfig().setAdmissionPolicy(NearCacheConfig.AdmissionPolicy.TINY_LFU));
+        NearCacheConfig found = serializationService.toObject(data);
+
+        assertTrue(data.totalSize() < dataWithAdmissionPolicy.totalSize());
+        assertEquals(NearCacheConfig.AdmissionPolicy.ALL, found.getAdmissionPolicy());
+        assertFalse(found.getPreloaderConfig().isEnabled());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPreloaderConfigSetStoreIntervalSeconds_whenNotPositive() {
+        new NearCachePreloaderConfig().setStoreIntervalSeconds(0);
+    }
 }
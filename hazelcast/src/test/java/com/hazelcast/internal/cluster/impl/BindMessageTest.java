@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.cluster.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class BindMessageTest {
+
+    private InternalSerializationService serializationService;
+    private Address localAddress;
+    private Address targetAddress;
+
+    @Before
+    public void setup() throws Exception {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        localAddress = new Address("127.0.0.1", 5701);
+        targetAddress = new Address("127.0.0.1", 5702);
+    }
+
+    @Test
+    public void testSerialization_withCompression() {
+        BindMessage bind = serializationService.toObject(
+                serializationService.toData(new BindMessage(localAddress, targetAddress, true, true)));
+
+        assertEquals(localAddress, bind.getLocalAddress());
+        assertEquals(targetAddress, bind.getTargetAddress());
+        assertTrue(bind.shouldReply());
+        assertTrue(bind.isCompressionEnabled());
+    }
+
+    @Test
+    public void testSerialization_withoutCompression() {
+        BindMessage bind = serializationService.toObject(
+                serializationService.toData(new BindMessage(localAddress, null, false, false)));
+
+        assertEquals(localAddress, bind.getLocalAddress());
+        assertEquals(null, bind.getTargetAddress());
+        assertFalse(bind.shouldReply());
+        assertFalse(bind.isCompressionEnabled());
+    }
+
+    @Test
+    public void testCompressionFlag_isOnlyAppendedWhenEnabled() {
+        // without compression the bind has the layout known by members that don't support compression
+        Data withoutCompression = serializationService.toData(new BindMessage(localAddress, targetAddress, true, false));
+        Data oldLayout = serializationService.toData(new BindMessage(localAddress, targetAddress, true));
+        Data withCompression = serializationService.toData(new BindMessage(localAddress, targetAddress, true, true));
+
+        assertEquals(oldLayout, withoutCompression);
+        assertEquals(withoutCompression.totalSize() + 1, withCompression.totalSize());
+    }
+}
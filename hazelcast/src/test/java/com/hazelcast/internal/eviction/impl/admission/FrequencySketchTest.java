@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction.impl.admission;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class FrequencySketchTest {
+
+    private static final int MAX_SIZE = 16;
+
+    private FrequencySketch sketch;
+
+    @Before
+    public void setup() {
+        sketch = new FrequencySketch(MAX_SIZE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void construct_whenMaxSizeNotPositive_thenThrowException() {
+        new FrequencySketch(0);
+    }
+
+    @Test
+    public void frequency_whenNeverIncremented_thenZero() {
+        assertEquals(0, sketch.frequency("key"));
+    }
+
+    @Test
+    public void frequency_whenIncremented() {
+        increment("key", 3);
+
+        assertEquals(3, sketch.frequency("key"));
+    }
+
+    @Test
+    public void frequency_whenIncrementedOften_thenSaturates() {
+        increment("key", 100);
+
+        assertEquals(15, sketch.frequency("key"));
+    }
+
+    @Test
+    public void frequency_whenManyOtherKeysIncremented_thenHalved() {
+        increment("key", 15);
+        for (int i = 0; i < MAX_SIZE * 10; i++) {
+            sketch.increment(i);
+        }
+
+        assertTrue(sketch.frequency("key") < 15);
+    }
+
+    @Test
+    public void admit_whenCandidateMoreFrequent() {
+        increment("candidate", 2);
+        increment("victim", 1);
+
+        assertTrue(sketch.admit("candidate", "victim"));
+    }
+
+    @Test
+    public void admit_whenCandidateEquallyFrequent_thenRejected() {
+        increment("candidate", 1);
+        increment("victim", 1);
+
+        assertFalse(sketch.admit("candidate", "victim"));
+    }
+
+    @Test
+    public void admit_whenCandidateLessFrequent_thenRejected() {
+        increment("candidate", 1);
+        increment("victim", 5);
+
+        assertFalse(sketch.admit("candidate", "victim"));
+    }
+
+    private void increment(Object key, int times) {
+        for (int i = 0; i < times; i++) {
+            sketch.increment(key);
+        }
+    }
+}
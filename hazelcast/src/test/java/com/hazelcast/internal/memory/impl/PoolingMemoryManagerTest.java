@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class PoolingMemoryManagerTest {
+
+    private static final int MIN_BLOCK_SIZE = 16;
+    private static final int PAGE_SIZE = 1 << 16;
+
+    private PoolingMemoryManager memoryManager;
+    private MemoryAllocator malloc;
+    private MemoryAccessor mem;
+
+    @Before
+    public void setUp() {
+        memoryManager = new PoolingMemoryManager(new MemorySize(8, MemoryUnit.MEGABYTES), MIN_BLOCK_SIZE, PAGE_SIZE);
+        malloc = memoryManager.getAllocator();
+        mem = memoryManager.getAccessor();
+    }
+
+    @After
+    public void tearDown() {
+        memoryManager.dispose();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenMinBlockSizeNotPowerOfTwo() {
+        new PoolingMemoryManager(new MemorySize(1, MemoryUnit.MEGABYTES), 24, PAGE_SIZE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenPageSizeSmallerThanMinBlockSize() {
+        new PoolingMemoryManager(new MemorySize(1, MemoryUnit.MEGABYTES), 64, 32);
+    }
+
+    @Test
+    public void testAllocate_roundsUpToSizeClass() {
+        malloc.allocate(17);
+        assertEquals(32, memoryManager.getUsedMemory());
+
+        malloc.allocate(1);
+        assertEquals(32 + MIN_BLOCK_SIZE, memoryManager.getUsedMemory());
+    }
+
+    @Test
+    public void testAllocate_returnsZeroedMemory() {
+        long address = malloc.allocate(64);
+        mem.setMemory(address, 64, (byte) 1);
+        malloc.free(address, 64);
+
+        address = malloc.allocate(64);
+        for (int i = 0; i < 64; i++) {
+            assertEquals(0, mem.getByte(address + i));
+        }
+    }
+
+    @Test
+    public void testFree_mergesBuddiesAndReleasesPage() {
+        long address1 = malloc.allocate(MIN_BLOCK_SIZE);
+        long address2 = malloc.allocate(MIN_BLOCK_SIZE);
+        assertEquals(1, memoryManager.getPageCount());
+        assertEquals(0, memoryManager.getFreePageCount());
+
+        malloc.free(address1, MIN_BLOCK_SIZE);
+        malloc.free(address2, MIN_BLOCK_SIZE);
+
+        assertEquals(0, memoryManager.getUsedMemory());
+        assertEquals(1, memoryManager.getFreePageCount());
+        assertEquals(0, memoryManager.getFragmentationPercentage(), 0);
+    }
+
+    @Test
+    public void testFreePageIsReused() {
+        long address = malloc.allocate(PAGE_SIZE);
+        malloc.free(address, PAGE_SIZE);
+
+        malloc.allocate(PAGE_SIZE);
+        assertEquals(1, memoryManager.getPageCount());
+        assertEquals(PAGE_SIZE, memoryManager.getCommittedMemory());
+    }
+
+    @Test
+    public void testAllocate_largerThanPage() {
+        long size = PAGE_SIZE + 1;
+        long address = malloc.allocate(size);
+
+        assertEquals(0, memoryManager.getPageCount());
+        assertEquals(size, memoryManager.getCommittedMemory());
+
+        malloc.free(address, size);
+        assertEquals(0, memoryManager.getCommittedMemory());
+    }
+
+    @Test
+    public void testReallocate_withinSizeClass_keepsAddress() {
+        long address = malloc.allocate(40);
+        mem.putLong(address, 42);
+
+        assertEquals(address, malloc.reallocate(address, 40, 64));
+        assertEquals(42, mem.getLong(address));
+    }
+
+    @Test
+    public void testReallocate_copiesContent() {
+        long address = malloc.allocate(16);
+        mem.putLong(address, 42);
+
+        long newAddress = malloc.reallocate(address, 16, 1024);
+        assertNotEquals(address, newAddress);
+        assertEquals(42, mem.getLong(newAddress));
+        assertEquals(1024, memoryManager.getUsedMemory());
+    }
+
+    @Test(expected = NativeOutOfMemoryError.class)
+    public void testAllocate_whenMaxMemoryExceeded() {
+        for (int i = 0; i < 1000; i++) {
+            malloc.allocate(PAGE_SIZE);
+        }
+    }
+
+    @Test
+    public void testRandomAllocationsAndFrees() {
+        Random random = new Random();
+        List<long[]> blocks = new ArrayList<long[]>();
+        for (int i = 0; i < 10000; i++) {
+            if (blocks.isEmpty() || random.nextBoolean()) {
+                long size = 1 + random.nextInt(PAGE_SIZE / 8);
+                long address = malloc.allocate(size);
+                byte marker = (byte) i;
+                mem.setMemory(address, size, marker);
+                blocks.add(new long[]{address, size, marker});
+            } else {
+                long[] block = blocks.remove(random.nextInt(blocks.size()));
+                for (long offset = 0; offset < block[1]; offset++) {
+                    assertEquals((byte) block[2], mem.getByte(block[0] + offset));
+                }
+                malloc.free(block[0], block[1]);
+            }
+        }
+        for (long[] block : blocks) {
+            malloc.free(block[0], block[1]);
+        }
+
+        assertEquals(0, memoryManager.getUsedMemory());
+        assertEquals(memoryManager.getPageCount(), memoryManager.getFreePageCount());
+    }
+}
@@ -18,8 +18,11 @@ import static java.nio.ByteOrder.BIG_ENDIAN;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -358,6 +361,48 @@ public class ByteArrayObjectDataOutputTest {
         assertEquals(10 * 8, out.available());
     }
 
+    @Test
+    public void testClear_resetsGrown() throws Exception {
+        out.ensureAvailable(10 * 10);
+        assertTrue(out.isGrown());
+
+        out.clear();
+
+        assertFalse(out.isGrown());
+    }
+
+    @Test
+    public void testClearWithCapacity_keepsBufferWithSameCapacity() throws Exception {
+        out.ensureAvailable(10 * 10);
+        out.pos = 5;
+        byte[] buffer = out.buffer;
+
+        out.clear(buffer.length);
+
+        assertSame(buffer, out.buffer);
+        assertEquals(0, out.position());
+        assertFalse(out.isGrown());
+    }
+
+    @Test
+    public void testClearWithCapacity_resizesBuffer() throws Exception {
+        out.ensureAvailable(10 * 100);
+
+        out.clear(64);
+
+        assertEquals(64, out.capacity());
+        assertEquals(0, out.position());
+    }
+
+    @Test
+    public void testClearWithCapacity_bufferNull() throws Exception {
+        out.buffer = null;
+
+        out.clear(64);
+
+        assertEquals(64, out.capacity());
+    }
+
     @Test
     public void testClose() throws Exception {
         out.close();
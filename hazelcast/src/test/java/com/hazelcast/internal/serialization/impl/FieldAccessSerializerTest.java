@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.config.SerializerConfig;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Date;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class FieldAccessSerializerTest {
+
+    private static final int TYPE_ID = 1001;
+
+    private SerializationService serializationService;
+
+    @Before
+    public void setup() {
+        SerializationConfig config = new SerializationConfig()
+                .addSerializerConfig(new SerializerConfig()
+                        .setTypeClass(Employee.class)
+                        .setImplementation(new FieldAccessSerializer<Employee>(Employee.class, TYPE_ID)));
+        serializationService = new DefaultSerializationServiceBuilder().setConfig(config).build();
+    }
+
+    @Test
+    public void testRoundTrip() {
+        Employee employee = new Employee("John", 42, 1024L);
+        employee.active = true;
+        employee.grade = 'B';
+        employee.level = 7;
+        employee.code = 3;
+        employee.rating = 0.5f;
+        employee.score = 12.25;
+        employee.hired = new Date(1000L);
+        employee.skills = new int[]{1, 2, 3};
+
+        Data data = serializationService.toData(employee);
+        Employee copy = serializationService.toObject(data);
+
+        assertEquals(TYPE_ID, data.getType());
+        assertEquals("John", copy.name);
+        assertEquals(42, copy.age);
+        assertEquals(1024L, copy.getSalary());
+        assertEquals(true, copy.active);
+        assertEquals('B', copy.grade);
+        assertEquals(7, copy.level);
+        assertEquals(3, copy.code);
+        assertEquals(0.5f, copy.rating, 0);
+        assertEquals(12.25, copy.score, 0);
+        assertEquals(new Date(1000L), copy.hired);
+        assertArrayEquals(new int[]{1, 2, 3}, copy.skills);
+    }
+
+    @Test
+    public void testRoundTrip_withNullFields() {
+        Employee employee = new Employee(null, 1, 2L);
+
+        Employee copy = serializationService.toObject(serializationService.toData(employee));
+
+        assertNull(copy.name);
+        assertNull(copy.hired);
+        assertNull(copy.skills);
+        assertEquals(1, copy.age);
+    }
+
+    @Test
+    public void testTransientFieldIsNotSerialized() {
+        Employee employee = new Employee("John", 42, 1024L);
+        employee.cache = "cached";
+
+        Employee copy = serializationService.toObject(serializationService.toData(employee));
+
+        assertNull(copy.cache);
+    }
+
+    @Test
+    public void testLayoutIsCompact() {
+        Employee employee = new Employee("John", 42, 1024L);
+
+        Data data = serializationService.toData(employee);
+
+        // the primitives including the salary of the superclass, the name and the type ids of the null fields
+        int primitives = 1 + 2 + 1 + 2 + 4 + 4 + 8 + 8;
+        int name = 4 + "John".length();
+        int nullObjects = 2 * 4;
+        assertEquals(primitives + name + nullObjects, data.dataSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenNoDefaultConstructor() {
+        new FieldAccessSerializer<NoDefaultConstructor>(NoDefaultConstructor.class, TYPE_ID);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenAbstract() {
+        new FieldAccessSerializer<AbstractEmployee>(AbstractEmployee.class, TYPE_ID);
+    }
+
+    abstract static class AbstractEmployee {
+
+        private long salary;
+
+        AbstractEmployee() {
+        }
+
+        AbstractEmployee(long salary) {
+            this.salary = salary;
+        }
+
+        long getSalary() {
+            return salary;
+        }
+    }
+
+    static final class Employee extends AbstractEmployee {
+
+        final String name;
+        final int age;
+        boolean active;
+        char grade;
+        byte code;
+        short level;
+        float rating;
+        double score;
+        Date hired;
+        int[] skills;
+        transient String cache;
+
+        private Employee() {
+            this(null, 0, 0);
+        }
+
+        Employee(String name, int age, long salary) {
+            super(salary);
+            this.name = name;
+            this.age = age;
+        }
+    }
+
+    static final class NoDefaultConstructor {
+
+        private final int value;
+
+        NoDefaultConstructor(int value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableFactory;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class PortablePathAccessorTest {
+
+    private static final int FACTORY_ID = 1;
+
+    private SerializationServiceV1 serializationService;
+
+    @Before
+    public void setup() {
+        serializationService = (SerializationServiceV1) new DefaultSerializationServiceBuilder()
+                .addPortableFactory(FACTORY_ID, new PortableFactory() {
+                    @Override
+                    public Portable create(int classId) {
+                        return classId == Person.ID ? new Person() : new Address();
+                    }
+                }).build();
+    }
+
+    @After
+    public void tearDown() {
+        serializationService.dispose();
+    }
+
+    @Test
+    public void readPrimitive() throws IOException {
+        DefaultPortableReader reader = reader(new Person("joe", 42, new Address("london", 1234)));
+
+        assertEquals(42, reader.readInt("age"));
+        assertEquals("joe", reader.readUTF("name"));
+        assertEquals(42, reader.read("age"));
+    }
+
+    @Test
+    public void readNestedPrimitive() throws IOException {
+        DefaultPortableReader reader = reader(new Person("joe", 42, new Address("london", 1234)));
+
+        assertEquals(1234, reader.readInt("address.zip"));
+        assertEquals("london", reader.readUTF("address.city"));
+        assertEquals("london", reader.read("address.city"));
+        assertEquals(1234, reader.read("address.zip"));
+    }
+
+    @Test
+    public void accessorCachedInClassDefinition() throws IOException {
+        DefaultPortableReader reader = reader(new Person("joe", 42, new Address("london", 1234)));
+        reader.readInt("address.zip");
+
+        ClassDefinitionImpl cd = (ClassDefinitionImpl) reader.cd;
+        PortablePathAccessor accessor = cd.getPathAccessor("address.zip");
+        assertNotNull(accessor);
+
+        DefaultPortableReader otherReader = reader(new Person("jane", 24, new Address("paris", 5678)));
+        assertEquals(5678, otherReader.readInt("address.zip"));
+        assertSame(accessor, ((ClassDefinitionImpl) otherReader.cd).getPathAccessor("address.zip"));
+    }
+
+    @Test
+    public void readNestedPrimitive_whenNestedPortableNull() throws IOException {
+        assertEquals(1234, reader(new Person("joe", 42, new Address("london", 1234))).readInt("address.zip"));
+
+        DefaultPortableReader reader = reader(new Person("jane", 24, null));
+        assertNull(reader.read("address.zip"));
+        assertNull(reader.readUTF("address.city"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void readPrimitive_whenWrongType() throws IOException {
+        DefaultPortableReader reader = reader(new Person("joe", 42, new Address("london", 1234)));
+        reader.readInt("age");
+
+        reader.readLong("age");
+    }
+
+    @Test
+    public void pathsWithQuantifiersNotCompiled() throws IOException {
+        DefaultPortableReader reader = reader(new Person("joe", 42, new Address("london", 1234)));
+
+        assertEquals(3, reader.readInt("scores[1]"));
+        assertSame(PortablePathAccessor.NOT_COMPILABLE, ((ClassDefinitionImpl) reader.cd).getPathAccessor("scores[1]"));
+    }
+
+    private DefaultPortableReader reader(Portable portable) throws IOException {
+        Data data = serializationService.toData(portable);
+        return (DefaultPortableReader) serializationService.createPortableReader(data);
+    }
+
+    static class Person implements Portable {
+
+        static final int ID = 1;
+
+        private String name;
+        private int age;
+        private int[] scores;
+        private Address address;
+
+        Person() {
+        }
+
+        Person(String name, int age, Address address) {
+            this.name = name;
+            this.age = age;
+            this.scores = new int[]{1, 3, 5};
+            this.address = address;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return ID;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeUTF("name", name);
+            writer.writeInt("age", age);
+            writer.writeIntArray("scores", scores);
+            writer.writePortable("address", address);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            name = reader.readUTF("name");
+            age = reader.readInt("age");
+            scores = reader.readIntArray("scores");
+            address = reader.readPortable("address");
+        }
+    }
+
+    static class Address implements Portable {
+
+        static final int ID = 2;
+
+        private String city;
+        private int zip;
+
+        Address() {
+        }
+
+        Address(String city, int zip) {
+            this.city = city;
+            this.zip = zip;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return ID;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeUTF("city", city);
+            writer.writeInt("zip", zip);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            city = reader.readUTF("city");
+            zip = reader.readInt("zip");
+        }
+    }
+}
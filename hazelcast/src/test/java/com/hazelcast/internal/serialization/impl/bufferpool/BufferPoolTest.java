@@ -20,6 +20,7 @@ import java.io.IOException;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -88,6 +89,84 @@ public class BufferPoolTest extends HazelcastTestSupport {
         verify(out, times(1)).close();
     }
 
+    @Test
+    public void returnOutputBuffer_retainsGrownBuffer() throws IOException {
+        BufferObjectDataOutput out = bufferPool.takeOutputBuffer();
+        int initialCapacity = ((SizeAwareOutput) out).capacity();
+        out.write(new byte[initialCapacity * 2]);
+
+        bufferPool.returnOutputBuffer(out);
+
+        assertTrue(((SizeAwareOutput) out).capacity() >= initialCapacity * 2);
+        assertEquals(0, out.position());
+    }
+
+    @Test
+    public void returnOutputBuffer_whenLargerThanMaxRetained_thenTrimmed() throws IOException {
+        int maxRetainedCapacity = 64 * 1024;
+        bufferPool = new BufferPoolImpl(serializationService, maxRetainedCapacity);
+        BufferObjectDataOutput out = bufferPool.takeOutputBuffer();
+        out.write(new byte[maxRetainedCapacity * 2]);
+
+        bufferPool.returnOutputBuffer(out);
+
+        assertTrue(((SizeAwareOutput) out).capacity() <= maxRetainedCapacity);
+        assertEquals(0, out.position());
+    }
+
+    @Test
+    public void returnOutputBuffer_whenRepeatedlySerializingLargeValues_thenNoGrowAfterWarmup() throws IOException {
+        byte[] value = new byte[200 * 1024];
+
+        BufferObjectDataOutput out = bufferPool.takeOutputBuffer();
+        serializationService.writeObject(out, value);
+        bufferPool.returnOutputBuffer(out);
+        long growsAfterWarmup = bufferPool.getOutputGrows();
+
+        for (int k = 0; k < 2 * BufferSizeHistogram.DECAY_INTERVAL; k++) {
+            out = bufferPool.takeOutputBuffer();
+            serializationService.writeObject(out, value);
+            bufferPool.returnOutputBuffer(out);
+        }
+
+        assertEquals(1, growsAfterWarmup);
+        assertEquals(growsAfterWarmup, bufferPool.getOutputGrows());
+        assertEquals(1, bufferPool.getOutputMisses());
+    }
+
+    @Test
+    public void returnOutputBuffer_whenOversized_thenShrunk() throws IOException {
+        BufferObjectDataOutput out = bufferPool.takeOutputBuffer();
+        int initialCapacity = ((SizeAwareOutput) out).capacity();
+        for (int k = 0; k < BufferSizeHistogram.DECAY_INTERVAL; k++) {
+            out.write(new byte[100]);
+            bufferPool.returnOutputBuffer(out);
+            out = bufferPool.takeOutputBuffer();
+        }
+        out.write(new byte[initialCapacity * BufferPoolImpl.SHRINK_FACTOR * 2]);
+
+        bufferPool.returnOutputBuffer(out);
+
+        assertEquals(initialCapacity, ((SizeAwareOutput) out).capacity());
+    }
+
+    @Test
+    public void outputMetrics() throws IOException {
+        BufferObjectDataOutput out = bufferPool.takeOutputBuffer();
+        int size = ((SizeAwareOutput) out).capacity() * 2;
+        out.write(new byte[size]);
+        bufferPool.returnOutputBuffer(out);
+
+        out = bufferPool.takeOutputBuffer();
+        out.write(new byte[size]);
+        bufferPool.returnOutputBuffer(out);
+
+        assertEquals(1, bufferPool.getOutputMisses());
+        assertEquals(1, bufferPool.getOutputHits());
+        // the second time the retained buffer was large enough
+        assertEquals(1, bufferPool.getOutputGrows());
+    }
+
     // ======================= in ==========================================
 
     @Test
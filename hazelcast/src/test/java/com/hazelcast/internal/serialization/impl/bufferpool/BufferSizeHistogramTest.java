@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.bufferpool;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class BufferSizeHistogramTest {
+
+    private final BufferSizeHistogram histogram = new BufferSizeHistogram();
+
+    @Test
+    public void capacity_whenEmpty() {
+        assertEquals(0, histogram.capacity());
+    }
+
+    @Test
+    public void capacity_roundedToPowerOfTwo() {
+        histogram.record(100);
+
+        assertEquals(128, histogram.capacity());
+    }
+
+    @Test
+    public void capacity_ignoresRareLargeSizes() {
+        for (int k = 0; k < 95; k++) {
+            histogram.record(1000);
+        }
+        for (int k = 0; k < 5; k++) {
+            histogram.record(1000000);
+        }
+
+        assertEquals(1024, histogram.capacity());
+    }
+
+    @Test
+    public void capacity_followsFrequentLargeSizes() {
+        for (int k = 0; k < 80; k++) {
+            histogram.record(1000);
+        }
+        for (int k = 0; k < 20; k++) {
+            histogram.record(200 * 1024);
+        }
+
+        assertEquals(256 * 1024, histogram.capacity());
+    }
+
+    @Test
+    public void capacity_forgetsOldSizes() {
+        for (int k = 0; k < BufferSizeHistogram.DECAY_INTERVAL; k++) {
+            histogram.record(200 * 1024);
+        }
+        for (int k = 0; k < 8 * BufferSizeHistogram.DECAY_INTERVAL; k++) {
+            histogram.record(1000);
+        }
+
+        assertEquals(1024, histogram.capacity());
+    }
+}
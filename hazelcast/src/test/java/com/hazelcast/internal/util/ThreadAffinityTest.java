@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.BitSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ThreadAffinityTest {
+
+    @Test
+    public void whenNullOrEmpty_thenDisabled() {
+        assertFalse(new ThreadAffinity(null).isEnabled());
+        assertFalse(new ThreadAffinity(" ").isEnabled());
+        assertFalse(ThreadAffinity.DISABLED.isEnabled());
+        assertNull(ThreadAffinity.DISABLED.getAllowedCpus(0));
+    }
+
+    @Test
+    public void whenSingleCpus_thenThreadPerCpu() {
+        ThreadAffinity affinity = new ThreadAffinity("1, 3,5");
+
+        assertTrue(affinity.isEnabled());
+        assertEquals(3, affinity.getThreadCount());
+        assertEquals(cpus(1), affinity.getAllowedCpus(0));
+        assertEquals(cpus(3), affinity.getAllowedCpus(1));
+        assertEquals(cpus(5), affinity.getAllowedCpus(2));
+    }
+
+    @Test
+    public void whenRange_thenThreadPerCpu() {
+        ThreadAffinity affinity = new ThreadAffinity("2-4,8");
+
+        assertEquals(4, affinity.getThreadCount());
+        assertEquals(cpus(2), affinity.getAllowedCpus(0));
+        assertEquals(cpus(4), affinity.getAllowedCpus(2));
+        assertEquals(cpus(8), affinity.getAllowedCpus(3));
+    }
+
+    @Test
+    public void whenGroup_thenSingleThreadSharingCpus() {
+        ThreadAffinity affinity = new ThreadAffinity("[0-3,70]");
+
+        assertEquals(1, affinity.getThreadCount());
+        assertEquals(cpus(0, 1, 2, 3, 70), affinity.getAllowedCpus(0));
+    }
+
+    @Test
+    public void whenGroupWithThreadCount_thenThreadsShareCpus() {
+        ThreadAffinity affinity = new ThreadAffinity("0,[4-7]:2,9");
+
+        assertEquals(4, affinity.getThreadCount());
+        assertEquals(cpus(0), affinity.getAllowedCpus(0));
+        assertEquals(cpus(4, 5, 6, 7), affinity.getAllowedCpus(1));
+        assertEquals(cpus(4, 5, 6, 7), affinity.getAllowedCpus(2));
+        assertEquals(cpus(9), affinity.getAllowedCpus(3));
+    }
+
+    @Test
+    public void getAllowedCpus_returnsCopy() {
+        ThreadAffinity affinity = new ThreadAffinity("[0-1]:2");
+
+        affinity.getAllowedCpus(0).clear();
+
+        assertEquals(cpus(0, 1), affinity.getAllowedCpus(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenGroupNotClosed_thenFail() {
+        new ThreadAffinity("[0-3");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenMoreThreadsThanCpusInGroup_thenFail() {
+        new ThreadAffinity("[0-1]:3");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenReversedRange_thenFail() {
+        new ThreadAffinity("4-2");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenNotNumeric_thenFail() {
+        new ThreadAffinity("a");
+    }
+
+    private static BitSet cpus(int... cpus) {
+        BitSet bitSet = new BitSet();
+        for (int cpu : cpus) {
+            bitSet.set(cpu);
+        }
+        return bitSet;
+    }
+}
@@ -22,9 +22,12 @@ import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.MemoryUnit;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.query.SqlPredicate;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.TestHazelcastInstanceFactory;
@@ -175,7 +178,7 @@ public class InMemoryFormatTest extends HazelcastTestSupport {
     }
 
     @Test(expected = IllegalArgumentException.class)
-    public void testNativeIMap_throwsException() throws Exception {
+    public void testNativeIMap_whenNativeMemoryDisabled_throwsException() throws Exception {
         Config config = getConfig();
         config.getMapConfig("default").setInMemoryFormat(InMemoryFormat.NATIVE);
 
@@ -183,6 +186,26 @@ public class InMemoryFormatTest extends HazelcastTestSupport {
         member.getMap("default");
     }
 
+    @Test
+    public void testNativeIMap_whenNativeMemoryEnabled() throws Exception {
+        Config config = getConfig();
+        config.getNativeMemoryConfig().setEnabled(true).setSize(new MemorySize(16, MemoryUnit.MEGABYTES));
+        config.getMapConfig("default").setInMemoryFormat(InMemoryFormat.NATIVE);
+
+        HazelcastInstance member = createHazelcastInstance(config);
+        IMap<Integer, String> map = member.getMap("default");
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "value" + i);
+        }
+        assertEquals("value1", map.put(1, "newValue"));
+        assertEquals("value2", map.remove(2));
+
+        assertEquals(99, map.size());
+        assertEquals("newValue", map.get(1));
+        assertEquals(99, map.keySet().size());
+        assertEquals(1, map.values(new SqlPredicate("this = 'value3'")).size());
+    }
+
 
     @Test(expected = IllegalArgumentException.class)
     public void testNativeNearCache_throwsException() throws Exception {
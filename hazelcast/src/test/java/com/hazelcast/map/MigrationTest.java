@@ -17,9 +17,15 @@
 package com.hazelcast.map;
 
 import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.internal.memory.impl.StandardMemoryManager;
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.TestHazelcastInstanceFactory;
@@ -32,6 +38,7 @@ import org.junit.runner.RunWith;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastSerialClassRunner.class)
 @Category({QuickTest.class, ParallelTest.class})
@@ -86,5 +93,54 @@ public class MigrationTest extends HazelcastTestSupport {
         assertEquals("Some records have been lost.", noOfRecords, myMap.values().size());
     }
 
+    @Test
+    public void testNativeMapMigration_releasesNativeMemoryOfMigratedPartitions() {
+        String name = randomString();
+        Config config = getConfig();
+        config.getNativeMemoryConfig().setEnabled(true)
+                .setAllocatorType(NativeMemoryConfig.MemoryAllocatorType.STANDARD)
+                .setSize(new MemorySize(32, MemoryUnit.MEGABYTES));
+        config.getMapConfig(name).setInMemoryFormat(InMemoryFormat.NATIVE).setBackupCount(0);
+
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = nodeFactory.newHazelcastInstance(config);
+        final StandardMemoryManager memoryManager1 = getNativeMemoryManager(instance1);
+
+        IMap<Integer, String> map = instance1.getMap(name);
+        String value = randomString();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, value);
+        }
+        final long usedBeforeMigration = memoryManager1.getUsedMemory();
 
+        HazelcastInstance instance2 = nodeFactory.newHazelcastInstance(config);
+        final StandardMemoryManager memoryManager2 = getNativeMemoryManager(instance2);
+        waitAllForSafeState(instance1, instance2);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                long used1 = memoryManager1.getUsedMemory();
+                assertTrue("Native memory of migrated partitions is not released, used: " + used1
+                        + ", before migration: " + usedBeforeMigration, used1 < usedBeforeMigration);
+            }
+        });
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(value, map.get(i));
+        }
+
+        map.destroy();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(0, memoryManager1.getUsedMemory());
+                assertEquals(0, memoryManager2.getUsedMemory());
+            }
+        });
+    }
+
+    private static StandardMemoryManager getNativeMemoryManager(HazelcastInstance instance) {
+        return (StandardMemoryManager) getNode(instance).getNodeExtension().getNativeMemoryManager();
+    }
 }
@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl;
 
 import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -38,6 +39,16 @@ public class MapConfigValidatorTest {
         checkInMemoryFormat(InMemoryFormat.NATIVE);
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void test_checkInMemoryFormat_NATIVE_whenNativeMemoryDisabled() throws Exception {
+        checkInMemoryFormat(InMemoryFormat.NATIVE, new NativeMemoryConfig().setEnabled(false));
+    }
+
+    @Test
+    public void test_checkInMemoryFormat_NATIVE_whenNativeMemoryEnabled() throws Exception {
+        checkInMemoryFormat(InMemoryFormat.NATIVE, new NativeMemoryConfig().setEnabled(true));
+    }
+
     @Test
     public void test_checkInMemoryFormat_OBJECT() throws Exception {
         checkInMemoryFormat(InMemoryFormat.OBJECT);
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.nearcache;
+
+import com.hazelcast.internal.eviction.EvictionChecker;
+import com.hazelcast.internal.eviction.EvictionListener;
+import com.hazelcast.internal.eviction.impl.comparator.LFUEvictionPolicyComparator;
+import com.hazelcast.internal.eviction.impl.evaluator.DefaultEvictionPolicyEvaluator;
+import com.hazelcast.internal.eviction.impl.strategy.sampling.SamplingBasedEvictionStrategy;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.nearcache.NearCacheRecordMap.NearCacheEvictableSamplingEntry;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class NearCacheRecordMapTest extends HazelcastTestSupport {
+
+    private InternalSerializationService serializationService;
+    private NearCacheRecordMap map;
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        map = new NearCacheRecordMap(16);
+    }
+
+    private NearCacheRecord put(int key) {
+        Data keyData = serializationService.toData(key);
+        NearCacheRecord record = new NearCacheRecord(keyData, serializationService.toData("value" + key));
+        map.put(keyData, record);
+        return record;
+    }
+
+    @Test
+    public void sample() {
+        for (int i = 0; i < 100; i++) {
+            put(i);
+        }
+
+        Set<Data> sampledKeys = new HashSet<Data>();
+        for (NearCacheEvictableSamplingEntry entry : map.sample(15)) {
+            assertSame(map.get(entry.getAccessor()), entry.getEvictable());
+            sampledKeys.add(entry.getAccessor());
+        }
+        assertEquals(15, sampledKeys.size());
+    }
+
+    @Test
+    public void evict() {
+        NearCacheRecord record = put(1);
+        Data key = serializationService.toData(1);
+        final Set<Data> evictedKeys = new HashSet<Data>();
+
+        int evicted = map.evict(Collections.singleton(new NearCacheEvictableSamplingEntry(key, record)),
+                new EvictionListener<Data, NearCacheRecord>() {
+                    @Override
+                    public void onEvict(Data evictedEntryAccessor, NearCacheRecord evictedEntry) {
+                        evictedKeys.add(evictedEntryAccessor);
+                    }
+                });
+
+        assertEquals(1, evicted);
+        assertNull(map.get(key));
+        assertEquals(Collections.singleton(key), evictedKeys);
+    }
+
+    @Test
+    public void evict_whenRecordReplacedAfterSampling() {
+        NearCacheRecord sampled = put(1);
+        NearCacheRecord replacement = put(1);
+        Data key = serializationService.toData(1);
+
+        int evicted = map.evict(Collections.singleton(new NearCacheEvictableSamplingEntry(key, sampled)), null);
+
+        assertEquals(0, evicted);
+        assertSame(replacement, map.get(key));
+    }
+
+    @Test
+    public void evict_whenNoCandidates() {
+        put(1);
+
+        assertEquals(0, map.evict(null, null));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void samplingBasedEviction_evictsLeastFrequentlyUsed() {
+        for (int i = 0; i < 10; i++) {
+            NearCacheRecord record = put(i);
+            if (i != 5) {
+                record.access();
+            }
+        }
+
+        SamplingBasedEvictionStrategy<Data, NearCacheRecord, NearCacheRecordMap> strategy
+                = new SamplingBasedEvictionStrategy<Data, NearCacheRecord, NearCacheRecordMap>();
+        int evicted = strategy.evict(map,
+                new DefaultEvictionPolicyEvaluator<Data, NearCacheRecord>(new LFUEvictionPolicyComparator()),
+                EvictionChecker.EVICT_ALWAYS, null);
+
+        assertEquals(1, evicted);
+        assertEquals(9, map.size());
+        assertFalse(map.containsKey(serializationService.toData(5)));
+        assertTrue(map.containsKey(serializationService.toData(4)));
+    }
+
+    @Test
+    public void nearCacheRecord_accessHit() {
+        NearCacheRecord record = put(1);
+        record.access();
+        record.access();
+
+        assertEquals(2, record.getAccessHit());
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.map.impl.recordstore.ExpirationIndex.TICK_MILLIS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ExpirationIndexTest {
+
+    private static final long NOW = 1000 * TICK_MILLIS;
+
+    private InternalSerializationService serializationService;
+    private ExpirationIndex index;
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        index = new ExpirationIndex();
+    }
+
+    @Test
+    public void add_whenNeverExpires_thenIgnored() {
+        index.add(key(1), Long.MAX_VALUE);
+
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void pollExpired_whenNothingDue() {
+        index.add(key(1), NOW + 1);
+
+        List<Data> keys = new ArrayList<Data>();
+        assertEquals(0, index.pollExpired(NOW, 100, keys));
+        assertTrue(keys.isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void pollExpired_returnsDueKeysOnly() {
+        index.add(key(1), NOW - TICK_MILLIS);
+        index.add(key(2), NOW);
+        index.add(key(3), NOW + TICK_MILLIS);
+
+        List<Data> keys = new ArrayList<Data>();
+        assertEquals(2, index.pollExpired(NOW, 100, keys));
+
+        assertEquals(2, keys.size());
+        assertTrue(keys.contains(key(1)));
+        assertTrue(keys.contains(key(2)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void pollExpired_neverReturnsKeyBeforeItsExpirationTime() {
+        // in the same tick as now, but expiring later
+        index.add(key(1), NOW + TICK_MILLIS / 2);
+
+        List<Data> keys = new ArrayList<Data>();
+        assertEquals(0, index.pollExpired(NOW + TICK_MILLIS / 4, 100, keys));
+        assertEquals(1, index.pollExpired(NOW + TICK_MILLIS, 100, keys));
+    }
+
+    @Test
+    public void pollExpired_respectsMaxCount() {
+        for (int i = 0; i < 10; i++) {
+            index.add(key(i), NOW - i);
+        }
+
+        List<Data> keys = new ArrayList<Data>();
+        assertEquals(4, index.pollExpired(NOW, 4, keys));
+        assertEquals(6, index.size());
+
+        assertEquals(6, index.pollExpired(NOW, 100, keys));
+        assertEquals(10, keys.size());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void add_whenAlreadyIndexed_thenMoved() {
+        index.add(key(1), NOW);
+        index.add(key(1), NOW + TICK_MILLIS);
+
+        assertEquals(1, index.size());
+        List<Data> keys = new ArrayList<Data>();
+        assertEquals(0, index.pollExpired(NOW, 100, keys));
+        assertEquals(1, index.pollExpired(NOW + TICK_MILLIS, 100, keys));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void add_whenAlreadyIndexedAndNeverExpires_thenRemoved() {
+        index.add(key(1), NOW);
+        index.add(key(1), Long.MAX_VALUE);
+
+        assertEquals(0, index.size());
+        assertEquals(0, index.pollExpired(NOW, 100, new ArrayList<Data>()));
+    }
+
+    @Test
+    public void remove() {
+        index.add(key(1), NOW);
+        index.add(key(2), NOW);
+
+        index.remove(key(1));
+
+        assertEquals(1, index.size());
+        List<Data> keys = new ArrayList<Data>();
+        assertEquals(1, index.pollExpired(NOW, 100, keys));
+        assertEquals(key(2), keys.get(0));
+    }
+
+    @Test
+    public void remove_whenNotIndexed() {
+        index.add(key(1), NOW);
+
+        index.remove(key(2));
+
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void clear() {
+        index.add(key(1), NOW);
+        index.add(key(2), NOW + TICK_MILLIS);
+
+        index.clear();
+
+        assertEquals(0, index.size());
+        assertEquals(0, index.pollExpired(Long.MAX_VALUE - 1, 100, new ArrayList<Data>()));
+    }
+
+    private Data key(int key) {
+        return serializationService.toData(key);
+    }
+}
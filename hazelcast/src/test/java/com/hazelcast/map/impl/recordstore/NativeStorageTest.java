@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.memory.impl.StandardMemoryManager;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.NativeMemoryData;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.NativeRecord;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class NativeStorageTest {
+
+    private StandardMemoryManager memoryManager;
+    private SerializationService serializationService;
+    private NativeRecordFactory recordFactory;
+    private NativeStorage storage;
+
+    @Before
+    public void setUp() {
+        memoryManager = new StandardMemoryManager(new MemorySize(8, MemoryUnit.MEGABYTES));
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        recordFactory = new NativeRecordFactory(memoryManager, serializationService, null);
+        storage = new NativeStorage(recordFactory, serializationService);
+    }
+
+    @After
+    public void tearDown() {
+        storage.clear(true);
+        storage.destroy(true);
+        memoryManager.dispose();
+    }
+
+    @Test
+    public void testPutAndGet() {
+        Data key = serializationService.toData("key");
+        put(key, "value");
+
+        NativeRecord record = storage.get(key);
+        assertEquals("value", serializationService.toObject(record.getValue()));
+        assertEquals(key, record.getKey());
+        assertTrue(storage.containsKey(key));
+        assertEquals(1, storage.size());
+    }
+
+    @Test
+    public void testGet_whenAbsent() {
+        assertNull(storage.get(serializationService.toData("key")));
+    }
+
+    @Test
+    public void testPut_replacesExistingRecord() {
+        Data key = serializationService.toData("key");
+        put(key, "value1");
+        put(key, "value2");
+        storage.disposeDeferredBlocks();
+
+        assertEquals(1, storage.size());
+        assertEquals("value2", serializationService.toObject(storage.get(key).getValue()));
+    }
+
+    @Test
+    public void testUpdateRecordValue() {
+        Data key = serializationService.toData("key");
+        put(key, "value1");
+
+        storage.updateRecordValue(key, storage.get(key), "value2");
+        storage.disposeDeferredBlocks();
+
+        assertEquals("value2", serializationService.toObject(storage.get(key).getValue()));
+    }
+
+    @Test
+    public void testRemoveRecord() {
+        Data key = serializationService.toData("key");
+        put(key, "value");
+
+        storage.removeRecord(storage.get(key));
+        storage.disposeDeferredBlocks();
+
+        assertNull(storage.get(key));
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    public void testGetIfSameKey() {
+        Data key = serializationService.toData("key");
+        put(key, "value");
+
+        NativeRecord record = storage.get(key);
+        assertEquals(record, storage.getIfSameKey(record.getKey()));
+        assertNull(storage.getIfSameKey(key));
+    }
+
+    @Test
+    public void testValues() {
+        for (int i = 0; i < 1000; i++) {
+            put(serializationService.toData(i), i);
+        }
+
+        Set<Object> values = new HashSet<Object>();
+        for (NativeRecord record : storage.values()) {
+            values.add(serializationService.toObject(record.getValue()));
+        }
+        assertEquals(1000, values.size());
+    }
+
+    @Test
+    public void testFetchKeys_returnsHeapCopies() {
+        for (int i = 0; i < 100; i++) {
+            put(serializationService.toData(i), i);
+        }
+
+        Set<Object> keys = new HashSet<Object>();
+        int tableIndex = Integer.MAX_VALUE;
+        do {
+            MapKeysWithCursor batch = storage.fetchKeys(tableIndex, 10);
+            for (Data key : batch.getKeys()) {
+                assertFalse(key instanceof NativeMemoryData);
+                keys.add(serializationService.toObject(key));
+            }
+            tableIndex = batch.getNextTableIndexToReadFrom();
+        } while (tableIndex >= 0);
+        assertEquals(100, keys.size());
+    }
+
+    @Test
+    public void testGetRandomSamples() {
+        for (int i = 0; i < 100; i++) {
+            put(serializationService.toData(i), i);
+        }
+
+        int count = 0;
+        for (LazyEntryViewFromRecord ignored : storage.getRandomSamples(15)) {
+            count++;
+        }
+        assertTrue(count >= 15);
+    }
+
+    @Test
+    public void testGetRandomSamples_whenTableIsSparse() {
+        for (int i = 0; i < 1000; i++) {
+            put(serializationService.toData(i), i);
+        }
+        for (int i = 1; i < 1000; i++) {
+            storage.removeRecord(storage.get(serializationService.toData(i)));
+        }
+        storage.disposeDeferredBlocks();
+
+        int count = 0;
+        for (LazyEntryViewFromRecord ignored : storage.getRandomSamples(15)) {
+            count++;
+        }
+        assertEquals(1, count);
+    }
+
+    @Test
+    public void testClear_releasesNativeMemory() {
+        long usedBefore = memoryManager.getUsedMemory();
+        for (int i = 0; i < 100; i++) {
+            put(serializationService.toData(i), i);
+        }
+        assertNotEquals(usedBefore, memoryManager.getUsedMemory());
+
+        storage.clear(false);
+        storage.disposeDeferredBlocks();
+
+        assertEquals(0, storage.size());
+        assertEquals(usedBefore, memoryManager.getUsedMemory());
+    }
+
+    private void put(Data key, Object value) {
+        NativeRecord record = (NativeRecord) recordFactory.newRecord(value);
+        storage.put(key, record);
+    }
+}
@@ -759,7 +759,7 @@ public class NearCacheTest extends HazelcastTestSupport {
                 NearCacheStats stats = map.getLocalMapStats().getNearCacheStats();
                 long ownedEntryCount = stats.getOwnedEntryCount();
                 triggerNearCacheEviction(map);
-                assertTrue("owned entry count " + ownedEntryCount, maxSize > ownedEntryCount);
+                assertTrue("owned entry count " + ownedEntryCount, maxSize >= ownedEntryCount);
             }
         });
     }
@@ -779,7 +779,7 @@ public class NearCacheTest extends HazelcastTestSupport {
                 NearCacheStats stats = map.getLocalMapStats().getNearCacheStats();
                 long ownedEntryCount = stats.getOwnedEntryCount();
                 triggerNearCacheEviction(map);
-                assertTrue("owned entry count " + ownedEntryCount, maxSize > ownedEntryCount);
+                assertTrue("owned entry count " + ownedEntryCount, maxSize >= ownedEntryCount);
             }
         });
     }
@@ -799,7 +799,7 @@ public class NearCacheTest extends HazelcastTestSupport {
                 NearCacheStats stats = map.getLocalMapStats().getNearCacheStats();
                 long ownedEntryCount = stats.getOwnedEntryCount();
                 triggerNearCacheEviction(map);
-                assertTrue("owned entry count " + ownedEntryCount, maxSize > ownedEntryCount);
+                assertTrue("owned entry count " + ownedEntryCount, maxSize >= ownedEntryCount);
             }
         });
     }
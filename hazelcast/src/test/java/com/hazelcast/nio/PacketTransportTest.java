@@ -14,6 +14,7 @@ import java.util.Random;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -94,6 +95,37 @@ public class PacketTransportTest extends HazelcastTestSupport {
         assertPacketEquals(originalPacket, clonedPacket);
     }
 
+    // This test verifies that a Packet written as its header followed by its raw payload, as done by gathering writes,
+    // can be read back as a regular Packet.
+    @Test
+    public void headerAndPayloadWrittenSeparately() {
+        Packet originalPacket = new Packet("foobarbaz".getBytes(), 10).setFlag(Packet.FLAG_OP);
+
+        ByteBuffer bb = ByteBuffer.allocate(100);
+        assertTrue(originalPacket.writeHeaderTo(bb));
+        bb.put(originalPacket.toByteArray());
+        // the payload is not written a second time
+        assertTrue(originalPacket.writeTo(bb));
+
+        bb.flip();
+
+        Packet clonedPacket = new Packet();
+        assertTrue(clonedPacket.readFrom(bb));
+        assertEquals(0, bb.remaining());
+        assertEquals(10, clonedPacket.getPartitionId());
+        assertPacketEquals(originalPacket, clonedPacket);
+    }
+
+    @Test
+    public void headerNotWritten_whenNotEnoughSpace() {
+        Packet packet = new Packet("foobarbaz".getBytes());
+
+        ByteBuffer bb = ByteBuffer.allocate(5);
+
+        assertFalse(packet.writeHeaderTo(bb));
+        assertEquals(0, bb.position());
+    }
+
     private void assertPacketEquals(Packet originalPacket, Packet clonedPacket) {
         assertEquals(originalPacket.getFlags(), clonedPacket.getFlags());
         assertArrayEquals(originalPacket.toByteArray(), clonedPacket.toByteArray());
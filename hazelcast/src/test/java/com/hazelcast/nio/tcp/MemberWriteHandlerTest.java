@@ -13,6 +13,7 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -44,4 +45,54 @@ public class MemberWriteHandlerTest extends HazelcastTestSupport {
         resultPacket.readFrom(bb);
         assertEquals(packet, resultPacket);
     }
+
+    @Test
+    public void whenCompressionEnabled() throws Exception {
+        writeHandler.enableCompression(100);
+        Packet packet = new Packet(new byte[5000]);
+        ByteBuffer bb = ByteBuffer.allocate(1000);
+        boolean result = writeHandler.onWrite(packet, bb);
+
+        assertTrue(result);
+
+        bb.flip();
+        Packet resultPacket = new Packet();
+        resultPacket.readFrom(bb);
+        assertTrue(resultPacket.isFlagSet(Packet.FLAG_COMPRESSED));
+        assertEquals(packet, new PacketCompressor(0).decompress(resultPacket));
+    }
+
+    @Test
+    public void whenCompressionEnabled_andWrittenInMultipleCalls() throws Exception {
+        writeHandler.enableCompression(100);
+        byte[] payload = new byte[5000];
+        Arrays.fill(payload, (byte) 'a');
+        Packet first = new Packet(payload, 1);
+        Packet second = new Packet(payload, 2);
+
+        // the compressed payload is kept in a buffer shared by the packets, so the first packet has to be complete
+        ByteBuffer bb = ByteBuffer.allocate(1000);
+        // larger than the packet header, which is written in one piece
+        ByteBuffer chunk = ByteBuffer.allocate(16);
+        for (Packet packet : new Packet[]{first, second}) {
+            boolean complete;
+            do {
+                chunk.clear();
+                complete = writeHandler.onWrite(packet, chunk);
+                chunk.flip();
+                bb.put(chunk);
+            } while (!complete);
+        }
+
+        bb.flip();
+        PacketCompressor decompressor = new PacketCompressor(0);
+        for (Packet packet : new Packet[]{first, second}) {
+            Packet resultPacket = new Packet();
+            assertTrue(resultPacket.readFrom(bb));
+            assertTrue(resultPacket.isFlagSet(Packet.FLAG_COMPRESSED));
+            Packet decompressed = decompressor.decompress(resultPacket);
+            assertEquals(packet, decompressed);
+            assertEquals(packet.getPartitionId(), decompressed.getPartitionId());
+        }
+    }
 }
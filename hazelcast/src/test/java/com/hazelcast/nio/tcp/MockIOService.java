@@ -9,6 +9,7 @@ import com.hazelcast.instance.HazelcastThreadGroup;
 import com.hazelcast.internal.ascii.TextCommandService;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.util.ThreadAffinity;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.LoggingServiceImpl;
 import com.hazelcast.nio.Address;
@@ -185,6 +186,21 @@ public class MockIOService implements IOService {
         return false;
     }
 
+    @Override
+    public int getGatheringWriteThreshold() {
+        return 1024;
+    }
+
+    @Override
+    public boolean isSocketCompressionEnabled() {
+        return false;
+    }
+
+    @Override
+    public int getSocketCompressionThreshold() {
+        return 1024;
+    }
+
     @Override
     public int getSocketLingerSeconds() {
         return 0;
@@ -215,6 +231,16 @@ public class MockIOService implements IOService {
         return 1;
     }
 
+    @Override
+    public ThreadAffinity getInputThreadAffinity() {
+        return ThreadAffinity.DISABLED;
+    }
+
+    @Override
+    public ThreadAffinity getOutputThreadAffinity() {
+        return ThreadAffinity.DISABLED;
+    }
+
     @Override
     public long getConnectionMonitorInterval() {
         return 0;
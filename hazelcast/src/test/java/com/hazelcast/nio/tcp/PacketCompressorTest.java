@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp;
+
+import com.hazelcast.nio.Packet;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class PacketCompressorTest extends HazelcastTestSupport {
+
+    private static final int THRESHOLD = 100;
+
+    private PacketCompressor compressor;
+
+    @Before
+    public void setup() {
+        compressor = new PacketCompressor(THRESHOLD);
+    }
+
+    @Test
+    public void compress_thenDecompress() throws Exception {
+        byte[] payload = new byte[10000];
+        Arrays.fill(payload, (byte) 'a');
+        Packet packet = new Packet(payload, 12).setAllFlags(Packet.FLAG_OP | Packet.FLAG_URGENT);
+
+        Packet compressed = compress(packet);
+
+        assertTrue(compressed.isFlagSet(Packet.FLAG_COMPRESSED));
+        assertTrue(compressed.isFlagSet(Packet.FLAG_URGENT));
+        assertEquals(12, compressed.getPartitionId());
+        assertTrue(compressed.packetSize() < packet.packetSize());
+
+        Packet decompressed = new PacketCompressor(0).decompress(compressed);
+        assertEquals(packet, decompressed);
+        assertFalse(decompressed.isFlagSet(Packet.FLAG_COMPRESSED));
+    }
+
+    @Test
+    public void compress_whenSmallerThanThreshold() {
+        Packet packet = new Packet(new byte[THRESHOLD / 2]);
+
+        assertEquals(-1, compressor.compress(packet));
+    }
+
+    @Test
+    public void compress_whenNotCompressible() {
+        byte[] payload = new byte[10000];
+        new Random().nextBytes(payload);
+        Packet packet = new Packet(payload);
+
+        assertEquals(-1, compressor.compress(packet));
+    }
+
+    @Test
+    public void compress_whenAlreadyCompressed() {
+        byte[] payload = new byte[10000];
+        Packet compressed = compress(new Packet(payload));
+
+        assertEquals(-1, compressor.compress(compressed));
+    }
+
+    @Test
+    public void compress_reusedForMultiplePackets() throws Exception {
+        for (int size = THRESHOLD; size < 100000; size *= 3) {
+            byte[] payload = new byte[size];
+            Arrays.fill(payload, (byte) size);
+            Packet packet = new Packet(payload);
+
+            assertEquals(packet, compressor.decompress(compress(packet)));
+        }
+    }
+
+    private Packet compress(Packet packet) {
+        int size = compressor.compress(packet);
+        assertTrue(size > 0);
+        return new Packet(Arrays.copyOf(compressor.getBuffer(), size), packet.getPartitionId())
+                .setAllFlags(packet.getFlags() | Packet.FLAG_COMPRESSED);
+    }
+}
@@ -0,0 +1,20 @@
+package com.hazelcast.nio.tcp.nonblocking;
+
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.nio.tcp.IOThreadingModelFactory;
+import com.hazelcast.nio.tcp.MockIOService;
+
+public class BusyPoll_NonBlockingIOThreadingModelFactory implements IOThreadingModelFactory {
+
+    @Override
+    public NonBlockingIOThreadingModel create(
+            MockIOService ioService, MetricsRegistry metricsRegistry) {
+        NonBlockingIOThreadingModel threadingModel = new NonBlockingIOThreadingModel(
+                ioService,
+                ioService.loggingService,
+                metricsRegistry,
+                ioService.hazelcastThreadGroup);
+        threadingModel.setSelectorMode(SelectorMode.BUSY_POLL);
+        return threadingModel;
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp.nonblocking;
+
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.nio.IOService;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.tcp.IOThreadingModel;
+import com.hazelcast.nio.tcp.MemberWriteHandler;
+import com.hazelcast.nio.tcp.SocketChannelWrapper;
+import com.hazelcast.nio.tcp.TcpIpConnection;
+import com.hazelcast.nio.tcp.TcpIpConnectionManager;
+import com.hazelcast.nio.tcp.WriteHandler;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.hazelcast.nio.Protocols.CLUSTER;
+import static com.hazelcast.util.StringUtil.stringToBytes;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the gathering writes of the {@link NonBlockingSocketWriter} against a socket channel that records the written
+ * bytes and can be limited to a number of bytes per write, so partial writes can be simulated.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class NonBlockingSocketWriter_GatheringWriteTest {
+
+    private static final int THRESHOLD = 100;
+    private static final int PACKET_HEADER_SIZE = 11;
+    // the smallest payload a Packet accepts
+    private static final int MIN_PAYLOAD_SIZE = 8;
+    // the output buffer size in KB
+    private static final int SEND_BUFFER_SIZE = 1;
+    private static final int MAX_ROUNDS = 100000;
+
+    private final Random random = new Random();
+    private RecordingSocketChannel socketChannel;
+    private NonBlockingIOThread ioThread;
+    private NonBlockingSocketWriter writer;
+
+    @Before
+    public void setup() throws Exception {
+        IOService ioService = mock(IOService.class);
+        when(ioService.getLogger(anyString())).thenReturn(Logger.getLogger(getClass()));
+        when(ioService.getSocketSendBufferSize()).thenReturn(SEND_BUFFER_SIZE);
+        when(ioService.getGatheringWriteThreshold()).thenReturn(THRESHOLD);
+        when(ioService.createWriteHandler(any(TcpIpConnection.class))).thenAnswer(new Answer<WriteHandler>() {
+            @Override
+            public WriteHandler answer(InvocationOnMock invocation) {
+                return new MemberWriteHandler();
+            }
+        });
+        TcpIpConnectionManager connectionManager = mock(TcpIpConnectionManager.class);
+        when(connectionManager.getIoService()).thenReturn(ioService);
+
+        socketChannel = new RecordingSocketChannel();
+        TcpIpConnection connection = new TcpIpConnection(connectionManager, 1, socketChannel, mock(IOThreadingModel.class));
+        ioThread = new NonBlockingIOThread(null, "test-io-thread", Logger.getLogger(getClass()),
+                mock(NonBlockingIOThreadOutOfMemoryHandler.class));
+        writer = new NonBlockingSocketWriter(connection, ioThread, mock(MetricsRegistry.class));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ioThread.getSelector().close();
+    }
+
+    @Test
+    public void whenSmallPackets() throws Exception {
+        assertPacketsTransferred(newPacket(10), newPacket(20), newPacket(30));
+    }
+
+    @Test
+    public void whenLargePacket() throws Exception {
+        // larger than the output buffer, so it can only be written from its own buffer
+        assertPacketsTransferred(newPacket(5000));
+    }
+
+    @Test
+    public void whenPacketsAroundThreshold() throws Exception {
+        List<Packet> packets = new ArrayList<Packet>();
+        for (int payloadSize = THRESHOLD - PACKET_HEADER_SIZE - 2; payloadSize <= THRESHOLD + 2; payloadSize++) {
+            packets.add(newPacket(payloadSize));
+        }
+        assertPacketsTransferred(packets.toArray(new Packet[packets.size()]));
+    }
+
+    @Test
+    public void whenLargeAndSmallPacketsMixed() throws Exception {
+        // more packets than fit into a single gathering write
+        Packet[] packets = new Packet[200];
+        for (int i = 0; i < packets.length; i++) {
+            packets[i] = newPacket(i % 2 == 0 ? 2000 : 10);
+        }
+        assertPacketsTransferred(packets);
+    }
+
+    @Test
+    public void whenPartialWrites() throws Exception {
+        socketChannel.maxBytesPerWrite = 7;
+        assertPacketsTransferred(newPacket(10), newPacket(2000), newPacket(THRESHOLD), newPacket(MIN_PAYLOAD_SIZE), newPacket(5000));
+    }
+
+    @Test
+    public void whenPartialWrites_andManyPackets() throws Exception {
+        socketChannel.maxBytesPerWrite = 333;
+        Packet[] packets = new Packet[300];
+        for (int i = 0; i < packets.length; i++) {
+            packets[i] = newPacket(MIN_PAYLOAD_SIZE + random.nextInt(3000));
+        }
+        assertPacketsTransferred(packets);
+    }
+
+    private Packet newPacket(int payloadSize) {
+        byte[] payload = new byte[payloadSize];
+        random.nextBytes(payload);
+        return new Packet(payload, random.nextInt(271)).setFlag(Packet.FLAG_OP);
+    }
+
+    private void assertPacketsTransferred(Packet... packets) throws Exception {
+        long expectedBytes = CLUSTER.length();
+        for (Packet packet : packets) {
+            expectedBytes += packet.packetSize();
+            writer.write(packet);
+        }
+
+        for (int round = 0; socketChannel.out.size() < expectedBytes; round++) {
+            if (round == MAX_ROUNDS) {
+                fail("Only " + socketChannel.out.size() + " of " + expectedBytes + " bytes written");
+            }
+            writer.handle();
+        }
+        assertTrue(socketChannel.gatheringWrites > 0);
+
+        ByteBuffer written = ByteBuffer.wrap(socketChannel.out.toByteArray());
+        byte[] protocol = new byte[CLUSTER.length()];
+        written.get(protocol);
+        assertArrayEquals(stringToBytes(CLUSTER), protocol);
+        for (Packet expected : packets) {
+            Packet actual = new Packet();
+            assertTrue(actual.readFrom(written));
+            assertEquals(expected.getFlags(), actual.getFlags());
+            assertEquals(expected.getPartitionId(), actual.getPartitionId());
+            assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+        }
+        assertEquals(0, written.remaining());
+    }
+
+    private static final class RecordingSocketChannel implements SocketChannelWrapper {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private final Socket socket = new Socket();
+        private int maxBytesPerWrite = Integer.MAX_VALUE;
+        private int gatheringWrites;
+
+        @Override
+        public int write(ByteBuffer src) {
+            return transfer(src, maxBytesPerWrite);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            gatheringWrites++;
+            int budget = maxBytesPerWrite;
+            long written = 0;
+            for (int i = offset; i < offset + length && budget > 0; i++) {
+                int bytes = transfer(srcs[i], budget);
+                budget -= bytes;
+                written += bytes;
+            }
+            return written;
+        }
+
+        private int transfer(ByteBuffer src, int maxBytes) {
+            int bytes = Math.min(src.remaining(), maxBytes);
+            for (int i = 0; i < bytes; i++) {
+                out.write(src.get());
+            }
+            return bytes;
+        }
+
+        @Override
+        public SelectionKey register(Selector selector, int ops, Object attachment) {
+            return mock(SelectionKey.class);
+        }
+
+        @Override
+        public Socket socket() {
+            return socket;
+        }
+
+        @Override
+        public boolean isBlocking() {
+            return false;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public boolean connect(SocketAddress socketAddress) {
+            return true;
+        }
+
+        @Override
+        public SelectionKey keyFor(Selector selector) {
+            return null;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            return 0;
+        }
+
+        @Override
+        public SelectableChannel configureBlocking(boolean block) {
+            return null;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void closeInbound() {
+        }
+
+        @Override
+        public void closeOutbound() {
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
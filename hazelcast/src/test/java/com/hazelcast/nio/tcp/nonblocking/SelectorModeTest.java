@@ -54,6 +54,11 @@ public class SelectorModeTest {
         assertEquals(SelectorMode.SELECT_NOW, SelectorMode.fromString("selectnow"));
     }
 
+    @Test
+    public void fromString_whenBusyPoll() throws Exception {
+        assertEquals(SelectorMode.BUSY_POLL, SelectorMode.fromString("busypoll"));
+    }
+
     @Test
     public void fromString_whenSelect() throws Exception {
         assertEquals(SelectorMode.SELECT, SelectorMode.fromString("select"));
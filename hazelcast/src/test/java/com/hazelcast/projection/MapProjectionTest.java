@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.projection;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableFactory;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.spi.properties.GroupProperty.QUERY_PREDICATE_PARALLEL_EVALUATION;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MapProjectionTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @Test
+    public void testSingleAttribute() {
+        IMap<Integer, Person> map = populatedMap(new Config());
+
+        Collection<Integer> ages = map.project(Projections.<Integer, Person, Integer>singleAttribute("age"));
+
+        assertEquals(ENTRY_COUNT, ages.size());
+        long sum = 0;
+        for (Integer age : ages) {
+            sum += age;
+        }
+        assertEquals((ENTRY_COUNT / 100) * (99 * 100 / 2), sum);
+    }
+
+    @Test
+    public void testMultiAttribute() {
+        IMap<Integer, Person> map = populatedMap(new Config());
+
+        Collection<Object[]> rows = map.project(Projections.<Integer, Person>multiAttribute("name", "age"),
+                new SqlPredicate("age = 7"));
+
+        assertEquals(ENTRY_COUNT / 100, rows.size());
+        for (Object[] row : rows) {
+            assertArrayEquals(new Object[]{"name7", 7}, row);
+        }
+    }
+
+    @Test
+    public void testProject_withPredicate_usingIndex() {
+        IMap<Integer, Person> map = populatedMap(new Config());
+        map.addIndex("age", true);
+
+        Collection<String> names = map.project(Projections.<Integer, Person, String>singleAttribute("name"),
+                new SqlPredicate("age >= 98"));
+
+        assertEquals(2 * ENTRY_COUNT / 100, names.size());
+        assertEquals(new HashSet<String>(asList("name98", "name99")), new HashSet<String>(names));
+    }
+
+    @Test
+    public void testProject_withParallelEvaluation() {
+        Config config = new Config();
+        config.setProperty(QUERY_PREDICATE_PARALLEL_EVALUATION.getName(), "true");
+        IMap<Integer, Person> map = populatedMap(config);
+
+        Collection<String> names = map.project(Projections.<Integer, Person, String>singleAttribute("name"),
+                new SqlPredicate("age = 42"));
+
+        assertEquals(ENTRY_COUNT / 100, names.size());
+        assertEquals(new HashSet<String>(asList("name42")), new HashSet<String>(names));
+    }
+
+    @Test
+    public void testProject_whenEmpty() {
+        IMap<Integer, Person> map = createHazelcastInstance().getMap(randomMapName());
+
+        assertTrue(map.project(Projections.<Integer, Person, Integer>singleAttribute("age")).isEmpty());
+    }
+
+    @Test
+    public void testProject_portable_doesNotDeserializeValues() {
+        Config config = new Config();
+        config.getSerializationConfig().addPortableFactory(PortablePerson.FACTORY_ID, new PortablePersonFactory());
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        IMap<Integer, PortablePerson> map = instances[0].getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new PortablePerson("name" + (i % 100), i % 100));
+        }
+        PortablePerson.DESERIALIZATION_COUNT.set(0);
+
+        Collection<Integer> ages = map.project(Projections.<Integer, PortablePerson, Integer>singleAttribute("age"),
+                new SqlPredicate("name = 'name5'"));
+
+        assertEquals(ENTRY_COUNT / 100, ages.size());
+        assertEquals(new HashSet<Integer>(asList(5)), new HashSet<Integer>(ages));
+        assertEquals(0, PortablePerson.DESERIALIZATION_COUNT.get());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testProject_whenProjectionNull() {
+        IMap<Integer, Person> map = createHazelcastInstance().getMap(randomMapName());
+
+        map.project(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testProject_whenPagingPredicate() {
+        IMap<Integer, Person> map = createHazelcastInstance().getMap(randomMapName());
+
+        map.project(Projections.<Integer, Person, Integer>singleAttribute("age"),
+                new PagingPredicate<Integer, Person>(10));
+    }
+
+    private IMap<Integer, Person> populatedMap(Config config) {
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        IMap<Integer, Person> map = instances[0].getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Person("name" + (i % 100), i % 100));
+        }
+        return map;
+    }
+
+    public static class Person implements Serializable {
+
+        private String name;
+        private int age;
+
+        public Person(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+    }
+
+    public static class PortablePerson implements Portable {
+
+        static final int FACTORY_ID = 1;
+        static final int CLASS_ID = 1;
+        static final AtomicInteger DESERIALIZATION_COUNT = new AtomicInteger();
+
+        private String name;
+        private int age;
+
+        public PortablePerson() {
+        }
+
+        PortablePerson(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeUTF("name", name);
+            writer.writeInt("age", age);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            DESERIALIZATION_COUNT.incrementAndGet();
+            name = reader.readUTF("name");
+            age = reader.readInt("age");
+        }
+    }
+
+    private static class PortablePersonFactory implements PortableFactory {
+
+        @Override
+        public Portable create(int classId) {
+            return classId == PortablePerson.CLASS_ID ? new PortablePerson() : null;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.IndexAwarePredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.SampleObjects.Employee;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.predicates.AndPredicate;
+import com.hazelcast.query.impl.predicates.RuleBasedQueryOptimizer;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.hazelcast.instance.TestUtil.toData;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class BitmapIndexTest {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final RuleBasedQueryOptimizer optimizer = new RuleBasedQueryOptimizer();
+
+    @Test
+    public void testDeclaration() {
+        assertTrue(BitmapIndexImpl.isBitmap("BITMAP(city)"));
+        assertTrue(BitmapIndexImpl.isBitmap("bitmap(city)"));
+        assertFalse(BitmapIndexImpl.isBitmap("city"));
+        assertEquals("city", BitmapIndexImpl.getIndexedAttribute("BITMAP( city )"));
+    }
+
+    @Test
+    public void testIndexIsRegisteredUnderAttribute() {
+        Indexes indexes = newIndexes();
+
+        Index index = indexes.getIndex("city");
+        assertTrue(index instanceof BitmapIndexImpl);
+        assertEquals("BITMAP(city)", index.getAttributeName());
+        assertSame(index, indexes.addOrGetIndex("BITMAP(city)", false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBitmapIndexConflictsWithRegularIndex() {
+        Indexes indexes = newIndexes();
+        indexes.addOrGetIndex("city", true);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRegularIndexConflictsWithBitmapIndex() {
+        Indexes indexes = new Indexes(serializationService, Extractors.empty());
+        indexes.addOrGetIndex("city", false);
+        indexes.addOrGetIndex("BITMAP(city)", false);
+    }
+
+    @Test
+    public void testEqualAndIn() {
+        assertQuery(newIndexes(), "city = 'city3'");
+        assertQuery(newIndexes(), "city != 'city3'");
+        assertQuery(newIndexes(), "city in ('city1', 'city3', 'unknown')");
+    }
+
+    @Test
+    public void testAnd() {
+        assertQuery(newIndexes(), "city = 'city3' and active = true");
+        assertQuery(newIndexes(), "city = 'city3' and active != true");
+    }
+
+    @Test
+    public void testOr() {
+        assertQuery(newIndexes(), "city = 'city3' or active = false");
+    }
+
+    @Test
+    public void testNot() {
+        assertQuery(newIndexes(), "not(city = 'city3')");
+        assertQuery(newIndexes(), "not(city in ('city1', 'city2') or active = true)");
+    }
+
+    @Test
+    public void testNested() {
+        assertQuery(newIndexes(), "active = true and (city = 'city1' or not(city in ('city2', 'city3')))");
+    }
+
+    @Test
+    public void testWithRemainingPredicates() {
+        Indexes indexes = newIndexes();
+        String sql = "city = 'city3' and active = true and age > 20";
+        assertTrue(optimizer.optimize(new SqlPredicate(sql), indexes) instanceof AndPredicate);
+        assertQuery(indexes, sql);
+    }
+
+    @Test
+    public void testComparisons() {
+        assertQuery(newIndexes(), "city > 'city3'");
+        assertQuery(newIndexes(), "city <= 'city3'");
+        assertQuery(newIndexes(), "city between 'city2' and 'city4'");
+    }
+
+    @Test
+    public void testUpdateAndRemove() {
+        Indexes indexes = newIndexes();
+        Data key = toData(3);
+        Employee oldEmployee = newEmployee(3);
+        Employee newEmployee = new Employee("name3", "city42", 3, true, 3);
+        indexes.saveEntryIndex(new QueryEntry(serializationService, key, newEmployee, Extractors.empty()), oldEmployee);
+
+        assertFalse(query(indexes, "city = 'city3' and active = true").contains(key));
+        assertEquals(1, query(indexes, "city = 'city42' and active = true").size());
+
+        indexes.removeEntryIndex(key, newEmployee);
+        assertEquals(0, query(indexes, "city = 'city42' and active = true").size());
+        assertFalse(query(indexes, "not(city = 'city3')").contains(key));
+
+        // the released ordinal is reused by the next entry
+        Data newKey = toData(ENTRY_COUNT);
+        indexes.saveEntryIndex(new QueryEntry(serializationService, newKey, newEmployee, Extractors.empty()), null);
+        assertEquals(1, query(indexes, "city = 'city42' and active = true").size());
+        assertTrue(query(indexes, "city = 'city42' and active = true").contains(newKey));
+    }
+
+    @Test
+    public void testResultContains() {
+        Indexes indexes = newIndexes();
+        Predicate optimized = optimizer.optimize(new SqlPredicate("city = 'city3' and active = true"), indexes);
+        Set<QueryableEntry> entries = indexes.query(optimized);
+
+        assertTrue(entries.contains(new QueryEntry(serializationService, toData(3), newEmployee(3), Extractors.empty())));
+        assertFalse(entries.contains(new QueryEntry(serializationService, toData(4), newEmployee(4), Extractors.empty())));
+    }
+
+    @Test
+    public void testResultIsNotAffectedByLaterUpdates() {
+        Indexes indexes = newIndexes();
+        Predicate optimized = optimizer.optimize(new SqlPredicate("city = 'city3'"), indexes);
+        Set<QueryableEntry> entries = indexes.query(optimized);
+        QueryEntry entry = new QueryEntry(serializationService, toData(3), newEmployee(3), Extractors.empty());
+
+        // the ordinal released by the removal is reused by another entry of the same stripe
+        indexes.removeEntryIndex(toData(3), newEmployee(3));
+        for (int i = ENTRY_COUNT; i < 2 * ENTRY_COUNT; i++) {
+            indexes.saveEntryIndex(new QueryEntry(serializationService, toData(i), newEmployee(i), Extractors.empty()), null);
+        }
+
+        assertEquals(ENTRY_COUNT / 10, entries.size());
+        assertTrue(entries.contains(entry));
+        for (QueryableEntry result : entries) {
+            assertEquals("city3", ((Employee) result.getValue()).getCity());
+        }
+    }
+
+    private Indexes newIndexes() {
+        Indexes indexes = new Indexes(serializationService, Extractors.empty());
+        indexes.addOrGetIndex("BITMAP(city)", false);
+        indexes.addOrGetIndex("BITMAP(active)", false);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            indexes.saveEntryIndex(new QueryEntry(serializationService, toData(i), newEmployee(i), Extractors.empty()), null);
+        }
+        return indexes;
+    }
+
+    private static Employee newEmployee(int i) {
+        return new Employee("name" + i, "city" + (i % 10), i % 50, i % 3 == 0, i);
+    }
+
+    private void assertQuery(Indexes indexes, String sql) {
+        SqlPredicate predicate = new SqlPredicate(sql);
+        Predicate optimized = optimizer.optimize(predicate, indexes);
+        assertTrue(optimized instanceof IndexAwarePredicate);
+
+        Set<Data> expected = new HashSet<Data>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            QueryEntry entry = new QueryEntry(serializationService, toData(i), newEmployee(i), Extractors.empty());
+            if (predicate.apply(entry)) {
+                expected.add(entry.getKeyData());
+            }
+        }
+        assertEquals(sql, expected, query(indexes, sql));
+    }
+
+    private Set<Data> query(Indexes indexes, String sql) {
+        Predicate optimized = optimizer.optimize(new SqlPredicate(sql), indexes);
+        Set<QueryableEntry> entries = indexes.query(optimized);
+        assertNotNull(sql, entries);
+        Set<Data> keys = new HashSet<Data>();
+        for (QueryableEntry entry : entries) {
+            keys.add(entry.getKeyData());
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.QueryException;
+import com.hazelcast.query.SampleObjects.Employee;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.predicates.AndPredicate;
+import com.hazelcast.query.impl.predicates.RuleBasedQueryOptimizer;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.hazelcast.instance.TestUtil.toData;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class CompositeIndexTest {
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final RuleBasedQueryOptimizer optimizer = new RuleBasedQueryOptimizer();
+
+    @Test
+    public void testEquality() {
+        assertQuery(newIndexes(true), "city = 'city3' and age = 7", true);
+    }
+
+    @Test
+    public void testEquality_withUnorderedIndex() {
+        assertQuery(newIndexes(false), "city = 'city3' and age = 7", true);
+    }
+
+    @Test
+    public void testRange_withUnorderedIndex_isNotRewritten() {
+        Indexes indexes = newIndexes(false);
+        Predicate optimized = optimizer.optimize(new SqlPredicate("city = 'city3' and age > 40"), indexes);
+
+        assertTrue(optimized instanceof AndPredicate);
+    }
+
+    @Test
+    public void testGreater() {
+        assertQuery(newIndexes(true), "city = 'city3' and age > 40", true);
+        assertQuery(newIndexes(true), "city = 'city3' and age >= 40", true);
+    }
+
+    @Test
+    public void testLess() {
+        assertQuery(newIndexes(true), "city = 'city3' and age < 5", true);
+        assertQuery(newIndexes(true), "city = 'city3' and age <= 5", true);
+    }
+
+    @Test
+    public void testBetween() {
+        assertQuery(newIndexes(true), "city = 'city3' and age between 10 and 20", true);
+    }
+
+    @Test
+    public void testEmptyRange() {
+        assertQuery(newIndexes(true), "city = 'city3' and age between 20 and 10", true);
+    }
+
+    @Test
+    public void testWithRemainingPredicates() {
+        assertQuery(newIndexes(true), "city = 'city3' and age > 20 and salary > 500", false);
+        assertQuery(newIndexes(true), "name = 'name13' and city = 'city3' and age < 20", false);
+        // without an index on age the BetweenVisitor keeps both comparisons, one of them is evaluated afterwards
+        assertQuery(newIndexes(true), "city = 'city3' and age >= 10 and age <= 20", false);
+    }
+
+    @Test
+    public void testNullAttributeValues() {
+        Indexes indexes = newIndexes(true);
+        for (int i = 0; i < 10; i++) {
+            Employee employee = new Employee("name" + i, null, i, true, i);
+            indexes.saveEntryIndex(new QueryEntry(serializationService, toData(-i - 1), employee, Extractors.empty()), null);
+        }
+
+        assertQuery(indexes, "city = 'city3' and age < 5", true);
+    }
+
+    @Test
+    public void testUpdateAndRemove() {
+        Indexes indexes = newIndexes(true);
+        Data key = toData(3);
+        Employee oldEmployee = newEmployee(3);
+        Employee newEmployee = new Employee("name3", "city3", 49, true, 3);
+        indexes.saveEntryIndex(new QueryEntry(serializationService, key, newEmployee, Extractors.empty()), oldEmployee);
+
+        assertEquals(0, query(indexes, "city = 'city3' and age = 3").size());
+        assertEquals(1, query(indexes, "city = 'city3' and age = 49 and name = 'name3'").size());
+
+        indexes.removeEntryIndex(key, newEmployee);
+        assertEquals(0, query(indexes, "city = 'city3' and age = 49 and name = 'name3'").size());
+    }
+
+    @Test
+    public void testCompositeValue_serialization() {
+        CompositeValue value = new CompositeValue(new Comparable[]{"city3", IndexImpl.NULL,
+                CompositeValue.NEGATIVE_INFINITY, CompositeValue.POSITIVE_INFINITY});
+
+        CompositeValue deserialized = serializationService.toObject(serializationService.toData(value));
+
+        assertEquals(value, deserialized);
+        assertEquals(0, value.compareTo(deserialized));
+        assertSame(CompositeValue.NEGATIVE_INFINITY, deserialized.getComponents()[2]);
+        assertSame(CompositeValue.POSITIVE_INFINITY, deserialized.getComponents()[3]);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testInfiniteComponents_compareTo() {
+        assertEquals(0, CompositeValue.NEGATIVE_INFINITY.compareTo(CompositeValue.NEGATIVE_INFINITY));
+        assertTrue(CompositeValue.NEGATIVE_INFINITY.compareTo("a") < 0);
+        assertTrue(CompositeValue.NEGATIVE_INFINITY.compareTo(CompositeValue.POSITIVE_INFINITY) < 0);
+        assertTrue(CompositeValue.POSITIVE_INFINITY.compareTo("a") > 0);
+        assertEquals(0, CompositeValue.POSITIVE_INFINITY.compareTo(CompositeValue.POSITIVE_INFINITY));
+    }
+
+    @Test(expected = QueryException.class)
+    public void testRangeLookup_withUnorderedIndex() {
+        Indexes indexes = newIndexes(false);
+        CompositeIndexImpl index = (CompositeIndexImpl) indexes.getIndex("city, age");
+
+        index.getSubRecords(new CompositeValue(new Comparable[]{"city3", 40}), true,
+                new CompositeValue(new Comparable[]{"city3", CompositeValue.POSITIVE_INFINITY}), true);
+    }
+
+    private Indexes newIndexes(boolean ordered) {
+        Indexes indexes = new Indexes(serializationService, Extractors.empty());
+        indexes.addOrGetIndex("city, age", ordered);
+        for (int i = 0; i < 1000; i++) {
+            indexes.saveEntryIndex(new QueryEntry(serializationService, toData(i), newEmployee(i), Extractors.empty()), null);
+        }
+        return indexes;
+    }
+
+    private static Employee newEmployee(int i) {
+        return new Employee("name" + i, "city" + (i % 10), i % 50, i % 2 == 0, i);
+    }
+
+    private void assertQuery(Indexes indexes, String sql, boolean fullyCovered) {
+        SqlPredicate predicate = new SqlPredicate(sql);
+        Predicate optimized = optimizer.optimize(predicate, indexes);
+        assertEquals(!fullyCovered, optimized instanceof AndPredicate);
+
+        Set<Data> expected = new HashSet<Data>();
+        for (int i = 0; i < 1000; i++) {
+            QueryEntry entry = new QueryEntry(serializationService, toData(i), newEmployee(i), Extractors.empty());
+            if (predicate.apply(entry)) {
+                expected.add(entry.getKeyData());
+            }
+        }
+        assertEquals(sql, expected, query(indexes, sql));
+    }
+
+    private Set<Data> query(Indexes indexes, String sql) {
+        Predicate optimized = optimizer.optimize(new SqlPredicate(sql), indexes);
+        Set<QueryableEntry> entries = indexes.query(optimized);
+        assertNotNull(sql, entries);
+        List<Data> keys = new ArrayList<Data>();
+        for (QueryableEntry entry : entries) {
+            keys.add(entry.getKeyData());
+        }
+        return new HashSet<Data>(keys);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.instance.TestUtil.toData;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class IndexUpdateContextTest {
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+    private Indexes indexes;
+
+    @Before
+    public void setUp() {
+        indexes = new Indexes(serializationService, Extractors.empty());
+        indexes.addOrGetIndex("name", false);
+        indexes.addOrGetIndex("age", true);
+        indexes.addOrGetIndex("name, age", true);
+        indexes.addOrGetIndex("BITMAP(city)", false);
+        Person.DESERIALIZATIONS.set(0);
+    }
+
+    @Test
+    public void testSave_deserializesValueOnce() {
+        indexes.saveEntryIndex(newEntry(1, new Person("john", 42, "london")), null);
+
+        assertEquals(1, Person.DESERIALIZATIONS.get());
+    }
+
+    @Test
+    public void testUpdate_deserializesValuesOnce() {
+        Data oldValue = serializationService.toData(new Person("john", 42, "london"));
+        indexes.saveEntryIndex(newEntry(1, new Person("john", 43, "paris")), oldValue);
+
+        assertEquals(2, Person.DESERIALIZATIONS.get());
+    }
+
+    @Test
+    public void testRemove_deserializesValueOnce() {
+        Data value = serializationService.toData(new Person("john", 42, "london"));
+        indexes.removeEntryIndex(toData(1), value);
+
+        assertEquals(1, Person.DESERIALIZATIONS.get());
+    }
+
+    @Test
+    public void testUpdate_withUnchangedAttributes() {
+        Data oldValue = serializationService.toData(new Person("john", 42, "london"));
+        indexes.saveEntryIndex(newEntry(1, new Person("john", 42, "london")), null);
+        indexes.saveEntryIndex(newEntry(1, new Person("john", 42, "london")), oldValue);
+
+        assertEquals(1, indexes.query(new SqlPredicate("name = 'john' and age = 42")).size());
+        assertEquals(1, indexes.query(new SqlPredicate("age = 42")).size());
+        assertEquals(1, indexes.query(new SqlPredicate("city = 'london'")).size());
+    }
+
+    @Test
+    public void testStats() {
+        for (int i = 0; i < 10; i++) {
+            indexes.saveEntryIndex(newEntry(i, new Person("john", i, "london")), null);
+        }
+        indexes.removeEntryIndex(toData(0), serializationService.toData(new Person("john", 0, "london")));
+
+        for (Index index : indexes.getIndexes()) {
+            IndexStats stats = index.getStats();
+            assertEquals(10, stats.getUpdateCount());
+            assertEquals(1, stats.getRemoveCount());
+            assertTrue(stats.getUpdateLatencyNanos() >= 0);
+            assertTrue(stats.getRemoveLatencyNanos() >= 0);
+        }
+    }
+
+    private QueryEntry newEntry(int key, Person person) {
+        return new QueryEntry(serializationService, toData(key), serializationService.toData(person), Extractors.empty());
+    }
+
+    public static class Person implements DataSerializable {
+
+        static final AtomicInteger DESERIALIZATIONS = new AtomicInteger();
+
+        private String name;
+        private int age;
+        private String city;
+
+        public Person() {
+        }
+
+        Person(String name, int age, String city) {
+            this.name = name;
+            this.age = age;
+            this.city = city;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public String getCity() {
+            return city;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeUTF(name);
+            out.writeInt(age);
+            out.writeUTF(city);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            DESERIALIZATIONS.incrementAndGet();
+            name = in.readUTF();
+            age = in.readInt();
+            city = in.readUTF();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.bitmap;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class SparseBitmapTest {
+
+    private final Random random = new Random();
+
+    @Test
+    public void testEmpty() {
+        SparseBitmap bitmap = new SparseBitmap();
+
+        assertTrue(bitmap.isEmpty());
+        assertEquals(0, bitmap.cardinality());
+        assertEquals(-1, bitmap.next(0));
+        assertFalse(bitmap.contains(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAdd_whenNegative() {
+        new SparseBitmap().add(-1);
+    }
+
+    @Test
+    public void testSparseValues() {
+        assertOperations(3000000, 2000);
+    }
+
+    @Test
+    public void testValuesInFewChunks() {
+        // more than 4096 values per chunk of 65536, so the chunks are stored as bitsets
+        assertOperations(200000, 20000);
+    }
+
+    @Test
+    public void testDenseValues_thenRemoved() {
+        SparseBitmap bitmap = new SparseBitmap();
+        BitSet expected = new BitSet();
+        for (int i = 0; i < 200000; i++) {
+            bitmap.add(i);
+            expected.set(i);
+        }
+        assertEqual(expected, bitmap);
+
+        for (int i = 0; i < 200000; i++) {
+            if (i % 100 != 0) {
+                bitmap.remove(i);
+                expected.clear(i);
+            }
+        }
+        assertEqual(expected, bitmap);
+    }
+
+    private void assertOperations(int range, int count) {
+        SparseBitmap left = new SparseBitmap();
+        SparseBitmap right = new SparseBitmap();
+        BitSet expectedLeft = new BitSet();
+        BitSet expectedRight = new BitSet();
+        for (int i = 0; i < count; i++) {
+            int value = random.nextInt(range);
+            left.add(value);
+            expectedLeft.set(value);
+            value = random.nextInt(range);
+            right.add(value);
+            expectedRight.set(value);
+        }
+        for (int i = 0; i < count / 2; i++) {
+            int value = random.nextInt(range);
+            left.remove(value);
+            expectedLeft.clear(value);
+        }
+        assertEqual(expectedLeft, left);
+        assertEqual(expectedRight, right);
+        assertEqual(expectedLeft, left.copy());
+
+        BitSet expected = (BitSet) expectedLeft.clone();
+        expected.and(expectedRight);
+        assertEqual(expected, left.and(right));
+
+        expected = (BitSet) expectedLeft.clone();
+        expected.or(expectedRight);
+        assertEqual(expected, left.or(right));
+
+        expected = (BitSet) expectedLeft.clone();
+        expected.andNot(expectedRight);
+        assertEqual(expected, left.andNot(right));
+
+        // the operands are not modified
+        assertEqual(expectedLeft, left);
+        assertEqual(expectedRight, right);
+    }
+
+    private static void assertEqual(BitSet expected, SparseBitmap actual) {
+        assertEquals(expected.cardinality(), actual.cardinality());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+        int actualValue = actual.next(0);
+        for (int value = expected.nextSetBit(0); value >= 0; value = expected.nextSetBit(value + 1)) {
+            assertEquals(value, actualValue);
+            assertTrue(actual.contains(value));
+            actualValue = actual.next(actualValue + 1);
+        }
+        assertEquals(-1, actualValue);
+    }
+}
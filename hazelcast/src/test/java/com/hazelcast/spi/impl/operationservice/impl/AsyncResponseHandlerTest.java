@@ -4,6 +4,7 @@ import com.hazelcast.config.Config;
 import com.hazelcast.instance.HazelcastThreadGroup;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
 import com.hazelcast.nio.Packet;
@@ -16,6 +17,7 @@ import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.annotation.ParallelTest;
 import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -24,6 +26,9 @@ import org.junit.runner.RunWith;
 
 import static com.hazelcast.nio.Packet.FLAG_OP;
 import static com.hazelcast.nio.Packet.FLAG_RESPONSE;
+import static com.hazelcast.spi.impl.operationservice.impl.AsyncResponseHandler.RESPONSE_THREAD_COUNT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -36,17 +41,37 @@ public class AsyncResponseHandlerTest extends HazelcastTestSupport {
     private PacketHandler responsePacketHandler;
     private AsyncResponseHandler asyncHandler;
     private InternalSerializationService serializationService;
+    private ILogger logger;
+    private HazelcastThreadGroup threadGroup;
 
     @Before
     public void setup() {
-        ILogger logger = Logger.getLogger(getClass());
-        HazelcastThreadGroup threadGroup = new HazelcastThreadGroup("test", logger, getClass().getClassLoader());
+        logger = Logger.getLogger(getClass());
+        threadGroup = new HazelcastThreadGroup("test", logger, getClass().getClassLoader());
         responsePacketHandler = mock(PacketHandler.class);
         asyncHandler = new AsyncResponseHandler(threadGroup, logger, responsePacketHandler, new HazelcastProperties(new Config()));
         asyncHandler.start();
         serializationService = new DefaultSerializationServiceBuilder().build();
     }
 
+    @After
+    public void tearDown() {
+        asyncHandler.shutdown();
+    }
+
+    private AsyncResponseHandler newAsyncHandler(int responseThreadCount) {
+        asyncHandler.shutdown();
+        Config config = new Config().setProperty(RESPONSE_THREAD_COUNT.getName(), "" + responseThreadCount);
+        asyncHandler = new AsyncResponseHandler(threadGroup, logger, responsePacketHandler, new HazelcastProperties(config));
+        asyncHandler.start();
+        return asyncHandler;
+    }
+
+    private Packet newResponsePacket(long callId) {
+        return new Packet(serializationService.toBytes(new NormalResponse("foo", callId, 0, false)))
+                .setAllFlags(FLAG_OP | FLAG_RESPONSE);
+    }
+
     @Test
     public void whenNoProblemPacket() throws Exception {
         final Packet packet = new Packet(serializationService.toBytes(new NormalResponse("foo", 1, 0, false)))
@@ -87,7 +112,7 @@ public class AsyncResponseHandlerTest extends HazelcastTestSupport {
         asyncHandler.shutdown();
 
         // we need to wait for the responseThread to die first.
-        assertJoinable(asyncHandler.responseThread);
+        assertJoinable(asyncHandler.responseThreads[0]);
 
         final Packet packet = new Packet(serializationService.toBytes(new NormalResponse("foo", 1, 0, false)))
                 .setAllFlags(FLAG_OP|FLAG_RESPONSE);
@@ -101,4 +126,73 @@ public class AsyncResponseHandlerTest extends HazelcastTestSupport {
             }
         });
     }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenNegativeThreadCount() {
+        newAsyncHandler(-1);
+    }
+
+    @Test
+    public void whenZeroThreads_thenHandledOnCallingThread() throws Exception {
+        newAsyncHandler(0);
+        Packet packet = newResponsePacket(1);
+
+        asyncHandler.handle(packet);
+
+        assertEquals(0, asyncHandler.responseThreads.length);
+        verify(responsePacketHandler).handle(packet);
+    }
+
+    @Test
+    public void whenZeroThreads_andPacketThrowsException() throws Exception {
+        newAsyncHandler(0);
+        Packet badPacket = newResponsePacket(1);
+        Packet goodPacket = newResponsePacket(2);
+        doThrow(new ExpectedRuntimeException()).when(responsePacketHandler).handle(badPacket);
+
+        asyncHandler.handle(badPacket);
+        asyncHandler.handle(goodPacket);
+
+        verify(responsePacketHandler).handle(goodPacket);
+    }
+
+    @Test
+    public void whenMultipleThreads() throws Exception {
+        newAsyncHandler(4);
+        final Packet[] packets = new Packet[100];
+        for (int k = 0; k < packets.length; k++) {
+            packets[k] = newResponsePacket(k + 1);
+            asyncHandler.handle(packets[k]);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (Packet packet : packets) {
+                    verify(responsePacketHandler).handle(packet);
+                }
+            }
+        });
+    }
+
+    @Test
+    public void whenMultipleThreads_thenSameCallIdSelectsSameThread() {
+        newAsyncHandler(4);
+
+        boolean differentThreads = false;
+        for (long callId = 1; callId <= 100; callId++) {
+            int index = asyncHandler.threadIndex(newResponsePacket(callId));
+            assertEquals(index, asyncHandler.threadIndex(newResponsePacket(callId)));
+            differentThreads |= index != asyncHandler.threadIndex(newResponsePacket(1));
+        }
+        assertTrue("all call ids were assigned to the same thread", differentThreads);
+    }
+
+    @Test
+    public void whenMultipleThreads_andPayloadTooShort_thenFirstThreadSelected() {
+        newAsyncHandler(4);
+        Packet packet = new Packet(new byte[HeapData.HEAP_DATA_OVERHEAD]).setAllFlags(FLAG_OP | FLAG_RESPONSE);
+
+        assertEquals(0, asyncHandler.threadIndex(packet));
+    }
 }
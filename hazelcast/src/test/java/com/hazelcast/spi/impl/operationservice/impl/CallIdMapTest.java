@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class CallIdMapTest extends HazelcastTestSupport {
+
+    private final CallIdMap<String> map = new CallIdMap<String>(10, 4);
+
+    @Test
+    public void get_whenAbsent() {
+        assertNull(map.get(1));
+    }
+
+    @Test
+    public void put() {
+        assertNull(map.put(1, "a"));
+
+        assertEquals("a", map.get(1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void put_whenPresent() {
+        map.put(1, "a");
+
+        assertEquals("a", map.put(1, "b"));
+        assertEquals("b", map.get(1));
+        assertEquals(1, map.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void put_whenReservedCallId() {
+        map.put(0, "a");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void put_whenNullValue() {
+        map.put(1, null);
+    }
+
+    @Test
+    public void remove() {
+        map.put(1, "a");
+
+        assertEquals("a", map.remove(1));
+        assertNull(map.get(1));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void remove_whenAbsent() {
+        assertNull(map.remove(1));
+    }
+
+    @Test
+    public void remove_withValue() {
+        map.put(1, "a");
+
+        assertFalse(map.remove(1, "b"));
+        assertTrue(map.remove(1, "a"));
+        assertNull(map.get(1));
+    }
+
+    @Test
+    public void manyEntries_sameAsHashMap() {
+        Map<Long, String> expected = new HashMap<Long, String>();
+        Random random = new Random();
+        for (int i = 0; i < 100000; i++) {
+            long callId = 1 + random.nextInt(2000);
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(callId, "v" + i), map.put(callId, "v" + i));
+            } else {
+                assertEquals(expected.remove(callId), map.remove(callId));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (Map.Entry<Long, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void iterator() {
+        for (long callId = 1; callId <= 100; callId++) {
+            map.put(callId, "v" + callId);
+        }
+
+        Map<Long, String> found = new HashMap<Long, String>();
+        for (Map.Entry<Long, String> entry : map) {
+            found.put(entry.getKey(), entry.getValue());
+        }
+
+        assertEquals(100, found.size());
+        for (long callId = 1; callId <= 100; callId++) {
+            assertEquals("v" + callId, found.get(callId));
+        }
+    }
+
+    @Test
+    public void iterator_remove() {
+        for (long callId = 1; callId <= 100; callId++) {
+            map.put(callId, "v" + callId);
+        }
+
+        Iterator<Map.Entry<Long, String>> iterator = map.iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        assertEquals(0, map.size());
+        assertFalse(map.iterator().hasNext());
+    }
+
+    @Test
+    public void concurrentRegisterAndDeregister() throws Exception {
+        final CallIdMap<Long> map = new CallIdMap<Long>(10, 4);
+        final AtomicLong callIds = new AtomicLong();
+        final AtomicBoolean failed = new AtomicBoolean();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 100000; i++) {
+                        Long callId = callIds.incrementAndGet();
+                        map.put(callId, callId);
+                        if (map.get(callId) != callId || map.remove(callId) != callId) {
+                            failed.set(true);
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertFalse(failed.get());
+        assertEquals(0, map.size());
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.Node;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.DeferredPacketFrame;
+import com.hazelcast.nio.OutboundFrame;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.spi.impl.operationservice.impl.responses.BackupAckResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import static com.hazelcast.nio.Bits.readIntB;
+import static com.hazelcast.nio.Packet.FLAG_RESPONSE_BATCH;
+import static com.hazelcast.nio.Packet.FLAG_URGENT;
+import static com.hazelcast.spi.properties.GroupProperty.OPERATION_RESPONSE_BATCHING_ENABLED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ResponseBatcherTest extends HazelcastTestSupport {
+
+    private HazelcastInstance hz;
+    private ResponseBatcher responseBatcher;
+    private Connection connection;
+
+    @Before
+    public void setup() throws Exception {
+        hz = createHazelcastInstance();
+        Node node = getNode(hz);
+        responseBatcher = new ResponseBatcher(node, node.getSerializationService());
+
+        connection = mock(Connection.class);
+        when(connection.getEndPoint()).thenReturn(new Address("127.0.0.1", 5799));
+        when(connection.isAlive()).thenReturn(true);
+        when(connection.write(any(OutboundFrame.class))).thenReturn(true);
+    }
+
+    @Test
+    public void whenWriterBusy_thenResponsesBatchedInOnePacket() throws Exception {
+        responseBatcher.send(new BackupAckResponse(1, false), connection);
+        responseBatcher.send(new NormalResponse("foo", 2, 0, false), connection);
+        responseBatcher.send(new BackupAckResponse(3, false), connection);
+
+        // the writer didn't take the first frame yet, so the other responses are added to it
+        DeferredPacketFrame frame = takeFrame(1);
+        Packet packet = frame.toPacket();
+
+        assertTrue(packet.isFlagSet(FLAG_RESPONSE_BATCH));
+        assertFalse(packet.isFlagSet(FLAG_URGENT));
+        InvocationRegistry invocationRegistry = mock(InvocationRegistry.class);
+        packet.setConn(connection);
+        newResponseHandler(invocationRegistry).handle(packet);
+        verify(invocationRegistry).get(1);
+        verify(invocationRegistry).get(2);
+        verify(invocationRegistry).get(3);
+    }
+
+    @Test
+    public void whenBatchHasMaxResponses_thenNextResponseQueuedInNewFrame() {
+        for (int i = 0; i < ResponseBatcher.MAX_BATCH_SIZE; i++) {
+            responseBatcher.send(new BackupAckResponse(i, false), connection);
+        }
+        DeferredPacketFrame fullFrame = takeFrame(1);
+
+        responseBatcher.send(new BackupAckResponse(ResponseBatcher.MAX_BATCH_SIZE, false), connection);
+
+        DeferredPacketFrame newFrame = takeFrame(2);
+        assertEquals(ResponseBatcher.MAX_BATCH_SIZE, responseCount(fullFrame));
+        assertEquals(1, responseCount(newFrame));
+    }
+
+    @Test
+    public void whenBatchHasMaxBytes_thenNextResponseQueuedInNewFrame() {
+        byte[] value = new byte[ResponseBatcher.MAX_BATCH_BYTES];
+        responseBatcher.send(new NormalResponse(value, 1, 0, false), connection);
+        DeferredPacketFrame fullFrame = takeFrame(1);
+
+        responseBatcher.send(new BackupAckResponse(2, false), connection);
+
+        DeferredPacketFrame newFrame = takeFrame(2);
+        assertEquals(1, responseCount(fullFrame));
+        assertEquals(1, responseCount(newFrame));
+    }
+
+    @Test
+    public void whenWriterTookBatch_thenNextResponseWrittenAgain() {
+        responseBatcher.send(new BackupAckResponse(1, false), connection);
+        assertNotNull(takeFrame(1).toPacket());
+
+        responseBatcher.send(new BackupAckResponse(2, false), connection);
+
+        assertNotNull(takeFrame(2).toPacket());
+    }
+
+    @Test
+    public void whenBatchEmpty_thenNoPacket() {
+        responseBatcher.send(new BackupAckResponse(1, false), connection);
+        DeferredPacketFrame frame = takeFrame(1);
+
+        assertNotNull(frame.toPacket());
+        assertNull(frame.toPacket());
+    }
+
+    @Test
+    public void whenUrgent_thenBatchedSeparately() {
+        responseBatcher.send(new BackupAckResponse(1, false), connection);
+        responseBatcher.send(new BackupAckResponse(2, true), connection);
+
+        ArgumentCaptor<OutboundFrame> frames = ArgumentCaptor.forClass(OutboundFrame.class);
+        verify(connection, times(2)).write(frames.capture());
+        assertFalse(frames.getAllValues().get(0).isUrgent());
+        assertTrue(frames.getAllValues().get(1).isUrgent());
+        assertTrue(((DeferredPacketFrame) frames.getAllValues().get(1)).toPacket().isFlagSet(FLAG_URGENT));
+    }
+
+    @Test
+    public void whenConnectionClosed_thenBatchWrittenToNewConnection() throws Exception {
+        responseBatcher.send(new BackupAckResponse(1, false), connection);
+        when(connection.isAlive()).thenReturn(false);
+        Address endPoint = connection.getEndPoint();
+        Connection newConnection = mock(Connection.class);
+        when(newConnection.getEndPoint()).thenReturn(endPoint);
+        when(newConnection.isAlive()).thenReturn(true);
+        when(newConnection.write(any(OutboundFrame.class))).thenReturn(true);
+
+        responseBatcher.send(new BackupAckResponse(2, false), newConnection);
+
+        verify(newConnection).write(any(OutboundFrame.class));
+    }
+
+    private DeferredPacketFrame takeFrame(int writes) {
+        ArgumentCaptor<OutboundFrame> frames = ArgumentCaptor.forClass(OutboundFrame.class);
+        verify(connection, times(writes)).write(frames.capture());
+        return (DeferredPacketFrame) frames.getValue();
+    }
+
+    private static int responseCount(DeferredPacketFrame frame) {
+        return readIntB(frame.toPacket().toByteArray(), 0);
+    }
+
+    private ResponseHandler newResponseHandler(InvocationRegistry invocationRegistry) {
+        return new ResponseHandler(Logger.getLogger(ResponseHandler.class), getNode(hz).getSerializationService(),
+                invocationRegistry, getNodeEngineImpl(hz));
+    }
+
+    @Test
+    public void whenEnabled_thenInvocationsWithBackupsComplete() throws Exception {
+        Config config = new Config()
+                .setProperty(OPERATION_RESPONSE_BATCHING_ENABLED.getName(), "true");
+        // the factory of this test already holds the member created in setup
+        TestHazelcastInstanceFactory factory = new TestHazelcastInstanceFactory(2);
+        try {
+            HazelcastInstance[] cluster = factory.newInstances(config);
+            warmUpPartitions(cluster);
+            IMap<Integer, Integer> map = cluster[0].getMap(randomMapName());
+
+            List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+            for (int i = 0; i < 1000; i++) {
+                futures.add(map.putAsync(i, i));
+            }
+            for (Future<Integer> future : futures) {
+                future.get();
+            }
+
+            IMap<Integer, Integer> otherMap = cluster[1].getMap(map.getName());
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(Integer.valueOf(i), otherMap.get(i));
+            }
+        } finally {
+            factory.terminateAll();
+        }
+    }
+}
@@ -22,6 +22,7 @@ import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Connection;
 import com.hazelcast.nio.ConnectionManager;
 import com.hazelcast.nio.ConnectionType;
+import com.hazelcast.nio.DeferredPacketFrame;
 import com.hazelcast.nio.OutboundFrame;
 import com.hazelcast.nio.Packet;
 import com.hazelcast.spi.impl.NodeEngineImpl;
@@ -72,7 +73,15 @@ public class MockConnection implements Connection {
             return false;
         }
 
-        Packet packet = (Packet) frame;
+        Packet packet;
+        if (frame instanceof DeferredPacketFrame) {
+            packet = ((DeferredPacketFrame) frame).toPacket();
+            if (packet == null) {
+                return true;
+            }
+        } else {
+            packet = (Packet) frame;
+        }
         Packet newPacket = readFromPacket(packet);
         nodeEngine.getPacketDispatcher().dispatch(newPacket);
         return true;